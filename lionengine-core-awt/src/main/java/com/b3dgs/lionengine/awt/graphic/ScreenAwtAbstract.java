@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine.awt.graphic;
 
+import java.awt.BufferCapabilities;
 import java.awt.Component;
 import java.awt.Cursor;
 import java.awt.GraphicsEnvironment;
@@ -69,6 +70,8 @@ abstract class ScreenAwtAbstract extends ScreenAbstract implements FocusListener
     private int width;
     /** Height. */
     private int height;
+    /** Contents lost flag on last update. */
+    private boolean lost = true;
 
     /**
      * Constructor base.
@@ -98,6 +101,7 @@ abstract class ScreenAwtAbstract extends ScreenAbstract implements FocusListener
 
         width = output.getWidth();
         height = output.getHeight();
+        lost = true;
     }
 
     /**
@@ -180,6 +184,7 @@ abstract class ScreenAwtAbstract extends ScreenAbstract implements FocusListener
     public void update()
     {
         buf.show();
+        lost = buf.contentsLost() || buf.contentsRestored();
         graphics.setGraphic(buf.getDrawGraphics());
     }
 
@@ -248,6 +253,28 @@ abstract class ScreenAwtAbstract extends ScreenAbstract implements FocusListener
         return buf != null;
     }
 
+    /**
+     * {@inheritDoc}
+     * Back buffer is kept if blitted to screen or copied on flip.
+     */
+    @Override
+    public boolean isPersistent()
+    {
+        if (buf == null)
+        {
+            return false;
+        }
+        final BufferCapabilities capabilities = buf.getCapabilities();
+        return !capabilities.isPageFlipping()
+               || BufferCapabilities.FlipContents.COPIED.equals(capabilities.getFlipContents());
+    }
+
+    @Override
+    public boolean isContentsLost()
+    {
+        return lost;
+    }
+
     @Override
     public void onSourceChanged(Resolution source)
     {
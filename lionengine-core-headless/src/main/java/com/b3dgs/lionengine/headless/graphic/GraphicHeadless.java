@@ -84,6 +84,18 @@ final class GraphicHeadless implements Graphic
         // Nothing to do
     }
 
+    @Override
+    public void setClip(int x, int y, int width, int height)
+    {
+        // Nothing to do
+    }
+
+    @Override
+    public void resetClip()
+    {
+        // Nothing to do
+    }
+
     @Override
     public void drawImage(ImageSurface image, int x, int y)
     {
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import java.util.Random;
+
+/**
+ * Seeded random instance, counterpart of {@link UtilRandom} owned by a single simulation. Values only depend on the
+ * seed and the calls sequence, so two instances with the same seed and used the same way give the same values, on any
+ * platform.
+ * <p>
+ * Not thread safe, an instance must be used by one thread at a time.
+ * </p>
+ */
+public final class Randomizer
+{
+    /** Random reference. */
+    private final Random random;
+    /** Current seed. */
+    private long seed;
+
+    /**
+     * Create a randomizer seeded from current time.
+     */
+    public Randomizer()
+    {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Create a seeded randomizer.
+     * 
+     * @param seed The seed value.
+     */
+    public Randomizer(long seed)
+    {
+        super();
+
+        this.seed = seed;
+        random = new Random(seed);
+    }
+
+    /**
+     * Set the seed, restarting the values sequence.
+     * 
+     * @param seed The seed value.
+     */
+    public void setSeed(long seed)
+    {
+        this.seed = seed;
+        random.setSeed(seed);
+    }
+
+    /**
+     * Get the current seed.
+     * 
+     * @return The seed value.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Get a random integer value from 0 and 2^32.
+     * 
+     * @return A value between 0 and 2^32.
+     */
+    public int getRandomInteger()
+    {
+        return random.nextInt();
+    }
+
+    /**
+     * Get a random value from 0 and a maximum.
+     * 
+     * @param max The maximum randomized value.
+     * @return A value between 0 inclusive and max inclusive.
+     */
+    public int getRandomInteger(int max)
+    {
+        return getRandomInteger(0, max);
+    }
+
+    /**
+     * Get a random value from range.
+     * 
+     * @param range The range reference (must not be <code>null</code>).
+     * @return A value between min inclusive and max inclusive.
+     * @throws LionEngineException If invalid argument.
+     */
+    public int getRandomInteger(Range range)
+    {
+        Check.notNull(range);
+
+        return getRandomInteger(range.getMin(), range.getMax());
+    }
+
+    /**
+     * Get a random value from an interval.
+     * 
+     * @param min The minimum value.
+     * @param max The maximum value (positive and superior or equal to min).
+     * @return A value between min inclusive and max inclusive.
+     */
+    public int getRandomInteger(int min, int max)
+    {
+        Check.inferiorOrEqual(min, max);
+
+        return min + random.nextInt(max + 1 - min);
+    }
+
+    /**
+     * Get a random boolean value.
+     * 
+     * @return The next randomized boolean value.
+     */
+    public boolean getRandomBoolean()
+    {
+        return random.nextBoolean();
+    }
+
+    /**
+     * Get a random double value.
+     * 
+     * @return The next randomized double value (between 0.0 inclusive and 1.0 exclusive).
+     */
+    public double getRandomDouble()
+    {
+        return random.nextDouble();
+    }
+}
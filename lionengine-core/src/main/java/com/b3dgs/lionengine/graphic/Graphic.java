@@ -55,6 +55,21 @@ public interface Graphic
      */
     void copyArea(int x, int y, int width, int height, int dx, int dy);
 
+    /**
+     * Restrict drawing to an area, until {@link #resetClip()}.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param width The width.
+     * @param height The height.
+     */
+    void setClip(int x, int y, int width, int height);
+
+    /**
+     * Remove drawing area restriction set by {@link #setClip(int, int, int, int)}.
+     */
+    void resetClip();
+
     /**
      * Draw an image to the graphic.
      * 
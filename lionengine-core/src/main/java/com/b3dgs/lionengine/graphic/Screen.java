@@ -117,6 +117,20 @@ public interface Screen extends Context
      */
     boolean isReady();
 
+    /**
+     * Check if the graphic keeps its previous contents once shown, so only changed areas have to be drawn again.
+     * 
+     * @return <code>true</code> if contents are kept between updates, <code>false</code> if all must be drawn each time.
+     */
+    boolean isPersistent();
+
+    /**
+     * Check if the graphic contents have been lost on last update, and must be drawn again entirely.
+     * 
+     * @return <code>true</code> if contents have been lost, <code>false</code> else.
+     */
+    boolean isContentsLost();
+
     /**
      * Call when resolution source has been changed.
      * 
@@ -136,4 +136,24 @@ public abstract class ScreenAbstract implements Screen
     {
         return readyTimeoutMilli;
     }
+
+    /**
+     * {@inheritDoc}
+     * Not persistent by default.
+     */
+    @Override
+    public boolean isPersistent()
+    {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Never lost by default.
+     */
+    @Override
+    public boolean isContentsLost()
+    {
+        return false;
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+/**
+ * Screen area changed since last rendering, as the bounding rectangle of all marked areas, clipped to screen.
+ * <p>
+ * Once dirty rendering is enabled with {@link Sequence#setDirtyRendering(boolean)}, the sequence is rendered only if
+ * an area has been marked, restricted to it, the previous rendering being kept around.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class DirtyRegion
+{
+    /** Screen width. */
+    private int screenWidth;
+    /** Screen height. */
+    private int screenHeight;
+    /** Minimum horizontal location. */
+    private int minX;
+    /** Minimum vertical location. */
+    private int minY;
+    /** Maximum horizontal location (excluded). */
+    private int maxX;
+    /** Maximum vertical location (excluded). */
+    private int maxY;
+
+    /**
+     * Create region.
+     */
+    public DirtyRegion()
+    {
+        super();
+    }
+
+    /**
+     * Set the screen size and mark it all.
+     * 
+     * @param width The screen width.
+     * @param height The screen height.
+     */
+    public synchronized void setSize(int width, int height)
+    {
+        screenWidth = width;
+        screenHeight = height;
+        markAll();
+    }
+
+    /**
+     * Mark an area as changed. Area outside screen is ignored.
+     * 
+     * @param x The horizontal location on screen.
+     * @param y The vertical location on screen.
+     * @param width The area width.
+     * @param height The area height.
+     */
+    public synchronized void mark(int x, int y, int width, int height)
+    {
+        final int x1 = Math.max(0, x);
+        final int y1 = Math.max(0, y);
+        final int x2 = Math.min(screenWidth, x + width);
+        final int y2 = Math.min(screenHeight, y + height);
+        if (x1 < x2 && y1 < y2)
+        {
+            if (isDirty())
+            {
+                minX = Math.min(minX, x1);
+                minY = Math.min(minY, y1);
+                maxX = Math.max(maxX, x2);
+                maxY = Math.max(maxY, y2);
+            }
+            else
+            {
+                minX = x1;
+                minY = y1;
+                maxX = x2;
+                maxY = y2;
+            }
+        }
+    }
+
+    /**
+     * Mark all screen as changed.
+     */
+    public synchronized void markAll()
+    {
+        mark(0, 0, screenWidth, screenHeight);
+    }
+
+    /**
+     * Clear marked areas.
+     */
+    public synchronized void clear()
+    {
+        minX = 0;
+        minY = 0;
+        maxX = 0;
+        maxY = 0;
+    }
+
+    /**
+     * Check if an area has been marked since last {@link #clear()}.
+     * 
+     * @return <code>true</code> if changed, <code>false</code> else.
+     */
+    public synchronized boolean isDirty()
+    {
+        return maxX > minX && maxY > minY;
+    }
+
+    /**
+     * Get the marked area horizontal location.
+     * 
+     * @return The horizontal location.
+     */
+    public synchronized int getX()
+    {
+        return minX;
+    }
+
+    /**
+     * Get the marked area vertical location.
+     * 
+     * @return The vertical location.
+     */
+    public synchronized int getY()
+    {
+        return minY;
+    }
+
+    /**
+     * Get the marked area width.
+     * 
+     * @return The width, <code>0</code> if not dirty.
+     */
+    public synchronized int getWidth()
+    {
+        return maxX - minX;
+    }
+
+    /**
+     * Get the marked area height.
+     * 
+     * @return The height, <code>0</code> if not dirty.
+     */
+    public synchronized int getHeight()
+    {
+        return maxY - minY;
+    }
+}
@@ -59,6 +59,8 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
     private final Loop loop;
     /** Sequence renderer. */
     private final SequenceRenderer renderer;
+    /** Dirty region. */
+    private final DirtyRegion dirty = new DirtyRegion();
     /** Source resolution. */
     private final Resolution source;
     /** Next sequence pointer. */
@@ -130,6 +132,35 @@ public abstract class Sequence implements Sequencable, Sequencer, Zooming, TimeC
         renderer.setFilter(filter);
     }
 
+    /**
+     * Enable or disable dirty rendering. Once enabled, rendering is done in a persistent buffer, and
+     * {@link #render(Graphic)} is called only when an area has been marked in {@link #getDirtyRegion()}, restricted to
+     * it, the area being cleared before. Suited to mostly static screens, such as menus.
+     * 
+     * @param enabled <code>true</code> to render only dirty region, <code>false</code> to render all each frame.
+     */
+    public final void setDirtyRendering(boolean enabled)
+    {
+        if (enabled)
+        {
+            renderer.setDirty(dirty);
+        }
+        else
+        {
+            renderer.setDirty(null);
+        }
+    }
+
+    /**
+     * Get the dirty region, where changed screen areas are marked when dirty rendering is enabled.
+     * 
+     * @return The dirty region.
+     */
+    public final DirtyRegion getDirtyRegion()
+    {
+        return dirty;
+    }
+
     /**
      * Get main frame location x.
      * 
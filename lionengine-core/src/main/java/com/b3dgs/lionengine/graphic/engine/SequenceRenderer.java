@@ -54,6 +54,8 @@ final class SequenceRenderer
     private Screen screen;
     /** Pending cursor visibility. */
     private Boolean cursorVisibility = Boolean.TRUE;
+    /** Dirty region (<code>null</code> if dirty rendering disabled). */
+    private DirtyRegion dirty;
 
     /**
      * Constructor base.
@@ -86,6 +88,21 @@ final class SequenceRenderer
         this.screen = screen;
     }
 
+    /**
+     * Set the dirty region to use. Rendering is buffered once set, in order to keep previous rendering around dirty
+     * region.
+     * 
+     * @param dirty The dirty region, <code>null</code> to render all each time.
+     */
+    void setDirty(DirtyRegion dirty)
+    {
+        this.dirty = dirty;
+        if (screen != null)
+        {
+            initResolution(source);
+        }
+    }
+
     /**
      * Set the filter to use.
      * 
@@ -115,7 +132,10 @@ final class SequenceRenderer
 
         // Standard rendering
         final Resolution output = config.getOutput();
-        if (FilterNone.INSTANCE.equals(filter) && width == output.getWidth() && height == output.getHeight())
+        if (dirty == null
+            && FilterNone.INSTANCE.equals(filter)
+            && width == output.getWidth()
+            && height == output.getHeight())
         {
             buf = null;
             transform = null;
@@ -128,6 +148,10 @@ final class SequenceRenderer
             final Graphic gbuf = buf.createGraphic();
             graphic.setGraphic(gbuf.getGraphic());
         }
+        if (dirty != null)
+        {
+            dirty.setSize(width, height);
+        }
     }
 
     /**
@@ -169,6 +193,62 @@ final class SequenceRenderer
         return filter.getTransform(scaleX, scaleY);
     }
 
+    /**
+     * Clear and render dirty region only to buffer, if any, then draw buffer to screen. If screen is
+     * {@link Screen#isPersistent()}, buffer is drawn only if changed, and only its dirty region without filter, as other
+     * pixels did not change. All is marked if screen contents have been lost.
+     * 
+     * @param g The screen graphic.
+     */
+    private void renderDirty(Graphic g)
+    {
+        if (screen.isContentsLost())
+        {
+            dirty.markAll();
+        }
+        final boolean persistent = screen.isPersistent();
+        if (dirty.isDirty())
+        {
+            final int x = dirty.getX();
+            final int y = dirty.getY();
+            final int width = dirty.getWidth();
+            final int height = dirty.getHeight();
+            dirty.clear();
+
+            graphic.setClip(x, y, width, height);
+            graphic.clear(x, y, width, height);
+            target.render(graphic);
+            graphic.resetClip();
+
+            if (persistent && FilterNone.INSTANCE.equals(filter))
+            {
+                final Resolution output = config.getOutput();
+                final int outputWidth = output.getWidth();
+                final int outputHeight = output.getHeight();
+                final int sourceWidth = source.getWidth();
+                final int sourceHeight = source.getHeight();
+
+                g.drawImage(buf,
+                            x * outputWidth / sourceWidth,
+                            y * outputHeight / sourceHeight,
+                            ((x + width) * outputWidth + sourceWidth - 1) / sourceWidth,
+                            ((y + height) * outputHeight + sourceHeight - 1) / sourceHeight,
+                            x,
+                            y,
+                            x + width,
+                            y + height);
+            }
+            else
+            {
+                g.drawImage(filter.filter(buf), transform, 0, 0);
+            }
+        }
+        else if (!persistent)
+        {
+            g.drawImage(filter.filter(buf), transform, 0, 0);
+        }
+    }
+
     /**
      * Local render routine.
      */
@@ -184,8 +264,15 @@ final class SequenceRenderer
             }
             else
             {
-                target.render(graphic);
-                g.drawImage(filter.filter(buf), transform, 0, 0);
+                if (dirty == null)
+                {
+                    target.render(graphic);
+                    g.drawImage(filter.filter(buf), transform, 0, 0);
+                }
+                else
+                {
+                    renderDirty(g);
+                }
             }
         }
     }
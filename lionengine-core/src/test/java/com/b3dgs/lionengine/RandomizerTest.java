@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link Randomizer}.
+ */
+final class RandomizerTest
+{
+    /**
+     * Test random.
+     */
+    @Test
+    void testRandom()
+    {
+        final Randomizer random = new Randomizer(4_894_516L);
+
+        assertEquals(Long.valueOf(4_894_516L), Long.valueOf(random.getSeed()));
+        assertTrue(random.getRandomInteger(100) <= 100);
+        assertTrue(random.getRandomInteger(-100, 100) <= 100);
+        assertTrue(random.getRandomInteger(Range.INT_POSITIVE_STRICT) >= 0);
+        final double value = random.getRandomDouble();
+        assertTrue(value >= 0.0 && value < 1.0);
+    }
+
+    /**
+     * Test same seed gives same sequence.
+     */
+    @Test
+    void testSequence()
+    {
+        final Randomizer first = new Randomizer(42L);
+        final Randomizer second = new Randomizer();
+        second.setSeed(42L);
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals(first.getRandomInteger(), second.getRandomInteger());
+            assertEquals(first.getRandomInteger(-10, 10), second.getRandomInteger(-10, 10));
+            assertEquals(first.getRandomBoolean(), second.getRandomBoolean());
+            assertEquals(first.getRandomDouble(), second.getRandomDouble());
+        }
+        assertEquals(Long.valueOf(42L), Long.valueOf(second.getSeed()));
+    }
+
+    /**
+     * Test get random integer with <code>null</code> argument.
+     */
+    @Test
+    void testGetRandomIntegerNullRange()
+    {
+        assertThrows(() -> new Randomizer().getRandomInteger(null), Check.ERROR_NULL);
+    }
+}
@@ -75,6 +75,8 @@ public class GraphicTest
 
         g.clear(0, 0, image.getWidth(), image.getHeight());
         g.copyArea(0, 0, image.getWidth(), image.getHeight(), 0, 0);
+        g.setClip(0, 0, 1, 1);
+        g.resetClip();
 
         g.drawImage(image, 0, 0);
 
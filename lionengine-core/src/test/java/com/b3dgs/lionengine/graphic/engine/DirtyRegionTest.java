@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link DirtyRegion}.
+ */
+final class DirtyRegionTest
+{
+    /**
+     * Test marked areas union.
+     */
+    @Test
+    void testMark()
+    {
+        final DirtyRegion region = new DirtyRegion();
+
+        assertFalse(region.isDirty());
+
+        region.mark(0, 0, 10, 10);
+
+        assertFalse(region.isDirty());
+
+        region.setSize(320, 240);
+
+        assertTrue(region.isDirty());
+        assertEquals(0, region.getX());
+        assertEquals(0, region.getY());
+        assertEquals(320, region.getWidth());
+        assertEquals(240, region.getHeight());
+
+        region.clear();
+
+        assertFalse(region.isDirty());
+        assertEquals(0, region.getWidth());
+        assertEquals(0, region.getHeight());
+
+        region.mark(10, 20, 5, 5);
+        region.mark(30, 10, 10, 5);
+
+        assertTrue(region.isDirty());
+        assertEquals(10, region.getX());
+        assertEquals(10, region.getY());
+        assertEquals(30, region.getWidth());
+        assertEquals(15, region.getHeight());
+    }
+
+    /**
+     * Test areas clipped to screen.
+     */
+    @Test
+    void testClip()
+    {
+        final DirtyRegion region = new DirtyRegion();
+        region.setSize(320, 240);
+        region.clear();
+
+        region.mark(-10, -10, 5, 5);
+        region.mark(320, 0, 5, 5);
+        region.mark(0, 0, 0, 5);
+
+        assertFalse(region.isDirty());
+
+        region.mark(-10, 230, 20, 20);
+
+        assertEquals(0, region.getX());
+        assertEquals(230, region.getY());
+        assertEquals(10, region.getWidth());
+        assertEquals(10, region.getHeight());
+
+        region.markAll();
+
+        assertEquals(0, region.getX());
+        assertEquals(0, region.getY());
+        assertEquals(320, region.getWidth());
+        assertEquals(240, region.getHeight());
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine.graphic.engine;
 
+import static com.b3dgs.lionengine.UtilAssert.assertArrayEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertNull;
@@ -132,6 +133,21 @@ final class LoaderTest
         Loader.start(CONFIG, SequenceSingleMock.class).await();
     }
 
+    /**
+     * Test with dirty rendering, sequence rendered only when dirty.
+     */
+    @Test
+    void testSequenceDirty()
+    {
+        final int[] renders = new int[5];
+        Loader.start(CONFIG, SequenceDirtyMock.class, renders).await();
+
+        assertArrayEquals(new int[]
+        {
+            0, 1, 1, 2, 3
+        }, renders);
+    }
+
     /**
      * Test with a sequence that have arguments.
      */
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.graphic.engine;
+
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.UtilTests;
+import com.b3dgs.lionengine.graphic.Graphic;
+
+/**
+ * Dirty rendering sequence mock, storing the rendering count before each update.
+ */
+final class SequenceDirtyMock extends Sequence
+{
+    private final int[] renders;
+    private int rendered;
+    private int updated;
+
+    /**
+     * Constructor.
+     * 
+     * @param context The context reference.
+     * @param renders The rendering count before each update.
+     */
+    SequenceDirtyMock(Context context, int[] renders)
+    {
+        super(context, UtilTests.RESOLUTION_320_240, new LoopUnlocked());
+
+        this.renders = renders;
+    }
+
+    @Override
+    public void load()
+    {
+        setDirtyRendering(true);
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        renders[updated] = rendered;
+        updated++;
+
+        if (updated == 3)
+        {
+            getDirtyRegion().mark(0, 0, 1, 1);
+        }
+        else if (updated == 4)
+        {
+            setDirtyRendering(false);
+        }
+        else if (updated == renders.length)
+        {
+            end();
+        }
+    }
+
+    @Override
+    public void render(Graphic g)
+    {
+        rendered++;
+    }
+}
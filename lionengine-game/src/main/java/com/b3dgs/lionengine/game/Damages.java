@@ -16,6 +16,9 @@
  */
 package com.b3dgs.lionengine.game;
 
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Randomizer;
 import com.b3dgs.lionengine.Range;
 import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.UtilRandom;
@@ -101,7 +104,8 @@ public class Damages
     }
 
     /**
-     * Get random damages between min-max.
+     * Get random damages between min-max, from the global {@link UtilRandom}. Not deterministic, use
+     * {@link #getRandom(Randomizer)} with the world {@link Randomizer} in deterministic mode.
      * 
      * @return The randomized damages.
      */
@@ -111,6 +115,21 @@ public class Damages
         return last;
     }
 
+    /**
+     * Get random damages between min-max, from a seeded randomizer.
+     * 
+     * @param randomizer The randomizer reference (must not be <code>null</code>).
+     * @return The randomized damages.
+     * @throws LionEngineException If invalid argument.
+     */
+    public int getRandom(Randomizer randomizer)
+    {
+        Check.notNull(randomizer);
+
+        last = randomizer.getRandomInteger(min, max);
+        return last;
+    }
+
     /**
      * Get last damages value.
      * 
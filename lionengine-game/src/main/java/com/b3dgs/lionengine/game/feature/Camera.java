@@ -75,13 +75,24 @@ public class Camera extends FeaturableAbstract implements Viewer
     private int screenHeight;
 
     /**
-     * Create a camera.
+     * Create a camera, identified from the default allocator.
      */
     public Camera()
     {
         super();
     }
 
+    /**
+     * Create a camera, identified from the {@link Identifiers} service if any.
+     * 
+     * @param services The services reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public Camera(Services services)
+    {
+        super(services);
+    }
+
     /**
      * Reset the camera interval to 0 by adapting its position. This will ensure camera centers its view to the
      * localizable.
@@ -16,7 +16,6 @@
  */
 package com.b3dgs.lionengine.game.feature;
 
-import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Localizable;
 import com.b3dgs.lionengine.Media;
@@ -50,9 +49,7 @@ public class CameraTracker extends FeaturableAbstract
      */
     public CameraTracker(Services services)
     {
-        super();
-
-        Check.notNull(services);
+        super(services);
 
         camera = services.get(Camera.class);
 
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.AnimatorFrameListener;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.graphic.engine.DirtyRegion;
+import com.b3dgs.lionengine.graphic.engine.Sequence;
+
+/**
+ * Updater component marking the screen areas changed by handled featurables in a {@link DirtyRegion}, for
+ * {@link Sequence#setDirtyRendering(boolean)}.
+ * <p>
+ * The {@link Transformable} area is marked when added, removed, transformed, or when its {@link Animatable} frame
+ * changes, before and after the change. As rendering origin is not known, marked area extends the transformable size
+ * on each side. All screen is marked when viewer moves or is resized.
+ * </p>
+ */
+public class ComponentDirty implements ComponentUpdaterAccess, HandlerListener, TransformableListener
+{
+    /** Types read during update. */
+    private static final Collection<Class<?>> READS = Arrays.asList(Viewer.class,
+                                                                    Transformable.class,
+                                                                    Animatable.class);
+    /** Types written during update. */
+    private static final Collection<Class<?>> WRITES = Collections.singletonList(DirtyRegion.class);
+
+    /** Frame listeners. */
+    private final Map<Transformable, AnimatorFrameListener> listeners = new HashMap<>();
+    /** Viewer reference. */
+    private final Viewer viewer;
+    /** Dirty region. */
+    private final DirtyRegion region;
+    /** Last viewer horizontal location. */
+    private double viewerX;
+    /** Last viewer vertical location. */
+    private double viewerY;
+    /** Last viewer width. */
+    private int viewerWidth;
+    /** Last viewer height. */
+    private int viewerHeight;
+
+    /**
+     * Create component.
+     * <p>
+     * The {@link Services} must provide:
+     * </p>
+     * <ul>
+     * <li>{@link Viewer}</li>
+     * <li>{@link DirtyRegion}</li>
+     * </ul>
+     * 
+     * @param services The services reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ComponentDirty(Services services)
+    {
+        super();
+
+        viewer = services.get(Viewer.class);
+        region = services.get(DirtyRegion.class);
+    }
+
+    /**
+     * Mark area on screen.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param width The area width.
+     * @param height The area height.
+     */
+    private void mark(double x, double y, int width, int height)
+    {
+        final int sx = (int) Math.floor(viewer.getViewpointX(x));
+        final int sy = (int) Math.floor(viewer.getViewpointY(y));
+        region.mark(sx - width, sy - height, width * 2 + 1, height * 2 + 1);
+    }
+
+    /**
+     * Mark transformable current area.
+     * 
+     * @param transformable The transformable reference.
+     */
+    private void mark(Transformable transformable)
+    {
+        mark(transformable.getX(), transformable.getY(), transformable.getWidth(), transformable.getHeight());
+    }
+
+    /*
+     * ComponentUpdater
+     */
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        if (Double.compare(viewerX, viewer.getX()) != 0
+            || Double.compare(viewerY, viewer.getY()) != 0
+            || viewerWidth != viewer.getWidth()
+            || viewerHeight != viewer.getHeight())
+        {
+            viewerX = viewer.getX();
+            viewerY = viewer.getY();
+            viewerWidth = viewer.getWidth();
+            viewerHeight = viewer.getHeight();
+            region.markAll();
+        }
+    }
+
+    /*
+     * ComponentUpdaterAccess
+     */
+
+    @Override
+    public Collection<Class<?>> getReads()
+    {
+        return READS;
+    }
+
+    @Override
+    public Collection<Class<?>> getWrites()
+    {
+        return WRITES;
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Transformable.class))
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            transformable.addListener(this);
+            if (featurable.hasFeature(Animatable.class))
+            {
+                final AnimatorFrameListener listener = frame -> mark(transformable);
+                featurable.getFeature(Animatable.class).addListener(listener);
+                listeners.put(transformable, listener);
+            }
+            mark(transformable);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (featurable.hasFeature(Transformable.class))
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            transformable.removeListener(this);
+            final AnimatorFrameListener listener = listeners.remove(transformable);
+            if (listener != null)
+            {
+                featurable.getFeature(Animatable.class).removeListener(listener);
+            }
+            mark(transformable);
+        }
+    }
+
+    /*
+     * TransformableListener
+     */
+
+    @Override
+    public void notifyTransformed(Transformable transformable)
+    {
+        mark(transformable.getOldX(),
+             transformable.getOldY(),
+             transformable.getOldWidth(),
+             transformable.getOldHeight());
+        mark(transformable);
+    }
+}
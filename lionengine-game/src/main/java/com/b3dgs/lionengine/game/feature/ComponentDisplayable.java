@@ -18,24 +18,51 @@ package com.b3dgs.lionengine.game.feature;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.game.FeatureProvider;
 import com.b3dgs.lionengine.graphic.Graphic;
 
 /**
  * Renderer component implementation which render {@link Displayable} elements with {@link Layerable} support to order
  * rendering. If there is not {@link Layerable} feature, {@link #LAYER_DEFAULT} will be used as default layer value.
- * The lower layer index is handled first.
+ * The lower layer index is handled first, and displayables of a same layer are rendered in their adding order.
+ * <p>
+ * Once a viewer is set with {@link #setCulling(Viewer, int)}, {@link Transformable} displayables are stored in a
+ * uniform grid of their bounds, and only the ones in the cells covered by the viewer area are checked with
+ * {@link Viewer#isViewable(com.b3dgs.lionengine.Shape, int, int)} and rendered. Rendering order stays the same.
+ * Displayables without {@link Transformable} are always rendered. Transformable displayables are only listened while
+ * culling is enabled.
+ * </p>
  */
-public class ComponentDisplayable implements ComponentRenderer, HandlerListener, LayerableListener
+public class ComponentDisplayable implements ComponentRenderer, HandlerListener, LayerableListener,
+                                             TransformableListener
 {
+    /** Default grid cell size. */
+    public static final int DEFAULT_CELL_SIZE = 256;
     /** Default layer value. */
     private static final Integer LAYER_DEFAULT = Integer.valueOf(0);
+    /** Maximum cells covered by an entry, beyond it is checked on each render. */
+    private static final int MAX_CELLS = 64;
+    /** Rendering order. */
+    private static final Comparator<Entry> ORDER = (a, b) ->
+    {
+        final int layer = a.layer.compareTo(b.layer);
+        if (layer != 0)
+        {
+            return layer;
+        }
+        return Long.compare(a.order, b.order);
+    };
 
     /**
      * Get the featurable layer.
@@ -43,7 +70,7 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
      * @param featurable The featurable reference.
      * @return The featurable layer if is {@link Layerable}, {@link #LAYER_DEFAULT} else.
      */
-    private static Integer getLayer(Featurable featurable)
+    private static Integer getLayer(FeatureProvider featurable)
     {
         if (featurable.hasFeature(Layerable.class))
         {
@@ -53,12 +80,46 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         return LAYER_DEFAULT;
     }
 
+    /**
+     * Get cell key.
+     * 
+     * @param x The horizontal cell index.
+     * @param y The vertical cell index.
+     * @return The packed cell key.
+     */
+    private static Long key(int x, int y)
+    {
+        return Long.valueOf((long) x << Integer.SIZE | y & 0xFFFF_FFFFL);
+    }
+
     /** Sorted layers index. */
     private final Set<Integer> indexs = new TreeSet<>();
     /** Layers to render. */
     private final Map<Integer, Collection<Displayable>> layers = new HashMap<>();
     /** Layer to update. */
     private final Collection<LayerUpdate> toUpdate = new ArrayList<>();
+    /** Displayables data. */
+    private final Map<Displayable, Entry> entries = new HashMap<>();
+    /** Grid cells (key is the packed cell index). */
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    /** Entries not in grid, checked on each render. */
+    private final Set<Entry> unbounded = new LinkedHashSet<>();
+    /** Entries to render, reused. */
+    private final List<Entry> visible = new ArrayList<>();
+    /** Culling viewer (<code>null</code> if no culling). */
+    private Viewer viewer;
+    /** Culling margin. */
+    private int margin;
+    /** Grid cell size. */
+    private int cellSize = DEFAULT_CELL_SIZE;
+    /** Next adding order. */
+    private long nextOrder;
+    /** Current render stamp. */
+    private int stamp;
+    /** Last render drawn count. */
+    private int drawn;
+    /** Last render culled count. */
+    private int culled;
     /** Update flag. */
     private boolean updateRequested;
 
@@ -70,6 +131,76 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         super();
     }
 
+    /**
+     * Set the viewer used to render only viewable {@link Transformable} displayables.
+     * 
+     * @param viewer The viewer reference, <code>null</code> to render all displayables (default).
+     * @param margin The viewer margin added on each side (must be superior or equal to 0).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setCulling(Viewer viewer, int margin)
+    {
+        setCulling(viewer, margin, cellSize);
+    }
+
+    /**
+     * Set the viewer used to render only viewable {@link Transformable} displayables.
+     * 
+     * @param viewer The viewer reference, <code>null</code> to render all displayables (default).
+     * @param margin The viewer margin added on each side (must be superior or equal to 0).
+     * @param cellSize The grid cell size (must be strictly superior to 0).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setCulling(Viewer viewer, int margin, int cellSize)
+    {
+        Check.superiorOrEqual(margin, 0);
+        Check.superiorStrict(cellSize, 0);
+
+        cells.clear();
+        unbounded.clear();
+        final boolean listened = this.viewer != null;
+        this.viewer = viewer;
+        this.margin = margin;
+        this.cellSize = cellSize;
+
+        for (final Entry entry : entries.values())
+        {
+            entry.cells = false;
+            if (viewer != null)
+            {
+                index(entry);
+            }
+            if (viewer != null && !listened)
+            {
+                listen(entry);
+            }
+            else if (viewer == null && listened)
+            {
+                unlisten(entry);
+            }
+        }
+    }
+
+    /**
+     * Get the number of displayables rendered by last render.
+     * 
+     * @return The drawn number.
+     */
+    public int getDrawn()
+    {
+        return drawn;
+    }
+
+    /**
+     * Get the number of displayables skipped by last render, as not viewable.
+     * 
+     * @return The culled number.
+     */
+    public int getCulled()
+    {
+        return culled;
+    }
+
     /**
      * Get the layer set at the specified index. Creates an empty set if no set already defined.
      * 
@@ -81,7 +212,7 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         final Collection<Displayable> displayables;
         if (!layers.containsKey(layer))
         {
-            displayables = new HashSet<>();
+            displayables = new LinkedHashSet<>();
             layers.put(layer, displayables);
         }
         else
@@ -105,6 +236,232 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         {
             indexs.remove(layer);
         }
+        final Entry entry = entries.remove(displayable);
+        if (entry != null)
+        {
+            unindex(entry);
+            if (viewer != null)
+            {
+                unlisten(entry);
+            }
+        }
+    }
+
+    /**
+     * Set displayable entry at the end of its layer, created if needed.
+     * 
+     * @param provider The displayable provider.
+     * @param displayable The displayable reference.
+     * @param layer The displayable layer.
+     */
+    private void setEntry(FeatureProvider provider, Displayable displayable, Integer layer)
+    {
+        Entry entry = entries.get(displayable);
+        if (entry == null)
+        {
+            final Transformable transformable;
+            if (provider.hasFeature(Transformable.class))
+            {
+                transformable = provider.getFeature(Transformable.class);
+            }
+            else
+            {
+                transformable = null;
+            }
+            entry = new Entry(displayable, transformable);
+            entries.put(displayable, entry);
+            if (viewer != null)
+            {
+                listen(entry);
+            }
+        }
+        entry.layer = layer;
+        entry.order = nextOrder++;
+        if (viewer != null)
+        {
+            index(entry);
+        }
+    }
+
+    /**
+     * Listen entry transformable to update its grid cells on move.
+     * 
+     * @param entry The entry to listen.
+     */
+    private void listen(Entry entry)
+    {
+        if (entry.transformable != null)
+        {
+            entry.transformable.addListener(this);
+        }
+    }
+
+    /**
+     * Stop listening entry transformable.
+     * 
+     * @param entry The entry to stop listening.
+     */
+    private void unlisten(Entry entry)
+    {
+        if (entry.transformable != null)
+        {
+            entry.transformable.removeListener(this);
+        }
+    }
+
+    /**
+     * Store entry in the grid cells covered by its bounds, or in the unbounded entries.
+     * 
+     * @param entry The entry to store.
+     */
+    private void index(Entry entry)
+    {
+        if (entry.transformable == null)
+        {
+            unbounded.add(entry);
+            return;
+        }
+        final Transformable transformable = entry.transformable;
+        final double width = Math.abs(transformable.getWidth());
+        final double height = Math.abs(transformable.getHeight());
+        final int minX = (int) Math.floor((transformable.getX() - width) / cellSize);
+        final int minY = (int) Math.floor((transformable.getY() - height) / cellSize);
+        final int maxX = (int) Math.floor((transformable.getX() + width) / cellSize);
+        final int maxY = (int) Math.floor((transformable.getY() + height) / cellSize);
+
+        if (entry.cells
+            && minX == entry.minX
+            && minY == entry.minY
+            && maxX == entry.maxX
+            && maxY == entry.maxY)
+        {
+            return;
+        }
+        unindex(entry);
+
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS)
+        {
+            unbounded.add(entry);
+            return;
+        }
+        for (int x = minX; x <= maxX; x++)
+        {
+            for (int y = minY; y <= maxY; y++)
+            {
+                cells.computeIfAbsent(key(x, y), k -> new ArrayList<>()).add(entry);
+            }
+        }
+        entry.cells = true;
+        entry.minX = minX;
+        entry.minY = minY;
+        entry.maxX = maxX;
+        entry.maxY = maxY;
+    }
+
+    /**
+     * Remove entry from grid cells and unbounded entries.
+     * 
+     * @param entry The entry to remove.
+     */
+    private void unindex(Entry entry)
+    {
+        unbounded.remove(entry);
+        if (entry.cells)
+        {
+            for (int x = entry.minX; x <= entry.maxX; x++)
+            {
+                for (int y = entry.minY; y <= entry.maxY; y++)
+                {
+                    final Long key = key(x, y);
+                    final List<Entry> cell = cells.get(key);
+                    cell.remove(entry);
+                    if (cell.isEmpty())
+                    {
+                        cells.remove(key);
+                    }
+                }
+            }
+            entry.cells = false;
+        }
+    }
+
+    /**
+     * Check if entry is viewable.
+     * 
+     * @param entry The entry to check.
+     * @return <code>true</code> if viewable, <code>false</code> else.
+     */
+    private boolean isViewable(Entry entry)
+    {
+        return entry.transformable == null || viewer.isViewable(entry.transformable, margin, margin);
+    }
+
+    /**
+     * Render viewable displayables only, in layer and adding order.
+     * 
+     * @param g The graphic output.
+     */
+    private void renderCulled(Graphic g)
+    {
+        stamp++;
+        for (final Entry entry : unbounded)
+        {
+            if (isViewable(entry))
+            {
+                visible.add(entry);
+            }
+        }
+
+        final double left = viewer.getX() + viewer.getViewX() - margin;
+        final double bottom = viewer.getY() - viewer.getViewY() - margin;
+        final int minX = (int) Math.floor(left / cellSize);
+        final int minY = (int) Math.floor(bottom / cellSize);
+        final int maxX = (int) Math.floor((left + viewer.getWidth() + margin * 2.0) / cellSize);
+        final int maxY = (int) Math.floor((bottom + viewer.getHeight() + margin * 2.0) / cellSize);
+        for (int x = minX; x <= maxX; x++)
+        {
+            for (int y = minY; y <= maxY; y++)
+            {
+                final List<Entry> cell = cells.get(key(x, y));
+                if (cell != null)
+                {
+                    collect(cell);
+                }
+            }
+        }
+
+        visible.sort(ORDER);
+        final int count = visible.size();
+        for (int i = 0; i < count; i++)
+        {
+            visible.get(i).displayable.render(g);
+        }
+        visible.clear();
+
+        drawn = count;
+        culled = entries.size() - count;
+    }
+
+    /**
+     * Add viewable entries of cell not already checked for this render.
+     * 
+     * @param cell The cell entries.
+     */
+    private void collect(List<Entry> cell)
+    {
+        final int count = cell.size();
+        for (int i = 0; i < count; i++)
+        {
+            final Entry entry = cell.get(i);
+            if (entry.stamp != stamp)
+            {
+                entry.stamp = stamp;
+                if (isViewable(entry))
+                {
+                    visible.add(entry);
+                }
+            }
+        }
     }
 
     /*
@@ -114,12 +471,23 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
     @Override
     public void render(Graphic g, Handlables featurables)
     {
-        for (final Integer layer : indexs)
+        if (viewer == null)
         {
-            for (final Displayable displayable : layers.get(layer))
+            int count = 0;
+            for (final Integer layer : indexs)
             {
-                displayable.render(g);
+                for (final Displayable displayable : layers.get(layer))
+                {
+                    displayable.render(g);
+                    count++;
+                }
             }
+            drawn = count;
+            culled = 0;
+        }
+        else
+        {
+            renderCulled(g);
         }
         if (updateRequested)
         {
@@ -128,6 +496,7 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
                 getLayer(update.layerOld).remove(update.displayable);
                 getLayer(update.layerNew).add(update.displayable);
                 indexs.add(update.layerNew);
+                setEntry(update.provider, update.displayable, update.layerNew);
             }
             toUpdate.clear();
             updateRequested = false;
@@ -148,6 +517,7 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
             final Collection<Displayable> displayables = getLayer(layer);
             displayables.add(displayable);
             indexs.add(layer);
+            setEntry(featurable, displayable, layer);
         }
         if (featurable.hasFeature(Layerable.class))
         {
@@ -184,16 +554,76 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         if (provider.hasFeature(Displayable.class))
         {
             final Displayable displayable = provider.getFeature(Displayable.class);
-            toUpdate.add(new LayerUpdate(displayable, layerDisplayOld, layerDisplayNew));
+            toUpdate.add(new LayerUpdate(provider, displayable, layerDisplayOld, layerDisplayNew));
             updateRequested = true;
         }
     }
 
+    /*
+     * TransformableListener
+     */
+
+    @Override
+    public void notifyTransformed(Transformable transformable)
+    {
+        if (viewer != null && transformable.hasFeature(Displayable.class))
+        {
+            final Entry entry = entries.get(transformable.getFeature(Displayable.class));
+            if (entry != null && entry.transformable != null)
+            {
+                index(entry);
+            }
+        }
+    }
+
+    /**
+     * Displayable rendering and location data.
+     */
+    private static final class Entry
+    {
+        /** Displayable reference. */
+        private final Displayable displayable;
+        /** Transformable reference (<code>null</code> if none). */
+        private final Transformable transformable;
+        /** Current layer. */
+        private Integer layer;
+        /** Adding order in layer. */
+        private long order;
+        /** Last render stamp. */
+        private int stamp;
+        /** Stored in grid cells flag. */
+        private boolean cells;
+        /** Minimum horizontal cell. */
+        private int minX;
+        /** Minimum vertical cell. */
+        private int minY;
+        /** Maximum horizontal cell. */
+        private int maxX;
+        /** Maximum vertical cell. */
+        private int maxY;
+
+        /**
+         * Create entry.
+         * 
+         * @param displayable The displayable reference.
+         * @param transformable The transformable reference (<code>null</code> if none).
+         */
+        Entry(Displayable displayable, Transformable transformable)
+        {
+            super();
+
+            this.displayable = displayable;
+            this.transformable = transformable;
+        }
+    }
+
     /**
      * Layer update data.
      */
     private static final class LayerUpdate
     {
+        /** Displayable provider. */
+        private final FeatureProvider provider;
         /** Displayable reference. */
         private final Displayable displayable;
         /** Old layer. */
@@ -204,14 +634,16 @@ public class ComponentDisplayable implements ComponentRenderer, HandlerListener,
         /**
          * Create data.
          * 
+         * @param provider The displayable provider.
          * @param displayable The displayable reference.
          * @param layerOld The old layer.
          * @param layerNew The new layer.
          */
-        private LayerUpdate(Displayable displayable, Integer layerOld, Integer layerNew)
+        private LayerUpdate(FeatureProvider provider, Displayable displayable, Integer layerOld, Integer layerNew)
         {
             super();
 
+            this.provider = provider;
             this.displayable = displayable;
             this.layerOld = layerOld;
             this.layerNew = layerNew;
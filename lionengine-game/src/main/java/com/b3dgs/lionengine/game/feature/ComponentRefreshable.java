@@ -17,24 +17,70 @@
 package com.b3dgs.lionengine.game.feature;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.b3dgs.lionengine.game.FeatureProvider;
+import com.b3dgs.lionengine.game.feature.tile.map.pathfinding.Pathfindable;
 
 /**
  * Refresher component implementation which refreshes {@link Refreshable} elements with {@link Layerable} support to
  * order rendering. If there is not {@link Layerable} feature, {@link #LAYER_DEFAULT} will be used as default layer
- * value. The lower layer index is handled first.
+ * value. The lower layer index is handled first, refreshables of a same layer in their adding order.
+ * <p>
+ * Once a pool is set with {@link #setPool(ForkJoinPool)}, {@link Parallelizable} refreshables of a same layer are split
+ * across it, then remaining refreshables of the layer are updated serially, layers still being handled one after the
+ * other. Structural changes (add, remove, destroy, layer change, sleep) are deferred. {@link Transformable}
+ * notifications to listeners of other featurables (such as components) are recorded by each task, and sent from the
+ * caller thread once the parallel refreshables of the layer are done, in refreshables order.
+ * </p>
+ * <p>
+ * A {@link Sleepable} refreshable going to sleep is removed from its layer at the end of the current update (or at the
+ * beginning of the next one if requested out of update), and put back when woken up, at the beginning of the update
+ * where its delay expires, so sleeping refreshables cost nothing per tick. A refreshable added while sleeping keeps
+ * its remaining delay ({@link Sleepable#getSleepTicks()}), which is stored back when removed.
+ * </p>
+ * <p>
+ * Once a {@link ComponentScheduler} is added to the {@link Handler}, {@link Schedulable} refreshables are ignored, their
+ * update being left to it. They are updated as others else.
+ * </p>
  */
-public class ComponentRefreshable implements ComponentUpdater, HandlerListener, LayerableListener
+public class ComponentRefreshable implements ComponentUpdaterAccess, HandlerListener, LayerableListener,
+                                  SleepableListener
 {
     /** Default layer value. */
     private static final Integer LAYER_DEFAULT = Integer.valueOf(0);
+    /** Maximum refreshables updated by one parallel task. */
+    private static final int PARALLEL_SPLIT = 256;
+    /** Types read during update. */
+    private static final Collection<Class<?>> READS = Arrays.asList(Refreshable.class,
+                                                                    Layerable.class,
+                                                                    Sleepable.class);
+    /** Types written during update. */
+    private static final Collection<Class<?>> WRITES = Arrays.asList(Refreshable.class, Transformable.class);
+
+    /**
+     * Check if featurable refreshable can be updated concurrently.
+     * 
+     * @param featurable The featurable reference.
+     * @return <code>true</code> if {@link Parallelizable} and not {@link Pathfindable}, <code>false</code> else.
+     */
+    private static boolean isParallel(FeatureProvider featurable)
+    {
+        return featurable.getFeature(Refreshable.class) instanceof Parallelizable
+               && !featurable.hasFeature(Pathfindable.class);
+    }
 
     /**
      * Get the featurable layer.
@@ -42,7 +88,7 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
      * @param featurable The featurable reference.
      * @return The featurable layer if is {@link Layerable}, {@link #LAYER_DEFAULT} else.
      */
-    private static Integer getLayer(Featurable featurable)
+    private static Integer getLayer(FeatureProvider featurable)
     {
         if (featurable.hasFeature(Layerable.class))
         {
@@ -56,10 +102,28 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
     private final Set<Integer> indexs = new TreeSet<>();
     /** Layers to render. */
     private final Map<Integer, Collection<Refreshable>> layers = new HashMap<>();
-    /** Layer to update. */
-    private final Collection<LayerUpdate> toUpdate = new ArrayList<>();
+    /** Layers as arrays for parallel split, removed on layer change. */
+    private final Map<Integer, Partition> arrays = new HashMap<>();
+    /** Refreshables which can be updated concurrently. */
+    private final Set<Refreshable> parallel = new HashSet<>();
+    /** Layer to update (filled concurrently in parallel). */
+    private final Queue<LayerUpdate> toUpdate = new ConcurrentLinkedQueue<>();
+    /** Refreshables current layer, sleeping ones included. */
+    private final Map<Refreshable, Integer> locations = new HashMap<>();
+    /** Sleeping refreshables. */
+    private final Map<Refreshable, Sleep> sleeping = new HashMap<>();
+    /** Sleeping refreshables with delay, by wake up tick. */
+    private final Queue<Sleep> alarms = new PriorityQueue<>((a, b) -> Long.compare(a.wake, b.wake));
+    /** Sleep changes to apply (filled concurrently in parallel). */
+    private final Queue<SleepChange> toSleep = new ConcurrentLinkedQueue<>();
+    /** Parallel pool (<code>null</code> to update serially). */
+    private ForkJoinPool pool;
+    /** Current tick. */
+    private long tick;
+    /** Scheduler flag, <code>true</code> to ignore {@link Schedulable} refreshables. */
+    private boolean scheduled;
     /** Update flag. */
-    private boolean updateRequested;
+    private volatile boolean updateRequested;
 
     /**
      * Create component.
@@ -69,6 +133,69 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
         super();
     }
 
+    /**
+     * Set the pool used to update concurrently the refreshables of a same layer.
+     * 
+     * @param pool The pool reference, <code>null</code> to update serially (default).
+     */
+    public void setPool(ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Get the number of refreshables updated each tick (not sleeping).
+     * 
+     * @return The active refreshables number.
+     */
+    public int getActive()
+    {
+        int active = 0;
+        for (final Integer layer : indexs)
+        {
+            for (final Refreshable refreshable : layers.get(layer))
+            {
+                if (isUpdated(refreshable))
+                {
+                    active++;
+                }
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Set the scheduler flag. Set by {@link Handler} once a {@link ComponentScheduler} is added.
+     * 
+     * @param scheduled <code>true</code> to ignore {@link Schedulable} refreshables, <code>false</code> to update them.
+     */
+    void setScheduled(boolean scheduled)
+    {
+        this.scheduled = scheduled;
+        arrays.clear();
+    }
+
+    /**
+     * Check if refreshable is updated by this component.
+     * 
+     * @param refreshable The refreshable reference.
+     * @return <code>true</code> if updated, <code>false</code> if left to {@link ComponentScheduler}.
+     */
+    private boolean isUpdated(Refreshable refreshable)
+    {
+        return !scheduled || !(refreshable instanceof Schedulable);
+    }
+
+    /**
+     * Get the number of sleeping refreshables.
+     * 
+     * @return The sleeping refreshables number.
+     */
+    public int getSleeping()
+    {
+        return sleeping.size();
+    }
+
     /**
      * Get the layer set at the specified index. Creates an empty set if no set already defined.
      * 
@@ -77,10 +204,11 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
      */
     private Collection<Refreshable> getLayer(Integer layer)
     {
+        arrays.remove(layer);
         final Collection<Refreshable> refreshables;
         if (!layers.containsKey(layer))
         {
-            refreshables = new HashSet<>();
+            refreshables = new LinkedHashSet<>();
             layers.put(layer, refreshables);
         }
         else
@@ -106,6 +234,136 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
         }
     }
 
+    /**
+     * Create layer partition between parallel and serial refreshables.
+     * 
+     * @param layer The layer index.
+     * @return The layer partition.
+     */
+    private Partition createPartition(Integer layer)
+    {
+        final Collection<Refreshable> refreshables = layers.get(layer);
+        final Collection<Refreshable> concurrent = new ArrayList<>();
+        final Collection<Refreshable> serial = new ArrayList<>();
+        for (final Refreshable refreshable : refreshables)
+        {
+            if (isUpdated(refreshable) && parallel.contains(refreshable))
+            {
+                concurrent.add(refreshable);
+            }
+            else if (isUpdated(refreshable))
+            {
+                serial.add(refreshable);
+            }
+        }
+        return new Partition(concurrent.toArray(new Refreshable[concurrent.size()]),
+                             serial.toArray(new Refreshable[serial.size()]));
+    }
+
+    /**
+     * Wake up sleeping refreshables with an expired delay.
+     */
+    private void wakeUpExpired()
+    {
+        while (!alarms.isEmpty() && alarms.peek().wake <= tick)
+        {
+            final Sleep sleep = alarms.poll();
+            if (sleeping.get(sleep.refreshable) == sleep)
+            {
+                sleep.sleepable.wakeUp();
+            }
+        }
+    }
+
+    /**
+     * Keep the remaining ticks of a removed refreshable sleeping with a delay, so it is restored once added again.
+     * Woken up if its delay expires on next tick.
+     * 
+     * @param sleep The sleep data (may be <code>null</code> if not sleeping).
+     */
+    private void keepSleep(Sleep sleep)
+    {
+        if (sleep != null && sleep.delayed && sleep.sleepable instanceof SleepableModel)
+        {
+            final long remaining = sleep.wake - tick - 1L;
+            if (remaining > 0L)
+            {
+                ((SleepableModel) sleep.sleepable).setSleepTicks((int) Math.min(remaining, Integer.MAX_VALUE));
+            }
+            else
+            {
+                sleep.sleepable.wakeUp();
+            }
+        }
+    }
+
+    /**
+     * Apply sleep changes in their request order.
+     * 
+     * @param start The first tick not updated by a refreshable going to sleep.
+     */
+    private void applySleeps(long start)
+    {
+        SleepChange change;
+        while ((change = toSleep.poll()) != null) // CHECKSTYLE IGNORE LINE: TrailingComment|InnerAssignment
+        {
+            final Integer layer = locations.get(change.refreshable);
+            if (layer != null)
+            {
+                if (change.ticks < 0)
+                {
+                    if (sleeping.remove(change.refreshable) != null)
+                    {
+                        getLayer(layer).add(change.refreshable);
+                        indexs.add(layer);
+                    }
+                }
+                else
+                {
+                    final Sleep sleep = new Sleep(change.refreshable,
+                                                  change.sleepable,
+                                                  start + change.ticks,
+                                                  change.ticks > 0);
+                    if (sleeping.put(change.refreshable, sleep) == null)
+                    {
+                        remove(layer, change.refreshable);
+                    }
+                    if (change.ticks > 0)
+                    {
+                        alarms.add(sleep);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Update layer refreshables, parallel ones split across pool if enough, then serial ones.
+     * 
+     * @param extrp The extrapolation value.
+     * @param partition The layer partition.
+     */
+    private void update(double extrp, Partition partition)
+    {
+        if (partition.parallel.length > PARALLEL_SPLIT)
+        {
+            final Split split = new Split(partition.parallel, 0, partition.parallel.length, extrp);
+            pool.invoke(split);
+            split.replay();
+        }
+        else
+        {
+            for (final Refreshable refreshable : partition.parallel)
+            {
+                refreshable.update(extrp);
+            }
+        }
+        for (final Refreshable refreshable : partition.serial)
+        {
+            refreshable.update(extrp);
+        }
+    }
+
     /*
      * ComponentUpdater
      */
@@ -113,24 +371,59 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
     @Override
     public void update(double extrp, Handlables featurables)
     {
+        tick++;
+        wakeUpExpired();
+        applySleeps(tick);
+
         for (final Integer layer : indexs)
         {
-            for (final Refreshable refreshable : layers.get(layer))
+            if (pool == null)
             {
-                refreshable.update(extrp);
+                for (final Refreshable refreshable : layers.get(layer))
+                {
+                    if (isUpdated(refreshable))
+                    {
+                        refreshable.update(extrp);
+                    }
+                }
+            }
+            else
+            {
+                update(extrp, arrays.computeIfAbsent(layer, this::createPartition));
             }
         }
         if (updateRequested)
         {
-            for (final LayerUpdate update : toUpdate)
+            updateRequested = false;
+            LayerUpdate update;
+            while ((update = toUpdate.poll()) != null) // CHECKSTYLE IGNORE LINE: TrailingComment|InnerAssignment
             {
                 getLayer(update.layerOld).remove(update.refreshable);
-                getLayer(update.layerNew).add(update.refreshable);
-                indexs.add(update.layerNew);
+                if (!sleeping.containsKey(update.refreshable))
+                {
+                    getLayer(update.layerNew).add(update.refreshable);
+                    indexs.add(update.layerNew);
+                }
+                locations.put(update.refreshable, update.layerNew);
             }
-            toUpdate.clear();
-            updateRequested = false;
         }
+        applySleeps(tick + 1L);
+    }
+
+    /*
+     * ComponentUpdaterAccess
+     */
+
+    @Override
+    public Collection<Class<?>> getReads()
+    {
+        return READS;
+    }
+
+    @Override
+    public Collection<Class<?>> getWrites()
+    {
+        return WRITES;
     }
 
     /*
@@ -147,11 +440,25 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
             final Collection<Refreshable> refreshables = getLayer(layer);
             refreshables.add(refreshable);
             indexs.add(layer);
+            if (isParallel(featurable))
+            {
+                parallel.add(refreshable);
+            }
+            locations.put(refreshable, layer);
         }
         if (featurable.hasFeature(Layerable.class))
         {
             featurable.getFeature(Layerable.class).addListener(this);
         }
+        if (featurable.hasFeature(Sleepable.class))
+        {
+            final Sleepable sleepable = featurable.getFeature(Sleepable.class);
+            sleepable.addListener(this);
+            if (sleepable.isSleeping())
+            {
+                notifySleep(featurable, sleepable.getSleepTicks());
+            }
+        }
     }
 
     @Override
@@ -162,11 +469,18 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
             final Refreshable refreshable = featurable.getFeature(Refreshable.class);
             final Integer layer = getLayer(featurable);
             remove(layer, refreshable);
+            parallel.remove(refreshable);
+            locations.remove(refreshable);
+            keepSleep(sleeping.remove(refreshable));
         }
         if (featurable.hasFeature(Layerable.class))
         {
             featurable.getFeature(Layerable.class).removeListener(this);
         }
+        if (featurable.hasFeature(Sleepable.class))
+        {
+            featurable.getFeature(Sleepable.class).removeListener(this);
+        }
     }
 
     /*
@@ -188,6 +502,92 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
         }
     }
 
+    /*
+     * SleepableListener
+     */
+
+    @Override
+    public void notifySleep(FeatureProvider provider, int ticks)
+    {
+        if (provider.hasFeature(Refreshable.class))
+        {
+            final Sleepable sleepable = provider.getFeature(Sleepable.class);
+            toSleep.add(new SleepChange(provider.getFeature(Refreshable.class), sleepable, ticks));
+        }
+    }
+
+    @Override
+    public void notifyWakeUp(FeatureProvider provider)
+    {
+        if (provider.hasFeature(Refreshable.class))
+        {
+            final Sleepable sleepable = provider.getFeature(Sleepable.class);
+            toSleep.add(new SleepChange(provider.getFeature(Refreshable.class), sleepable, -1));
+        }
+    }
+
+    /**
+     * Sleeping refreshable data.
+     */
+    private static final class Sleep
+    {
+        /** Refreshable reference. */
+        private final Refreshable refreshable;
+        /** Sleepable reference. */
+        private final Sleepable sleepable;
+        /** Wake up tick. */
+        private final long wake;
+        /** Delayed flag, <code>false</code> if until woken up. */
+        private final boolean delayed;
+
+        /**
+         * Create data.
+         * 
+         * @param refreshable The refreshable reference.
+         * @param sleepable The sleepable reference.
+         * @param wake The wake up tick.
+         * @param delayed <code>true</code> if woken up at tick, <code>false</code> if until woken up.
+         */
+        private Sleep(Refreshable refreshable, Sleepable sleepable, long wake, boolean delayed)
+        {
+            super();
+
+            this.refreshable = refreshable;
+            this.sleepable = sleepable;
+            this.wake = wake;
+            this.delayed = delayed;
+        }
+    }
+
+    /**
+     * Sleep change data.
+     */
+    private static final class SleepChange
+    {
+        /** Refreshable reference. */
+        private final Refreshable refreshable;
+        /** Sleepable reference. */
+        private final Sleepable sleepable;
+        /** Ticks to sleep, <code>0</code> if until woken up, negative to wake up. */
+        private final int ticks;
+
+        /**
+         * Create data.
+         * 
+         * @param refreshable The refreshable reference.
+         * @param sleepable The sleepable reference.
+         * @param ticks The ticks to sleep, <code>0</code> if until woken up, negative to wake up.
+         */
+        private SleepChange(Refreshable refreshable, Sleepable sleepable, int ticks)
+        {
+            super();
+
+            this.refreshable = refreshable;
+            this.sleepable = sleepable;
+            this.ticks = ticks;
+        }
+    }
+
     /**
      * Layer update data.
      */
@@ -216,4 +616,114 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
             this.layerNew = layerNew;
         }
     }
+
+    /**
+     * Layer refreshables split by update mode.
+     */
+    private static final class Partition
+    {
+        /** Refreshables updated concurrently. */
+        private final Refreshable[] parallel;
+        /** Refreshables updated serially. */
+        private final Refreshable[] serial;
+
+        /**
+         * Create partition.
+         * 
+         * @param parallel The refreshables updated concurrently.
+         * @param serial The refreshables updated serially.
+         */
+        private Partition(Refreshable[] parallel, Refreshable[] serial)
+        {
+            super();
+
+            this.parallel = parallel;
+            this.serial = serial;
+        }
+    }
+
+    /**
+     * Refreshables range update, split in halves until small enough.
+     */
+    private static final class Split extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        /** Layer refreshables. */
+        private final transient Refreshable[] refreshables;
+        /** First index. */
+        private final int start;
+        /** Last index (excluded). */
+        private final int end;
+        /** Extrapolation value. */
+        private final double extrp;
+        /** First half task, <code>null</code> if not split. */
+        private transient Split first;
+        /** Second half task, <code>null</code> if not split. */
+        private transient Split second;
+        /** Notifications recorded if not split. */
+        private transient TransformableDeferred deferred;
+
+        /**
+         * Create task.
+         * 
+         * @param refreshables The layer refreshables.
+         * @param start The first index.
+         * @param end The last index (excluded).
+         * @param extrp The extrapolation value.
+         */
+        Split(Refreshable[] refreshables, int start, int end, double extrp)
+        {
+            super();
+
+            this.refreshables = refreshables;
+            this.start = start;
+            this.end = end;
+            this.extrp = extrp;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start > PARALLEL_SPLIT)
+            {
+                final int middle = start + end >>> 1;
+                first = new Split(refreshables, start, middle, extrp);
+                second = new Split(refreshables, middle, end, extrp);
+                invokeAll(first, second);
+            }
+            else
+            {
+                deferred = new TransformableDeferred();
+                deferred.start();
+                try
+                {
+                    for (int i = start; i < end; i++)
+                    {
+                        refreshables[i].update(extrp);
+                    }
+                }
+                finally
+                {
+                    deferred.stop();
+                }
+            }
+        }
+
+        /**
+         * Send recorded notifications, in refreshables order. Must be called from the caller thread once done.
+         */
+        void replay()
+        {
+            if (deferred != null)
+            {
+                deferred.replay();
+            }
+            else
+            {
+                first.replay();
+                second.replay();
+            }
+        }
+    }
 }
@@ -0,0 +1,416 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.Feature;
+import com.b3dgs.lionengine.game.FeatureProvider;
+
+/**
+ * Scheduler component implementation which updates {@link Schedulable} features at their target frequency, spending at
+ * most a time budget per update, so frame time stays flat when their load spikes.
+ * <p>
+ * Each update, due tasks are sorted by lateness, counted in periods, so a deferred task gains priority each tick it
+ * waits, and tasks are served in turn. They are then updated in this order while their estimated cost fits in the
+ * remaining budget, tasks never updated yet being assumed free. Costs are measured with {@link System#nanoTime()} and
+ * averaged, so the scheduler adapts to load changes by itself. The most late task is always updated, so tasks are never
+ * starved.
+ * </p>
+ * <p>
+ * Once created with {@link #createDeterministic(int)}, time advances of a fixed step on each update instead of
+ * following {@link System#nanoTime()}, so tasks are due on the same updates on any machine, and all due tasks are
+ * updated, as costs are measured as zero. This is required by {@link Handler#setDeterministic(boolean)}.
+ * </p>
+ * <p>
+ * Schedulable features of added featurables are registered automatically, and removed with their featurable.
+ * Modifications are applied at the beginning of the next update.
+ * </p>
+ */
+public class ComponentScheduler implements ComponentUpdaterAccess, HandlerListener
+{
+    /** Default budget in milli seconds. */
+    public static final double DEFAULT_BUDGET = 2.0;
+    /** Cost average smoothing factor. */
+    private static final double SMOOTHING = 0.25;
+    /** Types read during update. */
+    private static final Collection<Class<?>> READS = Collections.singletonList(Schedulable.class);
+    /** Types written during update. */
+    private static final Collection<Class<?>> WRITES = Arrays.asList(Schedulable.class, Transformable.class);
+
+    /**
+     * Create deterministic component, time advancing of one frame on each update instead of following system time.
+     * 
+     * @param rate The updates rate per second (must be strictly positive).
+     * @return The created component.
+     * @throws LionEngineException If invalid argument.
+     */
+    public static ComponentScheduler createDeterministic(int rate)
+    {
+        Check.superiorStrict(rate, 0);
+
+        return new ComponentScheduler(Constant.ONE_SECOND_IN_NANO / rate);
+    }
+
+    /** Registered tasks. */
+    private final List<Task> tasks = new ArrayList<>();
+    /** Due tasks buffer. */
+    private final List<Task> due = new ArrayList<>();
+    /** Tasks to add. */
+    private final List<Task> toAdd = new ArrayList<>();
+    /** Owners to remove. */
+    private final Collection<FeatureProvider> toRemove = new HashSet<>();
+    /** Time source in nano seconds. */
+    private final LongSupplier clock;
+    /** Deterministic flag, <code>true</code> if time only depends on updates count. */
+    private final boolean deterministic;
+    /** Updates count. */
+    private long updates;
+    /** Budget in nano seconds. */
+    private long budget;
+    /** Time spent on last update in nano seconds. */
+    private long spent;
+    /** Due tasks deferred on last update. */
+    private int deferred;
+
+    /**
+     * Create component with {@link #DEFAULT_BUDGET}.
+     */
+    public ComponentScheduler()
+    {
+        this(DEFAULT_BUDGET);
+    }
+
+    /**
+     * Create component.
+     * 
+     * @param budget The time budget per update in milli seconds (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ComponentScheduler(double budget)
+    {
+        this(budget, System::nanoTime);
+    }
+
+    /**
+     * Create component.
+     * 
+     * @param budget The time budget per update in milli seconds (must be strictly positive).
+     * @param clock The time source in nano seconds.
+     * @throws LionEngineException If invalid argument.
+     */
+    ComponentScheduler(double budget, LongSupplier clock)
+    {
+        super();
+
+        this.clock = clock;
+        deterministic = false;
+        setBudget(budget);
+    }
+
+    /**
+     * Create deterministic component.
+     * 
+     * @param step The time step per update in nano seconds.
+     */
+    private ComponentScheduler(long step)
+    {
+        super();
+
+        clock = () -> updates * step;
+        deterministic = true;
+        setBudget(DEFAULT_BUDGET);
+    }
+
+    /**
+     * Register a task.
+     * 
+     * @param owner The task owner, used by {@link #remove(FeatureProvider)} (must not be <code>null</code>).
+     * @param task The task to update (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public void add(FeatureProvider owner, Schedulable task)
+    {
+        Check.notNull(owner);
+        Check.notNull(task);
+
+        toAdd.add(new Task(owner, task));
+    }
+
+    /**
+     * Unregister all tasks of owner. Tasks of owner added before and not registered yet are dropped at once, so tasks
+     * added after are kept.
+     * 
+     * @param owner The tasks owner.
+     */
+    public void remove(FeatureProvider owner)
+    {
+        toAdd.removeIf(task -> task.owner.equals(owner));
+        toRemove.add(owner);
+    }
+
+    /**
+     * Set the time budget per update. The most late task is updated even if budget is exceeded.
+     * 
+     * @param budget The time budget in milli seconds (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setBudget(double budget)
+    {
+        Check.superiorStrict(budget, 0.0);
+
+        this.budget = (long) (budget * Constant.NANO_TO_MILLI);
+    }
+
+    /**
+     * Get the time budget per update.
+     * 
+     * @return The time budget in milli seconds.
+     */
+    public double getBudget()
+    {
+        return budget / Constant.NANO_TO_MILLI;
+    }
+
+    /**
+     * Get the time spent updating tasks on last update.
+     * 
+     * @return The time spent in milli seconds.
+     */
+    public double getSpent()
+    {
+        return spent / Constant.NANO_TO_MILLI;
+    }
+
+    /**
+     * Get the number of due tasks deferred to next update on last update.
+     * 
+     * @return The deferred tasks number.
+     */
+    public int getDeferred()
+    {
+        return deferred;
+    }
+
+    /**
+     * Check if time only depends on updates count.
+     * 
+     * @return <code>true</code> if deterministic, <code>false</code> if following system time.
+     */
+    public boolean isDeterministic()
+    {
+        return deterministic;
+    }
+
+    /**
+     * Get the number of registered tasks.
+     * 
+     * @return The registered tasks number.
+     */
+    public int size()
+    {
+        return tasks.size();
+    }
+
+    /**
+     * Apply pending registrations.
+     * 
+     * @param now The current time.
+     */
+    private void applyChanges(long now)
+    {
+        if (!toRemove.isEmpty())
+        {
+            tasks.removeIf(task -> toRemove.contains(task.owner));
+            toRemove.clear();
+        }
+        for (final Task task : toAdd)
+        {
+            task.next = now;
+            tasks.add(task);
+        }
+        toAdd.clear();
+    }
+
+    /*
+     * ComponentUpdater
+     */
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        updates++;
+        final long now = clock.getAsLong();
+        applyChanges(now);
+
+        due.clear();
+        for (final Task task : tasks)
+        {
+            task.extrp += extrp;
+            if (now >= task.next)
+            {
+                task.lateness = (now - task.next) / task.period;
+                due.add(task);
+            }
+        }
+        due.sort((a, b) -> Double.compare(b.lateness, a.lateness));
+
+        spent = 0L;
+        deferred = 0;
+        boolean first = true;
+        for (final Task task : due)
+        {
+            if (!first && spent + Math.max(task.cost, 0L) >= budget)
+            {
+                deferred++;
+            }
+            else
+            {
+                spent += task.update();
+                first = false;
+            }
+        }
+        due.clear();
+    }
+
+    /*
+     * ComponentUpdaterAccess
+     */
+
+    @Override
+    public Collection<Class<?>> getReads()
+    {
+        return READS;
+    }
+
+    @Override
+    public Collection<Class<?>> getWrites()
+    {
+        return WRITES;
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        for (final Feature feature : featurable.getFeatures())
+        {
+            if (feature instanceof Schedulable)
+            {
+                add(featurable, (Schedulable) feature);
+            }
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        remove(featurable);
+    }
+
+    /**
+     * Registered task data.
+     */
+    private final class Task
+    {
+        /** Task owner. */
+        private final FeatureProvider owner;
+        /** Task reference. */
+        private final Schedulable schedulable;
+        /** Next due time in nano seconds. */
+        private long next;
+        /** Period in nano seconds. */
+        private double period;
+        /** Lateness in periods. */
+        private double lateness;
+        /** Average cost in nano seconds, negative if not measured yet. */
+        private long cost = -1L;
+        /** Extrapolation accumulated since last update. */
+        private double extrp;
+
+        /**
+         * Create task.
+         * 
+         * @param owner The task owner.
+         * @param schedulable The task reference.
+         */
+        Task(FeatureProvider owner, Schedulable schedulable)
+        {
+            super();
+
+            this.owner = owner;
+            this.schedulable = schedulable;
+            period = getPeriod();
+        }
+
+        /**
+         * Get the current task period.
+         * 
+         * @return The period in nano seconds.
+         * @throws LionEngineException If invalid frequency.
+         */
+        private double getPeriod()
+        {
+            final double frequency = schedulable.getFrequency();
+            Check.superiorStrict(frequency, 0.0);
+
+            return Constant.ONE_SECOND_IN_NANO / frequency;
+        }
+
+        /**
+         * Update task and measure its cost.
+         * 
+         * @return The measured cost in nano seconds.
+         */
+        long update()
+        {
+            final long start = clock.getAsLong();
+            schedulable.update(extrp);
+            final long end = clock.getAsLong();
+            final long measured = end - start;
+
+            extrp = 0.0;
+            if (cost < 0L)
+            {
+                cost = measured;
+            }
+            else
+            {
+                cost += (long) ((measured - cost) * SMOOTHING);
+            }
+            next += (long) period;
+            if (next <= start)
+            {
+                next = start + (long) period;
+            }
+            period = getPeriod();
+            return measured;
+        }
+    }
+}
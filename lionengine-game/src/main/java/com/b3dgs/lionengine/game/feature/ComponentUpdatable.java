@@ -16,14 +16,23 @@
  */
 package com.b3dgs.lionengine.game.feature;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
 import com.b3dgs.lionengine.Updatable;
 
 /**
  * Updater component implementation which updates {@link Updatable} elements with an extrapolation value (
  * {@link Updatable#update(double)}).
  */
-public class ComponentUpdatable implements ComponentUpdater
+public class ComponentUpdatable implements ComponentUpdaterAccess
 {
+    /** Types read during update. */
+    private static final Collection<Class<?>> READS = Collections.singletonList(Updatable.class);
+    /** Types written during update. */
+    private static final Collection<Class<?>> WRITES = Arrays.asList(Updatable.class, Transformable.class);
+
     /**
      * Create component.
      */
@@ -44,4 +53,20 @@ public class ComponentUpdatable implements ComponentUpdater
             updatable.update(extrp);
         }
     }
+
+    /*
+     * ComponentUpdaterAccess
+     */
+
+    @Override
+    public Collection<Class<?>> getReads()
+    {
+        return READS;
+    }
+
+    @Override
+    public Collection<Class<?>> getWrites()
+    {
+        return WRITES;
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.Collection;
+
+/**
+ * Updater component declaring the types it reads and writes during {@link #update(double, Handlables)}, allowing a
+ * parallel {@link Handler} (see {@link Handler#setPool(java.util.concurrent.ForkJoinPool)}) to update it at the same
+ * time as other declared components it does not conflict with.
+ * <p>
+ * Two components conflict if one writes a type (or a parent or sub type of it) that the other reads or writes. A
+ * component which does not implement this interface conflicts with all others, and is updated alone. Declared types
+ * must not change once the component is added.
+ * </p>
+ * <p>
+ * Built-in components running features code declare the features they run and {@link Transformable} as written
+ * ({@link ComponentRefreshable}, {@link ComponentUpdatable}, {@link ComponentScheduler}), so features they update must
+ * not change other shared types, unless {@link #getWrites()} is overridden to declare them.
+ * {@link com.b3dgs.lionengine.game.feature.collidable.ComponentCollision} only declares writing
+ * {@link com.b3dgs.lionengine.game.feature.collidable.Collidable}. Components listening to transformables declare
+ * reading {@link Transformable}, as they are notified while transformables are updated.
+ * </p>
+ * <p>
+ * Structural changes done during update ({@link Handler#add(Featurable)}, {@link Handler#remove},
+ * {@link Identifiable#destroy()}) are safe and still deferred to next update.
+ * </p>
+ */
+public interface ComponentUpdaterAccess extends ComponentUpdater
+{
+    /**
+     * Get the types read during update.
+     * 
+     * @return The read types.
+     */
+    Collection<Class<?>> getReads();
+
+    /**
+     * Get the types written during update.
+     * 
+     * @return The written types.
+     */
+    Collection<Class<?>> getWrites();
+}
@@ -47,7 +47,7 @@ import com.b3dgs.lionengine.game.Feature;
  * </p>
  * <p>
  * Destroyed {@link Featurable} can be cached to avoid {@link Featurable} creation if has {@link Recycler} and
- * {@link Recyclable} {@link Feature}s.
+ * {@link Recyclable} {@link Feature}s. A cached {@link Featurable} keeps its {@link Identifiable} Id when recycled.
  * </p>
  */
 public class Factory implements HandlerListener
@@ -328,6 +328,12 @@ public class Factory implements HandlerListener
                 cache.put(media, new ArrayDeque<>());
             }
             cache.get(media).offer(featurable);
+
+            final Identifiable identifiable = featurable.getFeature(Identifiable.class);
+            if (identifiable instanceof IdentifiableModel)
+            {
+                ((IdentifiableModel) identifiable).keep();
+            }
         }
     }
 }
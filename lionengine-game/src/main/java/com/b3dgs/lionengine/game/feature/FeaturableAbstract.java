@@ -16,13 +16,7 @@
  */
 package com.b3dgs.lionengine.game.feature;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
-
-import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.LionEngineException;
-import com.b3dgs.lionengine.UtilReflection;
 import com.b3dgs.lionengine.game.Feature;
 
 /**
@@ -32,43 +26,12 @@ public abstract class FeaturableAbstract implements Featurable
 {
     /** Class not found error. */
     static final String ERROR_CLASS_PRESENCE = "Class not found: ";
-    /** In. */
-    private static final String IN = " in ";
-    /** Inject service error. */
-    private static final String ERROR_INJECT = "Error during service injection !";
-
-    /**
-     * Get all with that require an injected service.
-     * 
-     * @param object The object which requires injected services.
-     * @return The field requiring injected services.
-     */
-    private static List<Field> getServiceFields(Object object)
-    {
-        final List<Field> toInject = new ArrayList<>();
-        Class<?> clazz = object.getClass();
-        while (clazz != null)
-        {
-            final Field[] fields = clazz.getDeclaredFields();
-            final int length = fields.length;
-            for (int i = 0; i < length; i++)
-            {
-                final Field field = fields[i];
-                if (field.isAnnotationPresent(FeatureGet.class))
-                {
-                    toInject.add(field);
-                }
-            }
-            clazz = clazz.getSuperclass();
-        }
-        return toInject;
-    }
 
     /** Features provider. */
     private final Features features = new Features();
 
     /**
-     * Create featurable.
+     * Create featurable, identified from the default allocator.
      */
     public FeaturableAbstract()
     {
@@ -78,71 +41,43 @@ public abstract class FeaturableAbstract implements Featurable
     }
 
     /**
-     * Add feature and prepare it.
+     * Create featurable.
      * 
-     * @param feature The feature to add.
+     * @param identifiers The identifiers allocator (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
      */
-    private void addFeatureInternal(Feature feature)
+    protected FeaturableAbstract(Identifiers identifiers)
     {
-        if (feature instanceof Recyclable)
-        {
-            ((Recyclable) feature).recycle();
-        }
-        feature.prepare(this);
-        features.add(feature);
+        super();
+
+        addFeatureInternal(new IdentifiableModel(identifiers));
     }
 
     /**
-     * Fill services fields with their right instance.
+     * Create featurable, identified from the {@link Identifiers} service if any, else from the default allocator. Must
+     * be used by featurables added to a world handler, so their Id does not collide with the world ones.
      * 
-     * @param object The object to update.
-     * @throws LionEngineException If error on setting service.
+     * @param services The services reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
      */
-    private void fillServices(Object object)
+    protected FeaturableAbstract(Services services)
     {
-        final List<Field> fields = getServiceFields(object);
-        final int length = fields.size();
-        for (int i = 0; i < length; i++)
-        {
-            final Field field = fields.get(i);
-            UtilReflection.setAccessible(field, true);
-
-            final Class<?> type = field.getType();
-            setField(field, object, type);
-        }
+        this(IdentifiableModel.getIdentifiers(services));
     }
 
     /**
-     * Set the field service only if currently <code>null</code>.
+     * Add feature and prepare it.
      * 
-     * @param field The field to set.
-     * @param object The object to update.
-     * @param type The service type.
-     * @throws LionEngineException If error on setting service.
+     * @param feature The feature to add.
      */
-    private void setField(Field field, Object object, Class<?> type)
+    private void addFeatureInternal(Feature feature)
     {
-        try
-        {
-            if (field.get(object) == null)
-            {
-                final Class<? extends Feature> clazz;
-                // CHECKSTYLE IGNORE LINE: InnerAssignment
-                if (Feature.class.isAssignableFrom(type) && hasFeature(clazz = type.asSubclass(Feature.class)))
-                {
-                    field.set(object, getFeature(clazz));
-                }
-                else
-                {
-                    throw new LionEngineException(ERROR_CLASS_PRESENCE + String.valueOf(type) + IN + object);
-                }
-            }
-        }
-        catch (final IllegalAccessException exception)
+        if (feature instanceof Recyclable)
         {
-            throw new LionEngineException(exception,
-                                          ERROR_INJECT + type.getSimpleName() + Constant.SLASH + field.getName());
+            ((Recyclable) feature).recycle();
         }
+        feature.prepare(this);
+        features.add(feature);
     }
 
     /*
@@ -164,7 +99,7 @@ public abstract class FeaturableAbstract implements Featurable
     @Override
     public void addFeature(Feature feature)
     {
-        fillServices(feature);
+        FeatureWiring.get(feature.getClass()).inject(feature, this);
         addFeatureInternal(feature);
     }
 
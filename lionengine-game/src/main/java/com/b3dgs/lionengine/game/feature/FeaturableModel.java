@@ -32,16 +32,15 @@ public class FeaturableModel extends FeaturableAbstract
     private final Media media;
 
     /**
-     * Create model. All features are loaded from setup.
+     * Create model. All features are loaded from setup. Identified from the {@link Identifiers} service if any.
      * 
      * @param services The services reference (must not be <code>null</code>).
      * @param setup The setup reference (must not be <code>null</code>).
      */
     public FeaturableModel(Services services, Setup setup)
     {
-        super();
+        super(IdentifiableModel.getIdentifiers(services));
 
-        Check.notNull(services);
         Check.notNull(setup);
 
         this.services = services;
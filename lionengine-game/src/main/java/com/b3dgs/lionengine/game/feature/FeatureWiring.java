@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilReflection;
+import com.b3dgs.lionengine.game.Feature;
+import com.b3dgs.lionengine.game.FeatureProvider;
+
+/**
+ * Wiring plan of a class, resolved by reflection on first use and then shared by all its instances: the
+ * {@link FeatureGet} fields accessors, and the {@link FeatureInterface} types a feature is stored as.
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+final class FeatureWiring
+{
+    /** In. */
+    private static final String IN = " in ";
+    /** Inject service error. */
+    private static final String ERROR_INJECT = "Error during service injection !";
+    /** Getter type. */
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    /** Setter type. */
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    /** Plans per class. */
+    private static final ClassValue<FeatureWiring> WIRINGS = new ClassValue<FeatureWiring>()
+    {
+        @Override
+        protected FeatureWiring computeValue(Class<?> type)
+        {
+            return new FeatureWiring(type);
+        }
+    };
+
+    /**
+     * Get the wiring plan of class.
+     * 
+     * @param type The class reference.
+     * @return The shared wiring plan.
+     * @throws LionEngineException If unable to access an injected field.
+     */
+    static FeatureWiring get(Class<?> type)
+    {
+        return WIRINGS.get(type);
+    }
+
+    /**
+     * Check if type is annotated in its direct parents.
+     * 
+     * @param type The type to check.
+     * @return <code>true</code> if annotated, <code>false</code> else.
+     */
+    private static boolean isAnnotated(Class<?> type)
+    {
+        for (final Class<?> current : type.getInterfaces())
+        {
+            if (current.isAnnotationPresent(FeatureInterface.class))
+            {
+                return true;
+            }
+        }
+        return type.isAnnotationPresent(FeatureInterface.class);
+    }
+
+    /**
+     * Find annotated parents recursively, in check order.
+     * 
+     * @param current The current parent.
+     * @param types The annotated types found.
+     */
+    private static void findTypes(Class<?> current, List<Class<? extends Feature>> types)
+    {
+        for (final Class<?> type : current.getInterfaces())
+        {
+            if (type.isAnnotationPresent(FeatureInterface.class))
+            {
+                types.add(type.asSubclass(Feature.class));
+                findTypes(type, types);
+            }
+        }
+        final Class<?> parent = current.getSuperclass();
+        if (parent != null)
+        {
+            if (parent.isAnnotationPresent(FeatureInterface.class))
+            {
+                types.add(parent.asSubclass(Feature.class));
+            }
+            findTypes(parent, types);
+        }
+    }
+
+    /**
+     * Find fields requiring an injected feature.
+     * 
+     * @param type The class owner.
+     * @return The injections found.
+     * @throws LionEngineException If unable to access a field.
+     */
+    private static Injection[] findInjections(Class<?> type)
+    {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final List<Injection> injections = new ArrayList<>();
+        Class<?> clazz = type;
+        while (clazz != null)
+        {
+            for (final Field field : clazz.getDeclaredFields())
+            {
+                if (field.isAnnotationPresent(FeatureGet.class))
+                {
+                    injections.add(new Injection(lookup, field));
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+        return injections.toArray(new Injection[injections.size()]);
+    }
+
+    /** Injected fields. */
+    private final Injection[] injections;
+    /** Annotated types in check order. */
+    private final List<Class<? extends Feature>> types;
+    /** Annotated flag. */
+    private final boolean annotated;
+
+    /**
+     * Create plan.
+     * 
+     * @param type The class reference.
+     * @throws LionEngineException If unable to access an injected field.
+     */
+    private FeatureWiring(Class<?> type)
+    {
+        super();
+
+        injections = findInjections(type);
+        annotated = isAnnotated(type);
+
+        final List<Class<? extends Feature>> found = new ArrayList<>();
+        if (Feature.class.isAssignableFrom(type))
+        {
+            findTypes(type, found);
+        }
+        types = Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Fill {@link FeatureGet} fields currently <code>null</code> with their feature.
+     * 
+     * @param object The object to update.
+     * @param provider The features provider.
+     * @throws LionEngineException If feature not found or error on setting it.
+     */
+    void inject(Object object, FeatureProvider provider)
+    {
+        for (final Injection injection : injections)
+        {
+            injection.inject(object, provider);
+        }
+    }
+
+    /**
+     * Check if class is annotated by {@link FeatureInterface} in its direct parents.
+     * 
+     * @return <code>true</code> if annotated, <code>false</code> else.
+     */
+    boolean isAnnotated()
+    {
+        return annotated;
+    }
+
+    /**
+     * Get the annotated parents types, in check order (a type reached twice is listed twice).
+     * 
+     * @return The annotated types.
+     */
+    List<Class<? extends Feature>> getTypes()
+    {
+        return types;
+    }
+
+    /**
+     * Injected field accessors.
+     */
+    private static final class Injection
+    {
+        /** Field name. */
+        private final String name;
+        /** Field type. */
+        private final Class<?> type;
+        /** Feature type, <code>null</code> if field is not a feature. */
+        private final Class<? extends Feature> feature;
+        /** Field getter. */
+        private final MethodHandle getter;
+        /** Field setter. */
+        private final MethodHandle setter;
+
+        /**
+         * Create injection.
+         * 
+         * @param lookup The lookup used.
+         * @param field The field reference.
+         * @throws LionEngineException If unable to access field.
+         */
+        Injection(MethodHandles.Lookup lookup, Field field)
+        {
+            super();
+
+            name = field.getName();
+            type = field.getType();
+            if (Feature.class.isAssignableFrom(type))
+            {
+                feature = type.asSubclass(Feature.class);
+            }
+            else
+            {
+                feature = null;
+            }
+            try
+            {
+                UtilReflection.setAccessible(field, true);
+                getter = lookup.unreflectGetter(field).asType(GETTER);
+                setter = lookup.unreflectSetter(field).asType(SETTER);
+            }
+            catch (final IllegalAccessException exception)
+            {
+                throw new LionEngineException(exception, ERROR_INJECT + type.getSimpleName() + Constant.SLASH + name);
+            }
+        }
+
+        /**
+         * Set the field feature only if currently <code>null</code>.
+         * 
+         * @param object The object to update.
+         * @param provider The features provider.
+         * @throws LionEngineException If feature not found or error on setting it.
+         */
+        void inject(Object object, FeatureProvider provider)
+        {
+            final Object current;
+            try
+            {
+                current = getter.invokeExact(object);
+            }
+            catch (final Throwable exception)
+            {
+                throw new LionEngineException(exception, ERROR_INJECT + type.getSimpleName() + Constant.SLASH + name);
+            }
+            if (current == null)
+            {
+                if (feature == null || !provider.hasFeature(feature))
+                {
+                    throw new LionEngineException(FeaturableAbstract.ERROR_CLASS_PRESENCE
+                                                  + String.valueOf(type)
+                                                  + IN
+                                                  + object);
+                }
+                final Object value = provider.getFeature(feature);
+                try
+                {
+                    setter.invokeExact(object, value);
+                }
+                catch (final Throwable exception)
+                {
+                    throw new LionEngineException(exception,
+                                                  ERROR_INJECT + type.getSimpleName() + Constant.SLASH + name);
+                }
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.b3dgs.lionengine.game.feature;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -41,24 +42,6 @@ public class Features
     /** Feature exists with error. */
     static final String WITH = " with: ";
 
-    /**
-     * Check if feature is annotated in its direct parents.
-     * 
-     * @param feature The feature to check.
-     * @return <code>true</code> if annotated, <code>false</code> else.
-     */
-    private static boolean isAnnotated(Feature feature)
-    {
-        for (final Class<?> current : feature.getClass().getInterfaces())
-        {
-            if (current.isAnnotationPresent(FeatureInterface.class))
-            {
-                return true;
-            }
-        }
-        return feature.getClass().isAnnotationPresent(FeatureInterface.class);
-    }
-
     /** Features handled. */
     private final Map<Class<? extends Feature>, Feature> typeToFeature = new HashMap<>();
     /** Unique features. */
@@ -81,7 +64,8 @@ public class Features
      */
     public void add(Feature feature)
     {
-        if (!isAnnotated(feature))
+        final FeatureWiring wiring = FeatureWiring.get(feature.getClass());
+        if (!wiring.isAnnotated())
         {
             throw new LionEngineException(ERROR_FEATURE_NOT_ANNOTATED + feature.getClass());
         }
@@ -91,7 +75,12 @@ public class Features
         {
             throw new LionEngineException(ERROR_FEATURE_EXISTS + feature.getClass() + WITH + old.getClass());
         }
-        checkTypeDepth(feature, feature.getClass());
+        final List<Class<? extends Feature>> types = wiring.getTypes();
+        final int size = types.size();
+        for (int i = 0; i < size; i++)
+        {
+            checkAnnotation(feature, types.get(i));
+        }
         features.add(feature);
     }
 
@@ -145,33 +134,6 @@ public class Features
         return typeToFeature.keySet();
     }
 
-    /**
-     * Check annotated features parent recursively.
-     * 
-     * @param feature The main feature.
-     * @param current The current parent.
-     */
-    private void checkTypeDepth(Feature feature, Class<?> current)
-    {
-        for (final Class<?> type : current.getInterfaces())
-        {
-            if (type.isAnnotationPresent(FeatureInterface.class))
-            {
-                checkAnnotation(feature, type);
-                checkTypeDepth(feature, type);
-            }
-        }
-        final Class<?> parent = current.getSuperclass();
-        if (parent != null)
-        {
-            if (parent.isAnnotationPresent(FeatureInterface.class))
-            {
-                checkAnnotation(feature, parent);
-            }
-            checkTypeDepth(feature, parent);
-        }
-    }
-
     /**
      * Check annotation and update mapping.
      * 
@@ -16,25 +16,75 @@
  */
 package com.b3dgs.lionengine.game.feature;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.TreeMap;
 
 import com.b3dgs.lionengine.UtilReflection;
 import com.b3dgs.lionengine.game.Feature;
 
 /**
  * Handlables implementation.
+ * <p>
+ * Featurables are grouped by archetype, their featurable class and feature types signature. Each archetype stores its
+ * featurables and their features in dense columns, one row per featurable, and resolves the types provided by each
+ * column by reflection once, on creation. Each type query lists the archetype columns providing it, so iterating a
+ * type walks contiguous arrays, and adding or removing a featurable only touches its archetype row.
+ * </p>
+ * <p>
+ * Getting a type never registered does not create its query, so it can be done from parallel updaters while no
+ * featurable is added or removed.
+ * </p>
+ * <p>
+ * Once ordered with {@link #setOrdered(boolean)}, featurables and types are iterated in ascending identifier order.
+ * Archetype rows are then kept sorted by identifier (removal shifts the following rows), and a type query merges its
+ * archetypes by identifier.
+ * </p>
  */
 final class HandlablesImpl implements Handlables
 {
+    /** Identifiers order, <code>null</code> first. */
+    static final Comparator<Integer> ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    /** Default archetype capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Get the feature types of featurable, grouped by feature instance.
+     * 
+     * @param featurable The featurable reference.
+     * @return The feature types per feature instance.
+     */
+    private static Collection<Set<Class<? extends Feature>>> getGroups(Featurable featurable)
+    {
+        final Map<Feature, Set<Class<? extends Feature>>> groups = new IdentityHashMap<>();
+        for (final Class<? extends Feature> type : featurable.getFeaturesType())
+        {
+            groups.computeIfAbsent(featurable.getFeature(type), f -> new HashSet<>()).add(type);
+        }
+        return groups.values();
+    }
+
     /** List of featurables (key is the featurable ID). */
-    private final Map<Integer, Featurable> featurables = new HashMap<>();
-    /** List of typed items (key is the feature type). */
-    private final Map<Class<?>, Set<Object>> items = new HashMap<>();
+    private Map<Integer, Featurable> featurables = new HashMap<>();
+    /** Featurables location (key is the featurable ID). */
+    private final Map<Integer, Slot> slots = new HashMap<>();
+    /** Archetypes (key is the featurable class and feature types signature). */
+    private final Map<Set<Object>, Archetype> archetypes = new HashMap<>();
+    /** Type queries (key is the type). */
+    private final Map<Class<?>, Query<?>> queries = new HashMap<>();
+    /** Ordered flag. */
+    private boolean ordered;
 
     /**
      * Create the handlables.
@@ -44,6 +94,37 @@ final class HandlablesImpl implements Handlables
         super();
     }
 
+    /**
+     * Set featurables iteration order.
+     * 
+     * @param ordered <code>true</code> to iterate in ascending identifier order, <code>false</code> for any order.
+     */
+    public void setOrdered(boolean ordered)
+    {
+        if (ordered)
+        {
+            final Map<Integer, Featurable> sorted = new TreeMap<>(ORDER);
+            sorted.putAll(featurables);
+            featurables = sorted;
+        }
+        else
+        {
+            featurables = new HashMap<>(featurables);
+        }
+        if (ordered && !this.ordered)
+        {
+            for (final Archetype archetype : archetypes.values())
+            {
+                archetype.sort();
+            }
+        }
+        for (final Query<?> query : queries.values())
+        {
+            query.ordered = ordered;
+        }
+        this.ordered = ordered;
+    }
+
     /**
      * Add a featurable.
      * 
@@ -51,24 +132,20 @@ final class HandlablesImpl implements Handlables
      */
     public void add(Featurable featurable)
     {
-        featurables.put(featurable.getFeature(Identifiable.class).getId(), featurable);
+        final Integer id = featurable.getFeature(Identifiable.class).getId();
+        featurables.put(id, featurable);
 
-        for (final Class<?> type : featurable.getClass().getInterfaces())
-        {
-            addType(type, featurable);
-        }
+        final Collection<Set<Class<? extends Feature>>> groups = getGroups(featurable);
+        final Set<Object> signature = new HashSet<>(groups);
+        signature.add(featurable.getClass());
 
-        for (final Class<? extends Feature> feature : featurable.getFeaturesType())
+        Archetype archetype = archetypes.get(signature);
+        if (archetype == null)
         {
-            final Feature object = featurable.getFeature(feature);
-            addType(feature, object);
-            for (final Class<?> other : UtilReflection.getInterfaces(feature, Feature.class))
-            {
-                addType(other, object);
-            }
+            archetype = createArchetype(featurable.getClass(), groups);
+            archetypes.put(signature, archetype);
         }
-        addType(featurable.getClass(), featurable);
-        addSuperClass(featurable, featurable.getClass());
+        slots.put(id, archetype.add(featurable, id, ordered));
     }
 
     /**
@@ -79,24 +156,11 @@ final class HandlablesImpl implements Handlables
      */
     public void remove(Featurable featurable, Integer id)
     {
-        for (final Class<?> type : featurable.getClass().getInterfaces())
+        final Slot slot = slots.remove(id);
+        if (slot != null)
         {
-            remove(type, featurable);
+            slot.archetype.remove(slot.row, ordered);
         }
-
-        for (final Class<? extends Feature> feature : featurable.getFeaturesType())
-        {
-            final Feature object = featurable.getFeature(feature);
-            remove(feature, object);
-            for (final Class<?> other : UtilReflection.getInterfaces(feature, Feature.class))
-            {
-                remove(other, object);
-            }
-
-        }
-        remove(featurable.getClass(), featurable);
-        removeSuperClass(featurable, featurable.getClass());
-
         featurables.remove(id);
     }
 
@@ -111,71 +175,68 @@ final class HandlablesImpl implements Handlables
     }
 
     /**
-     * Add a type from its interface.
+     * Create archetype and register its columns to the queries of the types they provide.
      * 
-     * @param type The type interface.
-     * @param object The type value.
+     * @param type The featurable class.
+     * @param groups The feature types per feature instance.
+     * @return The created archetype.
      */
-    private void addType(Class<?> type, Object object)
+    private Archetype createArchetype(Class<?> type, Collection<Set<Class<? extends Feature>>> groups)
     {
-        if (!items.containsKey(type))
-        {
-            items.put(type, new HashSet<>());
-        }
-        items.get(type).add(object);
-    }
+        final Archetype archetype = new Archetype(groups.size() + 1);
 
-    /**
-     * Add object parent super type.
-     * 
-     * @param object The current object to check.
-     * @param type The current class level to check.
-     */
-    private void addSuperClass(Object object, Class<?> type)
-    {
-        for (final Class<?> types : type.getInterfaces())
+        final Set<Class<?>> featurableTypes = new HashSet<>();
+        featurableTypes.add(type);
+        Class<?> current = type;
+        while (current != null)
         {
-            addType(types, object);
+            featurableTypes.addAll(Arrays.asList(current.getInterfaces()));
+            current = current.getSuperclass();
         }
-        final Class<?> parent = type.getSuperclass();
-        if (parent != null)
+        register(featurableTypes, archetype, 0);
+
+        int column = 1;
+        for (final Set<Class<? extends Feature>> group : groups)
         {
-            addSuperClass(object, parent);
+            final Set<Class<?>> featureTypes = new HashSet<>();
+            for (final Class<? extends Feature> feature : group)
+            {
+                archetype.columnOf.put(feature, Integer.valueOf(column));
+                featureTypes.add(feature);
+                featureTypes.addAll(UtilReflection.getInterfaces(feature, Feature.class));
+            }
+            register(featureTypes, archetype, column);
+            column++;
         }
+        return archetype;
     }
 
     /**
-     * Remove object parent super type.
+     * Register archetype column to the queries of its types.
      * 
-     * @param object The current object to check.
-     * @param type The current class level to check.
+     * @param types The types provided by column.
+     * @param archetype The archetype reference.
+     * @param column The column index.
      */
-    private void removeSuperClass(Object object, Class<?> type)
+    private void register(Collection<Class<?>> types, Archetype archetype, int column)
     {
-        for (final Class<?> types : type.getInterfaces())
+        for (final Class<?> type : types)
         {
-            remove(types, object);
-        }
-        final Class<?> parent = type.getSuperclass();
-        if (parent != null)
-        {
-            removeSuperClass(object, parent);
+            getQuery(type).add(archetype, column);
         }
     }
 
     /**
-     * Remove the object from its type list.
+     * Get query of type, created if not existing.
      * 
+     * @param <I> The type.
      * @param type The type reference.
-     * @param object The object reference.
+     * @return The type query.
      */
-    private void remove(Class<?> type, Object object)
+    @SuppressWarnings("unchecked")
+    private <I> Query<I> getQuery(Class<I> type)
     {
-        final Set<?> set = items.get(type);
-        if (set != null)
-        {
-            set.remove(object);
-        }
+        return (Query<I>) queries.computeIfAbsent(type, t -> new Query<>(ordered));
     }
 
     /*
@@ -192,12 +253,20 @@ final class HandlablesImpl implements Handlables
     @SuppressWarnings("unchecked")
     public <I> Iterable<I> get(Class<I> type)
     {
-        final Set<?> typeFeaturables = items.get(type);
-        if (typeFeaturables != null)
+        final Query<I> query = (Query<I>) queries.get(type);
+        if (query != null)
         {
-            return (Iterable<I>) typeFeaturables;
+            return query;
         }
-        return Collections.emptySet();
+        return () ->
+        {
+            final Query<I> current = (Query<I>) queries.get(type);
+            if (current != null)
+            {
+                return current.iterator();
+            }
+            return Collections.emptyIterator();
+        };
     }
 
     @Override
@@ -205,4 +274,343 @@ final class HandlablesImpl implements Handlables
     {
         return featurables.values();
     }
+
+    /**
+     * Featurable location in its archetype.
+     */
+    private static final class Slot
+    {
+        /** Archetype owner. */
+        private final Archetype archetype;
+        /** Row index. */
+        private int row;
+
+        /**
+         * Create slot.
+         * 
+         * @param archetype The archetype owner.
+         * @param row The row index.
+         */
+        Slot(Archetype archetype, int row)
+        {
+            super();
+
+            this.archetype = archetype;
+            this.row = row;
+        }
+    }
+
+    /**
+     * Featurables sharing the same class and feature types. Column <code>0</code> stores featurables, others store one
+     * feature instance each. Rows are kept dense by moving last row on removal, or by shifting following rows when
+     * ordered.
+     */
+    private static final class Archetype
+    {
+        /** Feature type column (key is the feature type). */
+        private final Map<Class<? extends Feature>, Integer> columnOf = new HashMap<>();
+        /** Columns storage. */
+        private final Object[][] columns;
+        /** Rows location. */
+        private Slot[] slots = new Slot[DEFAULT_CAPACITY];
+        /** Rows identifier. */
+        private Integer[] ids = new Integer[DEFAULT_CAPACITY];
+        /** Rows count. */
+        private int size;
+
+        /**
+         * Create archetype.
+         * 
+         * @param columnsCount The columns count.
+         */
+        Archetype(int columnsCount)
+        {
+            super();
+
+            columns = new Object[columnsCount][DEFAULT_CAPACITY];
+        }
+
+        /**
+         * Add featurable row.
+         * 
+         * @param featurable The featurable reference.
+         * @param id The featurable ID.
+         * @param ordered <code>true</code> to insert row in identifier order, <code>false</code> to append it.
+         * @return The featurable location.
+         */
+        Slot add(Featurable featurable, Integer id, boolean ordered)
+        {
+            if (size == slots.length)
+            {
+                final int capacity = size * 2;
+                slots = Arrays.copyOf(slots, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                for (int i = 0; i < columns.length; i++)
+                {
+                    columns[i] = Arrays.copyOf(columns[i], capacity);
+                }
+            }
+            columns[0][size] = featurable;
+            for (final Class<? extends Feature> type : featurable.getFeaturesType())
+            {
+                final Integer column = columnOf.get(type);
+                if (column != null)
+                {
+                    columns[column.intValue()][size] = featurable.getFeature(type);
+                }
+            }
+            final Slot slot = new Slot(this, size);
+            slots[size] = slot;
+            ids[size] = id;
+            size++;
+
+            while (ordered && slot.row > 0 && ORDER.compare(ids[slot.row - 1], id) > 0)
+            {
+                swap(slot.row - 1, slot.row);
+            }
+            return slot;
+        }
+
+        /**
+         * Remove row, last row takes its place, or following rows are shifted if ordered.
+         * 
+         * @param row The row index.
+         * @param ordered <code>true</code> to keep rows order, <code>false</code> else.
+         */
+        void remove(int row, boolean ordered)
+        {
+            size--;
+            if (ordered)
+            {
+                for (int i = row; i < size; i++)
+                {
+                    move(i + 1, i);
+                }
+            }
+            else
+            {
+                move(size, row);
+            }
+            for (final Object[] column : columns)
+            {
+                column[size] = null;
+            }
+            slots[size] = null;
+            ids[size] = null;
+        }
+
+        /**
+         * Sort rows in identifier order.
+         */
+        void sort()
+        {
+            final Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++)
+            {
+                order[i] = Integer.valueOf(i);
+            }
+            Arrays.sort(order, (a, b) -> ORDER.compare(ids[a.intValue()], ids[b.intValue()]));
+
+            for (int i = 0; i < columns.length; i++)
+            {
+                final Object[] old = columns[i].clone();
+                for (int row = 0; row < size; row++)
+                {
+                    columns[i][row] = old[order[row].intValue()];
+                }
+            }
+            final Slot[] oldSlots = slots.clone();
+            final Integer[] oldIds = ids.clone();
+            for (int row = 0; row < size; row++)
+            {
+                slots[row] = oldSlots[order[row].intValue()];
+                slots[row].row = row;
+                ids[row] = oldIds[order[row].intValue()];
+            }
+        }
+
+        /**
+         * Move row to another row, overriding it.
+         * 
+         * @param from The source row.
+         * @param to The destination row.
+         */
+        private void move(int from, int to)
+        {
+            for (final Object[] column : columns)
+            {
+                column[to] = column[from];
+            }
+            slots[to] = slots[from];
+            slots[to].row = to;
+            ids[to] = ids[from];
+        }
+
+        /**
+         * Swap two rows.
+         * 
+         * @param a The first row.
+         * @param b The second row.
+         */
+        private void swap(int a, int b)
+        {
+            for (final Object[] column : columns)
+            {
+                final Object value = column[a];
+                column[a] = column[b];
+                column[b] = value;
+            }
+            final Slot slot = slots[a];
+            slots[a] = slots[b];
+            slots[b] = slot;
+            slots[a].row = a;
+            slots[b].row = b;
+
+            final Integer id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+
+    /**
+     * Archetype columns providing a type, iterated as a live view.
+     * 
+     * @param <I> The type.
+     */
+    private static final class Query<I> implements Iterable<I>
+    {
+        /** Archetypes providing type. */
+        private final List<Archetype> archetypes = new ArrayList<>();
+        /** Column providing type, per archetype entry. */
+        private int[] columns = new int[DEFAULT_CAPACITY];
+        /** Ordered flag. */
+        private boolean ordered;
+
+        /**
+         * Create query.
+         * 
+         * @param ordered <code>true</code> to iterate in identifier order, <code>false</code> for archetype order.
+         */
+        Query(boolean ordered)
+        {
+            super();
+
+            this.ordered = ordered;
+        }
+
+        /**
+         * Add archetype column.
+         * 
+         * @param archetype The archetype reference.
+         * @param column The column index.
+         */
+        void add(Archetype archetype, int column)
+        {
+            final int index = archetypes.size();
+            if (index == columns.length)
+            {
+                columns = Arrays.copyOf(columns, index * 2);
+            }
+            archetypes.add(archetype);
+            columns[index] = column;
+        }
+
+        /**
+         * Get the entry storing the lowest identifier not yet iterated.
+         * 
+         * @param rows The next row per entry.
+         * @return The entry index, <code>-1</code> if none.
+         */
+        private int lowest(int[] rows)
+        {
+            int lowest = -1;
+            final int count = Math.min(rows.length, archetypes.size());
+            for (int i = 0; i < count; i++)
+            {
+                final Archetype archetype = archetypes.get(i);
+                if (rows[i] < archetype.size
+                    && (lowest < 0
+                        || ORDER.compare(archetype.ids[rows[i]], archetypes.get(lowest).ids[rows[lowest]]) < 0))
+                {
+                    lowest = i;
+                }
+            }
+            return lowest;
+        }
+
+        /**
+         * Create iterator merging archetypes in identifier order.
+         * 
+         * @return The ordered iterator.
+         */
+        private Iterator<I> iteratorOrdered()
+        {
+            return new Iterator<I>()
+            {
+                /** Next row per entry. */
+                private final int[] rows = new int[archetypes.size()];
+
+                @Override
+                public boolean hasNext()
+                {
+                    return lowest(rows) > -1;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public I next()
+                {
+                    final int entry = lowest(rows);
+                    if (entry < 0)
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    final I value = (I) archetypes.get(entry).columns[columns[entry]][rows[entry]];
+                    rows[entry]++;
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        public Iterator<I> iterator()
+        {
+            if (ordered)
+            {
+                return iteratorOrdered();
+            }
+            return new Iterator<I>()
+            {
+                /** Current entry. */
+                private int entry;
+                /** Current row in entry. */
+                private int row;
+
+                @Override
+                public boolean hasNext()
+                {
+                    final int count = archetypes.size();
+                    while (entry < count && row >= archetypes.get(entry).size)
+                    {
+                        entry++;
+                        row = 0;
+                    }
+                    return entry < count;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public I next()
+                {
+                    if (!hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    final I value = (I) archetypes.get(entry).columns[columns[entry]][row];
+                    row++;
+                    return value;
+                }
+            };
+        }
+    }
 }
@@ -18,10 +18,17 @@ package com.b3dgs.lionengine.game.feature;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Listenable;
 import com.b3dgs.lionengine.ListenableModel;
@@ -33,6 +40,16 @@ import com.b3dgs.lionengine.graphic.Renderable;
 /**
  * Designed to handle {@link Featurable}, updating and rendering a set of components.
  * Modifications on the list can be done at any time because they are applied at the beginning of the next update.
+ * <p>
+ * Updaters are updated in their adding order. Once a pool is set with {@link #setPool(ForkJoinPool)}, consecutive
+ * {@link ComponentUpdaterAccess} not conflicting with each other are grouped in a stage and updated concurrently, the
+ * next stage starting when all of them are done.
+ * </p>
+ * <p>
+ * In deterministic mode, enabled with {@link #setDeterministic(boolean)}, featurables are added, removed and iterated
+ * in ascending identifier order, updaters are updated serially with {@link Constant#EXTRP}, and the {@link StateHash}
+ * is computed after each update, so two handlers fed with the same featurables and inputs stay in sync.
+ * </p>
  * 
  * @see HandlerListener
  * @see ComponentUpdater
@@ -42,6 +59,65 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
 {
     /** Featurable not found error. */
     static final String ERROR_FEATURABLE_NOT_FOUND = "Featurable not found: ";
+    /** Not deterministic component error. */
+    static final String ERROR_NOT_DETERMINISTIC = "Component not deterministic: ";
+
+    /**
+     * Check if component can be updated in deterministic mode.
+     * 
+     * @param component The component to check.
+     * @throws LionEngineException If component not deterministic.
+     */
+    private static void checkDeterministic(ComponentUpdater component)
+    {
+        if (component instanceof ComponentScheduler && !((ComponentScheduler) component).isDeterministic())
+        {
+            throw new LionEngineException(ERROR_NOT_DETERMINISTIC + component.getClass().getName());
+        }
+    }
+
+    /**
+     * Check if components can not be updated at the same time.
+     * 
+     * @param a The first component.
+     * @param b The second component.
+     * @return <code>true</code> if conflicting or undeclared, <code>false</code> else.
+     */
+    static boolean conflicts(ComponentUpdater a, ComponentUpdater b)
+    {
+        if (a instanceof ComponentUpdaterAccess && b instanceof ComponentUpdaterAccess)
+        {
+            final ComponentUpdaterAccess accessA = (ComponentUpdaterAccess) a;
+            final ComponentUpdaterAccess accessB = (ComponentUpdaterAccess) b;
+            return overlaps(accessA.getWrites(), accessB.getReads())
+                   || overlaps(accessA.getWrites(), accessB.getWrites())
+                   || overlaps(accessB.getWrites(), accessA.getReads());
+        }
+        return true;
+    }
+
+    /**
+     * Check if types share a type, or a parent or sub type.
+     * 
+     * @param first The first types.
+     * @param second The second types.
+     * @return <code>true</code> if overlapping, <code>false</code> else.
+     */
+    private static boolean overlaps(Collection<Class<?>> first, Collection<Class<?>> second)
+    {
+        for (final Class<?> a : first)
+        {
+            for (final Class<?> b : second)
+            {
+                if (a.isAssignableFrom(b) || b.isAssignableFrom(a))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /** Handler listeners. */
     private final ListenableModel<HandlerListener> listenable = new ListenableModel<>();
     /** List of components updater. */
@@ -50,16 +126,26 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
     private final Collection<ComponentRenderer> renderers = new ArrayList<>();
     /** List of featurables. */
     private final HandlablesImpl featurables = new HandlablesImpl();
-    /** To add list. */
-    private final Map<Integer, Featurable> toAdd = new HashMap<>();
-    /** To remove list. */
-    private final Collection<Integer> toRemove = new HashSet<>();
+    /** Updaters stages, rebuilt on next parallel update when <code>null</code>. */
+    private List<Stage> stages;
+    /** To add list (filled concurrently by parallel updaters). */
+    private final Map<Integer, Featurable> toAdd = Collections.synchronizedMap(new HashMap<>());
+    /** To remove list (filled concurrently by parallel updaters). */
+    private final Collection<Integer> toRemove = Collections.synchronizedSet(new HashSet<>());
+    /** State hash, computed after each update in deterministic mode. */
+    private final StateHash hash = new StateHash();
     /** Services reference. */
     private final Services services;
+    /** Parallel updaters pool (<code>null</code> to update serially). */
+    private ForkJoinPool pool;
+    /** Current extrapolation value. */
+    private double extrp;
+    /** Deterministic mode flag. */
+    private boolean deterministic;
     /** Will remove flag. */
-    private boolean willRemove;
+    private volatile boolean willRemove;
     /** Will add flag. */
-    private boolean willAdd;
+    private volatile boolean willAdd;
 
     /**
      * Create a handler.
@@ -76,17 +162,42 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
     /**
      * Add an updater component. Automatically added to {@link Services} and {@link #addListener(HandlerListener)} if
      * interface compatible.
+     * <p>
+     * A {@link ComponentScheduler} registers the featurables already handled, and {@link ComponentRefreshable} then
+     * ignores {@link Schedulable} refreshables.
+     * </p>
      * 
      * @param component The component to add.
+     * @throws LionEngineException If component not deterministic while in deterministic mode.
      */
     public final void addComponent(ComponentUpdater component)
     {
+        if (deterministic)
+        {
+            checkDeterministic(component);
+        }
         updaters.add(component);
+        stages = null;
         services.add(component);
         if (component instanceof HandlerListener)
         {
             addListener((HandlerListener) component);
         }
+        if (component instanceof ComponentScheduler)
+        {
+            for (final Featurable featurable : featurables.values())
+            {
+                ((ComponentScheduler) component).notifyHandlableAdded(featurable);
+            }
+        }
+        final boolean scheduled = services.getOptional(ComponentScheduler.class).isPresent();
+        for (final ComponentUpdater updater : updaters)
+        {
+            if (updater instanceof ComponentRefreshable)
+            {
+                ((ComponentRefreshable) updater).setScheduled(scheduled);
+            }
+        }
     }
 
     /**
@@ -105,6 +216,71 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
         }
     }
 
+    /**
+     * Set the pool used to update concurrently the non conflicting {@link ComponentUpdaterAccess}.
+     * 
+     * @param pool The pool reference, <code>null</code> to update all components serially (default).
+     */
+    public final void setPool(ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Set the deterministic mode. Featurables already handled or pending are kept.
+     * <p>
+     * A {@link ComponentScheduler} measuring the system time is not deterministic, and must be replaced by one created
+     * with {@link ComponentScheduler#createDeterministic(int)}.
+     * </p>
+     * 
+     * @param deterministic <code>true</code> to update deterministically, <code>false</code> to update with the given
+     *            extrapolation and the pool if any (default).
+     * @throws LionEngineException If a component is not deterministic.
+     */
+    public final void setDeterministic(boolean deterministic)
+    {
+        if (deterministic && !this.deterministic)
+        {
+            for (final ComponentUpdater component : updaters)
+            {
+                checkDeterministic(component);
+            }
+            for (final Featurable featurable : featurables.values())
+            {
+                hash.notifyHandlableAdded(featurable);
+            }
+            listenable.addListener(hash);
+        }
+        else if (!deterministic && this.deterministic)
+        {
+            listenable.removeListener(hash);
+            hash.clear();
+        }
+        this.deterministic = deterministic;
+        featurables.setOrdered(deterministic);
+        hash.reset();
+    }
+
+    /**
+     * Check if deterministic mode is enabled.
+     * 
+     * @return <code>true</code> if deterministic, <code>false</code> else.
+     */
+    public final boolean isDeterministic()
+    {
+        return deterministic;
+    }
+
+    /**
+     * Get the state hash, computed after each update in deterministic mode.
+     * 
+     * @return The state hash.
+     */
+    public final StateHash getStateHash()
+    {
+        return hash;
+    }
+
     /**
      * Add a featurable to the list. Will be added at the beginning of {@link #update(double)} call.
      * If this function is called during {@link #update(double)}, it will be delayed to next {@link #update(double)}
@@ -157,12 +333,53 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
         return featurables.getIds().size();
     }
 
+    /**
+     * Group updaters in stages, in their adding order. A stage ends before the first updater conflicting with one of
+     * its updaters.
+     * 
+     * @return The updaters stages.
+     */
+    private List<Stage> createStages()
+    {
+        final List<Stage> created = new ArrayList<>();
+        final List<ComponentUpdater> current = new ArrayList<>();
+        for (final ComponentUpdater component : updaters)
+        {
+            for (final ComponentUpdater other : current)
+            {
+                if (conflicts(component, other))
+                {
+                    created.add(new Stage(current));
+                    current.clear();
+                    break;
+                }
+            }
+            current.add(component);
+        }
+        if (!current.isEmpty())
+        {
+            created.add(new Stage(current));
+        }
+        return created;
+    }
+
     /**
      * Update the add list. Prepare features, add to main list and notify listeners.
      */
     public void updateAdd()
     {
-        for (final Featurable featurable : toAdd.values())
+        final Collection<Featurable> added;
+        if (deterministic)
+        {
+            final Map<Integer, Featurable> sorted = new TreeMap<>(HandlablesImpl.ORDER);
+            sorted.putAll(toAdd);
+            added = sorted.values();
+        }
+        else
+        {
+            added = toAdd.values();
+        }
+        for (final Featurable featurable : added)
         {
             featurables.add(featurable);
             for (int i = 0; i < listenable.size(); i++)
@@ -184,7 +401,17 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
      */
     public void updateRemove()
     {
-        for (final Integer id : toRemove)
+        final Collection<Integer> removed;
+        if (deterministic)
+        {
+            removed = new TreeSet<>(HandlablesImpl.ORDER);
+            removed.addAll(toRemove);
+        }
+        else
+        {
+            removed = toRemove;
+        }
+        for (final Integer id : removed)
         {
             if (toAdd.remove(id) == null)
             {
@@ -263,9 +490,32 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
         {
             updateAdd();
         }
-        for (final ComponentUpdater component : updaters)
+        if (deterministic)
         {
-            component.update(extrp, featurables);
+            for (final ComponentUpdater component : updaters)
+            {
+                component.update(Constant.EXTRP, featurables);
+            }
+            hash.update();
+        }
+        else if (pool == null)
+        {
+            for (final ComponentUpdater component : updaters)
+            {
+                component.update(extrp, featurables);
+            }
+        }
+        else
+        {
+            if (stages == null)
+            {
+                stages = createStages();
+            }
+            this.extrp = extrp;
+            for (final Stage stage : stages)
+            {
+                stage.update();
+            }
         }
     }
 
@@ -292,4 +542,88 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
         toRemove.add(id);
         willRemove = true;
     }
+
+    /**
+     * Updaters updated at the same time.
+     */
+    private final class Stage extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        /** Updaters tasks. */
+        private final transient Updater[] tasks;
+
+        /**
+         * Create stage.
+         * 
+         * @param components The stage updaters.
+         */
+        Stage(Collection<ComponentUpdater> components)
+        {
+            super();
+
+            tasks = new Updater[components.size()];
+            int i = 0;
+            for (final ComponentUpdater component : components)
+            {
+                tasks[i] = new Updater(component);
+                i++;
+            }
+        }
+
+        /**
+         * Update stage updaters, from the pool if more than one.
+         */
+        void update()
+        {
+            if (tasks.length == 1)
+            {
+                tasks[0].component.update(extrp, featurables);
+            }
+            else
+            {
+                reinitialize();
+                pool.invoke(this);
+            }
+        }
+
+        @Override
+        protected void compute()
+        {
+            for (final Updater task : tasks)
+            {
+                task.reinitialize();
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Updater task.
+     */
+    private final class Updater extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        /** Updater reference. */
+        private final transient ComponentUpdater component;
+
+        /**
+         * Create task.
+         * 
+         * @param component The updater reference.
+         */
+        Updater(ComponentUpdater component)
+        {
+            super();
+
+            this.component = component;
+        }
+
+        @Override
+        protected void compute()
+        {
+            component.update(extrp, featurables);
+        }
+    }
 }
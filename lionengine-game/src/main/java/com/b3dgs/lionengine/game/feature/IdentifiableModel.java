@@ -16,63 +16,86 @@
  */
 package com.b3dgs.lionengine.game.feature;
 
-import java.util.Collection;
-import java.util.HashSet;
-
+import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.ListenableModel;
 
 /**
  * Identifiable model implementation.
  * <p>
- * Handle a list of unique Id, provide the next free Id, and recycle destroyed Id.
+ * Take a unique Id from an {@link Identifiers} allocator, and release it once destroyed. A featurable cached by a
+ * {@link Factory} keeps its Id, as its features may still reference it when recycled. A featurable recycled after its
+ * Id has been released takes a new one.
  * </p>
  */
 public class IdentifiableModel extends FeatureAbstract implements Identifiable, Recyclable
 {
     /** Free Id error. */
-    static final String ERROR_FREE_ID = "No more free id available !";
-    /** Id used. */
-    private static final Collection<Integer> IDS = new HashSet<>();
-    /** Last Id used (last maximum id value). */
-    private static int lastId;
+    static final String ERROR_FREE_ID = Identifiers.ERROR_FREE_ID;
+    /** Allocator used when none provided. */
+    private static final Identifiers DEFAULT = new Identifiers();
 
     /**
-     * Get the next unused Id.
+     * Get the identifiers allocator of services, or the default one if none.
      * 
-     * @return The next unused Id.
-     * @throws LionEngineException If there is more than {@link Integer#MAX_VALUE} at the same time.
+     * @param services The services reference (must not be <code>null</code>).
+     * @return The identifiers allocator.
+     * @throws LionEngineException If invalid argument.
      */
-    private static Integer getFreeId()
+    static Identifiers getIdentifiers(Services services)
     {
-        if (IDS.size() == Integer.MAX_VALUE)
-        {
-            throw new LionEngineException(ERROR_FREE_ID);
-        }
-        Integer id;
-        while (IDS.contains(id = Integer.valueOf(lastId))) // CHECKSTYLE IGNORE LINE: TrailingComment|InnerAssignment
-        {
-            lastId++;
-        }
-        IDS.add(id);
-        return id;
+        Check.notNull(services);
+
+        return services.getOptional(Identifiers.class).orElse(DEFAULT);
     }
 
     /** Listeners. */
     private final ListenableModel<IdentifiableListener> listenable = new ListenableModel<>();
+    /** Identifiers allocator. */
+    private final Identifiers identifiers;
     /** Unique Id. */
-    private final Integer id = getFreeId();
+    private Integer id;
+    /** Kept flag, <code>true</code> if Id is kept once destroyed. */
+    private boolean kept;
+    /** Released flag, <code>true</code> if Id has been given back to allocator. */
+    private boolean released;
     /** Destroy request flag. */
     private boolean destroy;
     /** Destroyed flag. */
     private boolean destroyed;
 
     /**
-     * Create feature.
+     * Create feature, taking its Id from the default allocator.
+     * 
+     * @throws LionEngineException If no more free Id.
      */
     public IdentifiableModel()
+    {
+        this(DEFAULT);
+    }
+
+    /**
+     * Create feature.
+     * 
+     * @param identifiers The identifiers allocator (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument or no more free Id.
+     */
+    public IdentifiableModel(Identifiers identifiers)
     {
         super();
+
+        Check.notNull(identifiers);
+
+        this.identifiers = identifiers;
+        id = identifiers.acquire();
+    }
+
+    /**
+     * Keep Id once destroyed, until next {@link #recycle()}. Used when featurable is cached to be recycled.
+     */
+    void keep()
+    {
+        kept = true;
     }
 
     /*
@@ -118,12 +141,26 @@ public class IdentifiableModel extends FeatureAbstract implements Identifiable,
     @Override
     public void notifyDestroyed()
     {
-        destroyed = true;
+        if (!destroyed)
+        {
+            destroyed = true;
+            if (!kept)
+            {
+                released = true;
+                identifiers.release(id);
+            }
+        }
     }
 
     @Override
     public void recycle()
     {
+        if (released)
+        {
+            released = false;
+            id = identifiers.acquire();
+        }
+        kept = false;
         destroy = false;
         destroyed = false;
     }
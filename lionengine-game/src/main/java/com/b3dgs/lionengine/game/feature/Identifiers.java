@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Identifiers allocator, owned by a world (registered in its {@link Services}) so each world has its own range.
+ * <p>
+ * An identifier packs an index and a generation: index is the lower {@link #INDEX_BITS} bits, generation the upper
+ * ones. Released indexes are kept in a free list and reused first, in release order, with their generation increased,
+ * so acquire never scans used indexes. Generation wraps after {@value #GENERATIONS} reuses of the same index: a stale
+ * identifier may then match a new holder again, references should not outlive that many reuses.
+ * </p>
+ * <p>
+ * This class is Thread-Safe and lock-free.
+ * </p>
+ */
+public final class Identifiers
+{
+    /** Index bits. */
+    public static final int INDEX_BITS = 24;
+    /** Maximum indexes count. */
+    public static final int MAX_INDEXES = 1 << INDEX_BITS;
+    /** Generations count per index before wrapping (keep identifier positive). */
+    public static final int GENERATIONS = 1 << Integer.SIZE - 1 - INDEX_BITS;
+    /** Free Id error. */
+    static final String ERROR_FREE_ID = "No more free id available !";
+    /** Index mask. */
+    private static final int INDEX_MASK = MAX_INDEXES - 1;
+    /** Generation mask. */
+    private static final int GENERATION_MASK = GENERATIONS - 1;
+
+    /**
+     * Get the index of identifier.
+     * 
+     * @param id The identifier.
+     * @return The identifier index.
+     */
+    public static int getIndex(int id)
+    {
+        return id & INDEX_MASK;
+    }
+
+    /**
+     * Get the generation of identifier.
+     * 
+     * @param id The identifier.
+     * @return The identifier generation.
+     */
+    public static int getGeneration(int id)
+    {
+        return id >>> INDEX_BITS & GENERATION_MASK;
+    }
+
+    /** Released identifiers, reused in release order. */
+    private final Queue<Integer> free = new ConcurrentLinkedQueue<>();
+    /** Next never used index. */
+    private final AtomicInteger next = new AtomicInteger();
+    /** Used identifiers count. */
+    private final AtomicInteger used = new AtomicInteger();
+    /** Maximum indexes count. */
+    private final int capacity;
+
+    /**
+     * Create allocator with {@link #MAX_INDEXES} capacity.
+     */
+    public Identifiers()
+    {
+        this(MAX_INDEXES);
+    }
+
+    /**
+     * Create allocator.
+     * 
+     * @param capacity The maximum indexes count in ]0 - {@link #MAX_INDEXES}].
+     * @throws LionEngineException If invalid capacity.
+     */
+    public Identifiers(int capacity)
+    {
+        super();
+
+        Check.superiorStrict(capacity, 0);
+        Check.inferiorOrEqual(capacity, MAX_INDEXES);
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Acquire an unused identifier. A released index is reused first with its next generation, else a new index is
+     * taken.
+     * 
+     * @return The acquired identifier.
+     * @throws LionEngineException If all indexes are used.
+     */
+    public Integer acquire()
+    {
+        final Integer released = free.poll();
+        if (released != null)
+        {
+            used.incrementAndGet();
+            final int id = released.intValue();
+            final int generation = getGeneration(id) + 1 & GENERATION_MASK;
+            return Integer.valueOf(generation << INDEX_BITS | getIndex(id));
+        }
+
+        int index;
+        do
+        {
+            index = next.get();
+            if (index >= capacity)
+            {
+                throw new LionEngineException(ERROR_FREE_ID);
+            }
+        }
+        while (!next.compareAndSet(index, index + 1));
+
+        used.incrementAndGet();
+        return Integer.valueOf(index);
+    }
+
+    /**
+     * Release an acquired identifier, its index becomes available for a next generation. Must be called once per
+     * acquired identifier.
+     * 
+     * @param id The identifier to release (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void release(Integer id)
+    {
+        Check.notNull(id);
+
+        used.decrementAndGet();
+        free.offer(id);
+    }
+
+    /**
+     * Get the used identifiers count.
+     * 
+     * @return The used identifiers count.
+     */
+    public int getUsed()
+    {
+        return used.get();
+    }
+
+    /**
+     * Get the maximum indexes count.
+     * 
+     * @return The maximum indexes count.
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+/**
+ * Marks a {@link Refreshable} as safe to be updated concurrently with the other parallelizable refreshables of its
+ * layer, when a pool is set with {@link ComponentRefreshable#setPool(java.util.concurrent.ForkJoinPool)}. Refreshables
+ * not marked are always updated serially, from the caller thread.
+ * <p>
+ * During its update, a parallelizable refreshable must only modify its own featurable, and only read others. Data
+ * shared by featurables, such as services or map features, must not be modified, and listeners of other featurables
+ * are notified later from the caller thread. Featurables with a
+ * {@link com.b3dgs.lionengine.game.feature.tile.map.pathfinding.Pathfindable} are always updated serially, as they
+ * search paths and set objects id on the shared map.
+ * </p>
+ */
+public interface Parallelizable
+{
+    // Marker
+}
@@ -27,15 +27,20 @@ import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.Renderable;
 
 /**
- * Handle the declared {@link Routine}.
+ * Handle the declared {@link Routine}. Once a {@link ComponentScheduler} is available in {@link Services}, routines
+ * implementing {@link Schedulable} are only rendered, their update being left to it.
  */
 @FeatureInterface
 public class Routines extends FeatureModel implements Updatable, Renderable
 {
     /** Routines list. */
     private final List<Routine> routines = new ArrayList<>();
+    /** Updated routines list (not scheduled). */
+    private final List<Routine> updated = new ArrayList<>();
     /** Routines number. */
     private int routinesCount;
+    /** Updated routines number. */
+    private int updatedCount;
 
     /**
      * Create routines.
@@ -63,9 +68,14 @@ public class Routines extends FeatureModel implements Updatable, Renderable
             if (feature instanceof Routine)
             {
                 routines.add((Routine) feature);
+                if (!(feature instanceof Schedulable))
+                {
+                    updated.add((Routine) feature);
+                }
             }
         }
         routinesCount = routines.size();
+        updatedCount = updated.size();
     }
 
     /*
@@ -75,9 +85,19 @@ public class Routines extends FeatureModel implements Updatable, Renderable
     @Override
     public void update(double extrp)
     {
-        for (int i = 0; i < routinesCount; i++)
+        if (services.getOptional(ComponentScheduler.class).isPresent())
         {
-            routines.get(i).update(extrp);
+            for (int i = 0; i < updatedCount; i++)
+            {
+                updated.get(i).update(extrp);
+            }
+        }
+        else
+        {
+            for (int i = 0; i < routinesCount; i++)
+            {
+                routines.get(i).update(extrp);
+            }
         }
     }
 
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import com.b3dgs.lionengine.Updatable;
+
+/**
+ * Updatable tolerating a lower update rate, updated by {@link ComponentScheduler} at a target frequency and within its
+ * frame budget, instead of each tick. Applies to {@link Routine} and {@link Refreshable} features, which are then
+ * ignored by {@link Routines} and {@link ComponentRefreshable} updates once a {@link ComponentScheduler} is added to
+ * the {@link Handler}. Without scheduler, they are updated each tick as others.
+ * <p>
+ * The extrapolation value received is the sum of the extrapolation values elapsed since previous update.
+ * </p>
+ */
+public interface Schedulable extends Updatable
+{
+    /**
+     * Get the target update frequency, read after each update.
+     * 
+     * @return The target frequency in hertz (strictly positive).
+     */
+    double getFrequency();
+}
@@ -24,6 +24,7 @@ import com.b3dgs.lionengine.Engine;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Resolution;
 import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.engine.DirtyRegion;
 import com.b3dgs.lionengine.graphic.engine.Loop;
 import com.b3dgs.lionengine.graphic.engine.LoopFrameSkipping;
 import com.b3dgs.lionengine.graphic.engine.Sequencable;
@@ -40,7 +41,8 @@ import com.b3dgs.lionengine.graphic.engine.Zooming;
  * </p>
  * <ul>
  * <li>{@link Services}: providing {@link Context}, {@link Zooming}, {@link TimeControl},
- * {@link SourceResolutionProvider}, {@link Sequencer} to control sequence (available after {@link #load()}).</li>
+ * {@link SourceResolutionProvider}, {@link Sequencer} to control sequence, {@link DirtyRegion} (available after
+ * {@link #load()}).</li>
  * <li>{@link WorldGame}: added to {@link Services}, {@link #update(double)} and {@link #render(Graphic)} are already
  * called.</li>
  * <li>{@link #setSystemCursorVisible(boolean)}: set to <code>false</code>.</li>
@@ -108,6 +110,7 @@ public abstract class SequenceGame extends Sequence
         });
         services.add((Zooming) this::setZoom);
         services.add((TimeControl) this::setTime);
+        services.add(getDirtyRegion());
         services.add(new SourceResolutionProvider()
         {
             @Override
@@ -17,12 +17,15 @@
 package com.b3dgs.lionengine.game.feature;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.UtilReflection;
+import com.b3dgs.lionengine.Verbose;
 import com.b3dgs.lionengine.game.Feature;
 
 /**
@@ -51,6 +54,13 @@ import com.b3dgs.lionengine.game.Feature;
  * final Camera camera = services.create(Camera.class);
  * final MapTile map = services.create(MapTileGame.class);
  * </pre>
+ * <p>
+ * Resolved services are cached by requested type, and cache is cleared on {@link #add(Object)}, so lookup cost does
+ * not depend on the number of services once a type has been resolved.
+ * </p>
+ * <p>
+ * This class is Thread-Safe: services can be added and got from parallel updaters.
+ * </p>
  */
 public class Services
 {
@@ -60,9 +70,19 @@ public class Services
     private static final String ERROR_SERVICE_CREATE = "Unable to create service: ";
     /** Service create error. */
     private static final String ERROR_SERVICE_NO_CONSTRUCTOR = "No recognized constructor found for: ";
+    /** Service ambiguous warning. */
+    private static final String WARNING_SERVICE_AMBIGUOUS = "Ambiguous service: ";
+    /** Service ambiguous warning used. */
+    private static final String WARNING_SERVICE_AMBIGUOUS_USED = ", using: ";
+    /** Service ambiguous warning ignored. */
+    private static final String WARNING_SERVICE_AMBIGUOUS_IGNORED = ", ignoring: ";
+    /** Service not found marker. */
+    private static final Object NONE = new Object();
 
-    /** Services list. */
-    private final Collection<Object> servicesSet = new HashSet<>();
+    /** Services list, guarded by itself. */
+    private final Collection<Object> servicesSet = new LinkedHashSet<>();
+    /** Resolved services cache (key is the requested type), read without lock. */
+    private final Map<Class<?>, Object> resolved = new ConcurrentHashMap<>();
 
     /**
      * Create a services container.
@@ -167,7 +187,13 @@ public class Services
     public <S> S add(S service)
     {
         Check.notNull(service);
-        servicesSet.add(service);
+        synchronized (servicesSet)
+        {
+            if (servicesSet.add(service))
+            {
+                resolved.clear();
+            }
+        }
         return service;
     }
 
@@ -218,39 +244,63 @@ public class Services
     }
 
     /**
-     * Get a service from its class.
-     * <p>
-     * The first instance (previously added with {@link #add(Object)} or {@link #create(Class)}) which fit the required
-     * type is returned.
-     * </p>
-     * 
-     * <pre>
-     * final Services services = new Services();
-     * services.add(new Camera());
-     * ...
-     * final Viewer viewer = services.get(Viewer.class) // Get the camera as viewer
-     * </pre>
+     * Get a service from its class, resolved once and cached until next {@link #add(Object)}.
      * 
      * @param <S> The service type.
      * @param service The service type.
-     * @return The service implementation found.
+     * @return The service implementation found, <code>null</code> if none.
+     * @throws LionEngineException If <code>null</code> argument.
      */
     private <S> S getService(Class<S> service)
     {
         Check.notNull(service);
-        S instance = null;
+
+        Object instance = resolved.get(service);
+        if (instance == null)
+        {
+            synchronized (servicesSet)
+            {
+                instance = resolved.computeIfAbsent(service, this::resolve);
+            }
+        }
+        if (instance == NONE)
+        {
+            return null;
+        }
+        return service.cast(instance);
+    }
+
+    /**
+     * Find the first added service which fit the required type. A warning is logged if other services fit it too.
+     * 
+     * @param service The service type.
+     * @return The service implementation found, {@link #NONE} if none.
+     */
+    private Object resolve(Class<?> service)
+    {
         if (service == getClass())
         {
-            instance = service.cast(this);
+            return this;
         }
-        else
+        Object instance = NONE;
+        for (final Object object : servicesSet)
         {
-            for (final Object object : servicesSet)
+            if (service.isInstance(object))
             {
-                if (service.isAssignableFrom(object.getClass()))
+                if (instance == NONE)
+                {
+                    instance = object;
+                }
+                else
                 {
-                    instance = service.cast(object);
-                    break;
+                    Verbose.warning(Services.class,
+                                    "get",
+                                    WARNING_SERVICE_AMBIGUOUS,
+                                    service.getName(),
+                                    WARNING_SERVICE_AMBIGUOUS_USED,
+                                    String.valueOf(instance),
+                                    WARNING_SERVICE_AMBIGUOUS_IGNORED,
+                                    String.valueOf(object));
                 }
             }
         }
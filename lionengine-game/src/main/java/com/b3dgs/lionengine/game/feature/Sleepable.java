@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import com.b3dgs.lionengine.Listenable;
+import com.b3dgs.lionengine.game.Feature;
+
+/**
+ * Represents something that can stop being refreshed while it has nothing to do, until a delay expires or an event
+ * wakes it up. A sleeping {@link Refreshable} costs nothing per tick in {@link ComponentRefreshable}.
+ */
+@FeatureInterface
+public interface Sleepable extends Feature, Listenable<SleepableListener>
+{
+    /**
+     * Sleep until woken up by {@link #wakeUp()}.
+     */
+    void sleep();
+
+    /**
+     * Sleep during a number of ticks, unless woken up before by {@link #wakeUp()}.
+     * 
+     * @param ticks The number of ticks to sleep (must be strictly superior to 0).
+     * @throws com.b3dgs.lionengine.LionEngineException If invalid argument.
+     */
+    void sleep(int ticks);
+
+    /**
+     * Wake up if sleeping. Does nothing else.
+     */
+    void wakeUp();
+
+    /**
+     * Check if sleeping.
+     * 
+     * @return <code>true</code> if sleeping, <code>false</code> else.
+     */
+    boolean isSleeping();
+
+    /**
+     * Get the remaining ticks to sleep, as known when going to sleep or when leaving its updater.
+     * 
+     * @return The remaining ticks to sleep, <code>0</code> if until woken up or not sleeping.
+     */
+    int getSleepTicks();
+}
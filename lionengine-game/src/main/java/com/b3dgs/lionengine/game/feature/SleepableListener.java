@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import com.b3dgs.lionengine.game.FeatureProvider;
+
+/**
+ * Notify when sleep state changed.
+ */
+public interface SleepableListener
+{
+    /**
+     * Notify when going to sleep.
+     * 
+     * @param provider The provider reference.
+     * @param ticks The number of ticks to sleep, <code>0</code> if until woken up.
+     */
+    void notifySleep(FeatureProvider provider, int ticks);
+
+    /**
+     * Notify when woken up.
+     * 
+     * @param provider The provider reference.
+     */
+    void notifyWakeUp(FeatureProvider provider);
+}
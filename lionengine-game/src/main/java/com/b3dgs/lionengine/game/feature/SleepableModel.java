@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.ListenableModel;
+import com.b3dgs.lionengine.game.FeatureProvider;
+
+/**
+ * Sleepable model implementation. Woken up automatically when its {@link Transformable} (if added before) changes,
+ * and when its {@link com.b3dgs.lionengine.game.feature.collidable.Collidable} collides.
+ */
+public class SleepableModel extends FeatureAbstract implements Sleepable, TransformableListener, Recyclable
+{
+    /** Sleep listeners. */
+    private final ListenableModel<SleepableListener> listenable = new ListenableModel<>();
+    /** Sleeping flag. */
+    private boolean sleeping;
+    /** Remaining ticks to sleep, <code>0</code> if until woken up. */
+    private int ticks;
+
+    /**
+     * Create feature.
+     */
+    public SleepableModel()
+    {
+        super();
+    }
+
+    /**
+     * Notify sleep.
+     * 
+     * @param ticks The number of ticks to sleep, <code>0</code> if until woken up.
+     */
+    private void notifySleep(int ticks)
+    {
+        sleeping = true;
+        this.ticks = ticks;
+        for (int i = 0; i < listenable.size(); i++)
+        {
+            listenable.get(i).notifySleep(this, ticks);
+        }
+    }
+
+    /**
+     * Set the remaining ticks to sleep, when leaving an updater before its delay expired.
+     * 
+     * @param ticks The remaining ticks to sleep (must be strictly superior to 0).
+     */
+    void setSleepTicks(int ticks)
+    {
+        this.ticks = ticks;
+    }
+
+    /*
+     * Sleepable
+     */
+
+    @Override
+    public void prepare(FeatureProvider provider)
+    {
+        super.prepare(provider);
+
+        if (provider instanceof SleepableListener)
+        {
+            addListener((SleepableListener) provider);
+        }
+        if (provider.hasFeature(Transformable.class))
+        {
+            provider.getFeature(Transformable.class).addListener(this);
+        }
+    }
+
+    @Override
+    public void addListener(SleepableListener listener)
+    {
+        listenable.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(SleepableListener listener)
+    {
+        listenable.removeListener(listener);
+    }
+
+    @Override
+    public void sleep()
+    {
+        notifySleep(0);
+    }
+
+    @Override
+    public void sleep(int ticks)
+    {
+        Check.superiorStrict(ticks, 0);
+
+        notifySleep(ticks);
+    }
+
+    @Override
+    public void wakeUp()
+    {
+        if (sleeping)
+        {
+            sleeping = false;
+            ticks = 0;
+            for (int i = 0; i < listenable.size(); i++)
+            {
+                listenable.get(i).notifyWakeUp(this);
+            }
+        }
+    }
+
+    @Override
+    public boolean isSleeping()
+    {
+        return sleeping;
+    }
+
+    @Override
+    public int getSleepTicks()
+    {
+        return ticks;
+    }
+
+    /*
+     * TransformableListener
+     */
+
+    @Override
+    public void notifyTransformed(Transformable transformable)
+    {
+        wakeUp();
+    }
+
+    /*
+     * Recyclable
+     */
+
+    @Override
+    public void recycle()
+    {
+        sleeping = false;
+        ticks = 0;
+    }
+}
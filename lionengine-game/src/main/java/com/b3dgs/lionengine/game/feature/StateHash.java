@@ -0,0 +1,385 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.Feature;
+
+/**
+ * Hash of the handled featurables state, computed once per tick and chained with the previous ticks hash. Two
+ * simulations in sync give the same hash at the same tick, so comparing a single value detects a desync, and a
+ * desync keeps the hashes different on all next ticks.
+ * <p>
+ * Each featurable contributes its identifier, its {@link Transformable} location and size, and the values of the
+ * tracked features. Contributions are summed, so the result does not depend on the featurables iteration order.
+ * </p>
+ * <p>
+ * Hash is incremental: featurables are followed with {@link HandlerListener}, and a contribution is only computed
+ * again when its {@link Transformable} notifies a change, or on each tick if it owns a tracked feature, as tracked
+ * values are not notified.
+ * </p>
+ */
+public final class StateHash implements HandlerListener, TransformableListener
+{
+    /** First mix multiplier. */
+    private static final long MIX1 = 0xBF58_476D_1CE4_E5B9L;
+    /** Second mix multiplier. */
+    private static final long MIX2 = 0x94D0_49BB_1331_11EBL;
+    /** Golden ratio increment. */
+    private static final long GOLDEN = 0x9E37_79B9_7F4A_7C15L;
+
+    /**
+     * Mix value bits.
+     * 
+     * @param value The value.
+     * @return The mixed value.
+     */
+    private static long mix(long value)
+    {
+        long mixed = (value ^ value >>> 30) * MIX1;
+        mixed = (mixed ^ mixed >>> 27) * MIX2;
+        return mixed ^ mixed >>> 31;
+    }
+
+    /**
+     * Combine hash with value.
+     * 
+     * @param hash The current hash.
+     * @param value The value to add.
+     * @return The combined hash.
+     */
+    private static long combine(long hash, long value)
+    {
+        return mix(hash + GOLDEN + value);
+    }
+
+    /**
+     * Combine hash with value.
+     * 
+     * @param hash The current hash.
+     * @param value The value to add.
+     * @return The combined hash.
+     */
+    private static long combine(long hash, double value)
+    {
+        return combine(hash, Double.doubleToLongBits(value));
+    }
+
+    /** Tracked features. */
+    private final List<Tracked<?>> tracked = new ArrayList<>();
+    /** Followed featurables. */
+    private final Map<Featurable, Entry> entries = new HashMap<>();
+    /** Followed featurables by transformable. */
+    private final Map<Transformable, Entry> transformables = new HashMap<>();
+    /** Featurables owning a tracked feature, hashed on each tick. */
+    private final Set<Entry> watched = new HashSet<>();
+    /** Featurables transformed since last tick, skipped if no more dirty (removed). */
+    private final List<Entry> dirty = new ArrayList<>();
+    /** Sum of followed featurables contribution. */
+    private long current;
+    /** Chained hash. */
+    private long hash;
+    /** Last tick hash. */
+    private long last;
+    /** Hashed ticks. */
+    private long tick;
+
+    /**
+     * Create hash.
+     */
+    public StateHash()
+    {
+        super();
+    }
+
+    /**
+     * Track a feature value in hash, for each featurable owning the feature.
+     * 
+     * @param <F> The feature type.
+     * @param type The feature type (must not be <code>null</code>).
+     * @param hasher The feature state value (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public <F extends Feature> void track(Class<F> type, ToLongFunction<F> hasher)
+    {
+        Check.notNull(type);
+        Check.notNull(hasher);
+
+        tracked.add(new Tracked<>(type, hasher));
+        for (final Entry entry : entries.values())
+        {
+            if (entry.featurable.hasFeature(type))
+            {
+                watched.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Hash current state of followed featurables and chain it. Only transformed featurables and the ones owning a
+     * tracked feature are hashed again.
+     */
+    public void update()
+    {
+        for (final Entry entry : dirty)
+        {
+            if (entry.dirty)
+            {
+                entry.dirty = false;
+                refresh(entry);
+            }
+        }
+        dirty.clear();
+        for (final Entry entry : watched)
+        {
+            refresh(entry);
+        }
+        last = current;
+        hash = combine(hash, current);
+        tick++;
+    }
+
+    /**
+     * Stop following all featurables. Chained hash is kept.
+     */
+    public void clear()
+    {
+        for (final Transformable transformable : transformables.keySet())
+        {
+            transformable.removeListener(this);
+        }
+        entries.clear();
+        transformables.clear();
+        watched.clear();
+        dirty.clear();
+        current = 0L;
+    }
+
+    /**
+     * Restart hash from first tick.
+     */
+    public void reset()
+    {
+        hash = 0L;
+        last = 0L;
+        tick = 0L;
+    }
+
+    /**
+     * Get the hash chained over all hashed ticks.
+     * 
+     * @return The chained hash.
+     */
+    public long getHash()
+    {
+        return hash;
+    }
+
+    /**
+     * Get the hash of the last tick state only.
+     * 
+     * @return The last tick hash.
+     */
+    public long getLast()
+    {
+        return last;
+    }
+
+    /**
+     * Get the number of hashed ticks.
+     * 
+     * @return The hashed ticks.
+     */
+    public long getTick()
+    {
+        return tick;
+    }
+
+    /**
+     * Compute again featurable contribution.
+     * 
+     * @param entry The featurable entry.
+     */
+    private void refresh(Entry entry)
+    {
+        current -= entry.hash;
+        entry.hash = hash(entry.featurable);
+        current += entry.hash;
+    }
+
+    /**
+     * Hash featurable state.
+     * 
+     * @param featurable The featurable to hash.
+     * @return The featurable hash.
+     */
+    private long hash(Featurable featurable)
+    {
+        final Integer id = featurable.getFeature(Identifiable.class).getId();
+        long current = mix(id == null ? 0L : id.longValue());
+        if (featurable.hasFeature(Transformable.class))
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            current = combine(current, transformable.getX());
+            current = combine(current, transformable.getY());
+            current = combine(current, transformable.getWidth());
+            current = combine(current, transformable.getHeight());
+        }
+        for (final Tracked<?> feature : tracked)
+        {
+            current = combine(current, feature.hash(featurable));
+        }
+        return current;
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (!entries.containsKey(featurable))
+        {
+            final Entry entry = new Entry(featurable);
+            entries.put(featurable, entry);
+            if (featurable.hasFeature(Transformable.class))
+            {
+                final Transformable transformable = featurable.getFeature(Transformable.class);
+                transformable.addListener(this);
+                transformables.put(transformable, entry);
+            }
+            for (final Tracked<?> feature : tracked)
+            {
+                if (featurable.hasFeature(feature.type))
+                {
+                    watched.add(entry);
+                }
+            }
+            refresh(entry);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        final Entry entry = entries.remove(featurable);
+        if (entry != null)
+        {
+            if (featurable.hasFeature(Transformable.class))
+            {
+                final Transformable transformable = featurable.getFeature(Transformable.class);
+                transformable.removeListener(this);
+                transformables.remove(transformable);
+            }
+            watched.remove(entry);
+            entry.dirty = false;
+            current -= entry.hash;
+        }
+    }
+
+    /*
+     * TransformableListener
+     */
+
+    @Override
+    public void notifyTransformed(Transformable transformable)
+    {
+        final Entry entry = transformables.get(transformable);
+        if (entry != null && !entry.dirty)
+        {
+            entry.dirty = true;
+            dirty.add(entry);
+        }
+    }
+
+    /**
+     * Followed featurable.
+     */
+    private static final class Entry
+    {
+        /** Featurable reference. */
+        private final Featurable featurable;
+        /** Current contribution. */
+        private long hash;
+        /** Transformed since last tick flag. */
+        private boolean dirty;
+
+        /**
+         * Create entry.
+         * 
+         * @param featurable The featurable reference.
+         */
+        Entry(Featurable featurable)
+        {
+            super();
+
+            this.featurable = featurable;
+        }
+    }
+
+    /**
+     * Tracked feature.
+     * 
+     * @param <F> The feature type.
+     */
+    private static final class Tracked<F extends Feature>
+    {
+        /** Feature type. */
+        private final Class<F> type;
+        /** Feature state value. */
+        private final ToLongFunction<F> hasher;
+
+        /**
+         * Create tracked.
+         * 
+         * @param type The feature type.
+         * @param hasher The feature state value.
+         */
+        Tracked(Class<F> type, ToLongFunction<F> hasher)
+        {
+            super();
+
+            this.type = type;
+            this.hasher = hasher;
+        }
+
+        /**
+         * Get feature value, <code>0</code> if featurable does not own it.
+         * 
+         * @param featurable The featurable reference.
+         * @return The feature value.
+         */
+        long hash(Featurable featurable)
+        {
+            if (featurable.hasFeature(type))
+            {
+                return hasher.applyAsLong(featurable.getFeature(type));
+            }
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.game.FeatureProvider;
+
+/**
+ * Transformable notifications recorded by a thread instead of being sent, and sent later with {@link #replay()} from
+ * the caller thread. Used by concurrent updates, so listeners which do not belong to the moved featurable, such as
+ * components or features of other featurables, are never notified concurrently. Only the moved featurable and its own
+ * features are still notified immediately.
+ * <p>
+ * Shared listeners of a transformable are recorded once per recording, on its first move: once replayed, they see its
+ * state after its last move, and as old state the one before its first move.
+ * </p>
+ * <p>
+ * Not thread safe, a recording must be filled by one thread at a time.
+ * </p>
+ */
+final class TransformableDeferred
+{
+    /** Default capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+    /** Recording of current thread, <code>null</code> if none. */
+    private static final ThreadLocal<TransformableDeferred> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Get the recording of current thread.
+     * 
+     * @return The current recording, <code>null</code> if notifications are sent immediately.
+     */
+    static TransformableDeferred current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Check if listener must be notified later, when a recording is active.
+     * 
+     * @param transformable The moved transformable.
+     * @param listener The listener to check.
+     * @return <code>true</code> if shared listener, <code>false</code> if belongs to the moved featurable.
+     */
+    static boolean isShared(Transformable transformable, TransformableListener listener)
+    {
+        if (listener instanceof FeatureProvider)
+        {
+            final FeatureProvider provider = (FeatureProvider) listener;
+            return !provider.hasFeature(Transformable.class) || provider.getFeature(Transformable.class) != transformable;
+        }
+        return true;
+    }
+
+    /** Moved transformables. */
+    private TransformableModel[] transformables = new TransformableModel[DEFAULT_CAPACITY];
+    /** Listeners to notify. */
+    private TransformableListener[] listeners = new TransformableListener[DEFAULT_CAPACITY];
+    /** Recorded notifications count. */
+    private int size;
+
+    /**
+     * Create an empty recording.
+     */
+    TransformableDeferred()
+    {
+        super();
+    }
+
+    /**
+     * Start recording notifications of current thread.
+     */
+    void start()
+    {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Stop recording notifications of current thread.
+     */
+    void stop()
+    {
+        CURRENT.remove();
+    }
+
+    /**
+     * Record a notification.
+     * 
+     * @param transformable The moved transformable.
+     * @param listener The listener to notify.
+     */
+    void add(TransformableModel transformable, TransformableListener listener)
+    {
+        if (size == listeners.length)
+        {
+            final int capacity = size * 2;
+            transformables = Arrays.copyOf(transformables, capacity);
+            listeners = Arrays.copyOf(listeners, capacity);
+        }
+        transformables[size] = transformable;
+        listeners[size] = listener;
+        size++;
+    }
+
+    /**
+     * Send recorded notifications in their recording order, and clear them. Listeners read the current transformable
+     * state, which is the one after its last move, and the old state recorded before its first move.
+     */
+    void replay()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            transformables[i].replay(listeners[i]);
+        }
+        for (int i = 0; i < size; i++)
+        {
+            transformables[i].replayed();
+        }
+        Arrays.fill(transformables, 0, size, null);
+        Arrays.fill(listeners, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Get the recorded notifications count.
+     * 
+     * @return The recorded notifications count.
+     */
+    int getSize()
+    {
+        return size;
+    }
+}
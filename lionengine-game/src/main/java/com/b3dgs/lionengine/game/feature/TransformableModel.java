@@ -41,6 +41,18 @@ public class TransformableModel extends FeatureModel implements Transformable, R
     private int oldWidth;
     /** Body old height. */
     private int oldHeight;
+    /** Recording of shared listeners notification since first move, <code>null</code> if none. */
+    private TransformableDeferred recording;
+    /** Old horizontal location before first recorded move. */
+    private double recordedOldX;
+    /** Old vertical location before first recorded move. */
+    private double recordedOldY;
+    /** Old width before first recorded move. */
+    private int recordedOldWidth;
+    /** Old height before first recorded move. */
+    private int recordedOldHeight;
+    /** Replaying flag, <code>true</code> if old state is the recorded one. */
+    private boolean replaying;
 
     /**
      * Create feature.
@@ -67,7 +79,8 @@ public class TransformableModel extends FeatureModel implements Transformable, R
     }
 
     /**
-     * Notify transformable modification.
+     * Notify transformable modification. Shared listeners are notified later if current thread records notifications
+     * (see {@link TransformableDeferred}), recorded on first move only with the old state before it.
      * 
      * @param teleport <code>true</code> if teleport, <code>false</code> else.
      */
@@ -80,13 +93,60 @@ public class TransformableModel extends FeatureModel implements Transformable, R
             || Double.compare(getWidth(), getOldWidth()) != 0
             || Double.compare(getHeight(), getOldHeight()) != 0)
         {
+            final TransformableDeferred deferred = TransformableDeferred.current();
+            final boolean first = deferred != null && deferred != recording;
+            if (first)
+            {
+                recording = deferred;
+                recordedOldX = getOldX();
+                recordedOldY = getOldY();
+                recordedOldWidth = getOldWidth();
+                recordedOldHeight = getOldHeight();
+            }
             for (int i = 0; i < listenable.size(); i++)
             {
-                listenable.get(i).notifyTransformed(this);
+                final TransformableListener listener = listenable.get(i);
+                if (deferred != null && TransformableDeferred.isShared(this, listener))
+                {
+                    if (first)
+                    {
+                        deferred.add(this, listener);
+                    }
+                }
+                else
+                {
+                    listener.notifyTransformed(this);
+                }
             }
         }
     }
 
+    /**
+     * Notify a deferred listener, with the old state recorded before first move.
+     * 
+     * @param listener The listener to notify.
+     */
+    void replay(TransformableListener listener)
+    {
+        replaying = true;
+        try
+        {
+            listener.notifyTransformed(this);
+        }
+        finally
+        {
+            replaying = false;
+        }
+    }
+
+    /**
+     * End recording once deferred listeners have been notified. Next move will be recorded as a first one.
+     */
+    void replayed()
+    {
+        recording = null;
+    }
+
     /*
      * Transformable
      */
@@ -221,24 +281,40 @@ public class TransformableModel extends FeatureModel implements Transformable, R
     @Override
     public double getOldX()
     {
+        if (replaying)
+        {
+            return recordedOldX;
+        }
         return mover.getOldX();
     }
 
     @Override
     public double getOldY()
     {
+        if (replaying)
+        {
+            return recordedOldY;
+        }
         return mover.getOldY();
     }
 
     @Override
     public int getOldWidth()
     {
+        if (replaying)
+        {
+            return recordedOldWidth;
+        }
         return oldWidth;
     }
 
     @Override
     public int getOldHeight()
     {
+        if (replaying)
+        {
+            return recordedOldHeight;
+        }
         return oldHeight;
     }
 
@@ -23,6 +23,7 @@ import com.b3dgs.lionengine.Context;
 import com.b3dgs.lionengine.InputDevice;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Randomizer;
 import com.b3dgs.lionengine.Resolution;
 import com.b3dgs.lionengine.Updatable;
 import com.b3dgs.lionengine.graphic.ColorRgba;
@@ -43,6 +44,8 @@ import com.b3dgs.lionengine.io.FileWriting;
  * <li><code>height</code>: The source screen height, retrieve from the source screen {@link Resolution}</li>
  * <li>{@link Services}: Pre-configured instance with the following added services:
  * <ul>
+ * <li>{@link Identifiers}: World identifiers allocator, if not already provided</li>
+ * <li>{@link Randomizer}: World random, if not already provided</li>
  * <li>{@link Camera}: Configured with screen size as view</li>
  * <li>{@link Handler}: Shipped with {@link ComponentRefreshable} and {@link ComponentDisplayable}</li>
  * <li>{@link Factory}: Listener added with {@link Handler#addListener(HandlerListener)}</li>
@@ -67,6 +70,8 @@ public abstract class WorldGame implements Updatable, Renderable, Spawner
     protected final Factory factory;
     /** Handler instance (configured with {@link ComponentRefreshable} and {@link ComponentDisplayable}). */
     protected final Handler handler;
+    /** World random (seeded by {@link #setDeterministic(long)}). */
+    protected final Randomizer random;
     /** Config reference. */
     protected final Config config;
     /** External display reference. */
@@ -94,6 +99,11 @@ public abstract class WorldGame implements Updatable, Renderable, Spawner
         output = config.getOutput();
 
         source = services.get(SourceResolutionProvider.class);
+        if (!services.getOptional(Identifiers.class).isPresent())
+        {
+            services.create(Identifiers.class);
+        }
+        random = services.getOptional(Randomizer.class).orElseGet(() -> services.add(new Randomizer()));
         factory = services.create(Factory.class);
         handler = services.create(Handler.class);
         handler.addListener(factory);
@@ -168,6 +178,19 @@ public abstract class WorldGame implements Updatable, Renderable, Spawner
         }
     }
 
+    /**
+     * Enable deterministic simulation, for replays and lockstep: the world random is seeded and the handler is
+     * switched to its deterministic mode (see {@link Handler#setDeterministic(boolean)}). Two worlds created the same
+     * way, seeded with the same value and receiving the same inputs give the same {@link Handler#getStateHash()}.
+     * 
+     * @param seed The random seed.
+     */
+    public final void setDeterministic(long seed)
+    {
+        random.setSeed(seed);
+        handler.setDeterministic(true);
+    }
+
     /**
      * Fill with color.
      * 
@@ -0,0 +1,454 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.InputDevice;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
+
+/**
+ * Headless host running many independent {@link WorldGame} on a fixed threads pool, without rendering.
+ * <p>
+ * Each {@link #tick(double)} updates all worlds once, each world on one pool thread, and returns when all are updated,
+ * so worlds are multiplexed on the pool and their count is not bound to the threads count (which defaults to the
+ * available cores). {@link #start(int)} ticks at a fixed rate with a constant extrapolation of <code>1.0</code>,
+ * late ticks being run back to back to catch up.
+ * </p>
+ * <p>
+ * Worlds must not share anything but immutable resources: each world must have its own {@link Services} (see
+ * {@link #create(Config, Function)}), and so its own {@link Identifiers}. Process wide settings
+ * ({@link com.b3dgs.lionengine.Medias}, {@link com.b3dgs.lionengine.graphic.Graphics} factory) must be configured once
+ * before, the same for all worlds.
+ * </p>
+ */
+public class WorldHost
+{
+    /** Default threads number. */
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    /** Already started error. */
+    static final String ERROR_STARTED = "World host already started !";
+    /** World not hosted error. */
+    static final String ERROR_WORLD = "World not hosted: ";
+    /** Tick error. */
+    static final String ERROR_TICK = "Error during world tick !";
+    /** Input device error. */
+    static final String ERROR_DEVICE = "No input device in headless context: ";
+    /** Fixed rate extrapolation. */
+    private static final double FIXED_EXTRP = 1.0;
+
+    /**
+     * Create a daemon threads factory.
+     * 
+     * @param name The threads name.
+     * @return The threads factory.
+     */
+    private static ThreadFactory createThreadFactory(String name)
+    {
+        return runnable ->
+        {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** Hosted worlds. */
+    private final List<Hosted> worlds = new CopyOnWriteArrayList<>();
+    /** Ticks lock, ticks never overlap. */
+    private final Object lock = new Object();
+    /** Host metrics, one record per tick of all worlds. */
+    private final WorldMetrics metrics = new WorldMetrics();
+    /** Worlds threads pool. */
+    private final ExecutorService executor;
+    /** Fixed rate scheduler. */
+    private final ScheduledExecutorService scheduler;
+    /** Current fixed rate loop (<code>null</code> if not started). */
+    private ScheduledFuture<?> loop;
+    /** Fixed rate ticking flag, guarded by lock. */
+    private boolean ticking;
+    /** Current tick extrapolation. */
+    private volatile double extrp;
+
+    /**
+     * Create host with {@link #DEFAULT_THREADS}.
+     */
+    public WorldHost()
+    {
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * Create host.
+     * 
+     * @param threads The threads number (must be strictly superior to 0).
+     * @throws LionEngineException If invalid argument.
+     */
+    public WorldHost(int threads)
+    {
+        super();
+
+        Check.superiorStrict(threads, 0);
+
+        executor = Executors.newFixedThreadPool(threads, createThreadFactory(WorldHost.class.getSimpleName()));
+        scheduler = Executors.newSingleThreadScheduledExecutor(createThreadFactory(WorldHost.class.getSimpleName()));
+    }
+
+    /**
+     * Create a world with its own headless {@link Services} and host it. Services provide a {@link Context} without
+     * input device, and a {@link SourceResolutionProvider} of the config output.
+     * 
+     * @param <W> The world type.
+     * @param config The world config (must not be <code>null</code>).
+     * @param creator The world creator from its services (must not be <code>null</code>).
+     * @return The hosted world.
+     * @throws LionEngineException If invalid arguments or error on creating world.
+     */
+    public <W extends WorldGame> W create(Config config, Function<Services, W> creator)
+    {
+        Check.notNull(config);
+        Check.notNull(creator);
+
+        final Services services = new Services();
+        services.add(new HeadlessContext(config));
+        services.add(new HeadlessSource(config));
+
+        final W world = creator.apply(services);
+        add(world);
+        return world;
+    }
+
+    /**
+     * Host a world. It is updated from next tick.
+     * 
+     * @param world The world to host (must not be <code>null</code>).
+     * @return The world metrics.
+     * @throws LionEngineException If invalid argument.
+     */
+    public WorldMetrics add(WorldGame world)
+    {
+        Check.notNull(world);
+
+        final Hosted hosted = new Hosted(world);
+        worlds.add(hosted);
+        return hosted.metrics;
+    }
+
+    /**
+     * Stop hosting a world. It is not updated from next tick.
+     * 
+     * @param world The world to remove.
+     */
+    public void remove(WorldGame world)
+    {
+        worlds.removeIf(hosted -> hosted.world == world);
+    }
+
+    /**
+     * Get the metrics of a hosted world.
+     * 
+     * @param world The hosted world.
+     * @return The world metrics.
+     * @throws LionEngineException If world not hosted.
+     */
+    public WorldMetrics getMetrics(WorldGame world)
+    {
+        for (final Hosted hosted : worlds)
+        {
+            if (hosted.world == world)
+            {
+                return hosted.metrics;
+            }
+        }
+        throw new LionEngineException(ERROR_WORLD + world);
+    }
+
+    /**
+     * Get the host metrics, time of each tick of all worlds.
+     * 
+     * @return The host metrics.
+     */
+    public WorldMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Get the hosted worlds number.
+     * 
+     * @return The worlds number.
+     */
+    public int getWorldsCount()
+    {
+        return worlds.size();
+    }
+
+    /**
+     * Update all worlds once, in parallel, and wait for them.
+     * 
+     * @param extrp The extrapolation value.
+     * @throws LionEngineException If a world failed, after all worlds ended their tick.
+     */
+    public void tick(double extrp)
+    {
+        synchronized (lock)
+        {
+            final long start = System.nanoTime();
+            this.extrp = extrp;
+            try
+            {
+                final List<Future<Void>> results = executor.invokeAll(worlds);
+                for (final Future<Void> result : results)
+                {
+                    result.get();
+                }
+            }
+            catch (final ExecutionException exception)
+            {
+                throw new LionEngineException(exception.getCause(), ERROR_TICK);
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                throw new LionEngineException(exception, ERROR_TICK);
+            }
+            finally
+            {
+                metrics.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Start ticking at fixed rate, until {@link #stop()} or a world failed.
+     * 
+     * @param rate The ticks per second (must be strictly superior to 0).
+     * @throws LionEngineException If invalid argument or already started.
+     */
+    public synchronized void start(int rate)
+    {
+        Check.superiorStrict(rate, 0);
+        if (isRunning())
+        {
+            throw new LionEngineException(ERROR_STARTED);
+        }
+        synchronized (lock)
+        {
+            ticking = true;
+        }
+        loop = scheduler.scheduleAtFixedRate(this::tickFixed, 0L, Constant.ONE_SECOND_IN_NANO / rate,
+                                             TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stop ticking. Current tick is ended first. Does nothing if not started.
+     */
+    public synchronized void stop()
+    {
+        if (loop != null)
+        {
+            loop.cancel(false);
+            loop = null;
+            synchronized (lock)
+            {
+                ticking = false;
+            }
+        }
+    }
+
+    /**
+     * Check if ticking at fixed rate.
+     * 
+     * @return <code>true</code> if running, <code>false</code> if not started, stopped, or stopped by a failure.
+     */
+    public synchronized boolean isRunning()
+    {
+        return loop != null && !loop.isDone();
+    }
+
+    /**
+     * Stop ticking and release threads. Host cannot be used anymore.
+     */
+    public void dispose()
+    {
+        stop();
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+        worlds.clear();
+    }
+
+    /**
+     * Fixed rate tick, skipped once stopped. Failure is logged and ends the loop.
+     */
+    private void tickFixed()
+    {
+        try
+        {
+            synchronized (lock)
+            {
+                if (ticking)
+                {
+                    tick(FIXED_EXTRP);
+                }
+            }
+        }
+        catch (final LionEngineException exception)
+        {
+            Verbose.exception(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Hosted world, updated from pool thread.
+     */
+    private final class Hosted implements Callable<Void>
+    {
+        /** World reference. */
+        private final WorldGame world;
+        /** World metrics. */
+        private final WorldMetrics metrics = new WorldMetrics();
+
+        /**
+         * Create hosted world.
+         * 
+         * @param world The world reference.
+         */
+        Hosted(WorldGame world)
+        {
+            super();
+
+            this.world = world;
+        }
+
+        @Override
+        public Void call()
+        {
+            final long start = System.nanoTime();
+            try
+            {
+                world.update(extrp);
+            }
+            finally
+            {
+                metrics.record(System.nanoTime() - start);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Headless context, without input device.
+     */
+    private static final class HeadlessContext implements Context
+    {
+        /** Config reference. */
+        private final Config config;
+
+        /**
+         * Create context.
+         * 
+         * @param config The config reference.
+         */
+        HeadlessContext(Config config)
+        {
+            super();
+
+            this.config = config;
+        }
+
+        @Override
+        public int getX()
+        {
+            return 0;
+        }
+
+        @Override
+        public int getY()
+        {
+            return 0;
+        }
+
+        @Override
+        public Config getConfig()
+        {
+            return config;
+        }
+
+        @Override
+        public <T extends InputDevice> T getInputDevice(Class<T> type)
+        {
+            throw new LionEngineException(ERROR_DEVICE + type);
+        }
+    }
+
+    /**
+     * Headless source, the config output.
+     */
+    private static final class HeadlessSource implements SourceResolutionProvider
+    {
+        /** Config reference. */
+        private final Config config;
+
+        /**
+         * Create source.
+         * 
+         * @param config The config reference.
+         */
+        HeadlessSource(Config config)
+        {
+            super();
+
+            this.config = config;
+        }
+
+        @Override
+        public int getWidth()
+        {
+            return config.getOutput().getWidth();
+        }
+
+        @Override
+        public int getHeight()
+        {
+            return config.getOutput().getHeight();
+        }
+
+        @Override
+        public int getRate()
+        {
+            return config.getOutput().getRate();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import com.b3dgs.lionengine.Constant;
+
+/**
+ * World tick time metrics, recorded by {@link WorldHost} each time its world is updated.
+ * <p>
+ * Recorded by one thread at a time, can be read from any thread.
+ * </p>
+ */
+public final class WorldMetrics
+{
+    /** Ticks count. */
+    private volatile long ticks;
+    /** Last tick time in nano. */
+    private volatile long last;
+    /** Longest tick time in nano. */
+    private volatile long max;
+    /** Total ticks time in nano. */
+    private volatile long total;
+
+    /**
+     * Create metrics.
+     */
+    WorldMetrics()
+    {
+        super();
+    }
+
+    /**
+     * Record a tick.
+     * 
+     * @param time The tick time in nano.
+     */
+    void record(long time)
+    {
+        ticks++;
+        last = time;
+        total += time;
+        if (time > max)
+        {
+            max = time;
+        }
+    }
+
+    /**
+     * Reset metrics.
+     */
+    public void reset()
+    {
+        ticks = 0L;
+        last = 0L;
+        max = 0L;
+        total = 0L;
+    }
+
+    /**
+     * Get the recorded ticks count.
+     * 
+     * @return The ticks count.
+     */
+    public long getTicks()
+    {
+        return ticks;
+    }
+
+    /**
+     * Get the last tick time.
+     * 
+     * @return The last tick time in milli.
+     */
+    public double getLastTime()
+    {
+        return last / Constant.NANO_TO_MILLI;
+    }
+
+    /**
+     * Get the longest tick time.
+     * 
+     * @return The longest tick time in milli.
+     */
+    public double getMaxTime()
+    {
+        return max / Constant.NANO_TO_MILLI;
+    }
+
+    /**
+     * Get the average tick time.
+     * 
+     * @return The average tick time in milli, <code>0</code> if no tick.
+     */
+    public double getAverageTime()
+    {
+        final long count = ticks;
+        if (count == 0L)
+        {
+            return 0.0;
+        }
+        return total / (double) count / Constant.NANO_TO_MILLI;
+    }
+}
@@ -67,6 +67,17 @@ public interface Collidable extends Feature, Renderable, CollidableListener, Col
      */
     List<CollisionCouple> collide(Collidable collidable);
 
+    /**
+     * Check if the collidable entered in collision with another one, and add collisions found to buffer, without
+     * allocating once buffer reached its working size. Collidables must not be modified while checking, so different
+     * couples can be checked concurrently with one buffer per thread.
+     * 
+     * @param collidable The collidable reference.
+     * @param buffer The collisions found, with this as collidable and reference as other.
+     * @return The number of collisions added.
+     */
+    int collide(Collidable collidable, CollisionBuffer buffer);
+
     /**
      * Set the associated group.
      * 
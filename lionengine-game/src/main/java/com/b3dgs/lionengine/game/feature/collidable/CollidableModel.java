@@ -18,6 +18,7 @@ package com.b3dgs.lionengine.game.feature.collidable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -36,6 +37,7 @@ import com.b3dgs.lionengine.game.feature.IdentifiableListener;
 import com.b3dgs.lionengine.game.feature.Recyclable;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Sleepable;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.TransformableListener;
 import com.b3dgs.lionengine.geom.Rectangle;
@@ -174,7 +176,24 @@ public class CollidableModel extends FeatureModel
     @Override
     public List<CollisionCouple> collide(Collidable other)
     {
-        return updater.collide(origin, this, transformable, other, accepted);
+        final CollisionBuffer buffer = new CollisionBuffer();
+        final int count = collide(other, buffer);
+        if (count == 0)
+        {
+            return Collections.emptyList();
+        }
+        final List<CollisionCouple> collisions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            collisions.add(new CollisionCouple(buffer.getWith(i), buffer.getBy(i)));
+        }
+        return collisions;
+    }
+
+    @Override
+    public int collide(Collidable other, CollisionBuffer buffer)
+    {
+        return updater.collide(origin, this, transformable, other, accepted, buffer);
     }
 
     @Override
@@ -241,6 +260,10 @@ public class CollidableModel extends FeatureModel
         {
             listenable.get(i).notifyCollided(collidable, with, by);
         }
+        if (hasFeature(Sleepable.class))
+        {
+            getFeature(Sleepable.class).wakeUp();
+        }
     }
 
     @Override
@@ -18,7 +18,6 @@ package com.b3dgs.lionengine.game.feature.collidable;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -40,26 +39,29 @@ import com.b3dgs.lionengine.geom.Rectangle;
  */
 final class CollidableUpdater implements IdentifiableListener, CollisionChecker
 {
+    /** Sweep rectangle per thread. */
+    private static final ThreadLocal<Rectangle> SWEEP = ThreadLocal.withInitial(Rectangle::new);
+
     /**
      * Check if other collides with collision and its rectangle area.
      * 
      * @param origin The origin used.
-     * @param provider The provider owner.
+     * @param collidable The collidable owner.
      * @param transformable The transformable owner.
      * @param with The collision to check with.
      * @param other The other collidable to check.
      * @param rectangle The collision rectangle.
-     * @param collisions The collisions couple.
+     * @param buffer The collisions found.
      */
     private static void collide(Origin origin,
-                                FeatureProvider provider,
+                                Collidable collidable,
                                 Transformable transformable,
                                 Collision with,
                                 Collidable other,
                                 Rectangle rectangle,
-                                List<CollisionCouple> collisions)
+                                CollisionBuffer buffer)
     {
-        final Mirror mirror = getMirror(provider, with);
+        final Mirror mirror = getMirror(collidable, with);
         final int offsetX = getOffsetX(with, mirror);
         final int offsetY = getOffsetY(with, mirror);
 
@@ -68,6 +70,17 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
         final double dh = origin.getX(transformable.getX() + offsetX, rectangle.getWidthReal()) - sh;
         final double dv = origin.getY(transformable.getY() + offsetY, rectangle.getHeightReal()) - sv;
 
+        if (with.isSwept())
+        {
+            final Rectangle start = SWEEP.get();
+            start.set(rectangle.getX() - dh,
+                      rectangle.getY() - dv,
+                      rectangle.getWidthReal(),
+                      rectangle.getHeightReal());
+            checkSwept(collidable, with, start, dh, dv, other, buffer);
+            return;
+        }
+
         final double nh = Math.abs(dh);
         final double nv = Math.abs(dv);
 
@@ -86,29 +99,34 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
             sy = dv;
         }
 
-        final double oldX = rectangle.getX();
-        final double oldY = rectangle.getY();
+        // Sweep a copy, cached bounds may be read concurrently
+        final Rectangle sweep = SWEEP.get();
+        sweep.set(rectangle.getX(), rectangle.getY(), rectangle.getWidthReal(), rectangle.getHeightReal());
         for (int count = 0; count < max + 1; count++)
         {
-            if (checkCollide(with, rectangle, other, collisions))
+            if (checkCollide(collidable, with, sweep, other, buffer))
             {
                 return;
             }
-            rectangle.translate(sx, sy);
+            sweep.translate(sx, sy);
         }
-        rectangle.set(oldX, oldY, rectangle.getWidth(), rectangle.getHeight());
     }
 
     /**
      * Check if current area collides other collidable area.
      * 
+     * @param collidable The collidable owner.
      * @param with The collision to check with.
      * @param area The current area.
      * @param other The other collidable.
-     * @param collisions The collisions couple.
+     * @param buffer The collisions found.
      * @return <code>true</code> if collided, <code>false</code> else.
      */
-    private static boolean checkCollide(Collision with, Area area, Collidable other, List<CollisionCouple> collisions)
+    private static boolean checkCollide(Collidable collidable,
+                                        Collision with,
+                                        Area area,
+                                        Collidable other,
+                                        CollisionBuffer buffer)
     {
         final List<Rectangle> others = other.getCollisionBounds();
         final List<Collision> othersColl = other.getCollisions();
@@ -121,13 +139,94 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
 
             if (other.isEnabled(by) && (area.intersects(current) || area.contains(current)))
             {
-                collisions.add(new CollisionCouple(with, by));
+                buffer.add(collidable, other, with, by);
                 collided = true;
             }
         }
         return collided;
     }
 
+    /**
+     * Check if area moved along vector collides other collidable area.
+     * 
+     * @param collidable The collidable owner.
+     * @param with The collision to check with.
+     * @param start The area at move start.
+     * @param dh The horizontal move.
+     * @param dv The vertical move.
+     * @param other The other collidable.
+     * @param buffer The collisions found.
+     */
+    private static void checkSwept(Collidable collidable,
+                                   Collision with,
+                                   Rectangle start,
+                                   double dh,
+                                   double dv,
+                                   Collidable other,
+                                   CollisionBuffer buffer)
+    {
+        final List<Rectangle> others = other.getCollisionBounds();
+        final List<Collision> othersColl = other.getCollisions();
+        final int size = others.size();
+        for (int i = 0; i < size; i++)
+        {
+            final Rectangle current = others.get(i);
+            final Collision by = othersColl.get(i);
+
+            if (other.isEnabled(by) && (intersects(start, dh, dv, current) || start.contains(current)))
+            {
+                buffer.add(collidable, other, with, by);
+            }
+        }
+    }
+
+    /**
+     * Check if area moved along vector intersects other area at any time of the move (slab test).
+     * 
+     * @param start The area at move start.
+     * @param dh The horizontal move.
+     * @param dv The vertical move.
+     * @param other The other area.
+     * @return <code>true</code> if intersects during move, <code>false</code> else.
+     */
+    static boolean intersects(Rectangle start, double dh, double dv, Rectangle other)
+    {
+        double enter = Double.NEGATIVE_INFINITY;
+        double exit = Double.POSITIVE_INFINITY;
+
+        if (Double.compare(dh, 0.0) == 0)
+        {
+            if (start.getMaxX() <= other.getMinX() || start.getMinX() >= other.getMaxX())
+            {
+                return false;
+            }
+        }
+        else
+        {
+            final double t1 = (other.getMinX() - start.getMaxX()) / dh;
+            final double t2 = (other.getMaxX() - start.getMinX()) / dh;
+            enter = Math.min(t1, t2);
+            exit = Math.max(t1, t2);
+        }
+
+        if (Double.compare(dv, 0.0) == 0)
+        {
+            if (start.getMaxY() <= other.getMinY() || start.getMinY() >= other.getMaxY())
+            {
+                return false;
+            }
+        }
+        else
+        {
+            final double t1 = (other.getMinY() - start.getMaxY()) / dv;
+            final double t2 = (other.getMaxY() - start.getMinY()) / dv;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        return enter < exit && enter < 1.0 && exit > 0.0;
+    }
+
     /**
      * Get the collision mirror.
      * 
@@ -233,36 +332,37 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
     }
 
     /**
-     * Check if the collidable entered in collision with another one.
+     * Check if the collidable entered in collision with another one, and add collisions found to buffer.
      * 
      * @param origin The origin used.
-     * @param provider The provider owner.
+     * @param collidable The collidable owner.
      * @param transformable The transformable owner.
      * @param other The collidable reference.
      * @param accepted The accepted groups.
-     * @return The collisions found if collide.
+     * @param buffer The collisions found.
+     * @return The number of collisions added.
      */
-    public List<CollisionCouple> collide(Origin origin,
-                                         FeatureProvider provider,
-                                         Transformable transformable,
-                                         Collidable other,
-                                         Collection<Integer> accepted)
+    public int collide(Origin origin,
+                       Collidable collidable,
+                       Transformable transformable,
+                       Collidable other,
+                       Collection<Integer> accepted,
+                       CollisionBuffer buffer)
     {
+        final int start = buffer.getSize();
         if (enabled && other.isEnabled() && accepted.contains(other.getGroup()))
         {
-            final List<CollisionCouple> collisions = new ArrayList<>();
             final int size = cacheColls.size();
             for (int i = 0; i < size; i++)
             {
                 final Collision with = cacheColls.get(i);
                 if (!disabled.contains(with))
                 {
-                    collide(origin, provider, transformable, with, other, cacheRect.get(i), collisions);
+                    collide(origin, collidable, transformable, with, other, cacheRect.get(i), buffer);
                 }
             }
-            return collisions;
         }
-        return Collections.EMPTY_LIST;
+        return buffer.getSize() - start;
     }
 
     /**
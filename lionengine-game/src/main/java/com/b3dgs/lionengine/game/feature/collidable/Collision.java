@@ -22,6 +22,10 @@ import com.b3dgs.lionengine.NameableAbstract;
 /**
  * Represents the collision data, offsets and size. Should be used in combination with
  * {@link CollisionConfig#getCollision(String)} and {@link Collidable#addCollision(Collision)}.
+ * <p>
+ * A swept collision is checked along the whole move from old location to current location, as a swept box, so fast
+ * collidables do not pass through thin ones between two updates.
+ * </p>
  * 
  * @see ComponentCollision
  */
@@ -42,6 +46,8 @@ public class Collision extends NameableAbstract
     private final int height;
     /** Has mirror. */
     private final boolean mirror;
+    /** Swept flag. */
+    private final boolean swept;
 
     /**
      * Create a collision.
@@ -55,6 +61,23 @@ public class Collision extends NameableAbstract
      * @throws LionEngineException If <code>null</code> name.
      */
     public Collision(String name, int offsetX, int offsetY, int width, int height, boolean mirror)
+    {
+        this(name, offsetX, offsetY, width, height, mirror, false);
+    }
+
+    /**
+     * Create a collision.
+     * 
+     * @param name The collision name.
+     * @param offsetX The collision horizontal offset.
+     * @param offsetY The collision vertical offset.
+     * @param width The collision width.
+     * @param height The collision height.
+     * @param mirror The mirror flag.
+     * @param swept The swept flag.
+     * @throws LionEngineException If <code>null</code> name.
+     */
+    public Collision(String name, int offsetX, int offsetY, int width, int height, boolean mirror, boolean swept)
     {
         super(name);
 
@@ -63,6 +86,7 @@ public class Collision extends NameableAbstract
         this.width = width;
         this.height = height;
         this.mirror = mirror;
+        this.swept = swept;
     }
 
     /**
@@ -115,6 +139,16 @@ public class Collision extends NameableAbstract
         return mirror;
     }
 
+    /**
+     * Get the swept flag.
+     * 
+     * @return <code>true</code> if checked along move, <code>false</code> if checked at current location.
+     */
+    public boolean isSwept()
+    {
+        return swept;
+    }
+
     /*
      * Object
      */
@@ -135,6 +169,8 @@ public class Collision extends NameableAbstract
                                             .append(height)
                                             .append(", mirror=")
                                             .append(mirror)
+                                            .append(", swept=")
+                                            .append(swept)
                                             .append("]")
                                             .toString();
     }
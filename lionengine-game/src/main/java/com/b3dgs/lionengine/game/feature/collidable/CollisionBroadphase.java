@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+import com.b3dgs.lionengine.geom.Area;
+
+/**
+ * Collision broadphase, storing collidables by location to find the couples that may collide. Each collidable covers
+ * its last move, from old location to current location, extended by its max collision size on each side, so swept
+ * collisions find their candidates along the move.
+ * 
+ * @see ComponentCollision
+ * @see CollisionGrid
+ * @see CollisionTree
+ */
+public interface CollisionBroadphase
+{
+    /**
+     * Update collidable location, without move. Collidable is added if not yet stored.
+     * 
+     * @param collidable The collidable reference.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     */
+    default void move(Collidable collidable, double x, double y)
+    {
+        move(collidable, x, y, x, y);
+    }
+
+    /**
+     * Update collidable location. Collidable is added if not yet stored.
+     * 
+     * @param collidable The collidable reference.
+     * @param oldX The horizontal location before move.
+     * @param oldY The vertical location before move.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     */
+    void move(Collidable collidable, double oldX, double oldY, double x, double y);
+
+    /**
+     * Remove collidable.
+     * 
+     * @param collidable The collidable reference.
+     */
+    void remove(Collidable collidable);
+
+    /**
+     * Get elements whose collision bounds are inside or intersect area.
+     * 
+     * @param area The area used.
+     * @param inside The elements inside area found.
+     */
+    void getInside(Area area, Collection<Collidable> inside);
+
+    /**
+     * Notify each couple of different collidables that may collide, where second element group is accepted by the
+     * first element. A couple may be notified more than once.
+     * 
+     * @param action The action called for each couple.
+     */
+    void findPairs(BiConsumer<Collidable, Collidable> action);
+}
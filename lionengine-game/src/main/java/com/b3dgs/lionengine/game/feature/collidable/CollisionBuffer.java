@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import java.util.Arrays;
+
+/**
+ * Reusable collisions storage, filled by {@link Collidable#collide(Collidable, CollisionBuffer)}. Each collision is
+ * stored as a record of parallel arrays (collidable, other, with, by), grown when full and never shrunk, so a buffer
+ * cleared and filled again each tick does not allocate once it reached its working size.
+ * <p>
+ * Not thread safe, a buffer must be filled by one thread at a time.
+ * </p>
+ */
+public final class CollisionBuffer
+{
+    /** Default capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Collidables. */
+    private Collidable[] collidables = new Collidable[DEFAULT_CAPACITY];
+    /** Collided others. */
+    private Collidable[] others = new Collidable[DEFAULT_CAPACITY];
+    /** Source collisions. */
+    private Collision[] withs = new Collision[DEFAULT_CAPACITY];
+    /** Collided collisions. */
+    private Collision[] bys = new Collision[DEFAULT_CAPACITY];
+    /** Stored collisions count. */
+    private int size;
+
+    /**
+     * Create an empty buffer.
+     */
+    public CollisionBuffer()
+    {
+        super();
+    }
+
+    /**
+     * Add a collision, growing buffer if full. Used by {@link Collidable#collide(Collidable, CollisionBuffer)}
+     * implementations.
+     * 
+     * @param collidable The collidable reference.
+     * @param other The collided other.
+     * @param with The source collision.
+     * @param by The collided collision.
+     */
+    public void add(Collidable collidable, Collidable other, Collision with, Collision by)
+    {
+        if (size == collidables.length)
+        {
+            final int capacity = size * 2;
+            collidables = Arrays.copyOf(collidables, capacity);
+            others = Arrays.copyOf(others, capacity);
+            withs = Arrays.copyOf(withs, capacity);
+            bys = Arrays.copyOf(bys, capacity);
+        }
+        collidables[size] = collidable;
+        others[size] = other;
+        withs[size] = with;
+        bys[size] = by;
+        size++;
+    }
+
+    /**
+     * Add a range of collisions from another buffer.
+     * 
+     * @param buffer The source buffer.
+     * @param start The first collision index.
+     * @param count The collisions count.
+     */
+    void addAll(CollisionBuffer buffer, int start, int count)
+    {
+        final int end = start + count;
+        for (int i = start; i < end; i++)
+        {
+            add(buffer.collidables[i], buffer.others[i], buffer.withs[i], buffer.bys[i]);
+        }
+    }
+
+    /**
+     * Remove all collisions, keeping capacity.
+     */
+    public void clear()
+    {
+        Arrays.fill(collidables, 0, size, null);
+        Arrays.fill(others, 0, size, null);
+        Arrays.fill(withs, 0, size, null);
+        Arrays.fill(bys, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Get the stored collisions count.
+     * 
+     * @return The collisions count.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Get the collidable of collision.
+     * 
+     * @param index The collision index in [0 - {@link #getSize()}[.
+     * @return The collidable reference.
+     */
+    public Collidable getCollidable(int index)
+    {
+        return collidables[index];
+    }
+
+    /**
+     * Get the collided other of collision.
+     * 
+     * @param index The collision index in [0 - {@link #getSize()}[.
+     * @return The collided other.
+     */
+    public Collidable getOther(int index)
+    {
+        return others[index];
+    }
+
+    /**
+     * Get the source collision.
+     * 
+     * @param index The collision index in [0 - {@link #getSize()}[.
+     * @return The source collision.
+     */
+    public Collision getWith(int index)
+    {
+        return withs[index];
+    }
+
+    /**
+     * Get the collided collision.
+     * 
+     * @param index The collision index in [0 - {@link #getSize()}[.
+     * @return The collided collision.
+     */
+    public Collision getBy(int index)
+    {
+        return bys[index];
+    }
+}
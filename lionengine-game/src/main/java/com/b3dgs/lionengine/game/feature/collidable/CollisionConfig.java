@@ -54,10 +54,14 @@ public final class CollisionConfig
     public static final String ATT_HEIGHT = "height";
     /** Collision attribute mirror. */
     public static final String ATT_MIRROR = "mirror";
+    /** Collision attribute swept. */
+    public static final String ATT_SWEPT = "swept";
     /** Error collision not found. */
     static final String ERROR_COLLISION_NOT_FOUND = "Collision not found: ";
     /** Default mirror. */
     private static final boolean DEFAULT_MIRROR = false;
+    /** Default swept. */
+    private static final boolean DEFAULT_SWEPT = false;
 
     /**
      * Create the collision data from node.
@@ -123,8 +127,9 @@ public final class CollisionConfig
         final int width = node.readInteger(ATT_WIDTH);
         final int height = node.readInteger(ATT_HEIGHT);
         final boolean mirror = node.readBoolean(DEFAULT_MIRROR, ATT_MIRROR);
+        final boolean swept = node.readBoolean(DEFAULT_SWEPT, ATT_SWEPT);
 
-        return new Collision(name, offsetX, offsetY, width, height, mirror);
+        return new Collision(name, offsetX, offsetY, width, height, mirror, swept);
     }
 
     /**
@@ -155,6 +160,7 @@ public final class CollisionConfig
         node.writeInteger(ATT_WIDTH, collision.getWidth());
         node.writeInteger(ATT_HEIGHT, collision.getHeight());
         node.writeBoolean(ATT_MIRROR, collision.hasMirror());
+        node.writeBoolean(ATT_SWEPT, collision.isSwept());
     }
 
     /** Collisions map. */
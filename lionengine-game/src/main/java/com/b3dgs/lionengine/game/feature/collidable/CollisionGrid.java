@@ -0,0 +1,622 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.geom.Area;
+import com.b3dgs.lionengine.geom.Rectangle;
+
+/**
+ * Uniform grid broadphase, by group. Cells are indexed by their packed coordinates in a primitive open addressing
+ * table, and store their elements in dense arrays. Empty cells are recycled.
+ * <p>
+ * A collidable is stored in each cell covered by its location extended by its max collision size. On location update,
+ * only cells entered or left are modified. Suited when collidables have similar sizes, smaller than the cell size.
+ * </p>
+ * <p>
+ * A couple sharing many cells is notified once per shared cell.
+ * </p>
+ */
+public final class CollisionGrid implements CollisionBroadphase
+{
+    /** Default cell size (the higher it is, the lower is the map division per cell). */
+    public static final double DEFAULT_CELL_SIZE = 256.0;
+    /** Initial cells capacity per group (power of two). */
+    private static final int CELLS_CAPACITY = 16;
+    /** Initial elements capacity per cell. */
+    private static final int ELEMENTS_CAPACITY = 4;
+    /** Key hash multiplier. */
+    private static final long HASH = 0x9E37_79B9_7F4A_7C15L;
+
+    /**
+     * Get cell key.
+     * 
+     * @param x The horizontal cell index.
+     * @param y The vertical cell index.
+     * @return The packed cell key.
+     */
+    static long key(int x, int y)
+    {
+        return (long) x << Integer.SIZE | y & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * Check elements inside area.
+     * 
+     * @param cell The cell to check.
+     * @param area The area to check.
+     * @param inside The elements inside the area found.
+     */
+    private static void checkInside(Cell cell, Area area, Collection<Collidable> inside)
+    {
+        for (int i = 0; i < cell.count; i++)
+        {
+            checkInside(cell.elements[i], area, inside);
+        }
+    }
+
+    /**
+     * Check element inside area.
+     * 
+     * @param collidable The element to check.
+     * @param area The area to check.
+     * @param inside The elements inside the area found.
+     */
+    static void checkInside(Collidable collidable, Area area, Collection<Collidable> inside)
+    {
+        for (final Rectangle bound : collidable.getCollisionBounds())
+        {
+            if (area.intersects(bound) || area.contains(bound))
+            {
+                inside.add(collidable);
+            }
+        }
+    }
+
+    /** Groups by ID. */
+    private final Map<Integer, Group> groups = new HashMap<>();
+    /** Groups list. */
+    private final List<Group> groupsList = new ArrayList<>();
+    /** Collidables location. */
+    private final Map<Collidable, Entry> entries = new HashMap<>();
+    /** Recycled cells. */
+    private final Deque<Cell> pool = new ArrayDeque<>();
+    /** Cell size. */
+    private final double cellSize;
+
+    /**
+     * Create grid with {@link #DEFAULT_CELL_SIZE}.
+     */
+    public CollisionGrid()
+    {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Create grid.
+     * 
+     * @param cellSize The cell size, should be greater than most collidables size (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public CollisionGrid(double cellSize)
+    {
+        super();
+
+        Check.superiorStrict(cellSize, 0.0);
+
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Get the number of used cells, all groups included.
+     * 
+     * @return The used cells count.
+     */
+    public int getCellsCount()
+    {
+        int count = 0;
+        for (final Group group : groupsList)
+        {
+            count += group.activeCount;
+        }
+        return count;
+    }
+
+    /**
+     * Notify each couple of element in cell, with others of its accepted groups.
+     * 
+     * @param objectA The collidable reference.
+     * @param key The cell key.
+     * @param action The action called for each couple.
+     */
+    private void findPairs(Collidable objectA, long key, BiConsumer<Collidable, Collidable> action)
+    {
+        for (final Integer acceptedGroup : objectA.getAccepted())
+        {
+            // Others to compare only in accepted group
+            final Group accepted = groups.get(acceptedGroup);
+            if (accepted != null)
+            {
+                final Cell others = accepted.get(key);
+                if (others != null)
+                {
+                    for (int i = 0; i < others.count; i++)
+                    {
+                        final Collidable objectB = others.elements[i];
+                        if (objectA != objectB)
+                        {
+                            action.accept(objectA, objectB);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get group, created if not existing.
+     * 
+     * @param id The group ID.
+     * @return The group reference.
+     */
+    private Group getGroup(Integer id)
+    {
+        Group group = groups.get(id);
+        if (group == null)
+        {
+            group = new Group();
+            groups.put(id, group);
+            groupsList.add(group);
+        }
+        return group;
+    }
+
+    /**
+     * Convert real position value to cell index.
+     * 
+     * @param value The real position value.
+     * @return The cell index value.
+     */
+    private int getIndex(double value)
+    {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    /*
+     * CollisionBroadphase
+     */
+
+    @Override
+    public void move(Collidable collidable, double oldX, double oldY, double x, double y)
+    {
+        final int minX = getIndex(Math.min(oldX, x) - collidable.getMaxWidth());
+        final int minY = getIndex(Math.min(oldY, y) - collidable.getMaxHeight());
+        final int maxX = getIndex(Math.max(oldX, x) + collidable.getMaxWidth());
+        final int maxY = getIndex(Math.max(oldY, y) + collidable.getMaxHeight());
+        final Group group = getGroup(collidable.getGroup());
+
+        Entry entry = entries.get(collidable);
+        if (entry == null)
+        {
+            entry = new Entry();
+            entries.put(collidable, entry);
+        }
+        else if (entry.group == group && entry.is(minX, minY, maxX, maxY))
+        {
+            return;
+        }
+
+        if (entry.group != null)
+        {
+            for (int cx = entry.minX; cx <= entry.maxX; cx++)
+            {
+                for (int cy = entry.minY; cy <= entry.maxY; cy++)
+                {
+                    if (entry.group != group || cx < minX || cx > maxX || cy < minY || cy > maxY)
+                    {
+                        entry.group.remove(key(cx, cy), collidable);
+                    }
+                }
+            }
+        }
+        for (int cx = minX; cx <= maxX; cx++)
+        {
+            for (int cy = minY; cy <= maxY; cy++)
+            {
+                if (entry.group != group || !entry.contains(cx, cy))
+                {
+                    group.add(key(cx, cy), collidable);
+                }
+            }
+        }
+        entry.set(group, minX, minY, maxX, maxY);
+    }
+
+    @Override
+    public void remove(Collidable collidable)
+    {
+        final Entry entry = entries.remove(collidable);
+        if (entry != null)
+        {
+            for (int cx = entry.minX; cx <= entry.maxX; cx++)
+            {
+                for (int cy = entry.minY; cy <= entry.maxY; cy++)
+                {
+                    entry.group.remove(key(cx, cy), collidable);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void getInside(Area area, Collection<Collidable> inside)
+    {
+        final int minX = getIndex(area.getX() - area.getWidth());
+        final int minY = getIndex(area.getY() - area.getHeight());
+        final int maxX = getIndex(area.getX() + area.getWidth());
+        final int maxY = getIndex(area.getY() + area.getHeight());
+
+        for (final Group group : groupsList)
+        {
+            for (int cx = minX; cx <= maxX; cx++)
+            {
+                for (int cy = minY; cy <= maxY; cy++)
+                {
+                    final Cell cell = group.get(key(cx, cy));
+                    if (cell != null)
+                    {
+                        checkInside(cell, area, inside);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void findPairs(BiConsumer<Collidable, Collidable> action)
+    {
+        final int groupsCount = groupsList.size();
+        for (int g = 0; g < groupsCount; g++)
+        {
+            final Group group = groupsList.get(g);
+            for (int c = 0; c < group.activeCount; c++)
+            {
+                final Cell cell = group.active[c];
+                for (int i = 0; i < cell.count; i++)
+                {
+                    findPairs(cell.elements[i], cell.key, action);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collidable cells range.
+     */
+    private static final class Entry
+    {
+        /** Current group (<code>null</code> if none). */
+        private Group group;
+        /** Min horizontal cell index. */
+        private int minX;
+        /** Min vertical cell index. */
+        private int minY;
+        /** Max horizontal cell index. */
+        private int maxX;
+        /** Max vertical cell index. */
+        private int maxY;
+
+        /**
+         * Create entry.
+         */
+        Entry()
+        {
+            super();
+        }
+
+        /**
+         * Set range.
+         * 
+         * @param group The current group.
+         * @param minX The min horizontal cell index.
+         * @param minY The min vertical cell index.
+         * @param maxX The max horizontal cell index.
+         * @param maxY The max vertical cell index.
+         */
+        void set(Group group, int minX, int minY, int maxX, int maxY)
+        {
+            this.group = group;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        /**
+         * Check if same range.
+         * 
+         * @param minX The min horizontal cell index.
+         * @param minY The min vertical cell index.
+         * @param maxX The max horizontal cell index.
+         * @param maxY The max vertical cell index.
+         * @return <code>true</code> if same range, <code>false</code> else.
+         */
+        boolean is(int minX, int minY, int maxX, int maxY)
+        {
+            return this.minX == minX && this.minY == minY && this.maxX == maxX && this.maxY == maxY;
+        }
+
+        /**
+         * Check if cell is in range.
+         * 
+         * @param x The horizontal cell index.
+         * @param y The vertical cell index.
+         * @return <code>true</code> if in range, <code>false</code> else.
+         */
+        boolean contains(int x, int y)
+        {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+    }
+
+    /**
+     * Group cells, with linear probing table and dense list of used cells.
+     */
+    private final class Group
+    {
+        /** Cells key. */
+        private long[] keys = new long[CELLS_CAPACITY];
+        /** Cells by key slot (<code>null</code> if free slot). */
+        private Cell[] cells = new Cell[CELLS_CAPACITY];
+        /** Used cells. */
+        private Cell[] active = new Cell[CELLS_CAPACITY];
+        /** Used cells count. */
+        private int activeCount;
+
+        /**
+         * Create group.
+         */
+        Group()
+        {
+            super();
+        }
+
+        /**
+         * Get cell.
+         * 
+         * @param key The cell key.
+         * @return The cell (<code>null</code> if none).
+         */
+        Cell get(long key)
+        {
+            final int mask = keys.length - 1;
+            int slot = hash(key, mask);
+            while (cells[slot] != null)
+            {
+                if (keys[slot] == key)
+                {
+                    return cells[slot];
+                }
+                slot = slot + 1 & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Add element to cell, created if not existing.
+         * 
+         * @param key The cell key.
+         * @param collidable The collidable to add.
+         */
+        void add(long key, Collidable collidable)
+        {
+            Cell cell = get(key);
+            if (cell == null)
+            {
+                if ((activeCount + 1) * 2 > keys.length)
+                {
+                    grow();
+                }
+                cell = pool.isEmpty() ? new Cell() : pool.poll();
+                cell.key = key;
+                insert(cell);
+                cell.index = activeCount;
+                active[activeCount] = cell;
+                activeCount++;
+            }
+            cell.add(collidable);
+        }
+
+        /**
+         * Remove element from cell. Cell is removed if empty.
+         * 
+         * @param key The cell key.
+         * @param collidable The collidable to remove.
+         */
+        void remove(long key, Collidable collidable)
+        {
+            final Cell cell = get(key);
+            if (cell != null && cell.remove(collidable) && cell.count == 0)
+            {
+                delete(key);
+                activeCount--;
+                final Cell last = active[activeCount];
+                active[cell.index] = last;
+                last.index = cell.index;
+                active[activeCount] = null;
+                pool.add(cell);
+            }
+        }
+
+        /**
+         * Insert cell in table.
+         * 
+         * @param cell The cell to insert.
+         */
+        private void insert(Cell cell)
+        {
+            final int mask = keys.length - 1;
+            int slot = hash(cell.key, mask);
+            while (cells[slot] != null)
+            {
+                slot = slot + 1 & mask;
+            }
+            keys[slot] = cell.key;
+            cells[slot] = cell;
+        }
+
+        /**
+         * Delete cell from table, shifting back next colliding cells.
+         * 
+         * @param key The cell key.
+         */
+        private void delete(long key)
+        {
+            final int mask = keys.length - 1;
+            int slot = hash(key, mask);
+            while (keys[slot] != key || cells[slot] == null)
+            {
+                slot = slot + 1 & mask;
+            }
+            cells[slot] = null;
+
+            int next = slot;
+            while (true)
+            {
+                next = next + 1 & mask;
+                if (cells[next] == null)
+                {
+                    break;
+                }
+                final int ideal = hash(keys[next], mask);
+                final boolean between;
+                if (slot <= next)
+                {
+                    between = slot < ideal && ideal <= next;
+                }
+                else
+                {
+                    between = slot < ideal || ideal <= next;
+                }
+                if (!between)
+                {
+                    keys[slot] = keys[next];
+                    cells[slot] = cells[next];
+                    cells[next] = null;
+                    slot = next;
+                }
+            }
+        }
+
+        /**
+         * Double table and used cells capacity.
+         */
+        private void grow()
+        {
+            keys = new long[keys.length * 2];
+            cells = new Cell[keys.length];
+            active = Arrays.copyOf(active, keys.length);
+            for (int i = 0; i < activeCount; i++)
+            {
+                insert(active[i]);
+            }
+        }
+
+        /**
+         * Get key slot.
+         * 
+         * @param key The cell key.
+         * @param mask The table mask.
+         * @return The slot index.
+         */
+        private int hash(long key, int mask)
+        {
+            final long hash = key * HASH;
+            return (int) (hash ^ hash >>> Integer.SIZE) & mask;
+        }
+    }
+
+    /**
+     * Cell elements.
+     */
+    private static final class Cell
+    {
+        /** Cell elements. */
+        private Collidable[] elements = new Collidable[ELEMENTS_CAPACITY];
+        /** Elements count. */
+        private int count;
+        /** Cell key. */
+        private long key;
+        /** Index in group used cells. */
+        private int index;
+
+        /**
+         * Create cell.
+         */
+        Cell()
+        {
+            super();
+        }
+
+        /**
+         * Add element.
+         * 
+         * @param collidable The collidable to add.
+         */
+        void add(Collidable collidable)
+        {
+            if (count == elements.length)
+            {
+                elements = Arrays.copyOf(elements, count * 2);
+            }
+            elements[count] = collidable;
+            count++;
+        }
+
+        /**
+         * Remove element.
+         * 
+         * @param collidable The collidable to remove.
+         * @return <code>true</code> if removed, <code>false</code> if not found.
+         */
+        boolean remove(Collidable collidable)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                if (elements[i] == collidable)
+                {
+                    count--;
+                    elements[i] = elements[count];
+                    elements[count] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import java.util.Arrays;
+
+/**
+ * Set of identifier pairs, packed in a long and stored by linear probing. Slots are stamped with the generation they
+ * were written in, so {@link #clear()} only starts a new generation.
+ */
+final class CollisionPairs
+{
+    /** Default capacity (power of two). */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Pack identifiers pair.
+     * 
+     * @param id The first identifier.
+     * @param other The second identifier.
+     * @return The pair key.
+     */
+    static long key(int id, int other)
+    {
+        return (long) id << Integer.SIZE | other & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * Get key slot hash.
+     * 
+     * @param key The key.
+     * @return The mixed hash.
+     */
+    private static int hash(long key)
+    {
+        final long mixed = key * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (mixed ^ mixed >>> Integer.SIZE);
+    }
+
+    /** Keys. */
+    private long[] keys = new long[DEFAULT_CAPACITY];
+    /** Keys generation, slot is empty if different from current. */
+    private int[] stamps = new int[DEFAULT_CAPACITY];
+    /** Current generation. */
+    private int generation = 1;
+    /** Keys count in current generation. */
+    private int size;
+
+    /**
+     * Create set.
+     */
+    CollisionPairs()
+    {
+        super();
+    }
+
+    /**
+     * Add pair.
+     * 
+     * @param key The pair key.
+     * @return <code>true</code> if added, <code>false</code> if already contained.
+     */
+    boolean add(long key)
+    {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (stamps[slot] == generation)
+        {
+            if (keys[slot] == key)
+            {
+                return false;
+            }
+            slot = slot + 1 & mask;
+        }
+        keys[slot] = key;
+        stamps[slot] = generation;
+        size++;
+        if (size * 2 > keys.length)
+        {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Check if pair is contained.
+     * 
+     * @param key The pair key.
+     * @return <code>true</code> if contained, <code>false</code> else.
+     */
+    boolean contains(long key)
+    {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (stamps[slot] == generation)
+        {
+            if (keys[slot] == key)
+            {
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Remove all pairs.
+     */
+    void clear()
+    {
+        size = 0;
+        generation++;
+        if (generation == 0)
+        {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Get the pairs count.
+     * 
+     * @return The pairs count.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Double capacity and store current keys again.
+     */
+    private void grow()
+    {
+        final long[] oldKeys = keys;
+        final int[] oldStamps = stamps;
+        final int oldGeneration = generation;
+
+        keys = new long[oldKeys.length * 2];
+        stamps = new int[oldKeys.length * 2];
+        generation = 1;
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldStamps[i] == oldGeneration)
+            {
+                add(oldKeys[i]);
+            }
+        }
+    }
+}
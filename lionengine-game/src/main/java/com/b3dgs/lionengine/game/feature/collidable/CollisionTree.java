@@ -0,0 +1,718 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.geom.Area;
+
+/**
+ * Dynamic bounding box tree broadphase, by group. Each collidable is a leaf storing a fat box (its covered box
+ * extended by a margin), so small moves do not modify the tree. When a collidable leaves its fat box, its leaf is
+ * removed and inserted again, and ancestors are refitted and balanced.
+ * <p>
+ * Suited when collidables sizes vary a lot, as there is no cell size. A couple is notified once.
+ * </p>
+ */
+public final class CollisionTree implements CollisionBroadphase
+{
+    /** Default fat box margin. */
+    public static final double DEFAULT_MARGIN = 8.0;
+
+    /** Trees by group ID. */
+    private final Map<Integer, Tree> trees = new HashMap<>();
+    /** Trees list. */
+    private final List<Tree> treesList = new ArrayList<>();
+    /** Collidables leaf. */
+    private final Map<Collidable, Proxy> proxies = new HashMap<>();
+    /** Fat box margin. */
+    private final double margin;
+
+    /**
+     * Create tree with {@link #DEFAULT_MARGIN}.
+     */
+    public CollisionTree()
+    {
+        this(DEFAULT_MARGIN);
+    }
+
+    /**
+     * Create tree.
+     * 
+     * @param margin The fat box margin, the higher it is, the less the tree is updated, but the more couples are
+     *            checked (must be positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public CollisionTree(double margin)
+    {
+        super();
+
+        Check.superiorOrEqual(margin, 0.0);
+
+        this.margin = margin;
+    }
+
+    /**
+     * Get the highest tree height, all groups included.
+     * 
+     * @return The highest tree height (-1 if empty).
+     */
+    public int getHeight()
+    {
+        int height = -1;
+        for (final Tree tree : treesList)
+        {
+            height = Math.max(height, tree.getHeight());
+        }
+        return height;
+    }
+
+    /**
+     * Get the number of leaf reinsertion since creation, all groups included.
+     * 
+     * @return The reinsertion count.
+     */
+    public int getReinsertions()
+    {
+        int count = 0;
+        for (final Tree tree : treesList)
+        {
+            count += tree.reinsertions;
+        }
+        return count;
+    }
+
+    /**
+     * Get group tree, created if not existing.
+     * 
+     * @param id The group ID.
+     * @return The group tree.
+     */
+    private Tree getTree(Integer id)
+    {
+        Tree tree = trees.get(id);
+        if (tree == null)
+        {
+            tree = new Tree();
+            trees.put(id, tree);
+            treesList.add(tree);
+        }
+        return tree;
+    }
+
+    /*
+     * CollisionBroadphase
+     */
+
+    @Override
+    public void move(Collidable collidable, double oldX, double oldY, double x, double y)
+    {
+        final double minX = Math.min(oldX, x) - collidable.getMaxWidth();
+        final double minY = Math.min(oldY, y) - collidable.getMaxHeight();
+        final double maxX = Math.max(oldX, x) + collidable.getMaxWidth();
+        final double maxY = Math.max(oldY, y) + collidable.getMaxHeight();
+        final Tree tree = getTree(collidable.getGroup());
+
+        final Proxy proxy = proxies.get(collidable);
+        if (proxy == null)
+        {
+            final int node = tree.insert(collidable, minX - margin, minY - margin, maxX + margin, maxY + margin);
+            proxies.put(collidable, new Proxy(tree, node));
+        }
+        else if (proxy.tree != tree || !proxy.tree.contains(proxy.node, minX, minY, maxX, maxY))
+        {
+            proxy.tree.remove(proxy.node);
+            proxy.tree = tree;
+            proxy.node = tree.insert(collidable, minX - margin, minY - margin, maxX + margin, maxY + margin);
+            tree.reinsertions++;
+        }
+    }
+
+    @Override
+    public void remove(Collidable collidable)
+    {
+        final Proxy proxy = proxies.remove(collidable);
+        if (proxy != null)
+        {
+            proxy.tree.remove(proxy.node);
+        }
+    }
+
+    @Override
+    public void getInside(Area area, Collection<Collidable> inside)
+    {
+        final double minX = area.getX() - area.getWidth();
+        final double minY = area.getY() - area.getHeight();
+        final double maxX = area.getX() + area.getWidth();
+        final double maxY = area.getY() + area.getHeight();
+        final BiConsumer<Collidable, Collidable> check = (source, c) -> CollisionGrid.checkInside(c, area, inside);
+
+        for (final Tree tree : treesList)
+        {
+            tree.query(minX, minY, maxX, maxY, null, check);
+        }
+    }
+
+    @Override
+    public void findPairs(BiConsumer<Collidable, Collidable> action)
+    {
+        final int treesCount = treesList.size();
+        for (int t = 0; t < treesCount; t++)
+        {
+            final Tree tree = treesList.get(t);
+            for (int node = 0; node < tree.items.length; node++)
+            {
+                final Collidable objectA = tree.items[node];
+                if (objectA != null)
+                {
+                    for (final Integer acceptedGroup : objectA.getAccepted())
+                    {
+                        // Others to compare only in accepted group
+                        final Tree accepted = trees.get(acceptedGroup);
+                        if (accepted != null)
+                        {
+                            accepted.query(tree.minX[node],
+                                           tree.minY[node],
+                                           tree.maxX[node],
+                                           tree.maxY[node],
+                                           objectA,
+                                           action);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Collidable leaf reference.
+     */
+    private static final class Proxy
+    {
+        /** Tree reference. */
+        private Tree tree;
+        /** Leaf node. */
+        private int node;
+
+        /**
+         * Create proxy.
+         * 
+         * @param tree The tree reference.
+         * @param node The leaf node.
+         */
+        Proxy(Tree tree, int node)
+        {
+            super();
+
+            this.tree = tree;
+            this.node = node;
+        }
+    }
+
+    /**
+     * Balanced bounding box tree, stored in arrays. Leaves have a height of 0 and store a collidable, free nodes have
+     * a height of -1 and are chained by their parent index.
+     */
+    private static final class Tree
+    {
+        /** No node. */
+        private static final int NONE = -1;
+        /** Initial nodes capacity. */
+        private static final int CAPACITY = 16;
+
+        /**
+         * Get box perimeter.
+         * 
+         * @param minX The min horizontal value.
+         * @param minY The min vertical value.
+         * @param maxX The max horizontal value.
+         * @param maxY The max vertical value.
+         * @return The box perimeter.
+         */
+        private static double perimeter(double minX, double minY, double maxX, double maxY)
+        {
+            return 2.0 * (maxX - minX + maxY - minY);
+        }
+
+        /** Boxes min horizontal value. */
+        private double[] minX = new double[CAPACITY];
+        /** Boxes min vertical value. */
+        private double[] minY = new double[CAPACITY];
+        /** Boxes max horizontal value. */
+        private double[] maxX = new double[CAPACITY];
+        /** Boxes max vertical value. */
+        private double[] maxY = new double[CAPACITY];
+        /** Parent node, or next free node. */
+        private int[] parent = new int[CAPACITY];
+        /** First child node. */
+        private int[] child1 = new int[CAPACITY];
+        /** Second child node. */
+        private int[] child2 = new int[CAPACITY];
+        /** Node height. */
+        private int[] height = new int[CAPACITY];
+        /** Leaves collidable (<code>null</code> if not a leaf). */
+        private Collidable[] items = new Collidable[CAPACITY];
+        /** Query stack. */
+        private int[] stack = new int[CAPACITY];
+        /** Root node. */
+        private int root = NONE;
+        /** First free node. */
+        private int free;
+        /** Leaf reinsertion count. */
+        private int reinsertions;
+
+        /**
+         * Create tree.
+         */
+        Tree()
+        {
+            super();
+
+            link(0);
+        }
+
+        /**
+         * Get tree height.
+         * 
+         * @return The tree height (-1 if empty).
+         */
+        int getHeight()
+        {
+            if (root == NONE)
+            {
+                return -1;
+            }
+            return height[root];
+        }
+
+        /**
+         * Insert leaf.
+         * 
+         * @param collidable The leaf collidable.
+         * @param x1 The min horizontal value.
+         * @param y1 The min vertical value.
+         * @param x2 The max horizontal value.
+         * @param y2 The max vertical value.
+         * @return The leaf node.
+         */
+        int insert(Collidable collidable, double x1, double y1, double x2, double y2)
+        {
+            final int leaf = allocate();
+            minX[leaf] = x1;
+            minY[leaf] = y1;
+            maxX[leaf] = x2;
+            maxY[leaf] = y2;
+            items[leaf] = collidable;
+            insertLeaf(leaf);
+            return leaf;
+        }
+
+        /**
+         * Remove leaf.
+         * 
+         * @param leaf The leaf node.
+         */
+        void remove(int leaf)
+        {
+            removeLeaf(leaf);
+            release(leaf);
+        }
+
+        /**
+         * Check if node box contains box.
+         * 
+         * @param node The node.
+         * @param x1 The min horizontal value.
+         * @param y1 The min vertical value.
+         * @param x2 The max horizontal value.
+         * @param y2 The max vertical value.
+         * @return <code>true</code> if contained, <code>false</code> else.
+         */
+        boolean contains(int node, double x1, double y1, double x2, double y2)
+        {
+            return minX[node] <= x1 && minY[node] <= y1 && maxX[node] >= x2 && maxY[node] >= y2;
+        }
+
+        /**
+         * Notify each leaf overlapping box.
+         * 
+         * @param x1 The min horizontal value.
+         * @param y1 The min vertical value.
+         * @param x2 The max horizontal value.
+         * @param y2 The max vertical value.
+         * @param source The source collidable, ignored if found, passed as first action argument.
+         * @param action The action called for each leaf collidable, as second argument.
+         */
+        void query(double x1,
+                   double y1,
+                   double x2,
+                   double y2,
+                   Collidable source,
+                   BiConsumer<Collidable, Collidable> action)
+        {
+            if (root == NONE)
+            {
+                return;
+            }
+            int size = 0;
+            stack[size++] = root;
+            while (size > 0)
+            {
+                final int node = stack[--size];
+                if (minX[node] <= x2 && maxX[node] >= x1 && minY[node] <= y2 && maxY[node] >= y1)
+                {
+                    if (items[node] != null)
+                    {
+                        if (items[node] != source)
+                        {
+                            action.accept(source, items[node]);
+                        }
+                    }
+                    else
+                    {
+                        if (size + 2 > stack.length)
+                        {
+                            stack = Arrays.copyOf(stack, stack.length * 2);
+                        }
+                        stack[size++] = child1[node];
+                        stack[size++] = child2[node];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Insert leaf next to the sibling of least perimeter cost, then refit and balance ancestors.
+         * 
+         * @param leaf The leaf node.
+         */
+        private void insertLeaf(int leaf)
+        {
+            if (root == NONE)
+            {
+                root = leaf;
+                parent[root] = NONE;
+                return;
+            }
+
+            final int sibling = findSibling(leaf);
+            final int oldParent = parent[sibling];
+            final int newParent = allocate();
+            parent[newParent] = oldParent;
+            union(newParent, leaf, sibling);
+            height[newParent] = height[sibling] + 1;
+            child1[newParent] = sibling;
+            child2[newParent] = leaf;
+            parent[sibling] = newParent;
+            parent[leaf] = newParent;
+
+            if (oldParent == NONE)
+            {
+                root = newParent;
+            }
+            else
+            {
+                replaceChild(oldParent, sibling, newParent);
+            }
+            refit(parent[leaf]);
+        }
+
+        /**
+         * Find the best sibling for leaf.
+         * 
+         * @param leaf The leaf node.
+         * @return The sibling node.
+         */
+        private int findSibling(int leaf)
+        {
+            int index = root;
+            while (items[index] == null)
+            {
+                final double area = perimeter(minX[index], minY[index], maxX[index], maxY[index]);
+                final double combined = perimeter(Math.min(minX[index], minX[leaf]),
+                                                  Math.min(minY[index], minY[leaf]),
+                                                  Math.max(maxX[index], maxX[leaf]),
+                                                  Math.max(maxY[index], maxY[leaf]));
+
+                // Cost of creating a new parent for this node and the new leaf
+                final double cost = 2.0 * combined;
+                // Minimum cost of pushing the leaf further down the tree
+                final double inheritance = 2.0 * (combined - area);
+                final double cost1 = getDescentCost(child1[index], leaf) + inheritance;
+                final double cost2 = getDescentCost(child2[index], leaf) + inheritance;
+
+                if (cost < cost1 && cost < cost2)
+                {
+                    break;
+                }
+                index = cost1 < cost2 ? child1[index] : child2[index];
+            }
+            return index;
+        }
+
+        /**
+         * Get the cost of descending into child.
+         * 
+         * @param child The child node.
+         * @param leaf The leaf node.
+         * @return The descent cost.
+         */
+        private double getDescentCost(int child, int leaf)
+        {
+            final double combined = perimeter(Math.min(minX[child], minX[leaf]),
+                                              Math.min(minY[child], minY[leaf]),
+                                              Math.max(maxX[child], maxX[leaf]),
+                                              Math.max(maxY[child], maxY[leaf]));
+            if (items[child] != null)
+            {
+                return combined;
+            }
+            return combined - perimeter(minX[child], minY[child], maxX[child], maxY[child]);
+        }
+
+        /**
+         * Remove leaf, replacing its parent by its sibling, then refit and balance ancestors.
+         * 
+         * @param leaf The leaf node.
+         */
+        private void removeLeaf(int leaf)
+        {
+            if (leaf == root)
+            {
+                root = NONE;
+                return;
+            }
+
+            final int oldParent = parent[leaf];
+            final int grandParent = parent[oldParent];
+            final int sibling = child1[oldParent] == leaf ? child2[oldParent] : child1[oldParent];
+
+            if (grandParent == NONE)
+            {
+                root = sibling;
+                parent[sibling] = NONE;
+                release(oldParent);
+            }
+            else
+            {
+                replaceChild(grandParent, oldParent, sibling);
+                parent[sibling] = grandParent;
+                release(oldParent);
+                refit(grandParent);
+            }
+        }
+
+        /**
+         * Refit and balance node and its ancestors.
+         * 
+         * @param node The first node.
+         */
+        private void refit(int node)
+        {
+            int index = node;
+            while (index != NONE)
+            {
+                index = balance(index);
+
+                final int c1 = child1[index];
+                final int c2 = child2[index];
+                height[index] = 1 + Math.max(height[c1], height[c2]);
+                union(index, c1, c2);
+
+                index = parent[index];
+            }
+        }
+
+        /**
+         * Rotate node if its children heights differ by more than one.
+         * 
+         * @param a The node to balance.
+         * @return The node at previous node position.
+         */
+        private int balance(int a)
+        {
+            if (items[a] != null || height[a] < 2)
+            {
+                return a;
+            }
+            final int b = child1[a];
+            final int c = child2[a];
+            final int balance = height[c] - height[b];
+
+            if (balance > 1)
+            {
+                rotate(a, c, b, false);
+                return c;
+            }
+            if (balance < -1)
+            {
+                rotate(a, b, c, true);
+                return b;
+            }
+            return a;
+        }
+
+        /**
+         * Rotate child up.
+         * 
+         * @param a The node to rotate.
+         * @param up The child moved up.
+         * @param other The other child of node.
+         * @param first <code>true</code> if child moved up is first child, <code>false</code> if second.
+         */
+        private void rotate(int a, int up, int other, boolean first)
+        {
+            final int f = child1[up];
+            final int g = child2[up];
+
+            // Swap node and its child
+            child1[up] = a;
+            parent[up] = parent[a];
+            parent[a] = up;
+
+            if (parent[up] == NONE)
+            {
+                root = up;
+            }
+            else
+            {
+                replaceChild(parent[up], a, up);
+            }
+
+            // Keep the highest grandchild under child moved up
+            final int high = height[f] > height[g] ? f : g;
+            final int low = high == f ? g : f;
+            child2[up] = high;
+            if (first)
+            {
+                child1[a] = low;
+            }
+            else
+            {
+                child2[a] = low;
+            }
+            parent[low] = a;
+
+            union(a, other, low);
+            union(up, a, high);
+            height[a] = 1 + Math.max(height[other], height[low]);
+            height[up] = 1 + Math.max(height[a], height[high]);
+        }
+
+        /**
+         * Replace parent child.
+         * 
+         * @param node The parent node.
+         * @param oldChild The old child node.
+         * @param newChild The new child node.
+         */
+        private void replaceChild(int node, int oldChild, int newChild)
+        {
+            if (child1[node] == oldChild)
+            {
+                child1[node] = newChild;
+            }
+            else
+            {
+                child2[node] = newChild;
+            }
+        }
+
+        /**
+         * Set node box as the union of two nodes box.
+         * 
+         * @param node The node to set.
+         * @param a The first node.
+         * @param b The second node.
+         */
+        private void union(int node, int a, int b)
+        {
+            minX[node] = Math.min(minX[a], minX[b]);
+            minY[node] = Math.min(minY[a], minY[b]);
+            maxX[node] = Math.max(maxX[a], maxX[b]);
+            maxY[node] = Math.max(maxY[a], maxY[b]);
+        }
+
+        /**
+         * Allocate a node, growing storage if needed.
+         * 
+         * @return The allocated node.
+         */
+        private int allocate()
+        {
+            if (free == NONE)
+            {
+                final int capacity = height.length;
+                minX = Arrays.copyOf(minX, capacity * 2);
+                minY = Arrays.copyOf(minY, capacity * 2);
+                maxX = Arrays.copyOf(maxX, capacity * 2);
+                maxY = Arrays.copyOf(maxY, capacity * 2);
+                parent = Arrays.copyOf(parent, capacity * 2);
+                child1 = Arrays.copyOf(child1, capacity * 2);
+                child2 = Arrays.copyOf(child2, capacity * 2);
+                height = Arrays.copyOf(height, capacity * 2);
+                items = Arrays.copyOf(items, capacity * 2);
+                link(capacity);
+            }
+            final int node = free;
+            free = parent[node];
+            parent[node] = NONE;
+            child1[node] = NONE;
+            child2[node] = NONE;
+            height[node] = 0;
+            return node;
+        }
+
+        /**
+         * Release node to free list.
+         * 
+         * @param node The node to release.
+         */
+        private void release(int node)
+        {
+            items[node] = null;
+            height[node] = -1;
+            parent[node] = free;
+            free = node;
+        }
+
+        /**
+         * Chain nodes from index as free nodes.
+         * 
+         * @param start The first node to chain.
+         */
+        private void link(int start)
+        {
+            for (int i = start; i < height.length - 1; i++)
+            {
+                parent[i] = i + 1;
+                height[i] = -1;
+            }
+            parent[height.length - 1] = NONE;
+            height[height.length - 1] = -1;
+            free = start;
+        }
+    }
+}
@@ -17,105 +17,105 @@
 package com.b3dgs.lionengine.game.feature.collidable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
 
-import com.b3dgs.lionengine.game.feature.ComponentUpdater;
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.ComponentUpdaterAccess;
 import com.b3dgs.lionengine.game.feature.Featurable;
 import com.b3dgs.lionengine.game.feature.Handlables;
 import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.TransformableListener;
 import com.b3dgs.lionengine.geom.Area;
-import com.b3dgs.lionengine.geom.Point;
-import com.b3dgs.lionengine.geom.Rectangle;
 
 /**
  * Default collision component implementation. Designed to check collision between {@link Collidable}.
  * Collision events are notified to {@link CollidableListener}.
+ * <p>
+ * Couples that may collide are found by a {@link CollisionBroadphase}, a {@link CollisionGrid} by default.
+ * </p>
+ * <p>
+ * Collisions are stored in reusable {@link CollisionBuffer} and already collided couples in an identifiers pair set,
+ * so checking does not allocate once buffers reached their working size.
+ * </p>
+ * <p>
+ * Declares writing {@link Collidable} only (see {@link ComponentUpdaterAccess}): when updated at the same time as other
+ * components by a parallel handler, collision listeners must not move transformables or change other features, and
+ * should record collisions to react on next refresh instead.
+ * </p>
  * 
  * @see Collidable
  * @see CollidableListener
+ * @see CollisionBroadphase
  */
-public class ComponentCollision implements ComponentUpdater, HandlerListener, TransformableListener
+public class ComponentCollision implements ComponentUpdaterAccess, HandlerListener, TransformableListener
 {
-    /** Location reduce factor (the higher it is, the lower is the map division per location). */
-    static final double REDUCE_FACTOR = 256.0;
+    /** Couples count per parallel task. */
+    static final int PARALLEL_SPLIT = 64;
+    /** Types read during update. */
+    private static final Collection<Class<?>> READS = Arrays.asList(Transformable.class, Collidable.class);
+    /** Types written during update. */
+    private static final Collection<Class<?>> WRITES = Collections.singletonList(Collidable.class);
+
+    /** Collidables broadphase. */
+    private final CollisionBroadphase broadphase;
+    /** Couple check action. */
+    private final BiConsumer<Collidable, Collidable> check = this::checkCouple;
+    /** Couple collect action. */
+    private final BiConsumer<Collidable, Collidable> collect = this::collectCouple;
+    /** Collected couples first element. */
+    private Collidable[] couplesA = new Collidable[PARALLEL_SPLIT];
+    /** Collected couples second element. */
+    private Collidable[] couplesB = new Collidable[PARALLEL_SPLIT];
+    /** Collected couples collisions count, each slot written by one task only. */
+    private int[] counts = new int[PARALLEL_SPLIT];
+    /** Collected couples count. */
+    private int couplesCount;
+    /** Collisions per block of {@link #PARALLEL_SPLIT} couples. */
+    private CollisionBuffer[] buffers = new CollisionBuffer[0];
+    /** Tasks per block of {@link #PARALLEL_SPLIT} couples. */
+    private final List<NarrowPhase> tasks = new ArrayList<>();
+    /** Tasks used by current check. */
+    private final List<NarrowPhase> active = new ArrayList<>();
+    /** Root task, running active tasks. */
+    private final RecursiveAction dispatch = new Dispatch();
+    /** Parallel checking pool (<code>null</code> if checked on caller thread). */
+    private ForkJoinPool pool;
+    /** Already collided couples. */
+    private final CollisionPairs done = new CollisionPairs();
+    /** To be notified. */
+    private final CollisionBuffer toNotify = new CollisionBuffer();
 
     /**
-     * Get point representing the area.
-     * 
-     * @param area The area reference.
-     * @return The area divided in point depending of reduce factor.
+     * Create component with a {@link CollisionGrid} of {@link CollisionGrid#DEFAULT_CELL_SIZE}.
      */
-    private static Collection<Point> getPoints(Area area)
+    public ComponentCollision()
     {
-        final Collection<Point> points = new HashSet<>(4);
-        final int oldMinX = getIndex(area.getX() - area.getWidth());
-        final int oldMinY = getIndex(area.getY() - area.getHeight());
-        final int oldMaxX = getIndex(area.getX() + area.getWidth());
-        final int oldMaxY = getIndex(area.getY() + area.getHeight());
-
-        for (int x = oldMinX; x <= oldMaxX; x++)
-        {
-            for (int y = oldMinY; y <= oldMaxY; y++)
-            {
-                points.add(new Point(x, y));
-            }
-        }
-        return points;
+        this(new CollisionGrid());
     }
 
     /**
-     * Check elements inside area.
-     * 
-     * @param elements The elements to check.
-     * @param area The area to check.
-     * @param inside The elements inside the area found.
-     */
-    private static void checkInside(Collection<Collidable> elements, Area area, Collection<Collidable> inside)
-    {
-        for (final Collidable current : elements)
-        {
-            for (final Rectangle bound : current.getCollisionBounds())
-            {
-                if (area.intersects(bound) || area.contains(bound))
-                {
-                    inside.add(current);
-                }
-            }
-        }
-    }
-
-    /**
-     * Convert real position value to index.
+     * Create component.
      * 
-     * @param value The real position value.
-     * @return The index value.
+     * @param broadphase The broadphase used (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
      */
-    private static int getIndex(double value)
+    public ComponentCollision(CollisionBroadphase broadphase)
     {
-        return (int) Math.floor(value / REDUCE_FACTOR);
-    }
+        super();
 
-    /** Mapping reduced. */
-    private final Map<Integer, Map<Point, Set<Collidable>>> collidables = new HashMap<>();
-    /** Already collided mapping. */
-    private final Map<Collidable, Collidable> done = new HashMap<>(1);
-    /** To be notified. */
-    private final List<Collided> toNotify = new ArrayList<>();
+        Check.notNull(broadphase);
 
-    /**
-     * Create component.
-     */
-    public ComponentCollision()
-    {
-        super();
+        this.broadphase = broadphase;
     }
 
     /**
@@ -127,201 +127,127 @@ public class ComponentCollision implements ComponentUpdater, HandlerListener, Tr
     public Collection<Collidable> getInside(Area area)
     {
         final Collection<Collidable> inside = new HashSet<>();
-        final Collection<Point> points = getPoints(area);
-
-        for (final Map<Point, Set<Collidable>> groups : collidables.values())
-        {
-            for (final Point point : points)
-            {
-                final Collection<Collidable> elements = groups.get(point);
-                if (elements != null)
-                {
-                    checkInside(elements, area, inside);
-                }
-            }
-        }
-
+        broadphase.getInside(area, inside);
         return inside;
     }
 
     /**
-     * Remove point and adjacent points depending of the collidable max collision size.
+     * Enable parallel collision checking. Couples found by broadphase are split across pool, and their collisions are
+     * merged in broadphase order before notification, so results are the same as on caller thread.
      * 
-     * @param transformable The transformable reference.
-     * @param collidable The collidable reference.
+     * @param pool The pool used (<code>null</code> to check on caller thread, default).
      */
-    private void removePoints(Transformable transformable, Collidable collidable)
+    public void setParallel(ForkJoinPool pool)
     {
-        final int oldMinX = getIndex(transformable.getOldX() - collidable.getMaxWidth());
-        final int oldMinY = getIndex(transformable.getOldY() - collidable.getMaxHeight());
-        final int oldMaxX = getIndex(transformable.getOldX() + collidable.getMaxWidth());
-        final int oldMaxY = getIndex(transformable.getOldY() + collidable.getMaxHeight());
-
-        for (int x = oldMinX; x <= oldMaxX; x++)
-        {
-            for (int y = oldMinY; y <= oldMaxY; y++)
-            {
-                removePoint(new Point(x, y), collidable);
-            }
-        }
+        this.pool = pool;
     }
 
     /**
-     * Remove point. Remove list of no more collidable.
+     * Get couple key.
      * 
-     * @param point The point to remove.
-     * @param collidable The associated collidable.
-     */
-    private void removePoint(Point point, Collidable collidable)
-    {
-        final Integer group = collidable.getGroup();
-        if (collidables.containsKey(group))
-        {
-            final Map<Point, Set<Collidable>> elements = collidables.get(group);
-            if (elements.containsKey(point))
-            {
-                removePoint(point, collidable, elements, group);
-            }
-        }
-    }
-
-    /**
-     * Remove point. Remove list of no more collidable.
-     * 
-     * @param point The point to remove.
-     * @param collidable The associated collidable.
-     * @param elements The current group elements.
-     * @param group The current group.
+     * @param objectA The collidable reference.
+     * @param objectB The other collidable reference.
+     * @return The couple key.
      */
-    private void removePoint(Point point, Collidable collidable, Map<Point, Set<Collidable>> elements, Integer group)
+    private static long key(Collidable objectA, Collidable objectB)
     {
-        final Set<Collidable> points = elements.get(point);
-        points.remove(collidable);
-        if (points.isEmpty())
-        {
-            elements.remove(point);
-        }
-        if (elements.isEmpty())
-        {
-            collidables.remove(group);
-        }
+        return CollisionPairs.key(objectA.getFeature(Identifiable.class).getId().intValue(),
+                                  objectB.getFeature(Identifiable.class).getId().intValue());
     }
 
     /**
-     * Add point and adjacent points depending of the collidable max collision size.
+     * Check couple found by broadphase.
      * 
-     * @param transformable The transformable reference.
-     * @param collidable The collidable reference.
+     * @param objectA The collidable reference.
+     * @param objectB The other collidable reference.
      */
-    private void addPoints(Transformable transformable, Collidable collidable)
+    private void checkCouple(Collidable objectA, Collidable objectB)
     {
-        final int minX = getIndex(transformable.getX() - collidable.getMaxWidth());
-        final int minY = getIndex(transformable.getY() - collidable.getMaxHeight());
-        final int maxX = getIndex(transformable.getX() + collidable.getMaxWidth());
-        final int maxY = getIndex(transformable.getY() + collidable.getMaxHeight());
-
-        for (int x = minX; x <= maxX; x++)
+        // Ensures not already collided with object with other point (because of subdivision mapping)
+        final long key = key(objectA, objectB);
+        if (!done.contains(key) && objectA.collide(objectB, toNotify) > 0)
         {
-            for (int y = minY; y <= maxY; y++)
-            {
-                addPoint(new Point(x, y), collidable);
-            }
+            done.add(key);
         }
     }
 
     /**
-     * Add point. Create empty list of not existing.
+     * Collect couple found by broadphase for parallel checking.
      * 
-     * @param point The point to remove.
-     * @param collidable The associated collidable.
+     * @param objectA The collidable reference.
+     * @param objectB The other collidable reference.
      */
-    private void addPoint(Point point, Collidable collidable)
+    private void collectCouple(Collidable objectA, Collidable objectB)
     {
-        final Integer group = collidable.getGroup();
-        if (!collidables.containsKey(group))
-        {
-            collidables.put(group, new HashMap<>());
-        }
-        final Map<Point, Set<Collidable>> elements = collidables.get(group);
-        if (!elements.containsKey(point))
+        if (couplesCount == couplesA.length)
         {
-            elements.put(point, new HashSet<>());
+            couplesA = Arrays.copyOf(couplesA, couplesCount * 2);
+            couplesB = Arrays.copyOf(couplesB, couplesCount * 2);
+            counts = Arrays.copyOf(counts, couplesCount * 2);
         }
-        elements.get(point).add(collidable);
+        couplesA[couplesCount] = objectA;
+        couplesB[couplesCount] = objectB;
+        couplesCount++;
     }
 
     /**
-     * Check elements in group.
-     * 
-     * @param current The elements in group.
+     * Check collected couples in parallel, one task per block of {@link #PARALLEL_SPLIT} couples, then merge their
+     * collisions in collect order.
      */
-    private void checkGroup(Entry<Point, Set<Collidable>> current)
+    private void checkParallel()
     {
-        final Set<Collidable> elements = current.getValue();
-        for (final Collidable objectA : elements)
-        {
-            checkOthers(objectA, current);
-        }
-    }
+        couplesCount = 0;
+        broadphase.findPairs(collect);
 
-    /**
-     * Check others element.
-     * 
-     * @param objectA The collidable reference.
-     * @param current The current group to check.
-     */
-    private void checkOthers(Collidable objectA, Entry<Point, Set<Collidable>> current)
-    {
-        for (final Integer acceptedGroup : objectA.getAccepted())
+        final int blocks = (couplesCount + PARALLEL_SPLIT - 1) / PARALLEL_SPLIT;
+        if (blocks > buffers.length)
         {
-            // Others to compare only in accepted group
-            if (collidables.containsKey(acceptedGroup))
+            final int old = buffers.length;
+            buffers = Arrays.copyOf(buffers, blocks);
+            for (int i = old; i < blocks; i++)
             {
-                checkOthers(objectA, current, acceptedGroup);
+                buffers[i] = new CollisionBuffer();
+                tasks.add(new NarrowPhase(i));
             }
         }
-    }
+        for (int i = 0; i < blocks; i++)
+        {
+            final NarrowPhase task = tasks.get(i);
+            task.reinitialize();
+            active.add(task);
+        }
+        dispatch.reinitialize();
+        pool.invoke(dispatch);
+        active.clear();
 
-    /**
-     * Check others element.
-     * 
-     * @param objectA The collidable reference.
-     * @param current The current group to check.
-     * @param acceptedGroup The accepted group.
-     */
-    private void checkOthers(Collidable objectA, Entry<Point, Set<Collidable>> current, Integer acceptedGroup)
-    {
-        final Map<Point, Set<Collidable>> acceptedElements = collidables.get(acceptedGroup);
-        final Point point = current.getKey();
-        if (acceptedElements.containsKey(point))
+        for (int block = 0; block < blocks; block++)
         {
-            checkPoint(objectA, acceptedElements, point);
+            merge(block);
         }
     }
 
     /**
-     * Check others element at specified point.
+     * Merge block collisions not already collided, and release block references.
      * 
-     * @param objectA The collidable reference.
-     * @param acceptedElements The current elements to check.
-     * @param point The point to check.
+     * @param block The block index.
      */
-    private void checkPoint(Collidable objectA, Map<Point, Set<Collidable>> acceptedElements, Point point)
+    private void merge(int block)
     {
-        final Set<Collidable> others = acceptedElements.get(point);
-        for (final Collidable objectB : others)
+        final CollisionBuffer buffer = buffers[block];
+        final int end = Math.min(couplesCount, (block + 1) * PARALLEL_SPLIT);
+        int offset = 0;
+        for (int i = block * PARALLEL_SPLIT; i < end; i++)
         {
-            // Ensures not already collided with object with other point (because of subdivision mapping)
-            if (objectA != objectB && done.get(objectA) != objectB)
+            final int count = counts[i];
+            if (count > 0 && done.add(key(couplesA[i], couplesB[i])))
             {
-                final List<CollisionCouple> collisions = objectA.collide(objectB);
-                for (final CollisionCouple collision : collisions)
-                {
-                    toNotify.add(new Collided(objectA, objectB, collision));
-                    done.put(objectA, objectB);
-                }
+                toNotify.addAll(buffer, offset, count);
             }
+            offset += count;
+            couplesA[i] = null;
+            couplesB[i] = null;
         }
+        buffer.clear();
     }
 
     /*
@@ -332,20 +258,38 @@ public class ComponentCollision implements ComponentUpdater, HandlerListener, Tr
     public void update(double extrp, Handlables objects)
     {
         done.clear();
-        for (final Map<Point, Set<Collidable>> groups : collidables.values())
+        if (pool == null)
         {
-            for (final Entry<Point, Set<Collidable>> current : groups.entrySet())
-            {
-                checkGroup(current);
-            }
+            broadphase.findPairs(check);
+        }
+        else
+        {
+            checkParallel();
         }
-        for (final Collided collided : toNotify)
+        final int size = toNotify.getSize();
+        for (int i = 0; i < size; i++)
         {
-            collided.collidableA.notifyCollided(collided.collidableB, collided.with, collided.by);
+            toNotify.getCollidable(i).notifyCollided(toNotify.getOther(i), toNotify.getWith(i), toNotify.getBy(i));
         }
         toNotify.clear();
     }
 
+    /*
+     * ComponentUpdaterAccess
+     */
+
+    @Override
+    public Collection<Class<?>> getReads()
+    {
+        return READS;
+    }
+
+    @Override
+    public Collection<Class<?>> getWrites()
+    {
+        return WRITES;
+    }
+
     /*
      * HandlerListener
      */
@@ -366,10 +310,7 @@ public class ComponentCollision implements ComponentUpdater, HandlerListener, Tr
         if (featurable.hasFeature(Collidable.class))
         {
             final Transformable transformable = featurable.getFeature(Transformable.class);
-            final Collidable collidable = transformable.getFeature(Collidable.class);
-
-            removePoints(transformable, collidable);
-
+            broadphase.remove(transformable.getFeature(Collidable.class));
             transformable.removeListener(this);
         }
     }
@@ -381,37 +322,66 @@ public class ComponentCollision implements ComponentUpdater, HandlerListener, Tr
     @Override
     public void notifyTransformed(Transformable transformable)
     {
-        final Collidable collidable = transformable.getFeature(Collidable.class);
+        broadphase.move(transformable.getFeature(Collidable.class),
+                        transformable.getOldX(),
+                        transformable.getOldY(),
+                        transformable.getX(),
+                        transformable.getY());
+    }
+
+    /**
+     * Run active tasks.
+     */
+    private final class Dispatch extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
 
-        removePoints(transformable, collidable);
-        addPoints(transformable, collidable);
+        /**
+         * Create task.
+         */
+        Dispatch()
+        {
+            super();
+        }
+
+        @Override
+        protected void compute()
+        {
+            invokeAll(active);
+        }
     }
 
     /**
-     * Collided data for postponed notification.
+     * Check collected couples block, storing its collisions in block buffer. Task is reused across updates.
      */
-    private static final class Collided
+    private final class NarrowPhase extends RecursiveAction
     {
-        private final Collidable collidableA;
-        private final Collidable collidableB;
-        private final Collision with;
-        private final Collision by;
+        private static final long serialVersionUID = 1L;
+
+        /** Block index. */
+        private final int block;
 
         /**
-         * Create collided data.
+         * Create task.
          * 
-         * @param collidableA The first collidable.
-         * @param collidableB The second collidable.
-         * @param collision The associated collision.
+         * @param block The block index.
          */
-        private Collided(Collidable collidableA, Collidable collidableB, CollisionCouple collision)
+        NarrowPhase(int block)
         {
             super();
 
-            this.collidableA = collidableA;
-            this.collidableB = collidableB;
-            with = collision.getWith();
-            by = collision.getBy();
+            this.block = block;
+        }
+
+        @Override
+        protected void compute()
+        {
+            final CollisionBuffer buffer = buffers[block];
+            final int end = Math.min(couplesCount, (block + 1) * PARALLEL_SPLIT);
+            for (int i = block * PARALLEL_SPLIT; i < end; i++)
+            {
+                counts[i] = couplesA[i].collide(couplesB[i], buffer);
+            }
         }
     }
 }
@@ -82,9 +82,7 @@ public class Selector extends FeaturableAbstract implements SelectorConfigurer,
      */
     public Selector(Services services)
     {
-        super();
-
-        Check.notNull(services);
+        super(services);
 
         model = addFeatureAndGet(new SelectorModel());
         refresher = addFeatureAndGet(new SelectorRefresher(services, model));
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+/**
+ * Chunked map listener, notify when a chunk has been loaded from its store. Loaded tiles are not changes, so they are
+ * not notified to {@link TileSetListener}.
+ * 
+ * @see MapTileSurfaceChunked
+ */
+public interface MapTileChunkListener
+{
+    /**
+     * Called when chunk has been loaded. Chunk covers tiles from <code>cx * chunkSize</code> and
+     * <code>cy * chunkSize</code>, see {@link MapTileSurfaceChunked#getChunkSize()}.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     */
+    void notifyChunkLoaded(int cx, int cy);
+}
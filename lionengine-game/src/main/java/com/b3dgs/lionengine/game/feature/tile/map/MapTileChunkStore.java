@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Chunks storage of {@link MapTileSurfaceChunked}. A chunk is a square area of tiles, stored as its tile numbers row by
+ * row, <code>-1</code> for an empty tile.
+ */
+public interface MapTileChunkStore
+{
+    /**
+     * Load chunk tiles.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @param size The chunk size in tile.
+     * @return The chunk tile numbers (<code>size * size</code> length), <code>null</code> if not stored.
+     * @throws LionEngineException If error on loading.
+     */
+    int[] load(int cx, int cy, int size);
+
+    /**
+     * Save chunk tiles.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @param size The chunk size in tile.
+     * @param numbers The chunk tile numbers (<code>size * size</code> length), not kept by store.
+     * @throws LionEngineException If error on saving.
+     */
+    void save(int cx, int cy, int size, int[] numbers);
+}
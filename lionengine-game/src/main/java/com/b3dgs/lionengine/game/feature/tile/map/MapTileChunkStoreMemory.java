@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chunks storage in memory, keeping a copy of each saved chunk.
+ */
+public final class MapTileChunkStoreMemory implements MapTileChunkStore
+{
+    /**
+     * Get chunk key.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk key.
+     */
+    public static long key(int cx, int cy)
+    {
+        return (long) cx << Integer.SIZE | cy & 0xFFFF_FFFFL;
+    }
+
+    /** Stored chunks. */
+    private final Map<Long, int[]> chunks = new HashMap<>();
+
+    /**
+     * Create store.
+     */
+    public MapTileChunkStoreMemory()
+    {
+        super();
+    }
+
+    /**
+     * Get the number of stored chunks.
+     * 
+     * @return The stored chunks number.
+     */
+    public int size()
+    {
+        return chunks.size();
+    }
+
+    /*
+     * MapTileChunkStore
+     */
+
+    @Override
+    public int[] load(int cx, int cy, int size)
+    {
+        final int[] numbers = chunks.get(Long.valueOf(key(cx, cy)));
+        if (numbers == null)
+        {
+            return null;
+        }
+        return numbers.clone();
+    }
+
+    @Override
+    public void save(int cx, int cy, int size, int[] numbers)
+    {
+        chunks.put(Long.valueOf(key(cx, cy)), numbers.clone());
+    }
+}
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Listenable;
 import com.b3dgs.lionengine.Localizable;
@@ -28,6 +29,8 @@ import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Surface;
 import com.b3dgs.lionengine.Verbose;
 import com.b3dgs.lionengine.game.feature.FeaturableAbstract;
+import com.b3dgs.lionengine.game.feature.Identifiers;
+import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.TilesExtractor;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
@@ -55,12 +58,38 @@ public class MapTileGame extends FeaturableAbstract implements MapTile, Listenab
     protected final MapTileSurface mapSurface;
 
     /**
-     * Create model.
+     * Create model, identified from the default allocator.
      */
     public MapTileGame()
+    {
+        this(new MapTileSurfaceModel());
+    }
+
+    /**
+     * Create model with a specific surface, such as {@link MapTileSurfaceCompact}.
+     * 
+     * @param surface The map surface (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public MapTileGame(MapTileSurface surface)
     {
         super();
 
+        Check.notNull(surface);
+
+        mapSurface = addFeatureAndGet(surface);
+    }
+
+    /**
+     * Create model, identified from the {@link Identifiers} service if any.
+     * 
+     * @param services The services reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public MapTileGame(Services services)
+    {
+        super(services);
+
         mapSurface = addFeatureAndGet(new MapTileSurfaceModel());
     }
 
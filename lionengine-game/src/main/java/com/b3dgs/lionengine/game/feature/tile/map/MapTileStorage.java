@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+
+/**
+ * Tiles storage backend of {@link MapTileSurfaceModel}. Locations are checked by the surface.
+ */
+interface MapTileStorage
+{
+    /**
+     * Create storage with empty tiles, previous tiles being removed.
+     * 
+     * @param widthInTile The horizontal tiles number.
+     * @param heightInTile The vertical tiles number.
+     */
+    void create(int widthInTile, int heightInTile);
+
+    /**
+     * Resize storage, keeping existing tiles, new ones being empty.
+     * 
+     * @param newWidth The new horizontal tiles number.
+     * @param newHeight The new vertical tiles number.
+     */
+    void resize(int newWidth, int newHeight);
+
+    /**
+     * Remove all tiles.
+     */
+    void clear();
+
+    /**
+     * Set tile number.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @param number The tile number (must be positive or equal to 0).
+     * @return The tile set if number changed, <code>null</code> if unchanged.
+     * @throws LionEngineException If invalid number.
+     */
+    Tile set(int tx, int ty, int number);
+
+    /**
+     * Get tile.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The tile, <code>null</code> if empty.
+     */
+    Tile get(int tx, int ty);
+
+    /**
+     * Get the number of non empty tiles.
+     * 
+     * @return The tiles number.
+     */
+    int getTilesNumber();
+
+    /**
+     * Check if storage has been created.
+     * 
+     * @return <code>true</code> if created, <code>false</code> else.
+     */
+    boolean isCreated();
+}
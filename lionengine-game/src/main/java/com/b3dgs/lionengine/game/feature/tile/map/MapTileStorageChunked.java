@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.ListenableModel;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+
+/**
+ * Tiles storage split in square chunks of tile numbers, loaded from a {@link MapTileChunkStore} on first access.
+ * Resident chunks are bounded, the least recently used one being evicted, and written to store if modified.
+ * <p>
+ * Loaded chunks are notified to {@link MapTileChunkListener}, the chunk being pinned meanwhile, so a listener reading
+ * other chunks can not evict it before it is returned.
+ * </p>
+ */
+final class MapTileStorageChunked implements MapTileStorage
+{
+    /** Invalid chunk length error. */
+    static final String ERROR_CHUNK = "Invalid chunk length: ";
+    /** Empty tile number. */
+    private static final int EMPTY = -1;
+    /** Chunks map initial capacity. */
+    private static final int CAPACITY = 16;
+    /** Chunks map load factor. */
+    private static final float LOAD_FACTOR = 0.75F;
+
+    /** Resident chunks, in access order (key is the chunk location). */
+    private final Map<Long, Chunk> chunks = new LinkedHashMap<>(CAPACITY, LOAD_FACTOR, true);
+    /** Chunk listeners. */
+    private final ListenableModel<MapTileChunkListener> listenable = new ListenableModel<>();
+    /** Surface owner. */
+    private final MapTileSurfaceModel surface;
+    /** Chunks store. */
+    private final MapTileChunkStore store;
+    /** Chunk size in tile. */
+    private final int chunkSize;
+    /** Maximum resident chunks. */
+    private final int maxChunks;
+    /** Number of horizontal tiles. */
+    private int widthInTile;
+    /** Number of vertical tiles. */
+    private int heightInTile;
+    /** Created flag. */
+    private boolean created;
+
+    /**
+     * Create storage.
+     * 
+     * @param surface The surface owner.
+     * @param store The chunks store.
+     * @param chunkSize The chunk size in tile.
+     * @param maxChunks The maximum resident chunks.
+     */
+    MapTileStorageChunked(MapTileSurfaceModel surface, MapTileChunkStore store, int chunkSize, int maxChunks)
+    {
+        super();
+
+        this.surface = surface;
+        this.store = store;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    /**
+     * Add a chunk listener.
+     * 
+     * @param listener The listener to add.
+     */
+    void addListener(MapTileChunkListener listener)
+    {
+        listenable.addListener(listener);
+    }
+
+    /**
+     * Remove a chunk listener.
+     * 
+     * @param listener The listener to remove.
+     */
+    void removeListener(MapTileChunkListener listener)
+    {
+        listenable.removeListener(listener);
+    }
+
+    /**
+     * Get chunk, loaded from store if not resident. Loaded chunk is pinned while listeners are notified, so it is still
+     * resident once returned.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk.
+     * @throws LionEngineException If error on loading.
+     */
+    Chunk getChunk(int cx, int cy)
+    {
+        final Long key = Long.valueOf(MapTileChunkStoreMemory.key(cx, cy));
+        Chunk chunk = chunks.get(key);
+        if (chunk == null)
+        {
+            chunk = load(cx, cy);
+            chunks.put(key, chunk);
+            chunk.pinned = true;
+            try
+            {
+                evict();
+                for (int i = 0; i < listenable.size(); i++)
+                {
+                    listenable.get(i).notifyChunkLoaded(cx, cy);
+                }
+            }
+            finally
+            {
+                chunk.pinned = false;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Write modified resident chunks to store.
+     * 
+     * @throws LionEngineException If error on saving.
+     */
+    void flush()
+    {
+        for (final Chunk chunk : chunks.values())
+        {
+            save(chunk);
+        }
+    }
+
+    /**
+     * Get the number of resident chunks.
+     * 
+     * @return The resident chunks number.
+     */
+    int getResident()
+    {
+        return chunks.size();
+    }
+
+    /**
+     * Get the chunk size.
+     * 
+     * @return The chunk size in tile.
+     */
+    int getChunkSize()
+    {
+        return chunkSize;
+    }
+
+    /**
+     * Load chunk from store, empty if not stored.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The loaded chunk.
+     * @throws LionEngineException If error on loading or invalid chunk.
+     */
+    private Chunk load(int cx, int cy)
+    {
+        int[] numbers = store.load(cx, cy, chunkSize);
+        if (numbers == null)
+        {
+            numbers = new int[chunkSize * chunkSize];
+            Arrays.fill(numbers, EMPTY);
+        }
+        else if (numbers.length != chunkSize * chunkSize)
+        {
+            throw new LionEngineException(ERROR_CHUNK + numbers.length);
+        }
+        return new Chunk(cx, cy, numbers);
+    }
+
+    /**
+     * Save chunk to store if modified.
+     * 
+     * @param chunk The chunk to save.
+     * @throws LionEngineException If error on saving.
+     */
+    private void save(Chunk chunk)
+    {
+        if (chunk.dirty)
+        {
+            store.save(chunk.cx, chunk.cy, chunkSize, chunk.numbers);
+            chunk.dirty = false;
+        }
+    }
+
+    /**
+     * Evict least recently used chunks until maximum resident chunks. Pinned chunks are kept, maximum being exceeded
+     * until next load.
+     * 
+     * @throws LionEngineException If error on saving.
+     */
+    private void evict()
+    {
+        final Iterator<Chunk> iterator = chunks.values().iterator();
+        while (chunks.size() > maxChunks && iterator.hasNext())
+        {
+            final Chunk eldest = iterator.next();
+            if (!eldest.pinned)
+            {
+                iterator.remove();
+                save(eldest);
+            }
+        }
+    }
+
+    /**
+     * Get the tile index in its chunk.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The index in chunk.
+     */
+    private int getIndex(int tx, int ty)
+    {
+        return ty % chunkSize * chunkSize + tx % chunkSize;
+    }
+
+    /*
+     * MapTileStorage
+     */
+
+    @Override
+    public void create(int widthInTile, int heightInTile)
+    {
+        chunks.clear();
+        this.widthInTile = widthInTile;
+        this.heightInTile = heightInTile;
+        created = true;
+    }
+
+    @Override
+    public void resize(int newWidth, int newHeight)
+    {
+        widthInTile = newWidth;
+        heightInTile = newHeight;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (created)
+        {
+            chunks.clear();
+            widthInTile = 0;
+            heightInTile = 0;
+        }
+    }
+
+    @Override
+    public Tile set(int tx, int ty, int number)
+    {
+        Check.superiorOrEqual(number, 0);
+
+        final Chunk chunk = getChunk(tx / chunkSize, ty / chunkSize);
+        final int index = getIndex(tx, ty);
+        if (chunk.numbers[index] != number)
+        {
+            chunk.numbers[index] = number;
+            chunk.dirty = true;
+            return MapTileStorageCompact.createTile(surface, tx, ty, number);
+        }
+        return null;
+    }
+
+    @Override
+    public Tile get(int tx, int ty)
+    {
+        final int number = getChunk(tx / chunkSize, ty / chunkSize).numbers[getIndex(tx, ty)];
+        if (number == EMPTY)
+        {
+            return null;
+        }
+        return MapTileStorageCompact.createTile(surface, tx, ty, number);
+    }
+
+    @Override
+    public int getTilesNumber()
+    {
+        int tilesNumber = 0;
+        for (final Chunk chunk : chunks.values())
+        {
+            final int startX = chunk.cx * chunkSize;
+            final int startY = chunk.cy * chunkSize;
+            for (int i = 0; i < chunk.numbers.length; i++)
+            {
+                if (chunk.numbers[i] != EMPTY
+                    && startX + i % chunkSize < widthInTile
+                    && startY + i / chunkSize < heightInTile)
+                {
+                    tilesNumber++;
+                }
+            }
+        }
+        return tilesNumber;
+    }
+
+    @Override
+    public boolean isCreated()
+    {
+        return created;
+    }
+
+    /**
+     * Chunk data.
+     */
+    private static final class Chunk
+    {
+        /** Horizontal chunk index. */
+        private final int cx;
+        /** Vertical chunk index. */
+        private final int cy;
+        /** Tile numbers. */
+        private final int[] numbers;
+        /** Modified since loaded or saved. */
+        private boolean dirty;
+        /** Pinned flag, not evicted while <code>true</code>. */
+        private boolean pinned;
+
+        /**
+         * Create chunk.
+         * 
+         * @param cx The horizontal chunk index.
+         * @param cy The vertical chunk index.
+         * @param numbers The tile numbers.
+         */
+        Chunk(int cx, int cy, int[] numbers)
+        {
+            super();
+
+            this.cx = cx;
+            this.cy = cy;
+            this.numbers = numbers;
+        }
+    }
+}
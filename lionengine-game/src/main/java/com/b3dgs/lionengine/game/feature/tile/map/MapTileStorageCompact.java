@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.TileGame;
+
+/**
+ * Tiles storage as a single array of tile numbers, row by row, <code>-1</code> for an empty tile. Tiles are created on
+ * read, their sheet being derived from their number.
+ */
+final class MapTileStorageCompact implements MapTileStorage
+{
+    /** Empty tile number. */
+    private static final int EMPTY = -1;
+
+    /**
+     * Create tile view.
+     * 
+     * @param surface The surface owner.
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @param number The tile number.
+     * @return The tile view.
+     */
+    static Tile createTile(MapTileSurface surface, int tx, int ty, int number)
+    {
+        final TileGame tile = new TileGame(number, tx, ty, surface.getTileWidth(), surface.getTileHeight());
+        final int tilesPerSheet = surface.getTilesPerSheet();
+        if (tilesPerSheet > 0)
+        {
+            tile.setSheet(number / tilesPerSheet);
+        }
+        return tile;
+    }
+
+    /** Surface owner. */
+    private final MapTileSurface surface;
+    /** Tiles number, <code>null</code> if not created. */
+    private int[] numbers;
+    /** Number of horizontal tiles. */
+    private int widthInTile;
+    /** Number of vertical tiles. */
+    private int heightInTile;
+
+    /**
+     * Create storage.
+     * 
+     * @param surface The surface owner.
+     */
+    MapTileStorageCompact(MapTileSurface surface)
+    {
+        super();
+
+        this.surface = surface;
+    }
+
+    /*
+     * MapTileStorage
+     */
+
+    @Override
+    public void create(int widthInTile, int heightInTile)
+    {
+        this.widthInTile = widthInTile;
+        this.heightInTile = heightInTile;
+        numbers = new int[widthInTile * heightInTile];
+        Arrays.fill(numbers, EMPTY);
+    }
+
+    @Override
+    public void resize(int newWidth, int newHeight)
+    {
+        final int[] resized = new int[newWidth * newHeight];
+        Arrays.fill(resized, EMPTY);
+
+        final int width = Math.min(widthInTile, newWidth);
+        final int height = Math.min(heightInTile, newHeight);
+        for (int ty = 0; ty < height; ty++)
+        {
+            System.arraycopy(numbers, ty * widthInTile, resized, ty * newWidth, width);
+        }
+
+        numbers = resized;
+        widthInTile = newWidth;
+        heightInTile = newHeight;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (numbers != null)
+        {
+            numbers = new int[0];
+            widthInTile = 0;
+            heightInTile = 0;
+        }
+    }
+
+    @Override
+    public Tile set(int tx, int ty, int number)
+    {
+        Check.superiorOrEqual(number, 0);
+
+        final int index = ty * widthInTile + tx;
+        if (numbers[index] != number)
+        {
+            numbers[index] = number;
+            return createTile(surface, tx, ty, number);
+        }
+        return null;
+    }
+
+    @Override
+    public Tile get(int tx, int ty)
+    {
+        final int number = numbers[ty * widthInTile + tx];
+        if (number == EMPTY)
+        {
+            return null;
+        }
+        return createTile(surface, tx, ty, number);
+    }
+
+    @Override
+    public int getTilesNumber()
+    {
+        int tilesNumber = 0;
+        for (final int number : numbers)
+        {
+            if (number != EMPTY)
+            {
+                tilesNumber++;
+            }
+        }
+        return tilesNumber;
+    }
+
+    @Override
+    public boolean isCreated()
+    {
+        return numbers != null;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.function.Function;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Shape;
+import com.b3dgs.lionengine.game.feature.FeatureInterface;
+
+/**
+ * Tile based map divided in square chunks of tile numbers, loaded on demand from a {@link MapTileChunkStore}, allowing
+ * maps larger than memory.
+ * <p>
+ * A chunk is loaded on first access of one of its tiles, or ahead with {@link #loadAround(Shape, int)} as the camera or
+ * a pathfindable approaches. Loaded chunks are notified to {@link MapTileChunkListener}, {@link TileSetListener} being
+ * only notified of tiles changes, so dependent caches are kept on load. Resident chunks are bounded, the least
+ * recently used one being evicted and saved to store if modified. Use {@link #flush()} to save modified resident
+ * chunks.
+ * </p>
+ * <p>
+ * As for {@link MapTileSurfaceCompact}, tiles are created on read. {@link #create(int, int)} and {@link #clear()} drop
+ * resident chunks without saving them, the store content being kept, and {@link #getTilesNumber()} only counts
+ * resident tiles.
+ * </p>
+ */
+@FeatureInterface
+public class MapTileSurfaceChunked extends MapTileSurfaceModel
+{
+    /** Default chunk size in tile. */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+    /** Default maximum resident chunks. */
+    public static final int DEFAULT_MAX_CHUNKS = 64;
+
+    /**
+     * Get the chunks storage factory.
+     * 
+     * @param store The chunks store (must not be <code>null</code>).
+     * @param chunkSize The chunk size in tile (must be strictly positive).
+     * @param maxChunks The maximum resident chunks (must be strictly positive).
+     * @return The storage factory.
+     * @throws LionEngineException If invalid arguments.
+     */
+    private static Function<MapTileSurfaceModel, MapTileStorage> storage(MapTileChunkStore store,
+                                                                         int chunkSize,
+                                                                         int maxChunks)
+    {
+        Check.notNull(store);
+        Check.superiorStrict(chunkSize, 0);
+        Check.superiorStrict(maxChunks, 0);
+
+        return surface -> new MapTileStorageChunked(surface, store, chunkSize, maxChunks);
+    }
+
+    /**
+     * Create feature.
+     * 
+     * @param store The chunks store (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public MapTileSurfaceChunked(MapTileChunkStore store)
+    {
+        this(store, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNKS);
+    }
+
+    /**
+     * Create feature.
+     * 
+     * @param store The chunks store (must not be <code>null</code>).
+     * @param chunkSize The chunk size in tile (must be strictly positive).
+     * @param maxChunks The maximum resident chunks (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public MapTileSurfaceChunked(MapTileChunkStore store, int chunkSize, int maxChunks)
+    {
+        super(storage(store, chunkSize, maxChunks));
+    }
+
+    /**
+     * Add a chunk load listener.
+     * 
+     * @param listener The listener to add.
+     */
+    public void addChunkListener(MapTileChunkListener listener)
+    {
+        getChunks().addListener(listener);
+    }
+
+    /**
+     * Remove a chunk load listener.
+     * 
+     * @param listener The listener to remove.
+     */
+    public void removeChunkListener(MapTileChunkListener listener)
+    {
+        getChunks().removeListener(listener);
+    }
+
+    /**
+     * Load chunks covering area, extended by margin. Area outside map is ignored.
+     * 
+     * @param area The area to cover, such as a camera or a pathfindable transformable (must not be <code>null</code>).
+     * @param margin The margin around area in tile.
+     * @throws LionEngineException If invalid argument or error on loading.
+     */
+    public void loadAround(Shape area, int margin)
+    {
+        Check.notNull(area);
+
+        if (!isCreated())
+        {
+            return;
+        }
+        final int minX = Math.max(0, getInTileX(area) - margin);
+        final int minY = Math.max(0, getInTileY(area) - margin);
+        final int maxX = Math.min(getInTileWidth() - 1, getInTileX(area) + getInTileWidth(area) + margin);
+        final int maxY = Math.min(getInTileHeight() - 1, getInTileY(area) + getInTileHeight(area) + margin);
+
+        final MapTileStorageChunked chunks = getChunks();
+        final int chunkSize = chunks.getChunkSize();
+        for (int cy = minY / chunkSize; cy <= maxY / chunkSize && minY <= maxY; cy++)
+        {
+            for (int cx = minX / chunkSize; cx <= maxX / chunkSize && minX <= maxX; cx++)
+            {
+                chunks.getChunk(cx, cy);
+            }
+        }
+    }
+
+    /**
+     * Save modified resident chunks to store.
+     * 
+     * @throws LionEngineException If error on saving.
+     */
+    public void flush()
+    {
+        getChunks().flush();
+    }
+
+    /**
+     * Get the number of resident chunks.
+     * 
+     * @return The resident chunks number.
+     */
+    public int getChunksLoaded()
+    {
+        return getChunks().getResident();
+    }
+
+    /**
+     * Get the chunk size.
+     * 
+     * @return The chunk size in tile.
+     */
+    public int getChunkSize()
+    {
+        return getChunks().getChunkSize();
+    }
+
+    /**
+     * Get the chunks storage.
+     * 
+     * @return The chunks storage.
+     */
+    private MapTileStorageChunked getChunks()
+    {
+        return (MapTileStorageChunked) getStorage();
+    }
+}
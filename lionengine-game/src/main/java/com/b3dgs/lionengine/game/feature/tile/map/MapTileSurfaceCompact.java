@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import com.b3dgs.lionengine.game.feature.FeatureInterface;
+
+/**
+ * Tile based map storing only tile numbers, in a single array, so a tile costs 4 bytes whatever the map size.
+ * <p>
+ * Tiles are created on read, each {@link #getTile(int, int)} returning a new instance, equal to the previous ones
+ * while the tile number is unchanged. Modifying a returned tile does not modify the map, use
+ * {@link #setTile(int, int, int)} instead.
+ * </p>
+ */
+@FeatureInterface
+public class MapTileSurfaceCompact extends MapTileSurfaceModel
+{
+    /**
+     * Create feature.
+     */
+    public MapTileSurfaceCompact()
+    {
+        super(MapTileStorageCompact::new);
+    }
+}
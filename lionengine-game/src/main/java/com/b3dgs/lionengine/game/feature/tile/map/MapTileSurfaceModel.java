@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.Function;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
@@ -32,12 +33,12 @@ import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.game.Force;
 import com.b3dgs.lionengine.game.feature.FeatureAbstract;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
-import com.b3dgs.lionengine.game.feature.tile.TileGame;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 
 /**
- * Abstract representation of a standard tile based map. This class uses a List of List to store tiles.
+ * Abstract representation of a standard tile based map. This class uses a List of List to store tiles, see
+ * {@link MapTileSurfaceCompact} for a compact storage, or {@link MapTileSurfaceChunked} for a storage loaded by chunks.
  */
 public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurface
 {
@@ -60,8 +61,8 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     private int heightInTile;
     /** Map radius. */
     private int radius;
-    /** Tiles map. */
-    private List<List<TileGame>> tiles;
+    /** Tiles storage. */
+    private final MapTileStorage tiles;
     /** Sheets defined. */
     private SpriteTiled[] sheets;
     /** Tiles number per sheet. */
@@ -71,8 +72,43 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
      * Create feature.
      */
     public MapTileSurfaceModel()
+    {
+        this(MapTileStorageList::new);
+    }
+
+    /**
+     * Create feature.
+     * 
+     * @param storage The tiles storage factory.
+     */
+    MapTileSurfaceModel(Function<MapTileSurfaceModel, MapTileStorage> storage)
     {
         super();
+
+        tiles = storage.apply(this);
+    }
+
+    /**
+     * Get the tiles storage.
+     * 
+     * @return The tiles storage.
+     */
+    MapTileStorage getStorage()
+    {
+        return tiles;
+    }
+
+    /**
+     * Notify listeners of tile set.
+     * 
+     * @param tile The tile set.
+     */
+    void notifyTileSet(Tile tile)
+    {
+        for (int i = 0; i < listenable.size(); i++)
+        {
+            listenable.get(i).onTileSet(tile);
+        }
     }
 
     /**
@@ -138,16 +174,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         this.heightInTile = heightInTile;
 
         radius = (int) Math.ceil(StrictMath.sqrt(widthInTile * widthInTile + heightInTile * (double) heightInTile));
-        tiles = new ArrayList<>(heightInTile);
-
-        for (int v = 0; v < heightInTile; v++)
-        {
-            tiles.add(v, new ArrayList<>(widthInTile));
-            for (int h = 0; h < widthInTile; h++)
-            {
-                tiles.get(v).add(h, null);
-            }
-        }
+        tiles.create(widthInTile, heightInTile);
     }
 
     @Override
@@ -204,31 +231,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public void resize(int newWidth, int newHeight)
     {
-        final int oldWidth = widthInTile;
-        final int oldheight = heightInTile;
-
-        // Adjust height
-        for (int v = 0; v < newHeight - oldheight; v++)
-        {
-            tiles.add(new ArrayList<>(newWidth));
-        }
-        // Adjust width
-        for (int v = 0; v < newHeight; v++)
-        {
-            final int width;
-            if (v < oldheight)
-            {
-                width = newWidth - oldWidth;
-            }
-            else
-            {
-                width = newWidth;
-            }
-            for (int h = 0; h < width; h++)
-            {
-                tiles.get(v).add(null);
-            }
-        }
+        tiles.resize(newWidth, newHeight);
 
         widthInTile = newWidth;
         heightInTile = newHeight;
@@ -238,12 +241,8 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public void clear()
     {
-        if (tiles != null)
+        if (tiles.isCreated())
         {
-            for (final List<TileGame> list : tiles)
-            {
-                list.clear();
-            }
             tiles.clear();
             widthInTile = 0;
             heightInTile = 0;
@@ -258,30 +257,10 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         Check.inferiorStrict(tx, getInTileWidth());
         Check.inferiorStrict(ty, getInTileHeight());
 
-        TileGame tile = tiles.get(ty).get(tx);
-        final int oldNum;
-        if (tile == null)
+        final Tile tile = tiles.set(tx, ty, number);
+        if (tile != null)
         {
-            tile = new TileGame(number, tx, ty, tileWidth, tileHeight);
-            tiles.get(ty).set(tx, tile);
-            oldNum = -1;
-        }
-        else
-        {
-            oldNum = tile.getNumber();
-        }
-        if (number != oldNum)
-        {
-            tile.set(number);
-
-            if (tilesPerSheet > 0)
-            {
-                tile.setSheet((int) Math.floor(number / (double) tilesPerSheet));
-            }
-            for (int i = 0; i < listenable.size(); i++)
-            {
-                listenable.get(i).onTileSet(tile);
-            }
+            notifyTileSet(tile);
         }
     }
 
@@ -292,7 +271,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         {
             return null;
         }
-        return tiles.get(ty).get(tx);
+        return tiles.get(tx, ty);
     }
 
     @Override
@@ -408,19 +387,11 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public int getTilesNumber()
     {
-        int tilesNumber = 0;
-        for (int ty = 0; ty < heightInTile; ty++)
+        if (!tiles.isCreated())
         {
-            for (int tx = 0; tx < widthInTile; tx++)
-            {
-                final Tile tile = getTile(tx, ty);
-                if (tile != null)
-                {
-                    tilesNumber++;
-                }
-            }
+            return 0;
         }
-        return tilesNumber;
+        return tiles.getTilesNumber();
     }
 
     @Override
@@ -456,7 +427,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public boolean isCreated()
     {
-        return tiles != null;
+        return tiles.isCreated();
     }
 
     @Override
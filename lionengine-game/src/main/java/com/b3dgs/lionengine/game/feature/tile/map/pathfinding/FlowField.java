@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+/**
+ * Flow field toward a single destination, shared by all pathfindables with the same path configuration. Each tile
+ * stores the next tile to move to and the cost to reach the destination from there, as computed by one search started
+ * from the destination.
+ * <p>
+ * Objects IDs are ignored, as the field is shared between moving objects. A tile blocked for the mover has a direction
+ * (to leave it) but is never crossed.
+ * </p>
+ * <p>
+ * Field is immutable and can be read from any thread. It is discarded by {@link MapTilePath} when a tile is set.
+ * </p>
+ * 
+ * @see MapTilePath#getFlowField(Pathfindable, int, int)
+ */
+public final class FlowField
+{
+    /** Next tile index of each tile (-1 if none). */
+    private final int[] next;
+    /** Cost to reach destination of each tile, {@link Double#POSITIVE_INFINITY} if not reachable. */
+    private final double[] costs;
+    /** Width in tile. */
+    private final int width;
+    /** Height in tile. */
+    private final int height;
+    /** Horizontal destination in tile. */
+    private final int dtx;
+    /** Vertical destination in tile. */
+    private final int dty;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param next The next tile index of each tile (stored).
+     * @param costs The cost to reach destination of each tile, {@link Double#POSITIVE_INFINITY} if not reachable
+     *            (stored).
+     * @param width The width in tile.
+     * @param height The height in tile.
+     * @param dtx The horizontal destination in tile.
+     * @param dty The vertical destination in tile.
+     */
+    FlowField(int[] next, double[] costs, int width, int height, int dtx, int dty)
+    {
+        super();
+
+        this.next = next;
+        this.costs = costs;
+        this.width = width;
+        this.height = height;
+        this.dtx = dtx;
+        this.dty = dty;
+    }
+
+    /**
+     * Get horizontal destination.
+     * 
+     * @return The horizontal destination in tile.
+     */
+    public int getDestinationX()
+    {
+        return dtx;
+    }
+
+    /**
+     * Get vertical destination.
+     * 
+     * @return The vertical destination in tile.
+     */
+    public int getDestinationY()
+    {
+        return dty;
+    }
+
+    /**
+     * Check if destination can be reached from location.
+     * 
+     * @param tx The horizontal location in tile.
+     * @param ty The vertical location in tile.
+     * @return <code>true</code> if reachable, <code>false</code> else.
+     */
+    public boolean isReachable(int tx, int ty)
+    {
+        if (tx < 0 || ty < 0 || tx >= width || ty >= height)
+        {
+            return false;
+        }
+        return costs[ty * width + tx] < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Get the cost to reach destination from location.
+     * 
+     * @param tx The horizontal location in tile.
+     * @param ty The vertical location in tile.
+     * @return The cost to destination ({@link Double#POSITIVE_INFINITY} if not reachable).
+     */
+    public double getCost(int tx, int ty)
+    {
+        if (tx < 0 || ty < 0 || tx >= width || ty >= height)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        return costs[ty * width + tx];
+    }
+
+    /**
+     * Get the movement to follow from location.
+     * 
+     * @param tx The horizontal location in tile.
+     * @param ty The vertical location in tile.
+     * @return The movement to next tile ({@link MovementTile#NONE} if destination or not reachable).
+     */
+    public MovementTile getMovement(int tx, int ty)
+    {
+        if (isReachable(tx, ty))
+        {
+            final int index = next[ty * width + tx];
+            if (index != PathFinderWorkspace.NONE)
+            {
+                return MovementTile.from(index % width - tx, index / width - ty);
+            }
+        }
+        return MovementTile.NONE;
+    }
+
+    /**
+     * Get the path following the field from location to destination.
+     * 
+     * @param tx The horizontal location in tile.
+     * @param ty The vertical location in tile.
+     * @return The path found, <code>null</code> if not reachable.
+     */
+    public Path getPath(int tx, int ty)
+    {
+        if (!isReachable(tx, ty))
+        {
+            return null;
+        }
+        final Path path = new Path();
+        int index = ty * width + tx;
+        while (index != PathFinderWorkspace.NONE)
+        {
+            path.appendStep(index % width, index / width);
+            index = next[index];
+        }
+        return path;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+
+/**
+ * Flow fields generator and cache, by destination and path configuration. Each field is computed with one Dijkstra
+ * search started from the destination, following movements in reverse. Least recently used fields are discarded when
+ * cache is full, and all fields are discarded on {@link #onTileSet(Tile)}.
+ * <p>
+ * This class is not Thread-Safe, and must be used from the game thread.
+ * </p>
+ */
+final class FlowFields implements TileSetListener
+{
+    /** Maximum cached fields. */
+    static final int CACHE_SIZE = 16;
+
+    /** Cached fields, in access order. */
+    private final Map<Key, FlowField> fields = new LinkedHashMap<Key, FlowField>(CACHE_SIZE, 0.75F, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, FlowField> eldest)
+        {
+            return size() > CACHE_SIZE;
+        }
+    };
+    /** Search workspace per thread. */
+    private final ThreadLocal<PathFinderWorkspace> workspaces;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+    /** Live map graph. */
+    private final PathGraph graph;
+
+    /**
+     * Create generator.
+     * 
+     * @param map The map reference. Must have the {@link MapTilePath} feature.
+     */
+    FlowFields(MapTile map)
+    {
+        super();
+
+        mapPath = map.getFeature(MapTilePath.class);
+        workspaces = PathFinderWorkspace.of(map);
+        graph = new PathGraphMap(map);
+    }
+
+    /**
+     * Get the flow field to destination, generated if not cached.
+     * 
+     * @param mover The mover reference.
+     * @param dtx The horizontal destination in tile.
+     * @param dty The vertical destination in tile.
+     * @return The flow field.
+     */
+    FlowField get(Pathfindable mover, int dtx, int dty)
+    {
+        final Key key = new Key(new PathProfile(mover, mapPath.getCategories()), dtx, dty);
+        FlowField field = fields.get(key);
+        if (field == null)
+        {
+            field = generate(mover, dtx, dty);
+            fields.put(key, field);
+        }
+        return field;
+    }
+
+    /**
+     * Generate the flow field to destination.
+     * 
+     * @param mover The mover reference.
+     * @param dtx The horizontal destination in tile.
+     * @param dty The vertical destination in tile.
+     * @return The generated field.
+     */
+    private FlowField generate(Pathfindable mover, int dtx, int dty)
+    {
+        final int width = graph.getInTileWidth();
+        final int height = graph.getInTileHeight();
+        final PathFinderWorkspace workspace = workspaces.get();
+        workspace.begin(width, height);
+
+        if (dtx >= 0 && dty >= 0 && dtx < width && dty < height && !graph.isBlocked(mover, dtx, dty, true))
+        {
+            final int destination = workspace.index(dtx, dty);
+            workspace.open(destination);
+
+            while (!workspace.isOpenEmpty())
+            {
+                final int current = workspace.poll();
+                workspace.close(current);
+                for (int y = -1; y < 2; y++)
+                {
+                    for (int x = -1; x < 2; x++)
+                    {
+                        if (!(x == 0 && y == 0))
+                        {
+                            updatePrevious(workspace, mover, current, x, y);
+                        }
+                    }
+                }
+            }
+        }
+
+        final int[] next = new int[width * height];
+        final double[] costs = new double[width * height];
+        for (int i = 0; i < next.length; i++)
+        {
+            next[i] = workspace.getParent(i);
+            if (workspace.isClosed(i) || next[i] != PathFinderWorkspace.NONE)
+            {
+                costs[i] = workspace.getCost(i);
+            }
+            else
+            {
+                costs[i] = Double.POSITIVE_INFINITY;
+            }
+        }
+        return new FlowField(next, costs, width, height, dtx, dty);
+    }
+
+    /**
+     * Update the tile that can move to current tile with the specified movement.
+     * 
+     * @param workspace The search workspace.
+     * @param mover The mover reference.
+     * @param current The current tile index, already reached.
+     * @param x The horizontal movement to current tile.
+     * @param y The vertical movement to current tile.
+     */
+    private void updatePrevious(PathFinderWorkspace workspace, Pathfindable mover, int current, int x, int y)
+    {
+        final int tx = workspace.getX(current) - x;
+        final int ty = workspace.getY(current) - y;
+
+        if (tx < 0 || ty < 0 || tx >= graph.getInTileWidth() || ty >= graph.getInTileHeight())
+        {
+            return;
+        }
+        final int previous = workspace.index(tx, ty);
+        if (workspace.isClosed(previous)
+            || !mover.isMovementAllowed(graph.getCategory(tx, ty), MovementTile.from(x, y)))
+        {
+            return;
+        }
+        final double cost = workspace.getCost(current) + graph.getCost(mover, tx, ty);
+        if (graph.isBlocked(mover, tx, ty, true))
+        {
+            // Can only be left, as start location
+            if (workspace.getParent(previous) == PathFinderWorkspace.NONE)
+            {
+                workspace.setCost(previous, cost);
+                workspace.setParent(previous, current);
+            }
+        }
+        else if (!workspace.isOpen(previous) || cost < workspace.getCost(previous))
+        {
+            workspace.setCost(previous, cost);
+            workspace.setParent(previous, current);
+            workspace.open(previous);
+        }
+    }
+
+    /*
+     * TileSetListener
+     */
+
+    @Override
+    public void onTileSet(Tile tile)
+    {
+        fields.clear();
+    }
+
+    /**
+     * Field key, by path configuration and destination.
+     */
+    private static final class Key
+    {
+        /** Path configuration. */
+        private final PathProfile profile;
+        /** Horizontal destination in tile. */
+        private final int dtx;
+        /** Vertical destination in tile. */
+        private final int dty;
+
+        /**
+         * Create key.
+         * 
+         * @param profile The path configuration.
+         * @param dtx The horizontal destination in tile.
+         * @param dty The vertical destination in tile.
+         */
+        Key(PathProfile profile, int dtx, int dty)
+        {
+            super();
+
+            this.profile = profile;
+            this.dtx = dtx;
+            this.dty = dty;
+        }
+
+        /*
+         * Object
+         */
+
+        @Override
+        public int hashCode()
+        {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + profile.hashCode();
+            result = prime * result + dtx;
+            result = prime * result + dty;
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (object == null || object.getClass() != getClass())
+            {
+                return false;
+            }
+            final Key other = (Key) object;
+            return dtx == other.dtx && dty == other.dty && profile.equals(other.profile);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
 import java.util.Collection;
 import java.util.Set;
 
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.Tiled;
@@ -148,6 +149,39 @@ public interface MapTilePath extends Feature
      */
     double getCost(Pathfindable mover, int tx, int ty);
 
+    /**
+     * Get the path finder shared by all pathfindables of this map.
+     * <p>
+     * Search state is allocated once per searching thread and reused, so memory depends on the map size only.
+     * </p>
+     * 
+     * @return The shared path finder.
+     */
+    PathFinder getPathFinder();
+
+    /**
+     * Enable hierarchical search for far destinations, by splitting the map into clusters whose entrances and local
+     * paths are precomputed. Clusters are rebuilt only when one of their tiles is set. Pathfindables resolve the
+     * current {@link #getPathFinder()} on each search.
+     * 
+     * @param clusterSize The cluster size in tile (0 to disable).
+     * @throws LionEngineException If invalid argument.
+     */
+    void setHierarchical(int clusterSize);
+
+    /**
+     * Get the flow field to destination, shared by all pathfindables with the same path configuration (costs, blocking
+     * and allowed movements of each category). Field is computed once from destination, and cached until a tile is set
+     * or it is discarded by more recent fields. Used to send many pathfindables to the same destination, with
+     * {@link Pathfindable#setDestination(FlowField)}.
+     * 
+     * @param mover The mover reference.
+     * @param dtx The horizontal destination in tile.
+     * @param dty The vertical destination in tile.
+     * @return The flow field to destination.
+     */
+    FlowField getFlowField(Pathfindable mover, int dtx, int dty);
+
     /**
      * Return the categories.
      * 
@@ -17,6 +17,7 @@
 package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -25,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.game.FeatureProvider;
@@ -35,6 +37,7 @@ import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 import com.b3dgs.lionengine.geom.Area;
 
 /**
@@ -44,8 +47,20 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
 {
     /** Categories list. */
     private final Map<String, PathCategory> categories = new HashMap<>();
+    /** Search workspace per thread, shared by all path finders of the map. */
+    private final ThreadLocal<PathFinderWorkspace> workspaces = ThreadLocal.withInitial(PathFinderWorkspace::new);
     /** Path id mapping. */
     private List<List<Set<Integer>>> tiles;
+    /** Shared path finder (<code>null</code> if not created). */
+    private PathFinder pathFinder;
+    /** Last change stamp per row. */
+    private long[] changes = new long[0];
+    /** Last change stamp. */
+    private long stamp;
+    /** Hierarchical search cluster size in tile (0 if disabled). */
+    private int clusterSize;
+    /** Flow fields cache (<code>null</code> if not created). */
+    private FlowFields flowFields;
 
     /** Map tile surface. */
     private MapTileSurface map;
@@ -238,6 +253,30 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
         return null;
     }
 
+    /**
+     * Discard the current path finder, which will be created on next {@link #getPathFinder()}.
+     */
+    private void resetPathFinder()
+    {
+        if (pathFinder instanceof TileSetListener)
+        {
+            map.removeListener((TileSetListener) pathFinder);
+        }
+        pathFinder = null;
+    }
+
+    /**
+     * Discard the current flow fields, which will be created on next {@link #getFlowField(Pathfindable, int, int)}.
+     */
+    private void resetFlowFields()
+    {
+        if (flowFields != null)
+        {
+            map.removeListener(flowFields);
+        }
+        flowFields = null;
+    }
+
     /**
      * Get the group category.
      * 
@@ -256,6 +295,55 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
         return null;
     }
 
+    /**
+     * Mark a row as changed.
+     * 
+     * @param ty The vertical tile index.
+     */
+    private void setChanged(int ty)
+    {
+        if (ty >= 0 && ty < changes.length)
+        {
+            stamp++;
+            changes[ty] = stamp;
+        }
+    }
+
+    /**
+     * Get the search workspaces shared by all path finders of the map.
+     * 
+     * @return The workspace per thread.
+     */
+    ThreadLocal<PathFinderWorkspace> getWorkspaces()
+    {
+        return workspaces;
+    }
+
+    /**
+     * Get the last change stamp, increased each time a tile or an object id of the map changes.
+     * 
+     * @return The last change stamp.
+     */
+    long getChangeStamp()
+    {
+        return stamp;
+    }
+
+    /**
+     * Get the last change stamp of a row.
+     * 
+     * @param ty The vertical tile index.
+     * @return The row last change stamp, {@link Long#MAX_VALUE} if row is not tracked.
+     */
+    long getChangeStamp(int ty)
+    {
+        if (ty >= 0 && ty < changes.length)
+        {
+            return changes[ty];
+        }
+        return Long.MAX_VALUE;
+    }
+
     /*
      * MapTilePath
      */
@@ -267,6 +355,7 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
 
         map = provider.getFeature(MapTileSurface.class);
         group = provider.getFeature(MapTileGroup.class);
+        map.addListener(tile -> setChanged(tile.getInTileY()));
     }
 
     @Override
@@ -292,6 +381,11 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
             heightInTile = map.getInTileHeight();
         }
         tiles = new ArrayList<>(heightInTile);
+        resetPathFinder();
+        resetFlowFields();
+        stamp++;
+        changes = new long[heightInTile];
+        Arrays.fill(changes, stamp);
 
         for (int v = 0; v < heightInTile; v++)
         {
@@ -310,7 +404,10 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
             && UtilMath.isBetween(tx, 0, map.getInTileWidth() - 1)
             && UtilMath.isBetween(ty, 0, map.getInTileHeight() - 1))
         {
-            tiles.get(ty).get(tx).add(id);
+            if (tiles.get(ty).get(tx).add(id))
+            {
+                setChanged(ty);
+            }
         }
     }
 
@@ -321,7 +418,10 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
             && UtilMath.isBetween(tx, 0, map.getInTileWidth() - 1)
             && UtilMath.isBetween(ty, 0, map.getInTileHeight() - 1))
         {
-            tiles.get(ty).get(tx).remove(id);
+            if (tiles.get(ty).get(tx).remove(id))
+            {
+                setChanged(ty);
+            }
         }
     }
 
@@ -369,6 +469,48 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
         return 0.0;
     }
 
+    @Override
+    public PathFinder getPathFinder()
+    {
+        if (pathFinder == null)
+        {
+            final int range = (int) Math.sqrt(map.getInTileWidth() * map.getInTileWidth()
+                                              + map.getInTileHeight() * (double) map.getInTileHeight());
+            final Heuristic heuristic = Astar.createHeuristicClosest();
+            if (clusterSize > 0)
+            {
+                final PathFinderHierarchical finder = new PathFinderHierarchical(map, range, clusterSize, heuristic);
+                map.addListener(finder);
+                pathFinder = finder;
+            }
+            else
+            {
+                pathFinder = Astar.createPathFinder(map, range, heuristic);
+            }
+        }
+        return pathFinder;
+    }
+
+    @Override
+    public void setHierarchical(int clusterSize)
+    {
+        Check.superiorOrEqual(clusterSize, 0);
+
+        this.clusterSize = clusterSize;
+        resetPathFinder();
+    }
+
+    @Override
+    public FlowField getFlowField(Pathfindable mover, int dtx, int dty)
+    {
+        if (flowFields == null)
+        {
+            flowFields = new FlowFields(map);
+            map.addListener(flowFields);
+        }
+        return flowFields.get(mover, dtx, dty);
+    }
+
     @Override
     public Collection<String> getCategories()
     {
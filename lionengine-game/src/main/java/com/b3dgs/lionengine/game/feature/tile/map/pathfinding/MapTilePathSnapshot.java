@@ -0,0 +1,416 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * Immutable copy of the {@link MapTilePath} blocking data, allowing to search a path outside of the game thread.
+ * <p>
+ * Snapshot must be created and copied from the game thread. Map is copied row by row with {@link #copy(long, long)},
+ * which can be spread over several ticks to limit the time spent per tick, each row reflecting the map state at the
+ * tick it was copied. Mover dependent data (ignored objects id) are resolved by {@link #getGraph(Pathfindable)} on
+ * creation of the mover graph, remaining data are read from the mover configuration only.
+ * </p>
+ * <p>
+ * Snapshot is reused between copies: only rows changed since their last copy are copied again, as tracked by
+ * {@link MapTilePathModel}. It must not be copied while in use by searches, see {@link #acquire()}.
+ * </p>
+ */
+final class MapTilePathSnapshot
+{
+    /** Map reference. */
+    private final MapTile map;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+    /** Map path model reference (<code>null</code> if changes are not tracked, all rows are then copied). */
+    private final MapTilePathModel model;
+    /** Map width in tile. */
+    private final int width;
+    /** Map height in tile. */
+    private final int height;
+    /** Map radius in tile. */
+    private final int radius;
+    /** Tile existence, indexed by <code>ty * width + tx</code>. */
+    private final boolean[] tiles;
+    /** Tile categories, <code>null</code> if none. */
+    private final String[] categories;
+    /** Tile objects id, <code>null</code> if none. */
+    private final Integer[][] ids;
+    /** Change stamp of each row when copied. */
+    private final long[] copied;
+    /** All objects id present on map, with their locations count. */
+    private final Map<Integer, Integer> present = new HashMap<>();
+    /** Users count. */
+    private final AtomicInteger users = new AtomicInteger();
+    /** Next row to copy. */
+    private int row;
+
+    /**
+     * Create empty snapshot, filled by {@link #copy(long, long)}.
+     * 
+     * @param map The map reference. Must have the {@link MapTilePath} feature.
+     */
+    MapTilePathSnapshot(MapTile map)
+    {
+        super();
+
+        this.map = map;
+        mapPath = map.getFeature(MapTilePath.class);
+        if (mapPath instanceof MapTilePathModel)
+        {
+            model = (MapTilePathModel) mapPath;
+        }
+        else
+        {
+            model = null;
+        }
+        width = map.getInTileWidth();
+        height = map.getInTileHeight();
+        radius = map.getInTileRadius();
+        tiles = new boolean[width * height];
+        categories = new String[width * height];
+        ids = new Integer[width * height][];
+        copied = new long[height];
+        Arrays.fill(copied, -1L);
+    }
+
+    /**
+     * Copy next changed map rows, until snapshot is complete or budget is exceeded. At least one changed row is copied
+     * if not complete. Once complete, next call starts a new copy.
+     * 
+     * @param start The time reference in nano.
+     * @param budget The time allowed since reference in nano.
+     * @return <code>true</code> if snapshot is complete, <code>false</code> if rows remain to be copied.
+     */
+    boolean copy(long start, long budget)
+    {
+        boolean exceeded = false;
+        while (row < height && !exceeded)
+        {
+            if (getChangeStamp(row) > copied[row])
+            {
+                copyRow(row);
+                exceeded = System.nanoTime() - start >= budget;
+            }
+            row++;
+        }
+        if (row < height)
+        {
+            return false;
+        }
+        row = 0;
+        return true;
+    }
+
+    /**
+     * Check if snapshot can still be copied from map, which must not have been resized since creation.
+     * 
+     * @return <code>true</code> if valid, <code>false</code> if a new snapshot is required.
+     */
+    boolean isValid()
+    {
+        return width == map.getInTileWidth() && height == map.getInTileHeight();
+    }
+
+    /**
+     * Add a user. Snapshot must not be copied until all users are released.
+     */
+    void acquire()
+    {
+        users.incrementAndGet();
+    }
+
+    /**
+     * Release a user. Can be called from any thread.
+     * 
+     * @return <code>true</code> if it was the last user, <code>false</code> else.
+     */
+    boolean release()
+    {
+        return users.decrementAndGet() == 0;
+    }
+
+    /**
+     * Get the graph dedicated to the mover, which can be used from any thread. Snapshot must be complete.
+     * 
+     * @param mover The mover reference.
+     * @return The mover graph.
+     */
+    PathGraph getGraph(Pathfindable mover)
+    {
+        final Collection<Integer> ignored = new HashSet<>();
+        for (final Integer id : present.keySet())
+        {
+            if (mover.isIgnoredId(id))
+            {
+                ignored.add(id);
+            }
+        }
+        return new Graph(ignored);
+    }
+
+    /**
+     * Get the last change stamp of a row.
+     * 
+     * @param ty The vertical tile index.
+     * @return The row last change stamp, {@link Long#MAX_VALUE} if changes are not tracked.
+     */
+    private long getChangeStamp(int ty)
+    {
+        if (model != null)
+        {
+            return model.getChangeStamp(ty);
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Copy map row, replacing its previous copy.
+     * 
+     * @param ty The vertical tile index.
+     */
+    private void copyRow(int ty)
+    {
+        for (int tx = 0; tx < width; tx++)
+        {
+            final int index = ty * width + tx;
+            final Tile tile = map.getTile(tx, ty);
+            tiles[index] = tile != null;
+            if (tile != null)
+            {
+                categories[index] = mapPath.getCategory(tile);
+            }
+            else
+            {
+                categories[index] = null;
+            }
+            count(ids[index], -1);
+            final Set<Integer> objects = mapPath.getObjectsId(tx, ty);
+            if (objects.isEmpty())
+            {
+                ids[index] = null;
+            }
+            else
+            {
+                ids[index] = objects.toArray(new Integer[objects.size()]);
+                count(ids[index], 1);
+            }
+        }
+        if (model != null)
+        {
+            copied[ty] = model.getChangeStamp();
+        }
+    }
+
+    /**
+     * Update present objects locations count.
+     * 
+     * @param objects The objects id (can be <code>null</code>).
+     * @param delta The count to add per object.
+     */
+    private void count(Integer[] objects, int delta)
+    {
+        if (objects != null)
+        {
+            for (final Integer id : objects)
+            {
+                final int count = present.getOrDefault(id, Integer.valueOf(0)).intValue() + delta;
+                if (count > 0)
+                {
+                    present.put(id, Integer.valueOf(count));
+                }
+                else
+                {
+                    present.remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if location is inside map.
+     * 
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     * @return <code>true</code> if inside, <code>false</code> else.
+     */
+    private boolean isInside(int tx, int ty)
+    {
+        return UtilMath.isBetween(tx, 0, width - 1) && UtilMath.isBetween(ty, 0, height - 1);
+    }
+
+    /**
+     * Check if tile is not available for mover.
+     * 
+     * @param mover The object moving on map.
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     * @return <code>true</code> if not available, <code>false</code> else.
+     */
+    private boolean isTileNotAvailable(Pathfindable mover, int tx, int ty)
+    {
+        if (isInside(tx, ty) && tiles[ty * width + tx])
+        {
+            final int index = ty * width + tx;
+            return mover.isBlocking(categories[index]) || ids[index] != null;
+        }
+        return true;
+    }
+
+    /**
+     * Graph dedicated to a mover.
+     */
+    private final class Graph implements PathGraph
+    {
+        /** Objects id ignored by mover. */
+        private final Collection<Integer> ignored;
+
+        /**
+         * Create graph.
+         * 
+         * @param ignored The objects id ignored by mover.
+         */
+        Graph(Collection<Integer> ignored)
+        {
+            super();
+
+            this.ignored = ignored;
+        }
+
+        /**
+         * Check if all objects id are non blocking.
+         * 
+         * @param index The location index.
+         * @return <code>true</code> if blocked, <code>false</code> else.
+         */
+        private boolean isBlocked(int index)
+        {
+            final Integer[] objects = ids[index];
+            if (objects != null)
+            {
+                for (final Integer id : objects)
+                {
+                    if (!ignored.contains(id))
+                    {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /*
+         * PathGraph
+         */
+
+        @Override
+        public int getInTileWidth()
+        {
+            return width;
+        }
+
+        @Override
+        public int getInTileHeight()
+        {
+            return height;
+        }
+
+        @Override
+        public int getInTileRadius()
+        {
+            return radius;
+        }
+
+        @Override
+        public String getCategory(int tx, int ty)
+        {
+            if (isInside(tx, ty))
+            {
+                return categories[ty * width + tx];
+            }
+            return null;
+        }
+
+        @Override
+        public boolean isBlocked(Pathfindable mover, int tx, int ty, boolean ignoreObjectsId)
+        {
+            if (!isInside(tx, ty))
+            {
+                return true;
+            }
+            final int index = ty * width + tx;
+            return !ignoreObjectsId && isBlocked(index) || tiles[index] && mover.isBlocking(categories[index]);
+        }
+
+        @Override
+        public double getCost(Pathfindable mover, int tx, int ty)
+        {
+            if (isInside(tx, ty) && tiles[ty * width + tx])
+            {
+                return mover.getCost(categories[ty * width + tx]);
+            }
+            return 0.0;
+        }
+
+        @Override
+        public CoordTile getClosestAvailableTile(Pathfindable mover, int stx, int sty, int dtx, int dty, int radius)
+        {
+            int closestX = 0;
+            int closestY = 0;
+            double dist = Double.MAX_VALUE;
+            int size = 1;
+            boolean found = false;
+            while (!found)
+            {
+                for (int tx = stx - size; tx <= stx + size; tx++)
+                {
+                    for (int ty = sty - size; ty <= sty + size; ty++)
+                    {
+                        if (!isTileNotAvailable(mover, tx, ty))
+                        {
+                            final double d = UtilMath.getDistance(tx, ty, 1, 1, dtx, dty, 1, 1);
+                            if (d < dist)
+                            {
+                                dist = d;
+                                closestX = tx;
+                                closestY = ty;
+                                found = true;
+                            }
+                        }
+                    }
+                }
+                size++;
+                if (size >= radius)
+                {
+                    return null;
+                }
+            }
+            return new CoordTile(closestX, closestY);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+
+/**
+ * Hierarchical path finder (HPA*). The map is split into clusters, whose entrances and local paths are precomputed per
+ * path configuration (cost, blocking and allowed movements of each {@link PathCategory}). Far destinations are first
+ * searched on the abstract graph, then refined with the precomputed local paths.
+ * <p>
+ * Destinations inside the start cluster or its neighbors, and blocked destinations, are searched with the default
+ * {@link PathFinderImpl}. Clusters are invalidated on {@link #onTileSet(Tile)}, and rebuilt on next search.
+ * </p>
+ * <p>
+ * This class is not Thread-Safe, and must be used from the game thread.
+ * </p>
+ */
+final class PathFinderHierarchical implements PathFinder, TileSetListener
+{
+    /** Hierarchy per path configuration. */
+    private final Map<PathProfile, PathHierarchy> hierarchies = new HashMap<>();
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+    /** Live map graph. */
+    private final PathGraph graph;
+    /** Map search workspace per thread. */
+    private final ThreadLocal<PathFinderWorkspace> workspaces;
+    /** Default path finder. */
+    private final PathFinderImpl finder;
+    /** Heuristic used. */
+    private final Heuristic heuristic;
+    /** Cluster size in tile. */
+    private final int clusterSize;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param map The map to be searched. Must have the {@link MapTilePath} feature.
+     * @param maxSearchDistance The maximum depth we'll search before giving up.
+     * @param clusterSize The cluster size in tile.
+     * @param heuristic The heuristic used to determine the search order of the map.
+     */
+    PathFinderHierarchical(MapTile map, int maxSearchDistance, int clusterSize, Heuristic heuristic)
+    {
+        super();
+
+        this.clusterSize = clusterSize;
+        this.heuristic = heuristic;
+        mapPath = map.getFeature(MapTilePath.class);
+        graph = new PathGraphMap(map);
+        workspaces = PathFinderWorkspace.of(map);
+        finder = new PathFinderImpl(graph, workspaces, maxSearchDistance, heuristic);
+    }
+
+    /**
+     * Get the hierarchy of the mover path configuration.
+     * 
+     * @param mover The mover reference.
+     * @return The hierarchy reference.
+     */
+    PathHierarchy getHierarchy(Pathfindable mover)
+    {
+        return hierarchies.computeIfAbsent(new PathProfile(mover, mapPath.getCategories()),
+                                           p -> new PathHierarchy(graph, workspaces, clusterSize, heuristic));
+    }
+
+    /**
+     * Check if location are in same or neighbor clusters.
+     * 
+     * @param stx The horizontal start in tile.
+     * @param sty The vertical start in tile.
+     * @param dtx The horizontal destination in tile.
+     * @param dty The vertical destination in tile.
+     * @return <code>true</code> if near, <code>false</code> else.
+     */
+    private boolean isNear(int stx, int sty, int dtx, int dty)
+    {
+        return Math.abs(stx / clusterSize - dtx / clusterSize) < 2
+               && Math.abs(sty / clusterSize - dty / clusterSize) < 2;
+    }
+
+    /*
+     * PathFinder
+     */
+
+    @Override
+    public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef)
+    {
+        final int stx = mover.getInTileX();
+        final int sty = mover.getInTileY();
+
+        if (isNear(stx, sty, dtx, dty) || graph.isBlocked(mover, dtx, dty, ignoreRef))
+        {
+            return finder.findPath(mover, dtx, dty, ignoreRef);
+        }
+        return getHierarchy(mover).findPath(mover, stx, sty, dtx, dty, ignoreRef);
+    }
+
+    /*
+     * TileSetListener
+     */
+
+    @Override
+    public void onTileSet(Tile tile)
+    {
+        for (final PathHierarchy hierarchy : hierarchies.values())
+        {
+            hierarchy.invalidate(tile.getInTileX(), tile.getInTileY());
+        }
+    }
+}
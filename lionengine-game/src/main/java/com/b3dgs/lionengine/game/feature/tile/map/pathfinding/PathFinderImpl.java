@@ -16,32 +16,28 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.PriorityQueue;
-import java.util.Queue;
-
 import com.b3dgs.lionengine.UtilMath;
-import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 
 /**
  * A path finder implementation that uses the AStar heuristic based algorithm to determine a path.
+ * <p>
+ * Search state is stored in a {@link PathFinderWorkspace} owned by the map, allocated once per searching thread and
+ * shared by all path finders and pathfindables of that map.
+ * </p>
+ * <p>
+ * Searches read the live map by default, but can be performed on any {@link PathGraph}, such as a
+ * {@link MapTilePathSnapshot} when searching outside of the game thread.
+ * </p>
  */
 final class PathFinderImpl implements PathFinder
 {
-    /** Closed list. */
-    private final Collection<Node> closed = new HashSet<>();
-    /** Open list. */
-    private final Queue<Node> open = new PriorityQueue<>();
-    /** Map reference. */
-    private final MapTile map;
-    /** Map path reference. */
-    private final MapTilePath mapPath;
+    /** Search workspace per thread. */
+    private final ThreadLocal<PathFinderWorkspace> workspaces;
+    /** Default graph. */
+    private final PathGraph map;
     /** Max distance to search. */
     private final int maxSearchDistance;
-    /** Nodes array. */
-    private final Node[][] nodes;
     /** Heuristic used. */
     private final Heuristic heuristic;
 
@@ -53,35 +49,29 @@ final class PathFinderImpl implements PathFinder
      * @param heuristic The heuristic used to determine the search order of the map.
      */
     PathFinderImpl(MapTile map, int maxSearchDistance, Heuristic heuristic)
+    {
+        this(new PathGraphMap(map), PathFinderWorkspace.of(map), maxSearchDistance, heuristic);
+    }
+
+    /**
+     * Internal constructor.
+     * 
+     * @param graph The default graph to be searched.
+     * @param workspaces The search workspace per thread.
+     * @param maxSearchDistance The maximum depth we'll search before giving up.
+     * @param heuristic The heuristic used to determine the search order of the map.
+     */
+    PathFinderImpl(PathGraph graph,
+                   ThreadLocal<PathFinderWorkspace> workspaces,
+                   int maxSearchDistance,
+                   Heuristic heuristic)
     {
         super();
 
+        this.workspaces = workspaces;
         this.heuristic = heuristic;
-        this.map = map;
         this.maxSearchDistance = maxSearchDistance;
-        mapPath = map.getFeature(MapTilePath.class);
-
-        final int widthInTile;
-        final int heightInTile;
-        if (mapPath.getCategories().isEmpty())
-        {
-            widthInTile = 0;
-            heightInTile = 0;
-        }
-        else
-        {
-            widthInTile = map.getInTileWidth();
-            heightInTile = map.getInTileHeight();
-        }
-        nodes = new Node[heightInTile][widthInTile];
-
-        for (int ty = 0; ty < heightInTile; ty++)
-        {
-            for (int tx = 0; tx < widthInTile; tx++)
-            {
-                nodes[ty][tx] = new Node(tx, ty);
-            }
-        }
+        map = graph;
     }
 
     /**
@@ -94,7 +84,7 @@ final class PathFinderImpl implements PathFinder
      */
     public double getMovementCost(Pathfindable pathfindable, int tx, int ty)
     {
-        return mapPath.getCost(pathfindable, tx, ty);
+        return map.getCost(pathfindable, tx, ty);
     }
 
     /**
@@ -111,9 +101,28 @@ final class PathFinderImpl implements PathFinder
         return heuristic.getCost(stx, sty, dtx, dty);
     }
 
+    /**
+     * Find a path on the specified graph, from the starting location to the destination location. Can be called from
+     * any thread as long as the graph data are not modified during the search.
+     * 
+     * @param graph The graph to search.
+     * @param mover The entity that will be moving along the path.
+     * @param stx The x coordinate of the start location.
+     * @param sty The y coordinate of the start location.
+     * @param dtx The x coordinate of the destination location.
+     * @param dty The y coordinate of the destination location.
+     * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
+     * @return The path found from start to end, or <code>null</code> if no path can be found.
+     */
+    Path findPath(PathGraph graph, Pathfindable mover, int stx, int sty, int dtx, int dty, boolean ignoreRef)
+    {
+        return findPathRecursive(graph, workspaces.get(), mover, stx, sty, dtx, dty, ignoreRef, null);
+    }
+
     /**
      * Check if a given location is valid for the supplied mover.
      * 
+     * @param graph The graph to search.
      * @param mover The mover that would hold a given location.
      * @param stx The starting x coordinate.
      * @param sty The starting y coordinate.
@@ -122,13 +131,19 @@ final class PathFinderImpl implements PathFinder
      * @param ignoreRef The ignore map reference array checking.
      * @return <code>true</code> if the location is valid for the given mover, <code>false</code> else.
      */
-    private boolean isValidLocation(Pathfindable mover, int stx, int sty, int dtx, int dty, boolean ignoreRef)
+    private boolean isValidLocation(PathGraph graph,
+                                    Pathfindable mover,
+                                    int stx,
+                                    int sty,
+                                    int dtx,
+                                    int dty,
+                                    boolean ignoreRef)
     {
-        boolean invalid = dtx < 0 || dty < 0 || dtx >= map.getInTileWidth() || dty >= map.getInTileHeight();
+        boolean invalid = dtx < 0 || dty < 0 || dtx >= graph.getInTileWidth() || dty >= graph.getInTileHeight();
 
         if (!invalid && (stx != dtx || sty != dty))
         {
-            invalid = mapPath.isBlocked(mover, dtx, dty, ignoreRef);
+            invalid = graph.isBlocked(mover, dtx, dty, ignoreRef);
         }
 
         return !invalid;
@@ -137,35 +152,51 @@ final class PathFinderImpl implements PathFinder
     /**
      * Update the open and closed list to find the path.
      * 
+     * @param graph The graph to search.
+     * @param workspace The search workspace.
      * @param mover The entity that will be moving along the path.
      * @param stx The x coordinate of the start location.
      * @param sty The y coordinate of the start location.
      * @param dtx The x coordinate of the destination location.
      * @param dty The y coordinate of the destination location.
      * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
-     * @param current The current node.
+     * @param current The current location index.
      * @param maxDepth The last max depth.
      * @return The next max depth.
      */
-    private int updateList(Pathfindable mover,
+    private int updateList(PathGraph graph,
+                           PathFinderWorkspace workspace,
+                           Pathfindable mover,
                            int stx,
                            int sty,
                            int dtx,
                            int dty,
                            boolean ignoreRef,
-                           Node current,
+                           int current,
                            int maxDepth)
     {
         int depth = maxDepth;
-        final Tile tile = map.getTile(current.getX(), current.getY());
-        final String category = mapPath.getCategory(tile);
+        final String category = graph.getCategory(workspace.getX(current), workspace.getY(current));
         for (int y = -1; y < 2; y++)
         {
             for (int x = -1; x < 2; x++)
             {
                 if (!(x == 0 && y == 0))
                 {
-                    depth = check(category, depth, x, y, mover, stx, sty, dtx, dty, ignoreRef, current, maxDepth);
+                    depth = check(graph,
+                                  workspace,
+                                  category,
+                                  depth,
+                                  x,
+                                  y,
+                                  mover,
+                                  stx,
+                                  sty,
+                                  dtx,
+                                  dty,
+                                  ignoreRef,
+                                  current,
+                                  maxDepth);
                 }
             }
         }
@@ -175,6 +206,8 @@ final class PathFinderImpl implements PathFinder
     /**
      * Update the open and closed list to find the path.
      * 
+     * @param graph The graph to search.
+     * @param workspace The search workspace.
      * @param category The current tile category.
      * @param nextDepth The next depth value.
      * @param x The current horizontal movement.
@@ -185,11 +218,13 @@ final class PathFinderImpl implements PathFinder
      * @param dtx The x coordinate of the destination location.
      * @param dty The y coordinate of the destination location.
      * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
-     * @param current The current node.
+     * @param current The current location index.
      * @param maxDepth The last max depth.
      * @return The next max depth.
      */
-    private int check(String category,
+    private int check(PathGraph graph,
+                      PathFinderWorkspace workspace,
+                      String category,
                       int nextDepth,
                       int x,
                       int y,
@@ -199,18 +234,18 @@ final class PathFinderImpl implements PathFinder
                       int dtx,
                       int dty,
                       boolean ignoreRef,
-                      Node current,
+                      int current,
                       int maxDepth)
     {
         final MovementTile movement = MovementTile.from(x, y);
         if (mover.isMovementAllowed(category, movement))
         {
-            final int xp = x + current.getX();
-            final int yp = y + current.getY();
+            final int xp = x + workspace.getX(current);
+            final int yp = y + workspace.getY(current);
 
-            if (isValidLocation(mover, stx, sty, xp, yp, ignoreRef))
+            if (isValidLocation(graph, mover, stx, sty, xp, yp, ignoreRef))
             {
-                return updateNeighbour(mover, dtx, dty, current, xp, yp, maxDepth);
+                return updateNeighbour(graph, workspace, mover, dtx, dty, current, xp, yp, maxDepth);
             }
         }
         return nextDepth;
@@ -219,38 +254,52 @@ final class PathFinderImpl implements PathFinder
     /**
      * Update the current neighbor on search.
      * 
+     * @param graph The graph to search.
+     * @param workspace The search workspace.
      * @param mover The entity that will be moving along the path.
      * @param dtx The x coordinate of the destination location.
      * @param dty The y coordinate of the destination location.
-     * @param current The current node.
+     * @param current The current location index.
      * @param xp The x coordinate of the destination location.
      * @param yp The y coordinate of the destination location.
      * @param maxDepth The last max depth.
      * @return The next max depth.
      */
-    private int updateNeighbour(Pathfindable mover, int dtx, int dty, Node current, int xp, int yp, int maxDepth)
+    private int updateNeighbour(PathGraph graph,
+                                PathFinderWorkspace workspace,
+                                Pathfindable mover,
+                                int dtx,
+                                int dty,
+                                int current,
+                                int xp,
+                                int yp,
+                                int maxDepth)
     {
         int nextDepth = maxDepth;
-        final double nextStepCost = current.getCost() + getMovementCost(mover, current.getX(), current.getY());
-        final Node neighbour = nodes[yp][xp];
+        final double nextStepCost = workspace.getCost(current)
+                                    + graph.getCost(mover, workspace.getX(current), workspace.getY(current));
+        final int neighbour = workspace.index(xp, yp);
+        final boolean better = nextStepCost < workspace.getCost(neighbour);
 
-        if (nextStepCost < neighbour.getCost())
+        if (better)
         {
-            open.remove(neighbour);
-            closed.remove(neighbour);
+            workspace.unclose(neighbour);
         }
-        if (Double.compare(nextStepCost, neighbour.getCost()) == 0
-            && neighbour.getParent() != null
-            && current.getHeuristic() < neighbour.getHeuristic())
+        if (Double.compare(nextStepCost, workspace.getCost(neighbour)) == 0
+            && workspace.getParent(neighbour) != PathFinderWorkspace.NONE
+            && workspace.getHeuristic(current) < workspace.getHeuristic(neighbour))
         {
-            neighbour.setParent(current);
+            workspace.setParent(neighbour, current);
         }
-        if (!open.contains(neighbour) && !closed.contains(neighbour) || neighbour.getParent() == null)
+        if (better
+            || !workspace.isOpen(neighbour) && !workspace.isClosed(neighbour)
+            || workspace.getParent(neighbour) == PathFinderWorkspace.NONE)
         {
-            neighbour.setCost(nextStepCost);
-            neighbour.setHeuristic(getHeuristicCost(xp, yp, dtx, dty));
-            nextDepth = Math.max(maxDepth, neighbour.setParent(current));
-            open.add(neighbour);
+            workspace.setCost(neighbour, nextStepCost);
+            workspace.setHeuristic(neighbour, getHeuristicCost(xp, yp, dtx, dty));
+            nextDepth = Math.max(maxDepth, workspace.setParent(neighbour, current));
+            // Insert, or decrease key if already opened
+            workspace.open(neighbour);
         }
         return nextDepth;
     }
@@ -262,14 +311,18 @@ final class PathFinderImpl implements PathFinder
     @Override
     public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef)
     {
-        return findPathRecursive(mover, dtx, dty, ignoreRef, null);
+        return findPath(map, mover, mover.getInTileX(), mover.getInTileY(), dtx, dty, ignoreRef);
     }
 
     /**
      * Find a path from the starting location provided to the destination location avoiding blockages and attempting to
      * honor costs provided by the tile map.
      * 
+     * @param graph The graph to search.
+     * @param workspace The search workspace.
      * @param mover The entity that will be moving along the path.
+     * @param stx The x coordinate of the start location.
+     * @param sty The y coordinate of the start location.
      * @param dtx The x coordinate of the destination location.
      * @param dty The y coordinate of the destination location.
      * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
@@ -277,54 +330,61 @@ final class PathFinderImpl implements PathFinder
      * @return The path found from start to end, or null if no path can be found.
      */
     // CHECKSTYLE IGNORE LINE: ReturnCount|CyclomaticComplexity
-    private Path findPathRecursive(Pathfindable mover, int dtx, int dty, boolean ignoreRef, CoordTile last)
+    private Path findPathRecursive(PathGraph graph,
+                                   PathFinderWorkspace workspace,
+                                   Pathfindable mover,
+                                   int stx,
+                                   int sty,
+                                   int dtx,
+                                   int dty,
+                                   boolean ignoreRef,
+                                   CoordTile last)
     {
-        final int stx = mover.getInTileX();
-        final int sty = mover.getInTileY();
-
-        if (mapPath.isBlocked(mover, dtx, dty, false) && UtilMath.getDistance(stx, sty, dtx, dty) <= 1)
+        if (graph.isBlocked(mover, dtx, dty, false) && UtilMath.getDistance(stx, sty, dtx, dty) <= 1)
         {
             return null;
         }
-        if (mapPath.isBlocked(mover, dtx, dty, ignoreRef))
+        if (graph.isBlocked(mover, dtx, dty, ignoreRef))
         {
-            final CoordTile tile = mapPath.getClosestAvailableTile(mover, dtx, dty, stx, sty, map.getInTileRadius());
+            final CoordTile tile = graph.getClosestAvailableTile(mover, dtx, dty, stx, sty, graph.getInTileRadius());
             if (tile == null || tile.equals(last))
             {
                 return null;
             }
-            return findPathRecursive(mover, tile.getX(), tile.getY(), ignoreRef, tile);
+            return findPathRecursive(graph, workspace, mover, stx, sty, tile.getX(), tile.getY(), ignoreRef, tile);
         }
 
-        nodes[sty][stx].setCost(0);
-        nodes[sty][stx].setDepth(0);
-        closed.clear();
-        open.clear();
-        open.add(nodes[sty][stx]);
-        nodes[dty][dtx].setParent(null);
+        workspace.begin(graph.getInTileWidth(), graph.getInTileHeight());
+        final int start = workspace.index(stx, sty);
+        final int destination = workspace.index(dtx, dty);
+
+        workspace.setCost(start, 0);
+        workspace.setDepth(start, 0);
+        workspace.open(start);
+        workspace.setParent(destination, PathFinderWorkspace.NONE);
 
         int maxDepth = 0;
-        while (maxDepth < maxSearchDistance && !open.isEmpty())
+        while (maxDepth < maxSearchDistance && !workspace.isOpenEmpty())
         {
-            final Node current = open.poll();
-            if (current == nodes[dty][dtx])
+            final int current = workspace.poll();
+            if (current == destination)
             {
                 break;
             }
-            closed.add(current);
-            maxDepth = updateList(mover, stx, sty, dtx, dty, ignoreRef, current, maxDepth);
+            workspace.close(current);
+            maxDepth = updateList(graph, workspace, mover, stx, sty, dtx, dty, ignoreRef, current, maxDepth);
         }
-        if (nodes[dty][dtx].getParent() == null)
+        if (workspace.getParent(destination) == PathFinderWorkspace.NONE)
         {
             return null;
         }
         final Path path = new Path();
-        Node target = nodes[dty][dtx];
+        int target = destination;
 
-        while (target != nodes[sty][stx])
+        while (target != start)
         {
-            path.prependStep(target.getX(), target.getY());
-            target = target.getParent();
+            path.prependStep(workspace.getX(target), workspace.getY(target));
+            target = workspace.getParent(target);
         }
         path.prependStep(stx, sty);
 
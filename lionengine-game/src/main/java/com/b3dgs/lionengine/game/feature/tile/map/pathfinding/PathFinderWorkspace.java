@@ -0,0 +1,456 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * Search state of a path finder, stored as primitive arrays indexed by <code>ty * width + tx</code>.
+ * <p>
+ * A workspace is reused between searches: instead of clearing arrays, each search starts a new generation, and a
+ * location is lazily reset the first time it is accessed in that generation. Memory is proportional to the map size,
+ * and a single workspace can serve any number of pathfindables.
+ * </p>
+ * <p>
+ * Open list is an indexed binary min-heap ordered by cost then heuristic, allowing constant time membership test and
+ * logarithmic insertion, removal and priority update. Closed list is a per location flag, reset with the generation.
+ * </p>
+ * <p>
+ * This class is not Thread-Safe, one workspace must be used per searching thread. Workspaces are owned by the map, see
+ * {@link #of(MapTile)}.
+ * </p>
+ */
+final class PathFinderWorkspace
+{
+    /** No parent index. */
+    static final int NONE = -1;
+
+    /**
+     * Get the workspaces shared by all path finders of a map.
+     * 
+     * @param map The map reference. Must have the {@link MapTilePath} feature.
+     * @return The workspace per thread of the map, dedicated ones if map path is not a {@link MapTilePathModel}.
+     */
+    static ThreadLocal<PathFinderWorkspace> of(MapTile map)
+    {
+        final MapTilePath mapPath = map.getFeature(MapTilePath.class);
+        if (mapPath instanceof MapTilePathModel)
+        {
+            return ((MapTilePathModel) mapPath).getWorkspaces();
+        }
+        return ThreadLocal.withInitial(PathFinderWorkspace::new);
+    }
+
+    /** Open list heap, storing locations index. */
+    private int[] heap = new int[0];
+    /** Location position in heap, {@link #NONE} if not opened. */
+    private int[] position = new int[0];
+    /** Closed flags. */
+    private boolean[] closed = new boolean[0];
+    /** Costs. */
+    private double[] cost = new double[0];
+    /** Heuristics. */
+    private double[] heuristic = new double[0];
+    /** Parents index. */
+    private int[] parent = new int[0];
+    /** Depths. */
+    private int[] depth = new int[0];
+    /** Generation of each location. */
+    private int[] stamp = new int[0];
+    /** Current generation. */
+    private int generation;
+    /** Current width in tile. */
+    private int width;
+    /** Open list size. */
+    private int size;
+
+    /**
+     * Create workspace.
+     */
+    PathFinderWorkspace()
+    {
+        super();
+    }
+
+    /**
+     * Start a new search. Previous search data are discarded.
+     * 
+     * @param widthInTile The map width in tile.
+     * @param heightInTile The map height in tile.
+     */
+    void begin(int widthInTile, int heightInTile)
+    {
+        final int length = widthInTile * heightInTile;
+        if (length > stamp.length)
+        {
+            heap = new int[length];
+            position = new int[length];
+            closed = new boolean[length];
+            cost = new double[length];
+            heuristic = new double[length];
+            parent = new int[length];
+            depth = new int[length];
+            stamp = new int[length];
+            generation = 0;
+        }
+        if (generation == Integer.MAX_VALUE)
+        {
+            Arrays.fill(stamp, 0);
+            generation = 0;
+        }
+        generation++;
+        width = widthInTile;
+        size = 0;
+    }
+
+    /**
+     * Get location index.
+     * 
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     * @return The location index.
+     */
+    int index(int tx, int ty)
+    {
+        return ty * width + tx;
+    }
+
+    /**
+     * Get horizontal tile index.
+     * 
+     * @param index The location index.
+     * @return The horizontal tile index.
+     */
+    int getX(int index)
+    {
+        return index % width;
+    }
+
+    /**
+     * Get vertical tile index.
+     * 
+     * @param index The location index.
+     * @return The vertical tile index.
+     */
+    int getY(int index)
+    {
+        return index / width;
+    }
+
+    /**
+     * Add location to open list, or update its priority if already opened (after a cost or heuristic change).
+     * 
+     * @param index The location index.
+     */
+    void open(int index)
+    {
+        reset(index);
+        final int current = position[index];
+        if (current == NONE)
+        {
+            heap[size] = index;
+            position[index] = size;
+            size++;
+            siftUp(size - 1);
+        }
+        else
+        {
+            siftDown(siftUp(current));
+        }
+    }
+
+    /**
+     * Poll best location from open list.
+     * 
+     * @return The best location index.
+     */
+    int poll()
+    {
+        final int index = heap[0];
+        removeAt(0);
+        return index;
+    }
+
+    /**
+     * Check if open list is empty.
+     * 
+     * @return <code>true</code> if empty, <code>false</code> else.
+     */
+    boolean isOpenEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Check if location is in open list.
+     * 
+     * @param index The location index.
+     * @return <code>true</code> if opened, <code>false</code> else.
+     */
+    boolean isOpen(int index)
+    {
+        reset(index);
+        return position[index] != NONE;
+    }
+
+    /**
+     * Add location to closed list.
+     * 
+     * @param index The location index.
+     */
+    void close(int index)
+    {
+        reset(index);
+        closed[index] = true;
+    }
+
+    /**
+     * Remove location from closed list.
+     * 
+     * @param index The location index.
+     */
+    void unclose(int index)
+    {
+        reset(index);
+        closed[index] = false;
+    }
+
+    /**
+     * Check if location is in closed list.
+     * 
+     * @param index The location index.
+     * @return <code>true</code> if closed, <code>false</code> else.
+     */
+    boolean isClosed(int index)
+    {
+        reset(index);
+        return closed[index];
+    }
+
+    /**
+     * Set location parent.
+     * 
+     * @param index The location index.
+     * @param parentIndex The parent index, {@link #NONE} if none.
+     * @return The location depth.
+     */
+    int setParent(int index, int parentIndex)
+    {
+        reset(index);
+        if (parentIndex != NONE)
+        {
+            depth[index] = getDepth(parentIndex) + 1;
+        }
+        parent[index] = parentIndex;
+        return depth[index];
+    }
+
+    /**
+     * Set location cost.
+     * 
+     * @param index The location index.
+     * @param value The cost value.
+     */
+    void setCost(int index, double value)
+    {
+        reset(index);
+        cost[index] = value;
+    }
+
+    /**
+     * Set location heuristic.
+     * 
+     * @param index The location index.
+     * @param value The heuristic value.
+     */
+    void setHeuristic(int index, double value)
+    {
+        reset(index);
+        heuristic[index] = value;
+    }
+
+    /**
+     * Set location depth.
+     * 
+     * @param index The location index.
+     * @param value The depth value.
+     */
+    void setDepth(int index, int value)
+    {
+        reset(index);
+        depth[index] = value;
+    }
+
+    /**
+     * Get location parent.
+     * 
+     * @param index The location index.
+     * @return The parent index, {@link #NONE} if none.
+     */
+    int getParent(int index)
+    {
+        reset(index);
+        return parent[index];
+    }
+
+    /**
+     * Get location cost.
+     * 
+     * @param index The location index.
+     * @return The cost value.
+     */
+    double getCost(int index)
+    {
+        reset(index);
+        return cost[index];
+    }
+
+    /**
+     * Get location heuristic.
+     * 
+     * @param index The location index.
+     * @return The heuristic value.
+     */
+    double getHeuristic(int index)
+    {
+        reset(index);
+        return heuristic[index];
+    }
+
+    /**
+     * Get location depth.
+     * 
+     * @param index The location index.
+     * @return The depth value.
+     */
+    int getDepth(int index)
+    {
+        reset(index);
+        return depth[index];
+    }
+
+    /**
+     * Reset location data if not yet accessed during current search.
+     * 
+     * @param index The location index.
+     */
+    private void reset(int index)
+    {
+        if (stamp[index] != generation)
+        {
+            stamp[index] = generation;
+            cost[index] = 0.0;
+            heuristic[index] = 0.0;
+            parent[index] = NONE;
+            depth[index] = 0;
+            position[index] = NONE;
+            closed[index] = false;
+        }
+    }
+
+    /**
+     * Remove heap element at position.
+     * 
+     * @param at The heap position.
+     */
+    private void removeAt(int at)
+    {
+        position[heap[at]] = NONE;
+        size--;
+        if (at < size)
+        {
+            heap[at] = heap[size];
+            position[heap[at]] = at;
+            siftDown(siftUp(at));
+        }
+    }
+
+    /**
+     * Move heap element up until heap is ordered.
+     * 
+     * @param at The heap position.
+     * @return The new heap position.
+     */
+    private int siftUp(int at)
+    {
+        final int index = heap[at];
+        int child = at;
+        while (child > 0)
+        {
+            final int next = (child - 1) >>> 1;
+            if (compare(index, heap[next]) >= 0)
+            {
+                break;
+            }
+            heap[child] = heap[next];
+            position[heap[child]] = child;
+            child = next;
+        }
+        heap[child] = index;
+        position[index] = child;
+        return child;
+    }
+
+    /**
+     * Move heap element down until heap is ordered.
+     * 
+     * @param at The heap position.
+     */
+    private void siftDown(int at)
+    {
+        final int index = heap[at];
+        final int half = size >>> 1;
+        int current = at;
+        while (current < half)
+        {
+            int child = (current << 1) + 1;
+            final int right = child + 1;
+            if (right < size && compare(heap[right], heap[child]) < 0)
+            {
+                child = right;
+            }
+            if (compare(index, heap[child]) <= 0)
+            {
+                break;
+            }
+            heap[current] = heap[child];
+            position[heap[current]] = current;
+            current = child;
+        }
+        heap[current] = index;
+        position[index] = current;
+    }
+
+    /**
+     * Compare two locations, by cost then by heuristic.
+     * 
+     * @param a The first location index.
+     * @param b The second location index.
+     * @return The comparison result.
+     */
+    private int compare(int a, int b)
+    {
+        int res = Double.compare(cost[a], cost[b]);
+        if (res == 0)
+        {
+            res = Double.compare(heuristic[a], heuristic[b]);
+        }
+        return res;
+    }
+}
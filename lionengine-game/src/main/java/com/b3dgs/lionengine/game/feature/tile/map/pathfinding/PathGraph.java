@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+/**
+ * Tile data read by {@link PathFinderImpl} during a search. Can be backed by the live map, or by a
+ * {@link MapTilePathSnapshot} when searching outside of the game thread.
+ */
+interface PathGraph
+{
+    /**
+     * Get the number of horizontal tiles.
+     * 
+     * @return The number of horizontal tiles.
+     */
+    int getInTileWidth();
+
+    /**
+     * Get the number of vertical tiles.
+     * 
+     * @return The number of vertical tiles.
+     */
+    int getInTileHeight();
+
+    /**
+     * Get the radius in tile.
+     * 
+     * @return The radius in tile.
+     */
+    int getInTileRadius();
+
+    /**
+     * Get the tile category.
+     * 
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     * @return The tile category, <code>null</code> if none.
+     */
+    String getCategory(int tx, int ty);
+
+    /**
+     * Check if area is blocked.
+     * 
+     * @param mover The object moving on map.
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     * @param ignoreObjectsId <code>true</code> to ignore objects ids from checking.
+     * @return <code>true</code> if blocked, <code>false</code> else.
+     * @see MapTilePath#isBlocked(Pathfindable, int, int, boolean)
+     */
+    boolean isBlocked(Pathfindable mover, int tx, int ty, boolean ignoreObjectsId);
+
+    /**
+     * Get the cost of the tile location.
+     * 
+     * @param mover The object moving on map.
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     * @return The cost value.
+     * @see MapTilePath#getCost(Pathfindable, int, int)
+     */
+    double getCost(Pathfindable mover, int tx, int ty);
+
+    /**
+     * Get the closest unused location around the area.
+     * 
+     * @param mover The object moving on map.
+     * @param stx The starting horizontal tile index.
+     * @param sty The starting vertical tile index.
+     * @param dtx The ending horizontal tile index.
+     * @param dty The ending vertical tile index.
+     * @param radius The search radius.
+     * @return The closest tile found, <code>null</code> if none.
+     * @see MapTilePath#getClosestAvailableTile(Pathfindable, int, int, int, int, int)
+     */
+    CoordTile getClosestAvailableTile(Pathfindable mover, int stx, int sty, int dtx, int dty, int radius);
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * Path graph reading the live map data. Must only be used from the game thread.
+ */
+final class PathGraphMap implements PathGraph
+{
+    /** Map reference. */
+    private final MapTile map;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+
+    /**
+     * Create graph.
+     * 
+     * @param map The map reference. Must have the {@link MapTilePath} feature.
+     */
+    PathGraphMap(MapTile map)
+    {
+        super();
+
+        this.map = map;
+        mapPath = map.getFeature(MapTilePath.class);
+    }
+
+    /*
+     * PathGraph
+     */
+
+    @Override
+    public int getInTileWidth()
+    {
+        return map.getInTileWidth();
+    }
+
+    @Override
+    public int getInTileHeight()
+    {
+        return map.getInTileHeight();
+    }
+
+    @Override
+    public int getInTileRadius()
+    {
+        return map.getInTileRadius();
+    }
+
+    @Override
+    public String getCategory(int tx, int ty)
+    {
+        return mapPath.getCategory(map.getTile(tx, ty));
+    }
+
+    @Override
+    public boolean isBlocked(Pathfindable mover, int tx, int ty, boolean ignoreObjectsId)
+    {
+        return mapPath.isBlocked(mover, tx, ty, ignoreObjectsId);
+    }
+
+    @Override
+    public double getCost(Pathfindable mover, int tx, int ty)
+    {
+        return mapPath.getCost(mover, tx, ty);
+    }
+
+    @Override
+    public CoordTile getClosestAvailableTile(Pathfindable mover, int stx, int sty, int dtx, int dty, int radius)
+    {
+        return mapPath.getClosestAvailableTile(mover, stx, sty, dtx, dty, radius);
+    }
+}
@@ -0,0 +1,784 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Abstract graph of a map split into square clusters, for movers sharing the same path configuration.
+ * <p>
+ * Nodes are entrances located on clusters borders, linked by inter cluster edges (crossing the border), and intra
+ * cluster edges (precomputed local path between two entrances of a cluster). Objects id are ignored by the abstract
+ * graph, and only considered when linking start and destination to their cluster entrances.
+ * </p>
+ * <p>
+ * Clusters are lazily rebuilt on next search after {@link #invalidate(int, int)}, only affecting invalidated clusters
+ * and their direct neighbors.
+ * </p>
+ * <p>
+ * This class is not Thread-Safe, and must be used from the game thread.
+ * </p>
+ */
+final class PathHierarchy
+{
+    /** Border segment length from which two entrances are created at its ends instead of one in the middle. */
+    private static final int ENTRANCE_SPLIT = 6;
+    /** Start node key. */
+    private static final int START = -1;
+    /** Destination node key. */
+    private static final int GOAL = -2;
+    /** No steps. */
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * Add crossings seen from the other side.
+     * 
+     * @param crossings The crossings list.
+     * @param entrances The neighbor entrances.
+     */
+    private static void addReversed(List<int[]> crossings, List<int[]> entrances)
+    {
+        for (final int[] entrance : entrances)
+        {
+            crossings.add(new int[]
+            {
+                entrance[1], entrance[0]
+            });
+        }
+    }
+
+    /** Live map graph. */
+    private final PathGraph graph;
+    /** Graph limited to current cluster. */
+    private final Bounded bounded;
+    /** Local path finder. */
+    private final PathFinderImpl finder;
+    /** Heuristic used by abstract search. */
+    private final Heuristic heuristic;
+    /** Cluster size in tile. */
+    private final int size;
+    /** Entrances on east border of each cluster, as pairs of location index (inside, outside). */
+    private final List<List<int[]>> east = new ArrayList<>();
+    /** Entrances on south border of each cluster, as pairs of location index (inside, outside). */
+    private final List<List<int[]>> south = new ArrayList<>();
+    /** Outgoing edges of each node, per cluster. */
+    private final List<Map<Integer, List<Edge>>> edges = new ArrayList<>();
+    /** Clusters to rebuild. */
+    private final BitSet dirty = new BitSet();
+    /** Map width in tile. */
+    private int width;
+    /** Map height in tile. */
+    private int height;
+    /** Horizontal clusters number. */
+    private int clustersX;
+    /** Vertical clusters number. */
+    private int clustersY;
+
+    /**
+     * Create hierarchy.
+     * 
+     * @param graph The live map graph.
+     * @param workspaces The map search workspace per thread, only the cluster area is used by local searches.
+     * @param size The cluster size in tile.
+     * @param heuristic The heuristic used.
+     */
+    PathHierarchy(PathGraph graph, ThreadLocal<PathFinderWorkspace> workspaces, int size, Heuristic heuristic)
+    {
+        super();
+
+        this.graph = graph;
+        this.size = size;
+        this.heuristic = heuristic;
+        bounded = new Bounded(graph);
+        finder = new PathFinderImpl(graph, workspaces, size * size, heuristic);
+    }
+
+    /**
+     * Invalidate the cluster containing the location. Cluster will be rebuilt on next search.
+     * 
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     */
+    void invalidate(int tx, int ty)
+    {
+        if (tx >= 0 && ty >= 0 && tx < width && ty < height)
+        {
+            dirty.set(ty / size * clustersX + tx / size);
+        }
+    }
+
+    /**
+     * Get the number of clusters waiting to be rebuilt.
+     * 
+     * @return The invalidated clusters number.
+     */
+    int getInvalidated()
+    {
+        return dirty.cardinality();
+    }
+
+    /**
+     * Get the number of entrances nodes.
+     * 
+     * @return The nodes number.
+     */
+    int getNodes()
+    {
+        int count = 0;
+        for (final Map<Integer, List<Edge>> nodes : edges)
+        {
+            count += nodes.size();
+        }
+        return count;
+    }
+
+    /**
+     * Find a path by searching the abstract graph, and concatenating the precomputed local paths. Invalidated clusters
+     * are rebuilt first.
+     * 
+     * @param mover The mover reference.
+     * @param stx The horizontal start in tile.
+     * @param sty The vertical start in tile.
+     * @param dtx The horizontal destination in tile.
+     * @param dty The vertical destination in tile.
+     * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
+     * @return The path found, <code>null</code> if none.
+     */
+    Path findPath(Pathfindable mover, int stx, int sty, int dtx, int dty, boolean ignoreRef)
+    {
+        update(mover);
+
+        final int start = sty * width + stx;
+        final int goal = dty * width + dtx;
+        final int startCluster = getCluster(start);
+        final int goalCluster = getCluster(goal);
+
+        final List<Edge> startEdges = new ArrayList<>();
+        for (final Integer node : edges.get(startCluster).keySet())
+        {
+            addEdge(startEdges, mover, startCluster, START, start, node.intValue(), node.intValue(), ignoreRef);
+        }
+        if (startCluster == goalCluster)
+        {
+            addEdge(startEdges, mover, startCluster, START, start, GOAL, goal, ignoreRef);
+        }
+
+        final Map<Integer, Edge> goalEdges = new HashMap<>();
+        final List<Edge> found = new ArrayList<>(1);
+        for (final Integer node : edges.get(goalCluster).keySet())
+        {
+            addEdge(found, mover, goalCluster, node.intValue(), node.intValue(), GOAL, goal, ignoreRef);
+            if (!found.isEmpty())
+            {
+                goalEdges.put(node, found.get(0));
+                found.clear();
+            }
+        }
+        return search(stx, sty, dtx, dty, startEdges, goalEdges);
+    }
+
+    /**
+     * Rebuild clusters if needed.
+     * 
+     * @param mover The mover reference.
+     */
+    private void update(Pathfindable mover)
+    {
+        if (width != graph.getInTileWidth() || height != graph.getInTileHeight())
+        {
+            init();
+        }
+        if (!dirty.isEmpty())
+        {
+            final BitSet affected = new BitSet();
+            for (int c = dirty.nextSetBit(0); c >= 0; c = dirty.nextSetBit(c + 1))
+            {
+                final int cx = c % clustersX;
+                final int cy = c / clustersX;
+                updateEntrances(mover, cx, cy);
+                affected.set(c);
+                if (cx > 0)
+                {
+                    updateEntrances(mover, cx - 1, cy);
+                    affected.set(c - 1);
+                }
+                if (cy > 0)
+                {
+                    updateEntrances(mover, cx, cy - 1);
+                    affected.set(c - clustersX);
+                }
+                if (cx + 1 < clustersX)
+                {
+                    affected.set(c + 1);
+                }
+                if (cy + 1 < clustersY)
+                {
+                    affected.set(c + clustersX);
+                }
+            }
+            dirty.clear();
+            for (int c = affected.nextSetBit(0); c >= 0; c = affected.nextSetBit(c + 1))
+            {
+                updateEdges(mover, c);
+            }
+        }
+    }
+
+    /**
+     * Initialize clusters for current map size. All clusters are invalidated.
+     */
+    private void init()
+    {
+        width = graph.getInTileWidth();
+        height = graph.getInTileHeight();
+        clustersX = (width + size - 1) / size;
+        clustersY = (height + size - 1) / size;
+
+        final int count = clustersX * clustersY;
+        east.clear();
+        south.clear();
+        edges.clear();
+        for (int i = 0; i < count; i++)
+        {
+            east.add(new ArrayList<>());
+            south.add(new ArrayList<>());
+            edges.add(Collections.emptyMap());
+        }
+        dirty.clear();
+        dirty.set(0, count);
+    }
+
+    /**
+     * Update east and south entrances of cluster.
+     * 
+     * @param mover The mover reference.
+     * @param cx The horizontal cluster index.
+     * @param cy The vertical cluster index.
+     */
+    private void updateEntrances(Pathfindable mover, int cx, int cy)
+    {
+        final int cluster = cy * clustersX + cx;
+        final List<int[]> eastEntrances = east.get(cluster);
+        eastEntrances.clear();
+        if (cx + 1 < clustersX)
+        {
+            final int length = Math.min(size, height - cy * size);
+            scan(eastEntrances, mover, (cx + 1) * size - 1, cy * size, 0, 1, length, 1, 0);
+        }
+        final List<int[]> southEntrances = south.get(cluster);
+        southEntrances.clear();
+        if (cy + 1 < clustersY)
+        {
+            final int length = Math.min(size, width - cx * size);
+            scan(southEntrances, mover, cx * size, (cy + 1) * size - 1, 1, 0, length, 0, 1);
+        }
+    }
+
+    /**
+     * Scan border and create entrances for each free segment.
+     * 
+     * @param entrances The found entrances.
+     * @param mover The mover reference.
+     * @param tx The horizontal border start.
+     * @param ty The vertical border start.
+     * @param dx The horizontal border direction.
+     * @param dy The vertical border direction.
+     * @param length The border length.
+     * @param ox The horizontal offset to outside.
+     * @param oy The vertical offset to outside.
+     */
+    private void scan(List<int[]> entrances,
+                      Pathfindable mover,
+                      int tx,
+                      int ty,
+                      int dx,
+                      int dy,
+                      int length,
+                      int ox,
+                      int oy)
+    {
+        int begin = -1;
+        for (int i = 0; i <= length; i++)
+        {
+            final int x = tx + i * dx;
+            final int y = ty + i * dy;
+            final boolean free = i < length
+                                 && !graph.isBlocked(mover, x, y, true)
+                                 && !graph.isBlocked(mover, x + ox, y + oy, true);
+            if (free && begin < 0)
+            {
+                begin = i;
+            }
+            else if (!free && begin >= 0)
+            {
+                final int end = i - 1;
+                if (end - begin + 1 >= ENTRANCE_SPLIT)
+                {
+                    addEntrance(entrances, tx + begin * dx, ty + begin * dy, ox, oy);
+                    addEntrance(entrances, tx + end * dx, ty + end * dy, ox, oy);
+                }
+                else
+                {
+                    final int middle = (begin + end) / 2;
+                    addEntrance(entrances, tx + middle * dx, ty + middle * dy, ox, oy);
+                }
+                begin = -1;
+            }
+        }
+    }
+
+    /**
+     * Add entrance.
+     * 
+     * @param entrances The found entrances.
+     * @param tx The horizontal inside location.
+     * @param ty The vertical inside location.
+     * @param ox The horizontal offset to outside.
+     * @param oy The vertical offset to outside.
+     */
+    private void addEntrance(List<int[]> entrances, int tx, int ty, int ox, int oy)
+    {
+        entrances.add(new int[]
+        {
+            ty * width + tx, (ty + oy) * width + tx + ox
+        });
+    }
+
+    /**
+     * Update cluster nodes and their edges.
+     * 
+     * @param mover The mover reference.
+     * @param cluster The cluster index.
+     */
+    private void updateEdges(Pathfindable mover, int cluster)
+    {
+        final List<int[]> crossings = new ArrayList<>(east.get(cluster));
+        crossings.addAll(south.get(cluster));
+        if (cluster % clustersX > 0)
+        {
+            addReversed(crossings, east.get(cluster - 1));
+        }
+        if (cluster / clustersX > 0)
+        {
+            addReversed(crossings, south.get(cluster - clustersX));
+        }
+
+        final Map<Integer, List<Edge>> nodes = new LinkedHashMap<>();
+        for (final int[] crossing : crossings)
+        {
+            final List<Edge> nodeEdges = nodes.computeIfAbsent(Integer.valueOf(crossing[0]), n -> new ArrayList<>());
+            final int ix = crossing[0] % width;
+            final int iy = crossing[0] / width;
+            final MovementTile movement = MovementTile.from(crossing[1] % width - ix, crossing[1] / width - iy);
+            if (mover.isMovementAllowed(graph.getCategory(ix, iy), movement))
+            {
+                nodeEdges.add(new Edge(crossing[0], crossing[1], graph.getCost(mover, ix, iy), new int[]
+                {
+                    crossing[1]
+                }));
+            }
+        }
+        for (final Map.Entry<Integer, List<Edge>> node : nodes.entrySet())
+        {
+            final int from = node.getKey().intValue();
+            for (final Integer to : nodes.keySet())
+            {
+                if (from != to.intValue())
+                {
+                    addEdge(node.getValue(), mover, cluster, from, from, to.intValue(), to.intValue(), true);
+                }
+            }
+        }
+        edges.set(cluster, nodes);
+    }
+
+    /**
+     * Search local path inside cluster, and add edge if found.
+     * 
+     * @param found The found edges.
+     * @param mover The mover reference.
+     * @param cluster The cluster index.
+     * @param fromKey The source node key.
+     * @param from The source location index.
+     * @param toKey The destination node key.
+     * @param to The destination location index.
+     * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
+     */
+    private void addEdge(List<Edge> found,
+                         Pathfindable mover,
+                         int cluster,
+                         int fromKey,
+                         int from,
+                         int toKey,
+                         int to,
+                         boolean ignoreRef)
+    {
+        final int[] steps = searchLocal(mover, cluster, from, to, ignoreRef);
+        if (steps != null)
+        {
+            double cost = 0.0;
+            int current = from;
+            for (final int step : steps)
+            {
+                cost += graph.getCost(mover, current % width, current / width);
+                current = step;
+            }
+            found.add(new Edge(fromKey, toKey, cost, steps));
+        }
+    }
+
+    /**
+     * Search path inside cluster.
+     * 
+     * @param mover The mover reference.
+     * @param cluster The cluster index.
+     * @param from The source location index.
+     * @param to The destination location index.
+     * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
+     * @return The steps location index, without source, <code>null</code> if none.
+     */
+    private int[] searchLocal(Pathfindable mover, int cluster, int from, int to, boolean ignoreRef)
+    {
+        if (from == to)
+        {
+            return EMPTY;
+        }
+        final int minX = cluster % clustersX * size;
+        final int minY = cluster / clustersX * size;
+        bounded.set(minX, minY, Math.min(minX + size, width) - 1, Math.min(minY + size, height) - 1, ignoreRef);
+
+        final int tx = to % width;
+        final int ty = to / width;
+        final Path path = finder.findPath(bounded, mover, from % width, from / width, tx, ty, ignoreRef);
+        if (path == null)
+        {
+            return null;
+        }
+        final int[] steps = new int[path.getLength() - 1];
+        for (int i = 0; i < steps.length; i++)
+        {
+            steps[i] = path.getY(i + 1) * width + path.getX(i + 1);
+        }
+        path.clear();
+        return steps;
+    }
+
+    /**
+     * Search abstract graph.
+     * 
+     * @param stx The horizontal start in tile.
+     * @param sty The vertical start in tile.
+     * @param dtx The horizontal destination in tile.
+     * @param dty The vertical destination in tile.
+     * @param startEdges The start edges.
+     * @param goalEdges The edges to destination, per node.
+     * @return The path found, <code>null</code> if none.
+     */
+    private Path search(int stx, int sty, int dtx, int dty, List<Edge> startEdges, Map<Integer, Edge> goalEdges)
+    {
+        final Map<Integer, Double> costs = new HashMap<>();
+        final Map<Integer, Edge> parents = new HashMap<>();
+        final PriorityQueue<Open> open = new PriorityQueue<>();
+        costs.put(Integer.valueOf(START), Double.valueOf(0.0));
+        open.add(new Open(START, 0.0, 0.0));
+
+        while (!open.isEmpty())
+        {
+            final Open current = open.poll();
+            if (current.key == GOAL)
+            {
+                return createPath(stx, sty, parents);
+            }
+            if (current.cost <= costs.get(Integer.valueOf(current.key)).doubleValue())
+            {
+                for (final Edge edge : getEdges(current.key, startEdges, goalEdges))
+                {
+                    final double cost = current.cost + edge.cost;
+                    final Double old = costs.get(Integer.valueOf(edge.to));
+                    if (old == null || cost < old.doubleValue())
+                    {
+                        costs.put(Integer.valueOf(edge.to), Double.valueOf(cost));
+                        parents.put(Integer.valueOf(edge.to), edge);
+                        open.add(new Open(edge.to, cost, cost + getHeuristic(edge.to, dtx, dty)));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the heuristic cost of node.
+     * 
+     * @param key The node key.
+     * @param dtx The horizontal destination in tile.
+     * @param dty The vertical destination in tile.
+     * @return The heuristic cost.
+     */
+    private double getHeuristic(int key, int dtx, int dty)
+    {
+        if (key == GOAL)
+        {
+            return 0.0;
+        }
+        return heuristic.getCost(key % width, key / width, dtx, dty);
+    }
+
+    /**
+     * Get node outgoing edges.
+     * 
+     * @param key The node key.
+     * @param startEdges The start edges.
+     * @param goalEdges The edges to destination, per node.
+     * @return The outgoing edges.
+     */
+    private Collection<Edge> getEdges(int key, List<Edge> startEdges, Map<Integer, Edge> goalEdges)
+    {
+        if (key == START)
+        {
+            return startEdges;
+        }
+        final Collection<Edge> nodeEdges = edges.get(getCluster(key))
+                                                .getOrDefault(Integer.valueOf(key), Collections.emptyList());
+        final Edge goalEdge = goalEdges.get(Integer.valueOf(key));
+        if (goalEdge == null)
+        {
+            return nodeEdges;
+        }
+        final List<Edge> all = new ArrayList<>(nodeEdges);
+        all.add(goalEdge);
+        return all;
+    }
+
+    /**
+     * Create path by concatenating edges steps from destination parents.
+     * 
+     * @param stx The horizontal start in tile.
+     * @param sty The vertical start in tile.
+     * @param parents The parent edge of each reached node.
+     * @return The created path.
+     */
+    private Path createPath(int stx, int sty, Map<Integer, Edge> parents)
+    {
+        final List<Edge> chain = new ArrayList<>();
+        int key = GOAL;
+        while (key != START)
+        {
+            final Edge edge = parents.get(Integer.valueOf(key));
+            chain.add(edge);
+            key = edge.from;
+        }
+        Collections.reverse(chain);
+
+        final Path path = new Path();
+        path.appendStep(stx, sty);
+        for (final Edge edge : chain)
+        {
+            for (final int step : edge.steps)
+            {
+                path.appendStep(step % width, step / width);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Get the cluster index of location.
+     * 
+     * @param index The location index.
+     * @return The cluster index.
+     */
+    private int getCluster(int index)
+    {
+        return index / width / size * clustersX + index % width / size;
+    }
+
+    /**
+     * Abstract graph edge.
+     */
+    private static final class Edge
+    {
+        /** Source node key. */
+        private final int from;
+        /** Destination node key. */
+        private final int to;
+        /** Path cost. */
+        private final double cost;
+        /** Path steps location index, without source. */
+        private final int[] steps;
+
+        /**
+         * Create edge.
+         * 
+         * @param from The source node key.
+         * @param to The destination node key.
+         * @param cost The path cost.
+         * @param steps The path steps location index, without source.
+         */
+        Edge(int from, int to, double cost, int[] steps)
+        {
+            super();
+
+            this.from = from;
+            this.to = to;
+            this.cost = cost;
+            this.steps = steps;
+        }
+    }
+
+    /**
+     * Abstract search open node.
+     */
+    private static final class Open implements Comparable<Open>
+    {
+        /** Node key. */
+        private final int key;
+        /** Cost from start. */
+        private final double cost;
+        /** Estimated total cost. */
+        private final double estimate;
+
+        /**
+         * Create open node.
+         * 
+         * @param key The node key.
+         * @param cost The cost from start.
+         * @param estimate The estimated total cost.
+         */
+        Open(int key, double cost, double estimate)
+        {
+            super();
+
+            this.key = key;
+            this.cost = cost;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public int compareTo(Open other)
+        {
+            return Double.compare(estimate, other.estimate);
+        }
+    }
+
+    /**
+     * Graph limited to a cluster area.
+     */
+    private static final class Bounded implements PathGraph
+    {
+        /** Map graph. */
+        private final PathGraph graph;
+        /** Minimum horizontal location. */
+        private int minX;
+        /** Minimum vertical location. */
+        private int minY;
+        /** Maximum horizontal location. */
+        private int maxX;
+        /** Maximum vertical location. */
+        private int maxY;
+        /** Ignore objects id. */
+        private boolean ignoreObjectsId;
+
+        /**
+         * Create graph.
+         * 
+         * @param graph The map graph.
+         */
+        Bounded(PathGraph graph)
+        {
+            super();
+
+            this.graph = graph;
+        }
+
+        /**
+         * Set area.
+         * 
+         * @param minX The minimum horizontal location.
+         * @param minY The minimum vertical location.
+         * @param maxX The maximum horizontal location.
+         * @param maxY The maximum vertical location.
+         * @param ignoreObjectsId <code>true</code> to ignore objects ids from checking.
+         */
+        void set(int minX, int minY, int maxX, int maxY, boolean ignoreObjectsId)
+        {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.ignoreObjectsId = ignoreObjectsId;
+        }
+
+        /*
+         * PathGraph
+         */
+
+        @Override
+        public int getInTileWidth()
+        {
+            return graph.getInTileWidth();
+        }
+
+        @Override
+        public int getInTileHeight()
+        {
+            return graph.getInTileHeight();
+        }
+
+        @Override
+        public int getInTileRadius()
+        {
+            return graph.getInTileRadius();
+        }
+
+        @Override
+        public String getCategory(int tx, int ty)
+        {
+            return graph.getCategory(tx, ty);
+        }
+
+        @Override
+        public boolean isBlocked(Pathfindable mover, int tx, int ty, boolean ignoreObjectsId)
+        {
+            return tx < minX
+                   || ty < minY
+                   || tx > maxX
+                   || ty > maxY
+                   || graph.isBlocked(mover, tx, ty, ignoreObjectsId || this.ignoreObjectsId);
+        }
+
+        @Override
+        public double getCost(Pathfindable mover, int tx, int ty)
+        {
+            return graph.getCost(mover, tx, ty);
+        }
+
+        @Override
+        public CoordTile getClosestAvailableTile(Pathfindable mover, int stx, int sty, int dtx, int dty, int radius)
+        {
+            return null;
+        }
+    }
+}
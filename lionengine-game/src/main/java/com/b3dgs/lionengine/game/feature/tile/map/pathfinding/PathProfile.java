@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Path configuration of a mover for each map category. Movers sharing a profile get the same search results, so
+ * precomputed search data can be shared between them.
+ */
+final class PathProfile
+{
+    /** Categories cost. */
+    private final double[] costs;
+    /** Categories blocking state. */
+    private final boolean[] blocking;
+    /** Categories allowed movements. */
+    private final boolean[] movements;
+
+    /**
+     * Create profile.
+     * 
+     * @param mover The mover reference.
+     * @param categories The map categories.
+     */
+    PathProfile(Pathfindable mover, Collection<String> categories)
+    {
+        super();
+
+        final MovementTile[] values = MovementTile.values();
+        costs = new double[categories.size()];
+        blocking = new boolean[categories.size()];
+        movements = new boolean[categories.size() * values.length];
+
+        int i = 0;
+        for (final String category : categories)
+        {
+            boolean allowed = false;
+            for (int j = 0; j < values.length; j++)
+            {
+                movements[i * values.length + j] = mover.isMovementAllowed(category, values[j]);
+                allowed = allowed || movements[i * values.length + j];
+            }
+            blocking[i] = mover.isBlocking(category);
+            // Cost is only read when leaving a tile
+            if (allowed)
+            {
+                costs[i] = mover.getCost(category);
+            }
+            i++;
+        }
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public int hashCode()
+    {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Arrays.hashCode(costs);
+        result = prime * result + Arrays.hashCode(blocking);
+        result = prime * result + Arrays.hashCode(movements);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || object.getClass() != getClass())
+        {
+            return false;
+        }
+        final PathProfile other = (PathProfile) object;
+        return Arrays.equals(costs, other.costs)
+               && Arrays.equals(blocking, other.blocking)
+               && Arrays.equals(movements, other.movements);
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * Asynchronous path requests service. Requests are batched and searched on a worker pool against a
+ * {@link MapTilePathSnapshot} of the map, and results are assigned with
+ * {@link Pathfindable#setDestination(int, int, Path)} on a later {@link #update(double)}, which must be called from the
+ * game thread at the beginning of each tick.
+ * <p>
+ * Time spent by {@link #update(double)} on game thread is limited by {@link #setBudget(double)}, including the map
+ * snapshot copy, which may be spread over several ticks on large maps. Snapshots are reused once their searches are
+ * done, only map rows changed since their last copy being copied again. When created without worker, searches are
+ * performed during {@link #update(double)} within this budget.
+ * </p>
+ * <p>
+ * Searches only read the {@link Pathfindable} path configuration from worker threads
+ * ({@link Pathfindable#isMovementAllowed(String, MovementTile)}, {@link Pathfindable#getCost(String)},
+ * {@link Pathfindable#isBlocking(String)}).
+ * </p>
+ * <p>
+ * The {@link Services} must provide the following services:
+ * </p>
+ * <ul>
+ * <li>{@link MapTile}, with the {@link MapTilePath} feature</li>
+ * </ul>
+ */
+public class PathRequestService implements Updatable
+{
+    /** Default budget per tick in milli. */
+    public static final double DEFAULT_BUDGET_MILLI = 2.0;
+    /** Default workers number. */
+    private static final int DEFAULT_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /** Last request per pathfindable, not yet delivered. */
+    private final Map<Pathfindable, Request> requests = new HashMap<>();
+    /** Requests waiting to be searched. */
+    private final Queue<Request> pending = new ArrayDeque<>();
+    /** Requests searched, waiting to be delivered. */
+    private final Queue<Request> completed = new ConcurrentLinkedQueue<>();
+    /** Snapshots not used by searches, available for next copy. */
+    private final Queue<MapTilePathSnapshot> snapshots = new ConcurrentLinkedQueue<>();
+    /** Map reference. */
+    private final MapTile map;
+    /** Path finder reference. */
+    private final PathFinderImpl pathFinder;
+    /** Workers pool (<code>null</code> if searching on game thread). */
+    private final ExecutorService executor;
+    /** Snapshot being copied (<code>null</code> if none). */
+    private MapTilePathSnapshot snapshot;
+    /** Budget per tick in nano. */
+    private long budget = (long) (DEFAULT_BUDGET_MILLI * Constant.NANO_TO_MILLI);
+
+    /**
+     * Create service with default workers number.
+     * <p>
+     * The {@link Services} must provide the following services:
+     * </p>
+     * <ul>
+     * <li>{@link MapTile}, with the {@link MapTilePath} feature</li>
+     * </ul>
+     * 
+     * @param services The services reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments or missing service.
+     */
+    public PathRequestService(Services services)
+    {
+        this(services, DEFAULT_WORKERS);
+    }
+
+    /**
+     * Create service.
+     * <p>
+     * The {@link Services} must provide the following services:
+     * </p>
+     * <ul>
+     * <li>{@link MapTile}, with the {@link MapTilePath} feature</li>
+     * </ul>
+     * 
+     * @param services The services reference (must not be <code>null</code>).
+     * @param workers The workers number (0 to search on game thread during {@link #update(double)}).
+     * @throws LionEngineException If invalid arguments or missing service.
+     */
+    public PathRequestService(Services services, int workers)
+    {
+        super();
+
+        Check.notNull(services);
+        Check.superiorOrEqual(workers, 0);
+
+        map = services.get(MapTile.class);
+        final int range = (int) Math.sqrt(map.getInTileWidth() * map.getInTileWidth()
+                                          + map.getInTileHeight() * (double) map.getInTileHeight());
+        pathFinder = new PathFinderImpl(map, range, Astar.createHeuristicClosest());
+
+        if (workers > 0)
+        {
+            executor = Executors.newFixedThreadPool(workers, runnable ->
+            {
+                final Thread thread = new Thread(runnable, PathRequestService.class.getSimpleName());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        else
+        {
+            executor = null;
+        }
+    }
+
+    /**
+     * Request a path to destination. Replaces any previous request of this pathfindable not yet delivered.
+     * 
+     * @param pathfindable The pathfindable reference (must not be <code>null</code>).
+     * @param tx The horizontal destination in tile.
+     * @param ty The vertical destination in tile.
+     * @throws LionEngineException If invalid argument.
+     */
+    public void request(Pathfindable pathfindable, int tx, int ty)
+    {
+        Check.notNull(pathfindable);
+
+        final Request request = new Request(pathfindable, tx, ty);
+        requests.put(pathfindable, request);
+        pending.add(request);
+    }
+
+    /**
+     * Cancel the pending request of this pathfindable. Does nothing if none.
+     * 
+     * @param pathfindable The pathfindable reference.
+     */
+    public void cancel(Pathfindable pathfindable)
+    {
+        requests.remove(pathfindable);
+    }
+
+    /**
+     * Set the maximum time spent per tick by {@link #update(double)}. At least one request is handled per tick.
+     * 
+     * @param milli The budget in milli (must be superior or equal to 0).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setBudget(double milli)
+    {
+        Check.superiorOrEqual(milli, 0.0);
+
+        budget = (long) (milli * Constant.NANO_TO_MILLI);
+    }
+
+    /**
+     * Get the number of requests not yet delivered.
+     * 
+     * @return The requests number.
+     */
+    public int getRequestsCount()
+    {
+        return requests.size();
+    }
+
+    /**
+     * Stop workers. Requests not yet delivered are discarded.
+     */
+    public void dispose()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
+        requests.clear();
+        pending.clear();
+        completed.clear();
+        snapshots.clear();
+        snapshot = null;
+    }
+
+    /**
+     * Check if request is still the last one of its pathfindable.
+     * 
+     * @param request The request to check.
+     * @return <code>true</code> if last, <code>false</code> if replaced or cancelled.
+     */
+    private boolean isLast(Request request)
+    {
+        return requests.get(request.pathfindable) == request;
+    }
+
+    /**
+     * Deliver completed requests within budget.
+     * 
+     * @param start The tick start time in nano.
+     */
+    private void deliver(long start)
+    {
+        int count = 0;
+        while (!completed.isEmpty() && (count == 0 || System.nanoTime() - start < budget))
+        {
+            final Request request = completed.poll();
+            if (isLast(request))
+            {
+                requests.remove(request.pathfindable);
+                request.pathfindable.setDestination(request.tx, request.ty, request.path);
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Release a snapshot user, making it available for next copy if it was the last one. Can be called from any thread.
+     * 
+     * @param snapshot The snapshot to release.
+     */
+    private void release(MapTilePathSnapshot snapshot)
+    {
+        if (snapshot.release())
+        {
+            snapshots.add(snapshot);
+        }
+    }
+
+    /**
+     * Dispatch pending requests to workers, using a single snapshot for all of them. Snapshot is copied within budget,
+     * requests are dispatched once it is complete.
+     * 
+     * @param start The tick start time in nano.
+     */
+    private void dispatch(long start)
+    {
+        while (!pending.isEmpty() && !isLast(pending.peek()))
+        {
+            pending.poll();
+        }
+        if (pending.isEmpty())
+        {
+            return;
+        }
+        if (snapshot == null)
+        {
+            snapshot = snapshots.poll();
+            if (snapshot == null || !snapshot.isValid())
+            {
+                snapshot = new MapTilePathSnapshot(map);
+            }
+        }
+        if (!snapshot.copy(start, budget))
+        {
+            return;
+        }
+        final MapTilePathSnapshot used = snapshot;
+        used.acquire();
+        while (!pending.isEmpty())
+        {
+            final Request request = pending.poll();
+            if (isLast(request))
+            {
+                final PathGraph graph = used.getGraph(request.pathfindable);
+                final int stx = request.pathfindable.getInTileX();
+                final int sty = request.pathfindable.getInTileY();
+                used.acquire();
+                executor.execute(() -> search(request, used, graph, stx, sty));
+            }
+        }
+        release(used);
+        snapshot = null;
+    }
+
+    /**
+     * Search pending requests on game thread within budget.
+     * 
+     * @param start The tick start time in nano.
+     */
+    private void searchPending(long start)
+    {
+        int count = 0;
+        while (!pending.isEmpty() && (count == 0 || System.nanoTime() - start < budget))
+        {
+            final Request request = pending.poll();
+            if (isLast(request))
+            {
+                request.path = pathFinder.findPath(request.pathfindable, request.tx, request.ty, false);
+                completed.add(request);
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Search request path from worker, and mark it as completed.
+     * 
+     * @param request The request to search.
+     * @param snapshot The snapshot used by graph, released once searched.
+     * @param graph The pathfindable graph.
+     * @param stx The horizontal start in tile.
+     * @param sty The vertical start in tile.
+     */
+    private void search(Request request, MapTilePathSnapshot snapshot, PathGraph graph, int stx, int sty)
+    {
+        try
+        {
+            request.path = pathFinder.findPath(graph, request.pathfindable, stx, sty, request.tx, request.ty, false);
+        }
+        finally
+        {
+            release(snapshot);
+            completed.add(request);
+        }
+    }
+
+    /*
+     * Updatable
+     */
+
+    /**
+     * Deliver completed requests, then search or dispatch pending requests.
+     * 
+     * @param extrp The extrapolation value.
+     */
+    @Override
+    public void update(double extrp)
+    {
+        final long start = System.nanoTime();
+        deliver(start);
+
+        if (executor == null)
+        {
+            searchPending(start);
+        }
+        else
+        {
+            dispatch(start);
+        }
+    }
+
+    /**
+     * Path request data.
+     */
+    private static final class Request
+    {
+        /** Pathfindable reference. */
+        private final Pathfindable pathfindable;
+        /** Horizontal destination. */
+        private final int tx;
+        /** Vertical destination. */
+        private final int ty;
+        /** Path found (<code>null</code> if none). */
+        private Path path;
+
+        /**
+         * Create request.
+         * 
+         * @param pathfindable The pathfindable reference.
+         * @param tx The horizontal destination.
+         * @param ty The vertical destination.
+         */
+        Request(Pathfindable pathfindable, int tx, int ty)
+        {
+            super();
+
+            this.pathfindable = pathfindable;
+            this.tx = tx;
+            this.ty = ty;
+        }
+    }
+}
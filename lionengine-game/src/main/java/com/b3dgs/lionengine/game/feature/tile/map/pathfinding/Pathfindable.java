@@ -110,6 +110,29 @@ public interface Pathfindable extends Tiled, Orientable, Updatable, Renderable,
      */
     boolean setDestination(int tx, int ty);
 
+    /**
+     * Assign a specified location with an already found path, such as computed by {@link PathRequestService}. Path
+     * must start at the current location. If already moving, path is used when next step is reached, or searched again
+     * if location changed meanwhile. If path is <code>null</code>, listeners are notified with
+     * {@link PathfindableListener#notifyPathNotFound(Pathfindable)}.
+     * 
+     * @param tx The horizontal location in tile.
+     * @param ty The vertical location in tile.
+     * @param path The path found to location (<code>null</code> if none).
+     * @return <code>true</code> if movement started, <code>false</code> else.
+     */
+    boolean setDestination(int tx, int ty, Path path);
+
+    /**
+     * Assign the destination of a shared flow field, following it from the current location. Same as
+     * {@link #setDestination(int, int, Path)} with the field path from the current location.
+     * 
+     * @param field The flow field to follow.
+     * @return <code>true</code> if movement started, <code>false</code> else.
+     * @see MapTilePath#getFlowField(Pathfindable, int, int)
+     */
+    boolean setDestination(FlowField field);
+
     /**
      * Set specified location in tile.
      * 
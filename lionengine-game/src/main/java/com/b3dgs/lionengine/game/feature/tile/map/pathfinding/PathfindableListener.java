@@ -41,4 +41,14 @@ public interface PathfindableListener
      * @param pathfindable The pathfindable reference.
      */
     void notifyArrived(Pathfindable pathfindable);
+
+    /**
+     * Notify listener when no path has been found for a requested destination.
+     * 
+     * @param pathfindable The pathfindable reference.
+     */
+    default void notifyPathNotFound(Pathfindable pathfindable)
+    {
+        // Nothing by default
+    }
 }
@@ -46,4 +46,10 @@ public class PathfindableListenerVoid implements PathfindableListener
     {
         // Nothing by default
     }
+
+    @Override
+    public void notifyPathNotFound(Pathfindable pathfindable)
+    {
+        // Nothing by default
+    }
 }
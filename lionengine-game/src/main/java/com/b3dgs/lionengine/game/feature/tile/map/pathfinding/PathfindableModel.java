@@ -83,8 +83,6 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     private final MapTile map = services.get(MapTile.class);
     /** Map path reference. */
     private final MapTilePath mapPath = map.getFeature(MapTilePath.class);
-    /** Pathfinder reference. */
-    private final PathFinder pathfinder;
     /** List of categories. */
     private final Map<String, PathData> categories;
     /** Orientable model. */
@@ -95,6 +93,8 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     private Transformable transformable;
     /** Last valid path found. */
     private Path path;
+    /** Path found while moving, used on next step if still valid (<code>null</code> if none). */
+    private Path pendingPath;
     /** Text debug rendering. */
     private Text text;
     /** Current step index on path. */
@@ -162,10 +162,6 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
 
         categories = PathfindableConfig.imports(setup);
         orientable = new OrientableModel(services, setup);
-
-        final int range = (int) Math.sqrt(map.getInTileWidth() * map.getInTileWidth()
-                                          + map.getInTileHeight() * (double) map.getInTileHeight());
-        pathfinder = Astar.createPathFinder(map, range, Astar.createHeuristicClosest());
     }
 
     /**
@@ -326,6 +322,24 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         destinationReached = false;
     }
 
+    /**
+     * Start moving on the new path found, and notify listeners.
+     * 
+     * @param dtx The destination horizontal tile.
+     * @param dty The destination vertical tile.
+     */
+    private void startMove(int dtx, int dty)
+    {
+        currentStep = 0;
+        pathFoundChanged = false;
+        prepareDestination(dtx, dty);
+
+        for (int i = 0; i < listenable.size(); i++)
+        {
+            listenable.get(i).notifyStartMove(this);
+        }
+    }
+
     /**
      * Move to destination.
      * 
@@ -419,7 +433,15 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
             {
                 path.clear();
             }
-            path = pathfinder.findPath(this, destX, destY, false);
+            if (pendingPath != null && pendingPath.getX(0) == getInTileX() && pendingPath.getY(0) == getInTileY())
+            {
+                path = pendingPath;
+            }
+            else
+            {
+                path = mapPath.getPathFinder().findPath(this, destX, destY, false);
+            }
+            pendingPath = null;
             pathFoundChanged = false;
             currentStep = 0;
             skip = false;
@@ -719,26 +741,57 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         {
             // New first path, when object is not moving
             // CHECKSTYLE IGNORE LINE: InnerAssignment
-            if (path == null && (path = pathfinder.findPath(this, tx, ty, false)) != null)
+            if (path == null && (path = mapPath.getPathFinder().findPath(this, tx, ty, false)) != null)
             {
-                currentStep = 0;
-                pathFoundChanged = false;
-                prepareDestination(tx, ty);
+                startMove(tx, ty);
+                return true;
+            }
 
-                for (int i = 0; i < listenable.size(); i++)
-                {
-                    listenable.get(i).notifyStartMove(this);
-                }
+            // Next path, while object is moving, change takes effect when the object reached a step point
+            prepareDestination(tx, ty);
+            pendingPath = null;
+            pathFoundChanged = true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean setDestination(int tx, int ty, Path found)
+    {
+        if (found == null)
+        {
+            for (int i = 0; i < listenable.size(); i++)
+            {
+                listenable.get(i).notifyPathNotFound(this);
+            }
+            return false;
+        }
+        if (getInTileX() != tx || getInTileY() != ty)
+        {
+            // New first path, when object is not moving
+            if (path == null)
+            {
+                path = found;
+                startMove(tx, ty);
                 return true;
             }
 
             // Next path, while object is moving, change takes effect when the object reached a step point
             prepareDestination(tx, ty);
+            pendingPath = found;
             pathFoundChanged = true;
         }
         return false;
     }
 
+    @Override
+    public boolean setDestination(FlowField field)
+    {
+        return setDestination(field.getDestinationX(),
+                              field.getDestinationY(),
+                              field.getPath(getInTileX(), getInTileY()));
+    }
+
     @Override
     public void setLocation(CoordTile coord)
     {
@@ -849,7 +902,7 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     @Override
     public boolean isPathAvailable(int tx, int ty)
     {
-        final Path found = pathfinder.findPath(this, tx, ty, false);
+        final Path found = mapPath.getPathFinder().findPath(this, tx, ty, false);
         if (found != null)
         {
             found.clear();
@@ -904,6 +957,7 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         pathFoundChanged = false;
         currentStep = 0;
         path = null;
+        pendingPath = null;
         moveX = 0.0;
         moveY = 0.0;
         sharedPathIds.clear();
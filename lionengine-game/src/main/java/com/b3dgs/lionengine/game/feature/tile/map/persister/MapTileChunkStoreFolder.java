@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import java.io.IOException;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileChunkStore;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Chunks storage in a folder, one file per chunk named <code>chunk_cx_cy.bin</code>, storing the chunk size followed
+ * by the {@link MapTilePersister#saveChunk(FileWriting, int, int, int)} tiles format.
+ */
+public final class MapTileChunkStoreFolder implements MapTileChunkStore
+{
+    /** Chunk file prefix. */
+    private static final String PREFIX = "chunk";
+    /** Chunk file extension. */
+    private static final String EXTENSION = ".bin";
+    /** Save error. */
+    private static final String ERROR_SAVE = "Error on saving chunk !";
+    /** Load error. */
+    private static final String ERROR_LOAD = "Error on loading chunk !";
+
+    /** Chunks folder. */
+    private final Media folder;
+
+    /**
+     * Create store.
+     * 
+     * @param folder The existing chunks folder (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public MapTileChunkStoreFolder(Media folder)
+    {
+        super();
+
+        Check.notNull(folder);
+
+        this.folder = folder;
+    }
+
+    /**
+     * Get chunk file.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk file.
+     */
+    private Media getChunk(int cx, int cy)
+    {
+        return Medias.create(folder.getPath(),
+                             PREFIX + Constant.UNDERSCORE + cx + Constant.UNDERSCORE + cy + EXTENSION);
+    }
+
+    /*
+     * MapTileChunkStore
+     */
+
+    @Override
+    public int[] load(int cx, int cy, int size)
+    {
+        final Media media = getChunk(cx, cy);
+        if (!media.exists())
+        {
+            return null;
+        }
+        try (FileReading reading = new FileReading(media))
+        {
+            final int stored = reading.readInteger();
+            if (stored != size)
+            {
+                throw new IOException(MapTilePersisterModel.ERROR_CHUNK + stored);
+            }
+            return MapTilePersisterModel.readTiles(reading, size);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media, ERROR_LOAD);
+        }
+    }
+
+    @Override
+    public void save(int cx, int cy, int size, int[] numbers)
+    {
+        final Media media = getChunk(cx, cy);
+        try (FileWriting writing = new FileWriting(media))
+        {
+            writing.writeInteger(size);
+            MapTilePersisterModel.writeTiles(writing, numbers);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media, ERROR_SAVE);
+        }
+    }
+}
@@ -0,0 +1,619 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileChunkStore;
+import com.b3dgs.lionengine.io.FileReading;
+
+/**
+ * Map file in the versioned chunked format written by
+ * {@link MapTilePersister#save(com.b3dgs.lionengine.io.FileWriting, int)}, read through memory mapping: the file is
+ * mapped once on opening, where the header and the chunks offset table are read, and each chunk is decoded from the
+ * mapping when read, only its pages being loaded.
+ * <p>
+ * Data are stored this way:
+ * </p>
+ * 
+ * <pre>
+ * <code>(integer)</code> magic number {@value #MAGIC}
+ * <code>(short)</code> format version
+ * <code>(integer)</code> offset table position
+ * <code>(boolean)</code> has sheets configuration
+ *   <code>(short)</code> configuration path length
+ *   <code>(byte[])</code> configuration path (UTF-8)
+ * <code>(integer)</code> tile width
+ * <code>(integer)</code> tile height
+ * <code>(integer)</code> width in tile
+ * <code>(integer)</code> height in tile
+ * <code>(integer)</code> chunk size in tile
+ * for each chunk (cy * horizontal chunks + cx)
+ *   <code>(integer)</code> chunk data position
+ *   <code>(integer)</code> chunk data length (0 for chunk without tile)
+ * for each chunk with tiles
+ *   for each run of same tile numbers (ty * size + tx order)
+ *     <code>(varint)</code> run length
+ *     <code>(varint)</code> tile number + 1 (0 for no tile)
+ * </pre>
+ * <p>
+ * As a {@link MapTileChunkStore}, saved chunks are written back to the file, which is opened for writing on first save:
+ * chunk data are appended at the end of file (or written in place if fitting in the space previously appended for this
+ * chunk since opening), and their offset table entry updated. Only the offset table is overwritten in the mapped part
+ * of the file, as it is read once on opening, chunk data appended after mapping being read from the file channel.
+ * Chunk size must be the file one, and chunk must be inside map, else a {@link LionEngineException} is thrown. Saving
+ * must not be done while reading from another thread.
+ * </p>
+ */
+public final class MapTileFile implements MapTileChunkStore, Closeable
+{
+    /** Magic number. */
+    static final int MAGIC = 0x4C4D_4150;
+    /** Format version. */
+    static final short VERSION = 1;
+    /** Magic number, version and offset table position size. */
+    static final int PREFIX = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    /** Offset table entry size (position and length). */
+    static final int ENTRY = Integer.BYTES * 2;
+    /** Varint data bits per byte. */
+    private static final int VARINT_BITS = 7;
+    /** Varint data mask. */
+    private static final int VARINT_MASK = 0x7F;
+    /** Varint continuation flag. */
+    private static final int VARINT_MORE = 0x80;
+    /** Varint maximum shift. */
+    private static final int VARINT_SHIFT_MAX = 28;
+    /** Invalid format error. */
+    static final String ERROR_FORMAT = "Invalid map file: ";
+    /** Unsupported version error. */
+    static final String ERROR_VERSION = "Unsupported map file version: ";
+    /** Invalid chunk size error. */
+    static final String ERROR_CHUNK_SIZE = "Invalid chunk size: ";
+    /** Invalid chunk error. */
+    static final String ERROR_CHUNK = "Invalid chunk: ";
+    /** Load error. */
+    private static final String ERROR_LOAD = "Error on loading chunk !";
+    /** Save error. */
+    private static final String ERROR_SAVE = "Error on saving chunk !";
+
+    /**
+     * Check if media is in versioned format, by checking its magic number.
+     * 
+     * @param media The media to check (must not be <code>null</code>).
+     * @return <code>true</code> if versioned format, <code>false</code> else.
+     * @throws IOException If error on reading.
+     * @throws LionEngineException If invalid argument.
+     */
+    public static boolean isVersioned(Media media) throws IOException
+    {
+        Check.notNull(media);
+
+        try (FileReading reading = new FileReading(media))
+        {
+            return reading.readInteger() == MAGIC;
+        }
+        catch (final EOFException exception)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Encode chunk tile numbers as runs of same numbers.
+     * 
+     * @param numbers The chunk tile numbers, {@value MapTilePersisterModel#EMPTY} for no tile.
+     * @return The encoded data.
+     */
+    static byte[] encode(int[] numbers)
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int i = 0;
+        while (i < numbers.length)
+        {
+            final int number = numbers[i];
+            int run = 1;
+            while (i + run < numbers.length && numbers[i + run] == number)
+            {
+                run++;
+            }
+            writeVarint(output, run);
+            writeVarint(output, number + 1);
+            i += run;
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decode chunk tile numbers encoded by {@link #encode(int[])}.
+     * 
+     * @param data The encoded data.
+     * @param size The chunk size in tile.
+     * @return The chunk tile numbers, {@value MapTilePersisterModel#EMPTY} for no tile.
+     * @throws IOException If invalid data.
+     */
+    static int[] decode(ByteBuffer data, int size) throws IOException
+    {
+        final int[] numbers = new int[size * size];
+        int i = 0;
+        while (i < numbers.length)
+        {
+            final int run = readVarint(data);
+            final int number = readVarint(data) - 1;
+            if (run < 1 || run > numbers.length - i)
+            {
+                throw new IOException(ERROR_FORMAT + run);
+            }
+            Arrays.fill(numbers, i, i + run, number);
+            i += run;
+        }
+        return numbers;
+    }
+
+    /**
+     * Write positive value on as few bytes as possible, {@value #VARINT_BITS} bits per byte, lowest first.
+     * 
+     * @param output The output data.
+     * @param value The value to write.
+     */
+    private static void writeVarint(ByteArrayOutputStream output, int value)
+    {
+        int remaining = value;
+        while ((remaining & ~VARINT_MASK) != 0)
+        {
+            output.write(remaining & VARINT_MASK | VARINT_MORE);
+            remaining >>>= VARINT_BITS;
+        }
+        output.write(remaining);
+    }
+
+    /**
+     * Read value written by {@link #writeVarint(ByteArrayOutputStream, int)}.
+     * 
+     * @param data The input data.
+     * @return The read value.
+     * @throws IOException If invalid data.
+     */
+    private static int readVarint(ByteBuffer data) throws IOException
+    {
+        int value = 0;
+        int shift = 0;
+        try
+        {
+            int current = data.get();
+            while ((current & VARINT_MORE) != 0)
+            {
+                value |= (current & VARINT_MASK) << shift;
+                shift += VARINT_BITS;
+                if (shift > VARINT_SHIFT_MAX)
+                {
+                    throw new IOException(ERROR_FORMAT + value);
+                }
+                current = data.get();
+            }
+            return value | current << shift;
+        }
+        catch (final BufferUnderflowException exception)
+        {
+            throw new IOException(ERROR_FORMAT + data.position(), exception);
+        }
+    }
+
+    /**
+     * Map whole file.
+     * 
+     * @param channel The file channel.
+     * @return The mapped file.
+     * @throws IOException If file too large or error on mapping.
+     */
+    private static ByteBuffer map(FileChannel channel) throws IOException
+    {
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE)
+        {
+            throw new IOException(ERROR_FORMAT + size);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+    }
+
+    /**
+     * Get mapped file region, as an independent view of mapping.
+     * 
+     * @param data The mapped file.
+     * @param position The region position.
+     * @param length The region length.
+     * @return The region view.
+     * @throws IOException If region outside file.
+     */
+    private static ByteBuffer region(ByteBuffer data, long position, long length) throws IOException
+    {
+        if (position < 0 || length < 0 || position + length > data.capacity())
+        {
+            throw new IOException(ERROR_FORMAT + position + Constant.SPACE + length);
+        }
+        final ByteBuffer region = data.duplicate();
+        region.limit((int) (position + length));
+        region.position((int) position);
+        return region;
+    }
+
+    /** Map file. */
+    private final Media media;
+    /** File channel. */
+    private final FileChannel channel;
+    /** Mapped file. */
+    private final ByteBuffer data;
+    /** Sheets configuration, <code>null</code> if none. */
+    private final Media config;
+    /** Tile width. */
+    private final int tileWidth;
+    /** Tile height. */
+    private final int tileHeight;
+    /** Width in tile. */
+    private final int widthInTile;
+    /** Height in tile. */
+    private final int heightInTile;
+    /** Chunk size in tile. */
+    private final int chunkSize;
+    /** Horizontal chunks. */
+    private final int chunksH;
+    /** Vertical chunks. */
+    private final int chunksV;
+    /** Chunks data position. */
+    private final int[] positions;
+    /** Chunks data length. */
+    private final int[] lengths;
+    /** Chunks data space appended after mapping, <code>0</code> if not appended. */
+    private final int[] capacities;
+    /** Offset table position. */
+    private final int table;
+    /** File writing channel, <code>null</code> if not opened yet. */
+    private FileChannel writer;
+
+    /**
+     * Open map file, mapping it and reading its header and chunks offset table.
+     * 
+     * @param media The map file (must not be <code>null</code>).
+     * @throws IOException If error on reading or invalid format.
+     * @throws LionEngineException If invalid argument.
+     */
+    public MapTileFile(Media media) throws IOException
+    {
+        super();
+
+        Check.notNull(media);
+
+        this.media = media;
+        channel = FileChannel.open(media.getFile().toPath(), StandardOpenOption.READ);
+        try
+        {
+            data = map(channel);
+            final ByteBuffer prefix = region(data, 0, PREFIX);
+            final int magic = prefix.getInt();
+            if (magic != MAGIC)
+            {
+                throw new IOException(ERROR_FORMAT + magic);
+            }
+            final short version = prefix.getShort();
+            if (version < 1 || version > VERSION)
+            {
+                throw new IOException(ERROR_VERSION + version);
+            }
+            table = prefix.getInt();
+            final ByteBuffer header = region(data, PREFIX, table - (long) PREFIX);
+
+            if (header.get() != 0)
+            {
+                final byte[] path = new byte[header.getShort() & 0xFFFF];
+                header.get(path);
+                config = Medias.create(new String(path, StandardCharsets.UTF_8));
+            }
+            else
+            {
+                config = null;
+            }
+            tileWidth = header.getInt();
+            tileHeight = header.getInt();
+            widthInTile = header.getInt();
+            heightInTile = header.getInt();
+            chunkSize = header.getInt();
+            if (tileWidth < 1 || tileHeight < 1 || widthInTile < 0 || heightInTile < 0 || chunkSize < 1)
+            {
+                throw new IOException(ERROR_FORMAT + chunkSize);
+            }
+            chunksH = (widthInTile + chunkSize - 1) / chunkSize;
+            chunksV = (heightInTile + chunkSize - 1) / chunkSize;
+            final int count = chunksH * chunksV;
+
+            final ByteBuffer offsets = region(data, table, (long) count * ENTRY);
+            positions = new int[count];
+            lengths = new int[count];
+            capacities = new int[count];
+            for (int i = 0; i < count; i++)
+            {
+                positions[i] = offsets.getInt();
+                lengths[i] = offsets.getInt();
+            }
+        }
+        catch (final IOException exception)
+        {
+            channel.close();
+            throw exception;
+        }
+        catch (final BufferUnderflowException exception)
+        {
+            channel.close();
+            throw new IOException(ERROR_FORMAT + media, exception);
+        }
+    }
+
+    /**
+     * Read chunk tile numbers, decoded from the mapped file. Can be called from multiple threads.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk tile numbers, {@value MapTilePersisterModel#EMPTY} for no tile, <code>null</code> if chunk is
+     *         outside map or has no tile.
+     * @throws IOException If error on reading or invalid data.
+     */
+    public int[] read(int cx, int cy) throws IOException
+    {
+        if (cx < 0 || cy < 0 || cx >= chunksH || cy >= chunksV)
+        {
+            return null;
+        }
+        final int index = cy * chunksH + cx;
+        if (lengths[index] == 0)
+        {
+            return null;
+        }
+        return decode(chunk(index), chunkSize);
+    }
+
+    /**
+     * Get the sheets configuration.
+     * 
+     * @return The sheets configuration, <code>null</code> if none.
+     */
+    public Media getConfig()
+    {
+        return config;
+    }
+
+    /**
+     * Get the tile width.
+     * 
+     * @return The tile width.
+     */
+    public int getTileWidth()
+    {
+        return tileWidth;
+    }
+
+    /**
+     * Get the tile height.
+     * 
+     * @return The tile height.
+     */
+    public int getTileHeight()
+    {
+        return tileHeight;
+    }
+
+    /**
+     * Get the width in tile.
+     * 
+     * @return The width in tile.
+     */
+    public int getInTileWidth()
+    {
+        return widthInTile;
+    }
+
+    /**
+     * Get the height in tile.
+     * 
+     * @return The height in tile.
+     */
+    public int getInTileHeight()
+    {
+        return heightInTile;
+    }
+
+    /**
+     * Get the chunk size.
+     * 
+     * @return The chunk size in tile.
+     */
+    public int getChunkSize()
+    {
+        return chunkSize;
+    }
+
+    /**
+     * Get chunk data, from mapping, or from file channel if appended after mapping.
+     * 
+     * @param index The chunk index.
+     * @return The chunk data.
+     * @throws IOException If error on reading or data outside file.
+     */
+    private ByteBuffer chunk(int index) throws IOException
+    {
+        final int position = positions[index];
+        final int length = lengths[index];
+        if (position + (long) length <= data.capacity())
+        {
+            return region(data, position, length);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, (long) position + buffer.position()) < 0)
+            {
+                throw new IOException(ERROR_FORMAT + position + Constant.SPACE + length);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Write chunk data and its offset table entry. Data are written in place if fitting in the space appended after
+     * mapping for this chunk, even if its data shrunk meanwhile, else appended at the end of file.
+     * 
+     * @param index The chunk index.
+     * @param chunk The chunk data, empty for chunk without tile.
+     * @throws IOException If error on writing or file too large.
+     */
+    private void write(int index, byte[] chunk) throws IOException
+    {
+        if (writer == null)
+        {
+            writer = FileChannel.open(media.getFile().toPath(), StandardOpenOption.WRITE);
+        }
+        final int position;
+        if (chunk.length == 0 && capacities[index] == 0)
+        {
+            position = 0;
+        }
+        else if (chunk.length <= capacities[index])
+        {
+            position = positions[index];
+        }
+        else
+        {
+            final long end = writer.size();
+            if (end + chunk.length > Integer.MAX_VALUE)
+            {
+                throw new IOException(ERROR_FORMAT + end);
+            }
+            position = (int) end;
+            capacities[index] = chunk.length;
+        }
+        write(ByteBuffer.wrap(chunk), position);
+
+        final ByteBuffer entry = ByteBuffer.allocate(ENTRY);
+        entry.putInt(position);
+        entry.putInt(chunk.length);
+        entry.flip();
+        write(entry, table + (long) index * ENTRY);
+
+        positions[index] = position;
+        lengths[index] = chunk.length;
+    }
+
+    /**
+     * Write buffer fully at position.
+     * 
+     * @param buffer The buffer to write.
+     * @param position The file position.
+     * @throws IOException If error on writing.
+     */
+    private void write(ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            writer.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Check chunk size is the file one.
+     * 
+     * @param size The chunk size to check.
+     * @throws LionEngineException If different chunk size.
+     */
+    private void checkSize(int size)
+    {
+        if (size != chunkSize)
+        {
+            throw new LionEngineException(ERROR_CHUNK_SIZE + size);
+        }
+    }
+
+    /*
+     * MapTileChunkStore
+     */
+
+    @Override
+    public int[] load(int cx, int cy, int size)
+    {
+        checkSize(size);
+
+        try
+        {
+            return read(cx, cy);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, ERROR_LOAD);
+        }
+    }
+
+    @Override
+    public void save(int cx, int cy, int size, int[] numbers)
+    {
+        checkSize(size);
+        if (cx < 0 || cy < 0 || cx >= chunksH || cy >= chunksV)
+        {
+            throw new LionEngineException(ERROR_CHUNK + cx + Constant.SPACE + cy);
+        }
+
+        final boolean empty = Arrays.stream(numbers).allMatch(number -> number == MapTilePersisterModel.EMPTY);
+        try
+        {
+            write(cy * chunksH + cx, empty ? new byte[0] : encode(numbers));
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, ERROR_SAVE);
+        }
+    }
+
+    /*
+     * Closeable
+     */
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            if (writer != null)
+            {
+                writer.close();
+            }
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
@@ -16,16 +16,65 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.persister;
 
+import java.io.IOException;
+
 import com.b3dgs.lionengine.Listenable;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.Persistable;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
 
 /**
  * Handle the map persistence by providing saving and loading functions.
+ * <p>
+ * Map can be saved in the legacy streamed format with {@link #save(FileWriting)}, or in the versioned chunked format,
+ * with random access to chunks, with {@link #save(FileWriting, int)}. Both are loaded with {@link #load(Media)}.
+ * </p>
  */
 @FeatureInterface
 public interface MapTilePersister extends Feature, Persistable, Listenable<MapTilePersisterListener>
 {
-    // Marker
+    /**
+     * Save a square area of tiles, called chunk, without map header. Allows to save a map part by part.
+     * 
+     * @param output The output file (must not be <code>null</code>).
+     * @param tx The horizontal chunk origin in tile (must be positive).
+     * @param ty The vertical chunk origin in tile (must be positive).
+     * @param size The chunk size in tile (must be strictly positive).
+     * @throws IOException If error on writing.
+     * @throws LionEngineException If invalid arguments.
+     */
+    void saveChunk(FileWriting output, int tx, int ty, int size) throws IOException;
+
+    /**
+     * Load a chunk saved with {@link #saveChunk(FileWriting, int, int, int)}, on the already created map. Tiles outside
+     * map are ignored.
+     * 
+     * @param input The input file (must not be <code>null</code>).
+     * @throws IOException If error on reading.
+     * @throws LionEngineException If invalid argument.
+     */
+    void loadChunk(FileReading input) throws IOException;
+
+    /**
+     * Save map in the versioned chunked format, readable with {@link MapTileFile}.
+     * 
+     * @param output The output file (must not be <code>null</code>).
+     * @param chunkSize The chunk size in tile (must be strictly positive).
+     * @throws IOException If error on writing.
+     * @throws LionEngineException If invalid arguments.
+     */
+    void save(FileWriting output, int chunkSize) throws IOException;
+
+    /**
+     * Load map from file, in versioned chunked format or in legacy format saved with {@link #save(FileWriting)}.
+     * 
+     * @param input The input file (must not be <code>null</code>).
+     * @throws IOException If error on reading.
+     * @throws LionEngineException If invalid argument.
+     */
+    void load(Media input) throws IOException;
 }
@@ -17,10 +17,14 @@
 package com.b3dgs.lionengine.game.feature.tile.map.persister;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.ListenableModel;
+import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.game.FeatureProvider;
 import com.b3dgs.lionengine.game.feature.Featurable;
@@ -37,6 +41,90 @@ public class MapTilePersisterModel extends FeatureAbstract implements MapTilePer
 {
     /** Number of horizontal tiles to make a bloc. Used to reduce saved map file size. */
     protected static final int BLOC_SIZE = Constant.UNSIGNED_BYTE;
+    /** Empty tile number in chunk. */
+    static final int EMPTY = -1;
+    /** Invalid chunk error. */
+    static final String ERROR_CHUNK = "Invalid chunk data: ";
+
+    /**
+     * Write chunk tiles. Data are saved this way:
+     * 
+     * <pre>
+     * <code>(integer)</code> number of tiles in chunk
+     * for each tile in chunk
+     *   <code>(integer)</code> tile index in chunk (ty * size + tx)
+     *   <code>(integer)</code> tile number
+     * </pre>
+     * 
+     * @param output The output file.
+     * @param numbers The chunk tile numbers, {@value #EMPTY} for no tile.
+     * @throws IOException If error on writing.
+     */
+    static void writeTiles(FileWriting output, int[] numbers) throws IOException
+    {
+        int count = 0;
+        for (final int number : numbers)
+        {
+            if (number != EMPTY)
+            {
+                count++;
+            }
+        }
+        output.writeInteger(count);
+        for (int i = 0; i < numbers.length; i++)
+        {
+            if (numbers[i] != EMPTY)
+            {
+                output.writeInteger(i);
+                output.writeInteger(numbers[i]);
+            }
+        }
+    }
+
+    /**
+     * Read chunk tiles written by {@link #writeTiles(FileWriting, int[])}.
+     * 
+     * @param input The input file.
+     * @param size The chunk size in tile.
+     * @return The chunk tile numbers, {@value #EMPTY} for no tile.
+     * @throws IOException If error on reading or invalid data.
+     */
+    static int[] readTiles(FileReading input, int size) throws IOException
+    {
+        final int count = input.readInteger();
+        if (size < 1 || count < 0 || count > size * size)
+        {
+            throw new IOException(ERROR_CHUNK + size + Constant.SPACE + count);
+        }
+        final int[] numbers = new int[size * size];
+        Arrays.fill(numbers, EMPTY);
+        for (int i = 0; i < count; i++)
+        {
+            final int index = input.readInteger();
+            final int number = input.readInteger();
+            if (index < 0 || index >= numbers.length || number < 0)
+            {
+                throw new IOException(ERROR_CHUNK + index + Constant.SPACE + number);
+            }
+            numbers[index] = number;
+        }
+        return numbers;
+    }
+
+    /**
+     * Write bytes.
+     * 
+     * @param output The output file.
+     * @param data The bytes to write.
+     * @throws IOException If error on writing.
+     */
+    private static void writeBytes(FileWriting output, byte[] data) throws IOException
+    {
+        for (final byte b : data)
+        {
+            output.writeByte(b);
+        }
+    }
 
     /** Listeners. */
     private final ListenableModel<MapTilePersisterListener> listenable = new ListenableModel<>();
@@ -100,6 +188,84 @@ public class MapTilePersisterModel extends FeatureAbstract implements MapTilePer
         map.setTile(tx, ty, number);
     }
 
+    /**
+     * Get chunk tile numbers.
+     * 
+     * @param tx The horizontal chunk origin in tile.
+     * @param ty The vertical chunk origin in tile.
+     * @param size The chunk size in tile.
+     * @return The chunk tile numbers, {@value #EMPTY} for no tile.
+     */
+    private int[] getNumbers(int tx, int ty, int size)
+    {
+        final int[] numbers = new int[size * size];
+        for (int y = 0; y < size; y++)
+        {
+            for (int x = 0; x < size; x++)
+            {
+                final Tile tile = map.getTile(tx + x, ty + y);
+                numbers[y * size + x] = tile != null ? tile.getNumber() : EMPTY;
+            }
+        }
+        return numbers;
+    }
+
+    /**
+     * Set chunk tile numbers, ignoring tiles outside map.
+     * 
+     * @param tx The horizontal chunk origin in tile.
+     * @param ty The vertical chunk origin in tile.
+     * @param size The chunk size in tile.
+     * @param numbers The chunk tile numbers, {@value #EMPTY} for no tile.
+     */
+    private void setNumbers(int tx, int ty, int size, int[] numbers)
+    {
+        for (int i = 0; i < numbers.length; i++)
+        {
+            final int x = tx + i % size;
+            final int y = ty + i / size;
+            if (numbers[i] != EMPTY && x < map.getInTileWidth() && y < map.getInTileHeight())
+            {
+                map.setTile(x, y, numbers[i]);
+            }
+        }
+    }
+
+    /**
+     * Load map from versioned file.
+     * 
+     * @param input The input file.
+     * @throws IOException If error on reading.
+     */
+    private void loadVersioned(Media input) throws IOException
+    {
+        try (MapTileFile file = new MapTileFile(input))
+        {
+            if (file.getConfig() != null)
+            {
+                map.loadSheets(file.getConfig());
+            }
+            map.create(file.getTileWidth(), file.getTileHeight(), file.getInTileWidth(), file.getInTileHeight());
+
+            final int size = file.getChunkSize();
+            for (int cy = 0; cy * size < map.getInTileHeight(); cy++)
+            {
+                for (int cx = 0; cx * size < map.getInTileWidth(); cx++)
+                {
+                    final int[] numbers = file.read(cx, cy);
+                    if (numbers != null)
+                    {
+                        setNumbers(cx * size, cy * size, size, numbers);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < listenable.size(); i++)
+        {
+            listenable.get(i).notifyMapLoaded();
+        }
+    }
+
     /**
      * Count the active tiles.
      * 
@@ -160,6 +326,123 @@ public class MapTilePersisterModel extends FeatureAbstract implements MapTilePer
         map = provider.getFeature(MapTileSurface.class);
     }
 
+    @Override
+    public void saveChunk(FileWriting output, int tx, int ty, int size) throws IOException
+    {
+        Check.notNull(output);
+        Check.superiorOrEqual(tx, 0);
+        Check.superiorOrEqual(ty, 0);
+        Check.superiorStrict(size, 0);
+
+        output.writeInteger(tx);
+        output.writeInteger(ty);
+        output.writeInteger(size);
+        writeTiles(output, getNumbers(tx, ty, size));
+    }
+
+    @Override
+    public void loadChunk(FileReading input) throws IOException
+    {
+        Check.notNull(input);
+
+        final int tx = input.readInteger();
+        final int ty = input.readInteger();
+        final int size = input.readInteger();
+        setNumbers(tx, ty, size, readTiles(input, size));
+    }
+
+    /**
+     * Save map in the versioned chunked format, described by {@link MapTileFile}. Each chunk is encoded as runs of same
+     * tile numbers, chunks without tile are not stored.
+     * 
+     * @param output The output file (must not be <code>null</code>).
+     * @param chunkSize The chunk size in tile (must be strictly positive).
+     * @throws IOException If error on writing.
+     * @throws LionEngineException If invalid arguments.
+     */
+    @Override
+    public void save(FileWriting output, int chunkSize) throws IOException
+    {
+        Check.notNull(output);
+        Check.superiorStrict(chunkSize, 0);
+
+        final int chunksH = (map.getInTileWidth() + chunkSize - 1) / chunkSize;
+        final int chunksV = (map.getInTileHeight() + chunkSize - 1) / chunkSize;
+        final byte[][] chunks = new byte[chunksH * chunksV][];
+        for (int cy = 0; cy < chunksV; cy++)
+        {
+            for (int cx = 0; cx < chunksH; cx++)
+            {
+                final int[] numbers = getNumbers(cx * chunkSize, cy * chunkSize, chunkSize);
+                final boolean empty = Arrays.stream(numbers).allMatch(number -> number == EMPTY);
+                chunks[cy * chunksH + cx] = empty ? new byte[0] : MapTileFile.encode(numbers);
+            }
+        }
+
+        final byte[] config;
+        if (map.getMedia() != null)
+        {
+            config = map.getMedia().getPath().getBytes(StandardCharsets.UTF_8);
+        }
+        else
+        {
+            config = null;
+        }
+        final int table = MapTileFile.PREFIX
+                          + 1
+                          + (config != null ? Short.BYTES + config.length : 0)
+                          + Integer.BYTES * 5;
+
+        // Header
+        output.writeInteger(MapTileFile.MAGIC);
+        output.writeShort(MapTileFile.VERSION);
+        output.writeInteger(table);
+        output.writeBoolean(config != null);
+        if (config != null)
+        {
+            output.writeShort((short) config.length);
+            writeBytes(output, config);
+        }
+        output.writeInteger(map.getTileWidth());
+        output.writeInteger(map.getTileHeight());
+        output.writeInteger(map.getInTileWidth());
+        output.writeInteger(map.getInTileHeight());
+        output.writeInteger(chunkSize);
+
+        // Offset table
+        int position = table + chunks.length * MapTileFile.ENTRY;
+        for (final byte[] chunk : chunks)
+        {
+            output.writeInteger(chunk.length > 0 ? position : 0);
+            output.writeInteger(chunk.length);
+            position += chunk.length;
+        }
+
+        // Chunks
+        for (final byte[] chunk : chunks)
+        {
+            writeBytes(output, chunk);
+        }
+    }
+
+    @Override
+    public void load(Media input) throws IOException
+    {
+        Check.notNull(input);
+
+        if (MapTileFile.isVersioned(input))
+        {
+            loadVersioned(input);
+        }
+        else
+        {
+            try (FileReading reading = new FileReading(input))
+            {
+                load(reading);
+            }
+        }
+    }
+
     @Override
     public void addListener(MapTilePersisterListener listener)
     {
@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.viewer;
 
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.game.feature.Displayable;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
@@ -44,4 +45,21 @@ public interface MapTileViewer extends Displayable, MapTileRenderer
      * Remove all renderers.
      */
     void clear();
+
+    /**
+     * Set the rendering cache. Map is split in square chunks of tiles, each one rendered once with all renderers in an
+     * image buffer, and drawn with a single call while unchanged. A chunk is rendered again once one of its tiles is
+     * set. Suited to renderers output depending only on tiles, else {@link #invalidateCache()} must be called when it
+     * changes.
+     * 
+     * @param chunkSize The chunk size in tile, <code>0</code> to disable cache (must be positive).
+     * @param maxChunks The maximum cached chunks, least recently drawn disposed first (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    void setCache(int chunkSize, int maxChunks);
+
+    /**
+     * Dispose cached chunks, rendered again on next rendering. Renderers changes invalidate cache automatically.
+     */
+    void invalidateCache();
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.viewer;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+
+/**
+ * Map rendering cache, drawing square chunks of tiles with all renderers once in an image buffer, then drawing each
+ * visible chunk with a single call. A chunk is rendered again only once one of its tiles has been set. Cached chunks
+ * are bounded, the least recently drawn one being disposed.
+ */
+final class MapTileViewerCache implements TileSetListener
+{
+    /** Chunks map initial capacity. */
+    private static final int CAPACITY = 16;
+    /** Chunks map load factor. */
+    private static final float LOAD_FACTOR = 0.75F;
+
+    /**
+     * Get chunk key.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk key.
+     */
+    private static Long key(int cx, int cy)
+    {
+        return Long.valueOf((long) cx << Integer.SIZE | cy & 0xFFFF_FFFFL);
+    }
+
+    /** Cached chunks, in drawing order (key is the chunk location). */
+    private final Map<Long, ImageBuffer> chunks = new LinkedHashMap<>(CAPACITY, LOAD_FACTOR, true);
+    /** Map tile surface. */
+    private final MapTileSurface map;
+    /** Map tiles renderers. */
+    private final Collection<MapTileRenderer> renderers;
+    /** Chunk size in tile. */
+    private final int chunkSize;
+    /** Maximum cached chunks. */
+    private final int maxChunks;
+    /** Tile width of cached chunks. */
+    private int tileWidth;
+    /** Tile height of cached chunks. */
+    private int tileHeight;
+    /** Map width in tile of cached chunks. */
+    private int widthInTile;
+    /** Map height in tile of cached chunks. */
+    private int heightInTile;
+
+    /**
+     * Create cache.
+     * 
+     * @param map The map tile surface.
+     * @param renderers The map tiles renderers.
+     * @param chunkSize The chunk size in tile.
+     * @param maxChunks The maximum cached chunks.
+     */
+    MapTileViewerCache(MapTileSurface map, Collection<MapTileRenderer> renderers, int chunkSize, int maxChunks)
+    {
+        super();
+
+        this.map = map;
+        this.renderers = renderers;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    /**
+     * Render chunks covering tiles area.
+     * 
+     * @param g The graphic output.
+     * @param sx The first horizontal tile in map.
+     * @param sy The first vertical tile in map.
+     * @param ex The last horizontal tile in map.
+     * @param ey The last vertical tile in map.
+     * @param viewX The horizontal view offset.
+     * @param viewY The vertical view offset.
+     */
+    void render(Graphic g, int sx, int sy, int ex, int ey, double viewX, double viewY)
+    {
+        checkMap();
+
+        final int width = chunkSize * tileWidth;
+        final int height = chunkSize * tileHeight;
+        for (int cy = sy / chunkSize; cy <= ey / chunkSize; cy++)
+        {
+            for (int cx = sx / chunkSize; cx <= ex / chunkSize; cx++)
+            {
+                final int x = (int) Math.round(cx * width - viewX);
+                final int y = (int) Math.round(viewY - (cy + 1) * height);
+                g.drawImage(getChunk(cx, cy), x, y);
+            }
+        }
+    }
+
+    /**
+     * Dispose all cached chunks.
+     */
+    void invalidate()
+    {
+        for (final ImageBuffer buffer : chunks.values())
+        {
+            buffer.dispose();
+        }
+        chunks.clear();
+    }
+
+    /**
+     * Invalidate cache if map size has changed since chunks rendering.
+     */
+    private void checkMap()
+    {
+        if (tileWidth != map.getTileWidth()
+            || tileHeight != map.getTileHeight()
+            || widthInTile != map.getInTileWidth()
+            || heightInTile != map.getInTileHeight())
+        {
+            invalidate();
+            tileWidth = map.getTileWidth();
+            tileHeight = map.getTileHeight();
+            widthInTile = map.getInTileWidth();
+            heightInTile = map.getInTileHeight();
+        }
+    }
+
+    /**
+     * Get chunk, rendered if not cached.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk buffer.
+     */
+    private ImageBuffer getChunk(int cx, int cy)
+    {
+        final Long key = key(cx, cy);
+        ImageBuffer buffer = chunks.get(key);
+        if (buffer == null)
+        {
+            buffer = renderChunk(cx, cy);
+            chunks.put(key, buffer);
+
+            final Iterator<ImageBuffer> iterator = chunks.values().iterator();
+            while (chunks.size() > maxChunks)
+            {
+                iterator.next().dispose();
+                iterator.remove();
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Render chunk tiles with all renderers.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk buffer.
+     */
+    private ImageBuffer renderChunk(int cx, int cy)
+    {
+        final ImageBuffer buffer = Graphics.createImageBuffer(chunkSize * tileWidth,
+                                                              chunkSize * tileHeight,
+                                                              ColorRgba.TRANSPARENT);
+        final Graphic g = buffer.createGraphic();
+        final int startX = cx * chunkSize;
+        final int startY = cy * chunkSize;
+        final int endX = Math.min(startX + chunkSize, widthInTile);
+        final int endY = Math.min(startY + chunkSize, heightInTile);
+
+        for (int ty = startY; ty < endY; ty++)
+        {
+            final int y = (chunkSize - 1 - ty + startY) * tileHeight;
+            for (int tx = startX; tx < endX; tx++)
+            {
+                final Tile tile = map.getTile(tx, ty);
+                if (tile != null)
+                {
+                    final int x = (tx - startX) * tileWidth;
+                    for (final MapTileRenderer renderer : renderers)
+                    {
+                        renderer.renderTile(g, tile, x, y);
+                    }
+                }
+            }
+        }
+        g.dispose();
+        return buffer;
+    }
+
+    /*
+     * TileSetListener
+     */
+
+    @Override
+    public void onTileSet(Tile tile)
+    {
+        final ImageBuffer buffer = chunks.remove(key(tile.getInTileX() / chunkSize, tile.getInTileY() / chunkSize));
+        if (buffer != null)
+        {
+            buffer.dispose();
+        }
+    }
+}
@@ -18,7 +18,9 @@ package com.b3dgs.lionengine.game.feature.tile.map.viewer;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Optional;
 
+import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.game.FeatureProvider;
@@ -29,10 +31,12 @@ import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
 import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.engine.DirtyRegion;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 
 /**
- * Map tile renderer default implementation.
+ * Map tile renderer default implementation. Rendering is done tile by tile, or by cached chunks of tiles once
+ * enabled with {@link #setCache(int, int)}.
  */
 public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
 {
@@ -40,9 +44,17 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
     private final Collection<MapTileRenderer> renderers = new ArrayList<>();
     /** Viewer reference. */
     private final Viewer viewer;
+    /** Dirty region, where set tiles are marked. */
+    private final Optional<DirtyRegion> dirty;
 
     /** Map tile surface. */
     private MapTileSurface map;
+    /** Rendering cache, <code>null</code> if disabled. */
+    private MapTileViewerCache cache;
+    /** Cache chunk size in tile, <code>0</code> if disabled. */
+    private int cacheChunkSize;
+    /** Maximum cached chunks. */
+    private int cacheMaxChunks;
 
     /**
      * Create feature.
@@ -58,6 +70,9 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
      * <ul>
      * <li>{@link Viewer}</li>
      * </ul>
+     * <p>
+     * If {@link Services} provides a {@link DirtyRegion}, set tiles areas are marked in it.
+     * </p>
      * 
      * @param services The services reference (must not be <code>null</code>).
      * @throws LionEngineException If invalid argument.
@@ -67,6 +82,19 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
         super();
 
         viewer = services.get(Viewer.class);
+        dirty = services.getOptional(DirtyRegion.class);
+    }
+
+    /**
+     * Mark tile area on screen as dirty.
+     * 
+     * @param tile The set tile.
+     */
+    private void markDirty(Tile tile)
+    {
+        final int x = (int) Math.floor(viewer.getViewpointX(tile.getX()));
+        final int y = (int) Math.floor(viewer.getViewpointY(tile.getY())) - tile.getHeight();
+        dirty.ifPresent(region -> region.mark(x, y, tile.getWidth() + 1, tile.getHeight() + 1));
     }
 
     /**
@@ -93,6 +121,47 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
         }
     }
 
+    /**
+     * Create rendering cache from current settings, replacing the previous one.
+     */
+    private void createCache()
+    {
+        if (cache != null)
+        {
+            map.removeListener(cache);
+            cache.invalidate();
+            cache = null;
+        }
+        if (cacheChunkSize > 0)
+        {
+            cache = new MapTileViewerCache(map, renderers, cacheChunkSize, cacheMaxChunks);
+            map.addListener(cache);
+        }
+    }
+
+    /**
+     * Render visible chunks from cache.
+     * 
+     * @param g The graphic output.
+     * @param sy The first vertical tile location.
+     * @param inTileHeight The vertical tiles to render.
+     * @param viewY The vertical view offset.
+     */
+    private void renderCache(Graphic g, int sy, int inTileHeight, double viewY)
+    {
+        final int inTileWidth = (int) Math.ceil(viewer.getWidth() / (double) map.getTileWidth());
+        final int sx = (int) Math.floor((viewer.getX() + viewer.getViewX()) / map.getTileWidth());
+
+        final int minX = Math.max(0, sx);
+        final int minY = Math.max(0, sy);
+        final int maxX = Math.min(map.getInTileWidth() - 1, sx + inTileWidth);
+        final int maxY = Math.min(map.getInTileHeight() - 1, sy + inTileHeight);
+        if (minX <= maxX && minY <= maxY)
+        {
+            cache.render(g, minX, minY, maxX, maxY, viewer.getX(), viewY);
+        }
+    }
+
     /**
      * Render horizontal tiles.
      * 
@@ -127,24 +196,55 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
 
         map = provider.getFeature(MapTileSurface.class);
         renderers.add(this);
+        createCache();
+        if (dirty.isPresent())
+        {
+            map.addListener(this::markDirty);
+        }
     }
 
     @Override
     public void addRenderer(MapTileRenderer renderer)
     {
         renderers.add(renderer);
+        invalidateCache();
     }
 
     @Override
     public void removeRenderer(MapTileRenderer renderer)
     {
         renderers.remove(renderer);
+        invalidateCache();
     }
 
     @Override
     public void clear()
     {
         renderers.clear();
+        invalidateCache();
+    }
+
+    @Override
+    public void setCache(int chunkSize, int maxChunks)
+    {
+        Check.superiorOrEqual(chunkSize, 0);
+        Check.superiorStrict(maxChunks, 0);
+
+        cacheChunkSize = chunkSize;
+        cacheMaxChunks = maxChunks;
+        if (map != null)
+        {
+            createCache();
+        }
+    }
+
+    @Override
+    public void invalidateCache()
+    {
+        if (cache != null)
+        {
+            cache.invalidate();
+        }
     }
 
     @Override
@@ -156,12 +256,19 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
             final int sy = (int) Math.floor((viewer.getY() - viewer.getViewY()) / map.getTileHeight());
             final double viewY = viewer.getY() + viewer.getScreenHeight();
 
-            for (int v = 0; v <= inTileHeight; v++)
+            if (cache != null)
+            {
+                renderCache(g, sy, inTileHeight, viewY);
+            }
+            else
             {
-                final int ty = v + sy;
-                if (!(ty < 0 || ty >= map.getInTileHeight()))
+                for (int v = 0; v <= inTileHeight; v++)
                 {
-                    renderHorizontal(g, ty, viewY);
+                    final int ty = v + sy;
+                    if (!(ty < 0 || ty >= map.getInTileHeight()))
+                    {
+                        renderHorizontal(g, ty, viewY);
+                    }
                 }
             }
         }
@@ -20,10 +20,12 @@ import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertHashEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertHashNotEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import com.b3dgs.lionengine.Randomizer;
 import com.b3dgs.lionengine.Range;
 import com.b3dgs.lionengine.UtilMath;
 
@@ -80,6 +82,28 @@ final class DamagesTest
         }
     }
 
+    /**
+     * Test random from seeded randomizer.
+     */
+    @Test
+    void testRandomizer()
+    {
+        final Damages damages = new Damages(1, 5);
+        final Randomizer first = new Randomizer(42L);
+        final Randomizer second = new Randomizer(42L);
+
+        for (int i = 0; i < 100; i++)
+        {
+            final int damage = damages.getRandom(first);
+
+            assertTrue(UtilMath.isBetween(damage, 1, 5));
+            assertEquals(damage, damages.getLast());
+            assertEquals(damage, damages.getRandom(second));
+        }
+
+        assertThrows(() -> damages.getRandom(null), "Unexpected null argument !");
+    }
+
     /**
      * Test constructor with negative values.
      */
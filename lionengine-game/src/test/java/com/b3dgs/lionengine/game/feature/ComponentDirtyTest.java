@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Animation;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.ViewerMock;
+import com.b3dgs.lionengine.graphic.engine.DirtyRegion;
+
+/**
+ * Test {@link ComponentDirty}.
+ */
+final class ComponentDirtyTest
+{
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTransformable.createMedia(ComponentDirtyTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final ViewerMock viewer = services.add(new ViewerMock());
+    private final DirtyRegion region = services.add(new DirtyRegion());
+
+    /**
+     * Test the marked areas.
+     */
+    @Test
+    void testMark()
+    {
+        region.setSize(320, 240);
+        final ComponentDirty component = new ComponentDirty(services);
+        component.update(1.0, null);
+
+        assertEquals(320, region.getWidth());
+
+        region.clear();
+        component.update(1.0, null);
+
+        assertFalse(region.isDirty());
+
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        final Animatable animatable = featurable.addFeatureAndGet(new AnimatableModel(services, setup));
+        transformable.teleport(100.0, 100.0);
+        component.notifyHandlableAdded(featurable);
+
+        assertEquals(84, region.getX());
+        assertEquals(108, region.getY());
+        assertEquals(33, region.getWidth());
+        assertEquals(65, region.getHeight());
+
+        region.clear();
+        transformable.moveLocation(1.0, 50.0, 0.0);
+
+        assertEquals(84, region.getX());
+        assertEquals(108, region.getY());
+        assertEquals(83, region.getWidth());
+        assertEquals(65, region.getHeight());
+
+        region.clear();
+        animatable.play(new Animation("anim", 1, 3, 1.0, false, false));
+
+        assertEquals(134, region.getX());
+        assertEquals(33, region.getWidth());
+
+        region.clear();
+        component.notifyHandlableRemoved(featurable);
+
+        assertTrue(region.isDirty());
+
+        region.clear();
+        transformable.teleport(10.0, 10.0);
+        animatable.play(new Animation("anim", 1, 3, 1.0, false, false));
+
+        assertFalse(region.isDirty());
+
+        viewer.set(10, 0);
+        component.update(1.0, null);
+
+        assertEquals(320, region.getWidth());
+        assertEquals(240, region.getHeight());
+    }
+}
@@ -20,7 +20,10 @@ import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -29,6 +32,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import com.b3dgs.lionengine.ListenableModel;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.UtilReflection;
@@ -225,6 +229,112 @@ final class ComponentDisplayableTest
         assertEquals(0, layerable.getLayerDisplay().intValue());
     }
 
+    /**
+     * Test culling outside viewer, keeping layer and adding order.
+     */
+    @Test
+    void testCulling()
+    {
+        final ComponentDisplayable component = new ComponentDisplayable();
+        final Camera camera = new Camera();
+        camera.setView(0, 0, 100, 100, 100);
+        camera.teleport(0.0, 0.0);
+        component.setCulling(camera, 0, 64);
+
+        final List<String> rendered = new ArrayList<>();
+        final Transformable near = createTransformable(component, rendered, "near", 50.0, 50.0);
+        final Transformable far = createTransformable(component, rendered, "far", 5000.0, 5000.0);
+        createTransformable(component, rendered, "other", 20.0, 20.0);
+
+        final Featurable hud = new FeaturableModel(services, setup);
+        hud.addFeature(new DisplayableModel(g -> rendered.add("hud")));
+        component.notifyHandlableAdded(hud);
+
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("near", "other", "hud"), rendered);
+        assertEquals(3, component.getDrawn());
+        assertEquals(1, component.getCulled());
+
+        rendered.clear();
+        far.teleport(60.0, 40.0);
+        near.teleport(-5000.0, 50.0);
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("far", "other", "hud"), rendered);
+        assertEquals(1, component.getCulled());
+
+        rendered.clear();
+        component.setCulling(null, 0);
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("near", "far", "other", "hud"), rendered);
+        assertEquals(4, component.getDrawn());
+        assertEquals(0, component.getCulled());
+    }
+
+    /**
+     * Test transformable listened only while culling is enabled.
+     */
+    @Test
+    void testCullingListener()
+    {
+        final ComponentDisplayable component = new ComponentDisplayable();
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        featurable.addFeature(new DisplayableModel(g ->
+        {
+            // Mock
+        }));
+        component.notifyHandlableAdded(featurable);
+        final ListenableModel<?> listenable = UtilReflection.getField(transformable, "listenable");
+
+        assertEquals(0, listenable.size());
+
+        final Camera camera = new Camera();
+        camera.setView(0, 0, 100, 100, 100);
+        component.setCulling(camera, 0);
+
+        assertEquals(1, listenable.size());
+
+        component.setCulling(camera, 10);
+
+        assertEquals(1, listenable.size());
+
+        component.setCulling(null, 0);
+
+        assertEquals(0, listenable.size());
+
+        component.setCulling(camera, 0);
+        component.notifyHandlableRemoved(featurable);
+
+        assertEquals(0, listenable.size());
+    }
+
+    /**
+     * Create a test transformable.
+     * 
+     * @param component The component reference.
+     * @param rendered The rendered names.
+     * @param name The object name.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @return The created transformable.
+     */
+    private Transformable createTransformable(ComponentDisplayable component,
+                                              List<String> rendered,
+                                              String name,
+                                              double x,
+                                              double y)
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        featurable.addFeature(new DisplayableModel(g -> rendered.add(name)));
+        transformable.teleport(x, y);
+        component.notifyHandlableAdded(featurable);
+        return transformable;
+    }
+
     /**
      * Create a test object.
      * 
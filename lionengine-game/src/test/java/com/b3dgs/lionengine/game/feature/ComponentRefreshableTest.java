@@ -22,8 +22,11 @@ import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.util.HashSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -31,6 +34,7 @@ import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Updatable;
 import com.b3dgs.lionengine.UtilReflection;
 import com.b3dgs.lionengine.game.FeatureProvider;
 
@@ -226,6 +230,287 @@ final class ComponentRefreshableTest
         assertEquals(0, layerable.getLayerRefresh().intValue());
     }
 
+    /**
+     * Test the component with parallel update.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    void testParallel() throws InterruptedException
+    {
+        final ComponentRefreshable component = new ComponentRefreshable();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        component.setPool(pool);
+        try
+        {
+            final AtomicInteger count = new AtomicInteger();
+            final Layerable layerable = createObject(component, new AtomicInteger());
+            layerable.setLayer(Integer.valueOf(1), Integer.valueOf(1));
+            for (int i = 0; i < 1000; i++)
+            {
+                final Featurable featurable = new FeaturableModel(services, setup);
+                featurable.addFeature(new RefreshableParallel(extrp -> count.incrementAndGet()));
+                component.notifyHandlableAdded(featurable);
+            }
+            component.update(1.0, null);
+
+            assertEquals(1000, count.get());
+
+            final Featurable featurable = new FeaturableModel(services, setup);
+            featurable.addFeature(new RefreshableParallel(extrp -> count.incrementAndGet()));
+            component.notifyHandlableAdded(featurable);
+            component.update(1.0, null);
+
+            assertEquals(2001, count.get());
+        }
+        finally
+        {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(5L, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Test refreshables not parallelizable updated from caller thread, and listeners of other featurables notified from
+     * caller thread.
+     * 
+     * @throws InterruptedException If error.
+     */
+    @Test
+    void testParallelSerial() throws InterruptedException
+    {
+        final ComponentRefreshable component = new ComponentRefreshable();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        component.setPool(pool);
+        try
+        {
+            final Thread caller = Thread.currentThread();
+            final AtomicInteger serial = new AtomicInteger();
+            final AtomicInteger notified = new AtomicInteger();
+
+            final Featurable other = new FeaturableModel(services, setup);
+            final Listener listener = other.addFeatureAndGet(new Listener(caller, notified));
+            final Featurable moved = new FeaturableModel(services, setup);
+            final Transformable transformable = moved.addFeatureAndGet(new TransformableModel(services, setup));
+            transformable.addListener(listener);
+            moved.addFeature(new RefreshableParallel(extrp -> transformable.moveLocation(extrp, 1.0, 0.0)));
+            component.notifyHandlableAdded(moved);
+
+            for (int i = 0; i < 1000; i++)
+            {
+                final Featurable featurable = new FeaturableModel(services, setup);
+                featurable.addFeature(new RefreshableParallel(extrp -> Thread.yield()));
+                component.notifyHandlableAdded(featurable);
+
+                final Featurable featurableSerial = new FeaturableModel(services, setup);
+                featurableSerial.addFeature(new RefreshableModel(extrp ->
+                {
+                    if (Thread.currentThread() == caller)
+                    {
+                        serial.incrementAndGet();
+                    }
+                }));
+                component.notifyHandlableAdded(featurableSerial);
+            }
+            component.update(1.0, null);
+
+            assertEquals(1000, serial.get());
+            assertEquals(1, notified.get());
+        }
+        finally
+        {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(5L, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Test deferred notifications sent once per moved transformable, with the old state before its first move.
+     * 
+     * @throws InterruptedException If error.
+     */
+    @Test
+    void testParallelOldState() throws InterruptedException
+    {
+        final ComponentRefreshable component = new ComponentRefreshable();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        component.setPool(pool);
+        try
+        {
+            final AtomicInteger notified = new AtomicInteger();
+            final AtomicReference<String> state = new AtomicReference<>();
+
+            final Featurable moved = new FeaturableModel(services, setup);
+            final Transformable transformable = moved.addFeatureAndGet(new TransformableModel(services, setup));
+            transformable.addListener(t ->
+            {
+                notified.incrementAndGet();
+                state.set(t.getOldX() + " " + t.getX());
+            });
+            moved.addFeature(new RefreshableParallel(extrp ->
+            {
+                transformable.moveLocation(extrp, 1.0, 0.0);
+                transformable.moveLocation(extrp, 1.0, 0.0);
+            }));
+            component.notifyHandlableAdded(moved);
+
+            for (int i = 0; i < 1000; i++)
+            {
+                final Featurable featurable = new FeaturableModel(services, setup);
+                featurable.addFeature(new RefreshableParallel(extrp -> Thread.yield()));
+                component.notifyHandlableAdded(featurable);
+            }
+            component.update(1.0, null);
+
+            assertEquals(1, notified.get());
+            assertEquals("0.0 2.0", state.get());
+            assertEquals(1.0, transformable.getOldX());
+
+            component.update(1.0, null);
+
+            assertEquals(2, notified.get());
+            assertEquals("2.0 4.0", state.get());
+        }
+        finally
+        {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(5L, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Test sleeping refreshables.
+     */
+    @Test
+    void testSleep()
+    {
+        final ComponentRefreshable component = new ComponentRefreshable();
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicBoolean sleep = new AtomicBoolean();
+
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        final Sleepable sleepable = featurable.addFeatureAndGet(new SleepableModel());
+        featurable.addFeature(new RefreshableModel(extrp ->
+        {
+            count.incrementAndGet();
+            if (sleep.get())
+            {
+                sleepable.sleep(2);
+            }
+        }));
+        final Featurable other = new FeaturableModel(services, setup);
+        other.addFeature(new RefreshableModel(extrp -> count.incrementAndGet()));
+        component.notifyHandlableAdded(featurable);
+        component.notifyHandlableAdded(other);
+
+        component.update(1.0, null);
+
+        assertEquals(2, count.get());
+        assertEquals(2, component.getActive());
+        assertEquals(0, component.getSleeping());
+
+        sleepable.sleep(2);
+        component.update(1.0, null);
+
+        assertEquals(3, count.get());
+        assertEquals(1, component.getActive());
+        assertEquals(1, component.getSleeping());
+
+        component.update(1.0, null);
+
+        assertEquals(4, count.get());
+
+        component.update(1.0, null);
+
+        assertEquals(6, count.get());
+        assertEquals(2, component.getActive());
+        assertFalse(sleepable.isSleeping());
+
+        sleep.set(true);
+        component.update(1.0, null);
+        sleep.set(false);
+
+        assertEquals(8, count.get());
+        assertEquals(1, component.getSleeping());
+
+        component.update(1.0, null);
+        component.update(1.0, null);
+
+        assertEquals(10, count.get());
+
+        component.update(1.0, null);
+
+        assertEquals(12, count.get());
+
+        sleepable.sleep();
+        for (int i = 0; i < 5; i++)
+        {
+            component.update(1.0, null);
+        }
+
+        assertEquals(17, count.get());
+
+        transformable.teleport(1.0, 1.0);
+        component.update(1.0, null);
+
+        assertEquals(19, count.get());
+
+        sleepable.sleep();
+        component.update(1.0, null);
+        component.notifyHandlableRemoved(featurable);
+
+        assertEquals(1, component.getActive());
+        assertEquals(0, component.getSleeping());
+    }
+
+    /**
+     * Test refreshable added while sleeping with a delay keeps its remaining ticks.
+     */
+    @Test
+    void testSleepAdded()
+    {
+        final ComponentRefreshable component = new ComponentRefreshable();
+        final AtomicInteger count = new AtomicInteger();
+
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Sleepable sleepable = featurable.addFeatureAndGet(new SleepableModel());
+        featurable.addFeature(new RefreshableModel(extrp -> count.incrementAndGet()));
+
+        sleepable.sleep(2);
+        component.notifyHandlableAdded(featurable);
+        component.update(1.0, null);
+        component.update(1.0, null);
+
+        assertEquals(0, count.get());
+        assertEquals(1, component.getSleeping());
+
+        component.update(1.0, null);
+
+        assertEquals(1, count.get());
+        assertFalse(sleepable.isSleeping());
+
+        sleepable.sleep(4);
+        component.update(1.0, null);
+        component.update(1.0, null);
+        component.notifyHandlableRemoved(featurable);
+
+        assertEquals(2, sleepable.getSleepTicks());
+
+        final ComponentRefreshable other = new ComponentRefreshable();
+        other.notifyHandlableAdded(featurable);
+        other.update(1.0, null);
+        other.update(1.0, null);
+
+        assertEquals(1, count.get());
+
+        other.update(1.0, null);
+
+        assertEquals(2, count.get());
+        assertFalse(sleepable.isSleeping());
+        assertEquals(0, sleepable.getSleepTicks());
+    }
+
     /**
      * Create a test object.
      * 
@@ -250,4 +535,56 @@ final class ComponentRefreshableTest
 
         return layerable;
     }
+
+    /**
+     * Refreshable which can be updated concurrently.
+     */
+    @FeatureInterface
+    private static final class RefreshableParallel extends RefreshableModel implements Parallelizable
+    {
+        /**
+         * Create refreshable.
+         * 
+         * @param updatable The updatable reference.
+         */
+        RefreshableParallel(Updatable updatable)
+        {
+            super(updatable);
+        }
+    }
+
+    /**
+     * Transformable listener feature counting notifications received from expected thread.
+     */
+    @FeatureInterface
+    private static final class Listener extends FeatureAbstract implements TransformableListener
+    {
+        /** Expected thread. */
+        private final Thread thread;
+        /** Notifications count. */
+        private final AtomicInteger count;
+
+        /**
+         * Create listener.
+         * 
+         * @param thread The expected thread.
+         * @param count The notifications count.
+         */
+        Listener(Thread thread, AtomicInteger count)
+        {
+            super();
+
+            this.thread = thread;
+            this.count = count;
+        }
+
+        @Override
+        public void notifyTransformed(Transformable transformable)
+        {
+            if (Thread.currentThread() == thread)
+            {
+                count.incrementAndGet();
+            }
+        }
+    }
 }
@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Test {@link ComponentScheduler}.
+ */
+final class ComponentSchedulerTest
+{
+    /** Nano seconds in one milli second. */
+    private static final long MILLI = 1_000_000L;
+    /** Tick duration in nano seconds. */
+    private static final long TICK = 16L * MILLI;
+
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilSetup.createConfig(ComponentSchedulerTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final Handlables featurables = new HandlablesImpl();
+
+    /**
+     * Update scheduler, then advance clock by one tick.
+     * 
+     * @param scheduler The scheduler to update.
+     * @param ticks The ticks number.
+     */
+    private void update(ComponentScheduler scheduler, int ticks)
+    {
+        for (int i = 0; i < ticks; i++)
+        {
+            scheduler.update(1.0, featurables);
+            clock.addAndGet(TICK);
+        }
+    }
+
+    /**
+     * Test tasks updated at their frequency with accumulated extrapolation.
+     */
+    @Test
+    void testFrequency()
+    {
+        final ComponentScheduler scheduler = new ComponentScheduler(10.0, clock::get);
+        final Task slow = new Task(10.0, 0L);
+        final Task fast = new Task(1000.0, 0L);
+        scheduler.add(new FeaturableModel(services, setup), slow);
+        scheduler.add(new FeaturableModel(services, setup), fast);
+
+        assertEquals(0, scheduler.size());
+
+        update(scheduler, 63);
+
+        assertEquals(2, scheduler.size());
+        assertEquals(10, slow.count);
+        assertEquals(63, fast.count);
+        assertEquals(63.0, fast.extrp);
+        assertTrue(slow.extrp > 56.0 && slow.extrp <= 63.0);
+        assertEquals(0, scheduler.getDeferred());
+    }
+
+    /**
+     * Test budget spreading due tasks across ticks in turn.
+     */
+    @Test
+    void testBudget()
+    {
+        final ComponentScheduler scheduler = new ComponentScheduler(1.0, clock::get);
+        final Task[] tasks = new Task[5];
+        for (int i = 0; i < tasks.length; i++)
+        {
+            tasks[i] = new Task(60.0, MILLI);
+            scheduler.add(new FeaturableModel(services, setup), tasks[i]);
+        }
+
+        update(scheduler, 1);
+
+        assertEquals(1.0, scheduler.getBudget());
+        assertEquals(1.0, scheduler.getSpent());
+        assertEquals(4, scheduler.getDeferred());
+
+        update(scheduler, 9);
+
+        for (final Task task : tasks)
+        {
+            assertEquals(2, task.count);
+        }
+
+        scheduler.setBudget(10.0);
+        update(scheduler, 1);
+
+        assertEquals(5.0, scheduler.getSpent());
+        assertEquals(0, scheduler.getDeferred());
+    }
+
+    /**
+     * Test deterministic scheduler, depending on updates count only.
+     */
+    @Test
+    void testDeterministic()
+    {
+        final ComponentScheduler scheduler = ComponentScheduler.createDeterministic(60);
+        final Task[] tasks = new Task[5];
+        for (int i = 0; i < tasks.length; i++)
+        {
+            tasks[i] = new Task(30.0, MILLI);
+            scheduler.add(new FeaturableModel(services, setup), tasks[i]);
+        }
+
+        assertTrue(scheduler.isDeterministic());
+
+        update(scheduler, 4);
+
+        for (final Task task : tasks)
+        {
+            assertEquals(2, task.count);
+        }
+        assertEquals(0.0, scheduler.getSpent());
+        assertEquals(0, scheduler.getDeferred());
+
+        assertFalse(new ComponentScheduler().isDeterministic());
+        assertThrows(() -> ComponentScheduler.createDeterministic(0),
+                     "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test featurable schedulable features registration.
+     */
+    @Test
+    void testHandlable()
+    {
+        final ComponentScheduler scheduler = new ComponentScheduler(1.0, clock::get);
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final ScheduledRoutine routine = featurable.addFeatureAndGet(new ScheduledRoutine(services, setup));
+        final Routines routines = featurable.addFeatureAndGet(new Routines(services, setup));
+
+        routines.update(1.0);
+
+        assertEquals(1, routine.task.count);
+
+        services.add(scheduler);
+        routines.update(1.0);
+
+        assertEquals(1, routine.task.count);
+
+        scheduler.notifyHandlableAdded(featurable);
+        update(scheduler, 1);
+
+        assertEquals(1, scheduler.size());
+        assertEquals(2, routine.task.count);
+
+        scheduler.notifyHandlableRemoved(featurable);
+        update(scheduler, 1);
+
+        assertEquals(0, scheduler.size());
+        assertEquals(2, routine.task.count);
+    }
+
+    /**
+     * Test scheduler added to handler after featurables, schedulable refreshable left to it.
+     */
+    @Test
+    void testHandler()
+    {
+        final Handler handler = new Handler(services);
+        handler.addComponent(new ComponentRefreshable());
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final ScheduledRefreshable refreshable = featurable.addFeatureAndGet(new ScheduledRefreshable(services,
+                                                                                                      setup));
+        handler.add(featurable);
+        handler.update(1.0);
+
+        assertEquals(1, refreshable.task.count);
+
+        final ComponentScheduler scheduler = new ComponentScheduler(1.0, clock::get);
+        handler.addComponent(scheduler);
+        handler.update(1.0);
+
+        assertEquals(1, scheduler.size());
+        assertEquals(2, refreshable.task.count);
+
+        handler.update(1.0);
+
+        assertEquals(2, refreshable.task.count);
+
+        handler.removeAll();
+        handler.update(1.0);
+    }
+
+    /**
+     * Test tasks added again after a removal on same tick are kept.
+     */
+    @Test
+    void testRemoveAdd()
+    {
+        final ComponentScheduler scheduler = new ComponentScheduler(1.0, clock::get);
+        final Featurable owner = new FeaturableModel(services, setup);
+        final Task first = new Task(60.0, 0L);
+        final Task second = new Task(60.0, 0L);
+        scheduler.add(owner, first);
+        update(scheduler, 1);
+
+        scheduler.remove(owner);
+        scheduler.add(owner, second);
+        update(scheduler, 1);
+
+        assertEquals(1, scheduler.size());
+        assertEquals(1, first.count);
+        assertEquals(1, second.count);
+
+        scheduler.add(owner, first);
+        scheduler.remove(owner);
+        scheduler.add(owner, first);
+        update(scheduler, 1);
+
+        assertEquals(1, scheduler.size());
+        assertEquals(2, first.count);
+        assertEquals(1, second.count);
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    @Test
+    void testInvalid()
+    {
+        assertThrows(() -> new ComponentScheduler(0.0), "Invalid argument: 0.0 is not strictly superior to 0.0");
+
+        final ComponentScheduler scheduler = new ComponentScheduler();
+        assertThrows(() -> scheduler.add(new FeaturableModel(services, setup), new Task(0.0, 0L)),
+                     "Invalid argument: 0.0 is not strictly superior to 0.0");
+        assertThrows(() -> scheduler.add(null, new Task(1.0, 0L)), "Unexpected null argument !");
+    }
+
+    /**
+     * Task mock, advancing clock by its cost.
+     */
+    private final class Task implements Schedulable
+    {
+        private final double frequency;
+        private final long cost;
+        private int count;
+        private double extrp;
+
+        private Task(double frequency, long cost)
+        {
+            this.frequency = frequency;
+            this.cost = cost;
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            count++;
+            this.extrp += extrp;
+            clock.addAndGet(cost);
+        }
+
+        @Override
+        public double getFrequency()
+        {
+            return frequency;
+        }
+    }
+
+    /**
+     * Scheduled refreshable mock.
+     */
+    @FeatureInterface
+    private final class ScheduledRefreshable extends FeatureModel implements Refreshable, Schedulable
+    {
+        private final Task task = new Task(1.0, 0L);
+
+        private ScheduledRefreshable(Services services, Setup setup)
+        {
+            super(services, setup);
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            task.update(extrp);
+        }
+
+        @Override
+        public double getFrequency()
+        {
+            return task.getFrequency();
+        }
+    }
+
+    /**
+     * Scheduled routine mock.
+     */
+    @FeatureInterface
+    private final class ScheduledRoutine extends FeatureModel implements Routine, Schedulable
+    {
+        private final Task task = new Task(1.0, 0L);
+
+        private ScheduledRoutine(Services services, Setup setup)
+        {
+            super(services, setup);
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            task.update(extrp);
+        }
+
+        @Override
+        public double getFrequency()
+        {
+            return task.getFrequency();
+        }
+    }
+}
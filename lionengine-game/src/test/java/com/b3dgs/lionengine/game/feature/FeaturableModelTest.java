@@ -21,9 +21,6 @@ import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterAll;
@@ -33,7 +30,6 @@ import org.junit.jupiter.api.Test;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.UtilFile;
-import com.b3dgs.lionengine.UtilReflection;
 import com.b3dgs.lionengine.Xml;
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.FeatureProvider;
@@ -181,26 +177,17 @@ final class FeaturableModelTest
     }
 
     /**
-     * Test the set field not accessible.
-     * 
-     * @throws ReflectiveOperationException If error.
+     * Test the injection plan shared per class, and injection on object not matching plan class.
      */
     @Test
-    void testSetFieldNotAccessible() throws ReflectiveOperationException
+    void testInjectInvalidObject()
     {
         final FeatureItself featurable = new FeatureItself(services, setup);
-        final Method method = FeaturableAbstract.class.getDeclaredMethod("setField",
-                                                                         Field.class,
-                                                                         Object.class,
-                                                                         Class.class);
-        UtilReflection.setAccessible(method, true);
-        assertThrows(InvocationTargetException.class,
-                     () -> method.invoke(featurable,
-                                         featurable.getClass().getDeclaredField("object"),
-                                         featurable,
-                                         Object.class),
-                     null);
+        final FeatureWiring wiring = FeatureWiring.get(MyFeatureModel.class);
 
+        assertEquals(wiring, FeatureWiring.get(MyFeatureModel.class));
+        assertThrows(() -> wiring.inject(featurable, featurable),
+                     "Error during service injection !MyFeatureInterface/feature");
     }
 
     /**
@@ -18,10 +18,16 @@ package com.b3dgs.lionengine.game.feature;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
 import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -121,6 +127,23 @@ final class HandlablesImplTest
         assertFalse(featurables.get(Mirrorable.class).iterator().hasNext());
     }
 
+    /**
+     * Test get type not registered yet, as a live view.
+     */
+    @Test
+    void testFeatureNotRegistered()
+    {
+        final Iterable<Mirrorable> mirrorables = featurables.get(Mirrorable.class);
+
+        assertFalse(mirrorables.iterator().hasNext());
+
+        final Mirrorable mirrorable = new MirrorableModel(services, setup);
+        object.addFeatureAndGet(mirrorable);
+        featurables.add(object);
+
+        assertEquals(mirrorable, mirrorables.iterator().next());
+    }
+
     /**
      * Test type with complex object manipulation.
      */
@@ -160,6 +183,120 @@ final class HandlablesImplTest
         assertEquals(1, i);
     }
 
+    /**
+     * Test featurables sharing archetype, with removal in the middle.
+     */
+    @Test
+    void testArchetype()
+    {
+        final List<Featurable> added = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            final Featurable featurable = new FeaturableModel(services, setup);
+            featurable.addFeature(new MirrorableModel(services, setup));
+            featurables.add(featurable);
+            added.add(featurable);
+        }
+        featurables.add(object);
+
+        final Featurable removed = added.remove(5);
+        featurables.remove(removed, removed.getFeature(Identifiable.class).getId());
+
+        final Set<Mirrorable> expected = new HashSet<>();
+        for (final Featurable featurable : added)
+        {
+            expected.add(featurable.getFeature(Mirrorable.class));
+        }
+        final Set<Mirrorable> mirrorables = new HashSet<>();
+        for (final Mirrorable mirrorable : featurables.get(Mirrorable.class))
+        {
+            assertTrue(mirrorables.add(mirrorable));
+        }
+
+        assertEquals(expected, mirrorables);
+
+        int count = 0;
+        for (final Featurable featurable : featurables.get(Featurable.class))
+        {
+            assertNotEquals(removed, featurable);
+            count++;
+        }
+
+        assertEquals(added.size() + 1, count);
+
+        removed.getFeature(Identifiable.class).notifyDestroyed();
+        for (final Featurable featurable : added)
+        {
+            featurables.remove(featurable, featurable.getFeature(Identifiable.class).getId());
+            featurable.getFeature(Identifiable.class).notifyDestroyed();
+        }
+
+        assertFalse(featurables.get(Mirrorable.class).iterator().hasNext());
+        assertEquals(object, featurables.get(Featurable.class).iterator().next());
+    }
+
+    /**
+     * Test ordered featurables iterated by identifier across archetypes.
+     */
+    @Test
+    void testOrdered()
+    {
+        final List<Featurable> added = new ArrayList<>();
+        for (int i = 0; i < 6; i++)
+        {
+            final Featurable featurable = new FeaturableModel(services, setup);
+            featurable.addFeature(new MirrorableModel(services, setup));
+            if (i % 2 == 0)
+            {
+                featurable.addFeature(new LayerableModel(services, setup));
+            }
+            added.add(0, featurable);
+            featurables.add(featurable);
+        }
+        featurables.setOrdered(true);
+
+        assertOrdered(added);
+
+        final Featurable last = new FeaturableModel(services, setup);
+        last.addFeature(new MirrorableModel(services, setup));
+        added.add(last);
+        featurables.add(last);
+        final Featurable removed = added.remove(2);
+        featurables.remove(removed, removed.getFeature(Identifiable.class).getId());
+
+        assertOrdered(added);
+
+        removed.getFeature(Identifiable.class).notifyDestroyed();
+        for (final Featurable featurable : added)
+        {
+            featurable.getFeature(Identifiable.class).notifyDestroyed();
+        }
+    }
+
+    /**
+     * Check featurables and their feature are iterated in identifier order.
+     * 
+     * @param added The added featurables.
+     */
+    private void assertOrdered(List<Featurable> added)
+    {
+        final List<Featurable> expected = new ArrayList<>(added);
+        expected.sort((a, b) -> HandlablesImpl.ORDER.compare(a.getFeature(Identifiable.class).getId(),
+                                                             b.getFeature(Identifiable.class).getId()));
+        final List<Mirrorable> mirrorables = new ArrayList<>();
+        for (final Featurable featurable : expected)
+        {
+            mirrorables.add(featurable.getFeature(Mirrorable.class));
+        }
+        final List<Featurable> iterated = new ArrayList<>();
+        featurables.get(Featurable.class).forEach(iterated::add);
+        final List<Mirrorable> iteratedMirrorables = new ArrayList<>();
+        featurables.get(Mirrorable.class).forEach(iteratedMirrorables::add);
+
+        assertEquals(expected, iterated);
+        assertEquals(mirrorables, iteratedMirrorables);
+    }
+
     /**
      * Complex object with interface.
      */
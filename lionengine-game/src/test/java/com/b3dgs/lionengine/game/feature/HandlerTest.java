@@ -23,7 +23,15 @@ import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterAll;
@@ -32,8 +40,14 @@ import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Randomizer;
+import com.b3dgs.lionengine.Shape;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.UtilReflection;
+import com.b3dgs.lionengine.game.feature.collidable.ComponentCollision;
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.engine.DirtyRegion;
 
 /**
  * Test {@link Handler}.
@@ -65,6 +79,82 @@ final class HandlerTest
         Medias.setResourcesDirectory(null);
     }
 
+    /**
+     * Create component with declared access.
+     * 
+     * @param reads The read types.
+     * @param writes The written types.
+     * @param updater The update action.
+     * @return The created component.
+     */
+    private static ComponentUpdaterAccess createAccess(Collection<Class<?>> reads,
+                                                       Collection<Class<?>> writes,
+                                                       ComponentUpdater updater)
+    {
+        return new ComponentUpdaterAccess()
+        {
+            @Override
+            public void update(double extrp, Handlables featurables)
+            {
+                updater.update(extrp, featurables);
+            }
+
+            @Override
+            public Collection<Class<?>> getReads()
+            {
+                return reads;
+            }
+
+            @Override
+            public Collection<Class<?>> getWrites()
+            {
+                return writes;
+            }
+        };
+    }
+
+    /**
+     * Simulate a deterministic world moving featurables randomly.
+     * 
+     * @param seed The random seed.
+     * @param ticks The ticks count.
+     * @param desync The tick where a featurable is moved without random (ignored if out of ticks).
+     * @return The state hash.
+     */
+    private static long simulate(long seed, int ticks, int desync)
+    {
+        final Services services = new Services();
+        services.add(new Identifiers());
+        final Randomizer random = services.add(new Randomizer(seed));
+        final Setup setup = new Setup(config);
+        final Handler handler = new Handler(services);
+        handler.setDeterministic(true);
+        handler.addComponent((ComponentUpdater) (extrp, featurables) ->
+        {
+            assertEquals(1.0, extrp);
+            for (final Transformable transformable : featurables.get(Transformable.class))
+            {
+                transformable.moveLocation(extrp, random.getRandomInteger(-2, 2), random.getRandomDouble());
+            }
+        });
+        for (int i = 0; i < 5; i++)
+        {
+            final Featurable featurable = new FeaturableModel(services, setup);
+            featurable.addFeature(new TransformableModel(services, setup));
+            handler.add(featurable);
+        }
+        for (int tick = 0; tick < ticks; tick++)
+        {
+            if (tick == desync)
+            {
+                handler.get(Transformable.class).iterator().next().moveLocationX(1.0, 1.0);
+            }
+            handler.update(0.5);
+        }
+        assertEquals(ticks, (int) handler.getStateHash().getTick());
+        return handler.getStateHash().getHash();
+    }
+
     private final Services services = new Services();
     private final Setup setup = new Setup(config);
     private final Handler handler = new Handler(services);
@@ -383,4 +473,220 @@ final class HandlerTest
             remove.set(true);
         }
     }
+
+    /**
+     * Test components conflicts.
+     */
+    @Test
+    void testConflicts()
+    {
+        final ComponentUpdater undeclared = (extrp, featurables) ->
+        {
+            // Mock
+        };
+        final ComponentUpdater readTransformable = createAccess(Arrays.asList(Transformable.class),
+                                                                Collections.emptyList(),
+                                                                undeclared);
+        final ComponentUpdater readTransformable2 = createAccess(Arrays.asList(Transformable.class),
+                                                                 Collections.emptyList(),
+                                                                 undeclared);
+        final ComponentUpdater writeShape = createAccess(Collections.emptyList(),
+                                                         Arrays.asList(Shape.class),
+                                                         undeclared);
+        final ComponentUpdater writeLayerable = createAccess(Collections.emptyList(),
+                                                             Arrays.asList(Layerable.class),
+                                                             undeclared);
+
+        assertTrue(Handler.conflicts(undeclared, readTransformable));
+        assertTrue(Handler.conflicts(readTransformable, undeclared));
+        assertFalse(Handler.conflicts(readTransformable, readTransformable2));
+        assertTrue(Handler.conflicts(readTransformable, writeShape));
+        assertTrue(Handler.conflicts(writeShape, readTransformable));
+        assertTrue(Handler.conflicts(writeLayerable, writeLayerable));
+        assertFalse(Handler.conflicts(writeLayerable, readTransformable));
+    }
+
+    /**
+     * Test built-in components conflicts, declared from the features they run.
+     */
+    @Test
+    void testConflictsBuiltIn()
+    {
+        services.add(new Camera());
+        services.add(new DirtyRegion());
+
+        final ComponentUpdater refreshable = new ComponentRefreshable();
+        final ComponentUpdater updatable = new ComponentUpdatable();
+        final ComponentUpdater collision = new ComponentCollision();
+        final ComponentUpdater scheduler = new ComponentScheduler();
+        final ComponentUpdater dirty = new ComponentDirty(services);
+
+        assertTrue(Handler.conflicts(refreshable, updatable));
+        assertTrue(Handler.conflicts(refreshable, collision));
+        assertTrue(Handler.conflicts(updatable, collision));
+        assertTrue(Handler.conflicts(collision, collision));
+        assertTrue(Handler.conflicts(refreshable, scheduler));
+        assertTrue(Handler.conflicts(scheduler, collision));
+        assertTrue(Handler.conflicts(refreshable, dirty));
+        assertFalse(Handler.conflicts(collision, dirty));
+        assertFalse(Handler.conflicts(dirty, collision));
+    }
+
+    /**
+     * Test built-in components not conflicting grouped in the same stage.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    void testStageBuiltIn() throws InterruptedException
+    {
+        services.add(new Camera());
+        services.add(new DirtyRegion());
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            handler.setPool(pool);
+            handler.addComponent(new ComponentRefreshable());
+            handler.addComponent(new ComponentCollision());
+            handler.addComponent(new ComponentDirty(services));
+            handler.update(1.0);
+
+            final List<?> stages = UtilReflection.getField(handler, "stages");
+
+            assertEquals(2, stages.size());
+        }
+        finally
+        {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(5L, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Test parallel update of non conflicting components, conflicting ones waiting for them.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    void testParallel() throws InterruptedException
+    {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            handler.setPool(pool);
+
+            final CountDownLatch latch = new CountDownLatch(2);
+            final AtomicInteger concurrent = new AtomicInteger();
+            final ComponentUpdater await = (extrp, featurables) ->
+            {
+                latch.countDown();
+                try
+                {
+                    if (latch.await(5L, TimeUnit.SECONDS))
+                    {
+                        concurrent.incrementAndGet();
+                    }
+                }
+                catch (final InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            final AtomicInteger after = new AtomicInteger(-1);
+            final Featurable featurable = new FeaturableModel(services, setup);
+
+            handler.addComponent(createAccess(Arrays.asList(Transformable.class), Collections.emptyList(), await));
+            handler.addComponent(createAccess(Arrays.asList(Transformable.class), Arrays.asList(Layerable.class),
+                                              (extrp, featurables) ->
+                                              {
+                                                  await.update(extrp, featurables);
+                                                  handler.add(featurable);
+                                              }));
+            handler.addComponent(createAccess(Collections.emptyList(),
+                                              Arrays.asList(Updatable.class, Layerable.class),
+                                              (extrp, featurables) -> after.set(concurrent.get())));
+            handler.update(1.0);
+
+            assertEquals(2, concurrent.get());
+            assertEquals(2, after.get());
+            assertEquals(0, handler.size());
+
+            handler.update(1.0);
+
+            assertEquals(1, handler.size());
+            assertEquals(featurable, handler.get(featurable.getFeature(Identifiable.class).getId()));
+        }
+        finally
+        {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(5L, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Test deterministic mode, giving same hash for same seed and detecting desync.
+     */
+    @Test
+    void testDeterministic()
+    {
+        final long hash = simulate(42L, 20, -1);
+
+        assertEquals(hash, simulate(42L, 20, -1), null);
+        assertTrue(hash != simulate(43L, 20, -1));
+        assertTrue(hash != simulate(42L, 20, 10));
+    }
+
+    /**
+     * Test deterministic mode rejecting scheduler following system time.
+     */
+    @Test
+    void testDeterministicScheduler()
+    {
+        final ComponentScheduler scheduler = new ComponentScheduler();
+        final String error = Handler.ERROR_NOT_DETERMINISTIC + ComponentScheduler.class.getName();
+        handler.addComponent(scheduler);
+
+        assertThrows(() -> handler.setDeterministic(true), error);
+        assertFalse(handler.isDeterministic());
+
+        final Handler deterministic = new Handler(new Services());
+        deterministic.setDeterministic(true);
+        deterministic.addComponent(ComponentScheduler.createDeterministic(60));
+
+        assertThrows(() -> deterministic.addComponent(scheduler), error);
+    }
+
+    /**
+     * Test deterministic mode iterating featurables in identifier order.
+     */
+    @Test
+    void testDeterministicOrder()
+    {
+        handler.setDeterministic(true);
+        assertTrue(handler.isDeterministic());
+
+        for (int i = 0; i < 10; i++)
+        {
+            handler.add(new FeaturableModel(services, setup));
+        }
+        handler.update(1.0);
+
+        int previous = -1;
+        for (final Featurable featurable : handler.values())
+        {
+            final int id = featurable.getFeature(Identifiable.class).getId().intValue();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(1L, handler.getStateHash().getTick(), null);
+
+        handler.setDeterministic(false);
+        assertFalse(handler.isDeterministic());
+        assertEquals(0L, handler.getStateHash().getTick(), null);
+
+        handler.removeAll();
+        handler.update(1.0);
+        assertEquals(0, handler.size());
+    }
 }
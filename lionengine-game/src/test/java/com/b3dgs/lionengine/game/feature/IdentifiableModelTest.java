@@ -25,11 +25,8 @@ import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.AfterAll;
@@ -38,7 +35,7 @@ import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
-import com.b3dgs.lionengine.UtilReflection;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 
 /**
  * Test {@link IdentifiableModel}.
@@ -73,18 +70,11 @@ final class IdentifiableModelTest
 
     /**
      * Test the id.
-     * 
-     * @throws ReflectiveOperationException If error.
      */
     @Test
-    void testId() throws ReflectiveOperationException
+    void testId()
     {
-        final Collection<Integer> ids = UtilReflection.getField(IdentifiableModel.class, "IDS");
-        ids.clear();
-
-        final Field field = IdentifiableModel.class.getDeclaredField("lastId");
-        UtilReflection.setAccessible(field, true);
-        field.set(IdentifiableModel.class, Integer.valueOf(0));
+        services.add(new Identifiers());
 
         final Collection<Identifiable> identifiables = new ArrayList<>();
         for (int i = 0; i < 10; i++)
@@ -109,7 +99,9 @@ final class IdentifiableModelTest
         final IdentifiableModel identifiable = featurable.getFeature(IdentifiableModel.class);
         identifiable.prepare(featurable);
 
-        assertEquals(Integer.valueOf(10), identifiable.getId());
+        final Integer id = identifiable.getId();
+        assertEquals(0, Identifiers.getIndex(id.intValue()));
+        assertEquals(1, Identifiers.getGeneration(id.intValue()));
 
         identifiable.destroy();
         identifiable.notifyDestroyed();
@@ -124,37 +116,80 @@ final class IdentifiableModelTest
         identifiable.recycle();
 
         assertNotNull(identifiable.getId());
+        assertNotEquals(id, identifiable.getId());
+        assertEquals(1, services.get(Identifiers.class).getUsed());
+    }
+
+    /**
+     * Test the id is kept on recycle when cached by factory, as features may still reference it.
+     */
+    @Test
+    void testRecycleKeepId()
+    {
+        final Identifiers identifiers = new Identifiers();
+        services.add(identifiers);
+        final Handler handler = new Handler(services);
+        final Factory factory = new Factory(services);
+        handler.addListener(factory);
+
+        final Featurable featurable = factory.create(config);
+        final Integer id = featurable.getFeature(Identifiable.class).getId();
+        handler.add(featurable);
+        handler.update(1.0);
+        featurable.getFeature(Identifiable.class).destroy();
+        handler.update(1.0);
+
+        assertNull(featurable.getFeature(Identifiable.class).getId());
+        assertEquals(1, identifiers.getUsed());
+
+        final Featurable recycled = factory.create(config);
+
+        assertEquals(featurable, recycled);
+        assertEquals(id, recycled.getFeature(Identifiable.class).getId());
+        assertEquals(1, identifiers.getUsed());
+        assertNotEquals(id, factory.create(config).getFeature(Identifiable.class).getId());
+    }
+
+    /**
+     * Test the ids of services and factory featurables in one handler do not collide.
+     */
+    @Test
+    void testWorldIds()
+    {
+        final Identifiers identifiers = services.create(Identifiers.class);
+        final Handler handler = services.create(Handler.class);
+        final Factory factory = services.create(Factory.class);
+        final Camera camera = services.create(Camera.class);
+        final MapTileGame map = services.create(MapTileGame.class);
+        final Featurable featurable = factory.create(config);
+
+        handler.add(camera);
+        handler.add(map);
+        handler.add(featurable);
+        handler.update(1.0);
+
+        assertEquals(3, handler.size());
+        assertEquals(3, identifiers.getUsed());
+        assertEquals(camera, handler.get(camera.getFeature(Identifiable.class).getId()));
+        assertEquals(map, handler.get(map.getFeature(Identifiable.class).getId()));
+        assertEquals(featurable, handler.get(featurable.getFeature(Identifiable.class).getId()));
     }
 
     /**
      * Test the maximum id.
-     * 
-     * @throws ReflectiveOperationException If error.
      */
     @Test
-    void testMaxId() throws ReflectiveOperationException
+    void testMaxId()
     {
-        final HashSet<?> ids = UtilReflection.getField(IdentifiableModel.class, "IDS");
-        final HashMap<?, ?> map = UtilReflection.getField(ids, "map");
-        final Field size = map.getClass().getDeclaredField("size");
-        UtilReflection.setAccessible(size, true);
-        ids.clear();
-        size.setInt(map, Integer.MAX_VALUE);
-
-        final Field lastId = IdentifiableModel.class.getDeclaredField("lastId");
-        UtilReflection.setAccessible(lastId, true);
-        lastId.setInt(lastId, 0);
-
-        try
-        {
-            assertThrows(() -> new IdentifiableModel(), IdentifiableModel.ERROR_FREE_ID);
-        }
-        finally
-        {
-            lastId.setInt(lastId, 0);
-            size.setInt(map, 0);
-            ids.clear();
-        }
+        final Identifiers identifiers = new Identifiers(1);
+        final IdentifiableModel identifiable = new IdentifiableModel(identifiers);
+
+        assertThrows(() -> new IdentifiableModel(identifiers), IdentifiableModel.ERROR_FREE_ID);
+
+        identifiable.destroy();
+        identifiable.notifyDestroyed();
+
+        assertNotNull(new IdentifiableModel(identifiers).getId());
     }
 
     /**
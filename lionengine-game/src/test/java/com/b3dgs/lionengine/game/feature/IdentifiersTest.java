@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link Identifiers}.
+ */
+final class IdentifiersTest
+{
+    /**
+     * Test acquire and release with generations.
+     */
+    @Test
+    void testAcquireRelease()
+    {
+        final Identifiers identifiers = new Identifiers();
+
+        final Integer first = identifiers.acquire();
+        final Integer second = identifiers.acquire();
+
+        assertEquals(Integer.valueOf(0), first);
+        assertEquals(Integer.valueOf(1), second);
+        assertEquals(2, identifiers.getUsed());
+
+        identifiers.release(first);
+
+        assertEquals(1, identifiers.getUsed());
+
+        final Integer reused = identifiers.acquire();
+
+        assertEquals(0, Identifiers.getIndex(reused.intValue()));
+        assertEquals(1, Identifiers.getGeneration(reused.intValue()));
+        assertTrue(reused.intValue() > 0);
+        assertEquals(Integer.valueOf(2), identifiers.acquire());
+        assertEquals(3, identifiers.getUsed());
+    }
+
+    /**
+     * Test generation wrap keeps identifier positive.
+     */
+    @Test
+    void testGenerationWrap()
+    {
+        final Identifiers identifiers = new Identifiers(1);
+        Integer id = identifiers.acquire();
+        for (int i = 0; i < 200; i++)
+        {
+            identifiers.release(id);
+            id = identifiers.acquire();
+
+            assertTrue(id.intValue() >= 0);
+            assertEquals(0, Identifiers.getIndex(id.intValue()));
+        }
+        assertEquals(200 % Identifiers.GENERATIONS, Identifiers.getGeneration(id.intValue()));
+    }
+
+    /**
+     * Test capacity.
+     */
+    @Test
+    void testCapacity()
+    {
+        final Identifiers identifiers = new Identifiers(2);
+
+        assertEquals(2, identifiers.getCapacity());
+
+        identifiers.acquire();
+        identifiers.acquire();
+
+        assertThrows(() -> identifiers.acquire(), Identifiers.ERROR_FREE_ID);
+        assertThrows(() -> new Identifiers(0), "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new Identifiers(Identifiers.MAX_INDEXES + 1),
+                     "Invalid argument: 16777217 is not inferior or equal to 16777216");
+    }
+
+    /**
+     * Test concurrent acquire and release from separated threads.
+     * 
+     * @throws Exception If error.
+     */
+    @Test
+    void testConcurrent() throws Exception
+    {
+        final Identifiers identifiers = new Identifiers();
+        final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        final int threads = 4;
+        final int count = 1000;
+
+        final Collection<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+        {
+            tasks.add(() ->
+            {
+                boolean unique = true;
+                for (int i = 0; i < count; i++)
+                {
+                    final Integer id = identifiers.acquire();
+                    unique &= ids.add(id);
+                    if (i % 2 == 0)
+                    {
+                        identifiers.release(id);
+                    }
+                }
+                return Boolean.valueOf(unique);
+            });
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            final List<Future<Boolean>> results = executor.invokeAll(tasks);
+            for (final Future<Boolean> result : results)
+            {
+                assertTrue(result.get().booleanValue());
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * count / 2, identifiers.getUsed());
+    }
+}
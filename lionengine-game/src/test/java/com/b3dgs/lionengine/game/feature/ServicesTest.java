@@ -23,6 +23,8 @@ import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
+import com.b3dgs.lionengine.Viewer;
+
 /**
  * Test {@link Services}.
  */
@@ -111,6 +113,36 @@ final class ServicesTest
         assertFalse(services.getOptional(String.class).isPresent());
     }
 
+    /**
+     * Test the resolved service cache cleared on add.
+     */
+    @Test
+    void testCacheAdd()
+    {
+        final Services services = new Services();
+
+        assertFalse(services.getOptional(Viewer.class).isPresent());
+
+        final Camera camera = services.add(new Camera());
+
+        assertEquals(camera, services.get(Viewer.class));
+        assertEquals(camera, services.get(Camera.class));
+    }
+
+    /**
+     * Test the ambiguous service resolved to the first added.
+     */
+    @Test
+    void testAmbiguous()
+    {
+        final Services services = new Services();
+        final Camera camera = services.add(new Camera());
+        services.add(new Camera());
+
+        assertEquals(camera, services.get(Viewer.class));
+        assertEquals(camera, services.get(Camera.class));
+    }
+
     /**
      * Service without constructor.
      */
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.FeatureProvider;
+
+/**
+ * Test {@link SleepableModel}.
+ */
+final class SleepableModelTest
+{
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTransformable.createMedia(SleepableModelTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+
+    /**
+     * Test sleep and wake up notifications.
+     */
+    @Test
+    void testSleep()
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        final Sleepable sleepable = featurable.addFeatureAndGet(new SleepableModel());
+
+        final AtomicInteger ticks = new AtomicInteger(-1);
+        final AtomicInteger woken = new AtomicInteger();
+        final SleepableListener listener = new SleepableListener()
+        {
+            @Override
+            public void notifySleep(FeatureProvider provider, int duration)
+            {
+                ticks.set(duration);
+            }
+
+            @Override
+            public void notifyWakeUp(FeatureProvider provider)
+            {
+                woken.incrementAndGet();
+            }
+        };
+        sleepable.addListener(listener);
+
+        assertFalse(sleepable.isSleeping());
+
+        sleepable.wakeUp();
+
+        assertEquals(0, woken.get());
+
+        sleepable.sleep(5);
+
+        assertTrue(sleepable.isSleeping());
+        assertEquals(5, ticks.get());
+
+        sleepable.wakeUp();
+
+        assertFalse(sleepable.isSleeping());
+        assertEquals(1, woken.get());
+
+        sleepable.sleep();
+
+        assertEquals(0, ticks.get());
+
+        transformable.teleport(1.0, 2.0);
+
+        assertFalse(sleepable.isSleeping());
+        assertEquals(2, woken.get());
+
+        assertThrows(() -> sleepable.sleep(0), "Invalid argument: 0 is not strictly superior to 0");
+
+        sleepable.removeListener(listener);
+        sleepable.sleep();
+        sleepable.wakeUp();
+
+        assertEquals(2, woken.get());
+    }
+
+    /**
+     * Test recycle.
+     */
+    @Test
+    void testRecycle()
+    {
+        final SleepableModel sleepable = new SleepableModel();
+        sleepable.prepare(new FeaturableModel(services, setup));
+        sleepable.sleep();
+        sleepable.recycle();
+
+        assertFalse(sleepable.isSleeping());
+    }
+}
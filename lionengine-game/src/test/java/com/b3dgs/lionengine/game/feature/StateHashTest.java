@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Test {@link StateHash}.
+ */
+final class StateHashTest
+{
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilSetup.createConfig(StateHashTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+
+    /**
+     * Test hash following transformable and tracked feature changes.
+     */
+    @Test
+    void testHash()
+    {
+        final AtomicLong value = new AtomicLong();
+        final StateHash hash = new StateHash();
+        hash.track(Transformable.class, transformable -> value.get());
+
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        hash.notifyHandlableAdded(featurable);
+
+        hash.update();
+        final long first = hash.getLast();
+        hash.update();
+
+        assertEquals(first, hash.getLast(), null);
+        assertEquals(2L, hash.getTick(), null);
+
+        transformable.teleportX(1.0);
+        hash.update();
+
+        assertTrue(first != hash.getLast());
+
+        transformable.teleportX(0.0);
+        value.set(1L);
+        hash.update();
+
+        assertTrue(first != hash.getLast());
+
+        value.set(0L);
+        hash.update();
+
+        assertEquals(first, hash.getLast(), null);
+
+        hash.reset();
+
+        assertEquals(0L, hash.getHash(), null);
+        assertEquals(0L, hash.getLast(), null);
+        assertEquals(0L, hash.getTick(), null);
+    }
+
+    /**
+     * Test hash not depending on featurables order.
+     */
+    @Test
+    void testOrder()
+    {
+        final Featurable first = new FeaturableModel(services, setup);
+        first.addFeatureAndGet(new TransformableModel(services, setup)).teleport(1.0, 2.0);
+        final Featurable second = new FeaturableModel(services, setup);
+        second.addFeatureAndGet(new TransformableModel(services, setup)).teleport(3.0, 4.0);
+
+        final StateHash hash = new StateHash();
+        hash.notifyHandlableAdded(first);
+        hash.notifyHandlableAdded(second);
+        hash.update();
+        final StateHash other = new StateHash();
+        other.notifyHandlableAdded(second);
+        other.notifyHandlableAdded(first);
+        other.update();
+
+        assertEquals(hash.getHash(), other.getHash(), null);
+    }
+
+    /**
+     * Test hash following added and removed featurables.
+     */
+    @Test
+    void testAddRemove()
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        final StateHash hash = new StateHash();
+        hash.update();
+        final long empty = hash.getLast();
+
+        hash.notifyHandlableAdded(featurable);
+        hash.update();
+        final long added = hash.getLast();
+
+        assertTrue(empty != added);
+
+        hash.notifyHandlableRemoved(featurable);
+        transformable.teleportX(1.0);
+        hash.update();
+
+        assertEquals(empty, hash.getLast(), null);
+
+        transformable.teleportX(0.0);
+        hash.notifyHandlableAdded(featurable);
+        hash.update();
+
+        assertEquals(added, hash.getLast(), null);
+
+        transformable.teleportX(2.0);
+        hash.notifyHandlableRemoved(featurable);
+        hash.update();
+
+        assertEquals(empty, hash.getLast(), null);
+
+        hash.clear();
+        hash.update();
+
+        assertEquals(empty, hash.getLast(), null);
+    }
+
+    /**
+     * Test track with <code>null</code> arguments.
+     */
+    @Test
+    void testTrackNull()
+    {
+        final StateHash hash = new StateHash();
+
+        assertThrows(() -> hash.track(null, feature -> 0L), "Unexpected null argument !");
+        assertThrows(() -> hash.track(Transformable.class, null), "Unexpected null argument !");
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTimeout;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.InputDevice;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Resolution;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Test {@link WorldHost}.
+ */
+final class WorldHostTest
+{
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setLoadFromJar(WorldHostTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    private final Config config = new Config(new Resolution(320, 240, 60), 16, true);
+    private final WorldHost host = new WorldHost(2);
+
+    /**
+     * Clean test.
+     */
+    @AfterEach
+    void clean()
+    {
+        host.dispose();
+    }
+
+    /**
+     * Test worlds tick with isolated services.
+     */
+    @Test
+    void testTick()
+    {
+        final List<WorldGame> worlds = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            worlds.add(host.create(config, WorldMock::new));
+        }
+
+        assertEquals(8, host.getWorldsCount());
+        assertNotEquals(worlds.get(0).services, worlds.get(1).services);
+        assertNotEquals(worlds.get(0).services.get(Identifiers.class), worlds.get(1).services.get(Identifiers.class));
+
+        final Media media = Medias.create("ObjectFeatures.xml");
+        final Integer id = worlds.get(0).spawn(media, 1.0, 2.0).getFeature(Identifiable.class).getId();
+        for (final WorldGame world : worlds.subList(1, worlds.size()))
+        {
+            final Featurable featurable = world.spawn(media, 1.0, 2.0);
+
+            assertEquals(id, featurable.getFeature(Identifiable.class).getId());
+        }
+
+        host.tick(1.0);
+        host.tick(1.0);
+
+        for (final WorldGame world : worlds)
+        {
+            final WorldMetrics metrics = host.getMetrics(world);
+
+            assertEquals(2L, metrics.getTicks());
+            assertTrue(metrics.getMaxTime() >= metrics.getAverageTime());
+            assertEquals(1.0, world.handler.get(Transformable.class).iterator().next().getX());
+        }
+        assertEquals(2L, host.getMetrics().getTicks());
+
+        host.remove(worlds.get(0));
+        host.tick(1.0);
+
+        assertEquals(7, host.getWorldsCount());
+        assertThrows(() -> host.getMetrics(worlds.get(0)), WorldHost.ERROR_WORLD + worlds.get(0));
+        assertEquals(3L, host.getMetrics(worlds.get(1)).getTicks());
+
+        host.getMetrics().reset();
+
+        assertEquals(0L, host.getMetrics().getTicks());
+        assertEquals(0.0, host.getMetrics().getAverageTime());
+    }
+
+    /**
+     * Test headless context.
+     */
+    @Test
+    void testContext()
+    {
+        final WorldGame world = host.create(config, WorldMock::new);
+        final Context context = world.services.get(Context.class);
+
+        assertEquals(0, context.getX());
+        assertEquals(0, context.getY());
+        assertEquals(config, context.getConfig());
+        assertEquals(60, world.services.get(SourceResolutionProvider.class).getRate());
+        assertThrows(() -> world.getInputDevice(InputDevice.class), WorldHost.ERROR_DEVICE + InputDevice.class);
+    }
+
+    /**
+     * Test world failure.
+     */
+    @Test
+    void testFailure()
+    {
+        host.create(config, WorldMock::new);
+        host.create(config, services -> new WorldGame(services)
+        {
+            @Override
+            public void update(double extrp)
+            {
+                throw new IllegalStateException();
+            }
+
+            @Override
+            protected void saving(FileWriting file)
+            {
+                // Mock
+            }
+
+            @Override
+            protected void loading(FileReading file)
+            {
+                // Mock
+            }
+        });
+
+        assertThrows(() -> host.tick(1.0), WorldHost.ERROR_TICK);
+    }
+
+    /**
+     * Test fixed rate.
+     */
+    @Test
+    void testStart()
+    {
+        final WorldGame world = host.create(config, WorldMock::new);
+
+        assertFalse(host.isRunning());
+
+        host.start(1000);
+
+        assertTrue(host.isRunning());
+        assertThrows(() -> host.start(1000), WorldHost.ERROR_STARTED);
+
+        assertTimeout(5000L, () ->
+        {
+            while (host.getMetrics(world).getTicks() < 3L)
+            {
+                Thread.sleep(1L);
+            }
+        });
+
+        host.stop();
+
+        assertFalse(host.isRunning());
+
+        final long ticks = host.getMetrics(world).getTicks();
+        host.stop();
+
+        assertEquals(ticks, host.getMetrics(world).getTicks());
+    }
+}
@@ -207,6 +207,51 @@ final class CollidableModelTest
         assertEquals(Arrays.asList(new CollisionCouple(collision2, collision1)), collidable2.collide(collidable1));
     }
 
+    /**
+     * Test collisions added to reused buffer.
+     */
+    @Test
+    void testCollideBuffer()
+    {
+        final Collision collision1 = new Collision("test1", 0, 0, 3, 3, false);
+        collidable1.addCollision(collision1);
+
+        final Collision collision2 = new Collision("test2", 0, 0, 3, 3, false);
+        collidable2.addCollision(collision2);
+
+        transformable1.moveLocation(1.0, 1.0, 1.0);
+        transformable2.moveLocation(1.0, 1.0, 1.0);
+
+        final CollisionBuffer buffer = new CollisionBuffer();
+
+        assertEquals(1, collidable1.collide(collidable2, buffer));
+        assertEquals(1, collidable2.collide(collidable1, buffer));
+        assertEquals(0, collidable1.collide(collidable1, buffer));
+        assertEquals(2, buffer.getSize());
+
+        assertEquals(collidable1, buffer.getCollidable(0));
+        assertEquals(collidable2, buffer.getOther(0));
+        assertEquals(collision1, buffer.getWith(0));
+        assertEquals(collision2, buffer.getBy(0));
+
+        assertEquals(collidable2, buffer.getCollidable(1));
+        assertEquals(collidable1, buffer.getOther(1));
+        assertEquals(collision2, buffer.getWith(1));
+        assertEquals(collision1, buffer.getBy(1));
+
+        buffer.clear();
+
+        assertEquals(0, buffer.getSize());
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals(1, collidable1.collide(collidable2, buffer));
+        }
+
+        assertEquals(100, buffer.getSize());
+        assertEquals(collision2, buffer.getBy(99));
+    }
+
     /**
      * Test collidable class with mirror.
      */
@@ -90,6 +90,7 @@ final class CollisionConfigTest
         assertEquals(2, imported.getWidth());
         assertEquals(3, imported.getHeight());
         assertTrue(imported.hasMirror());
+        assertFalse(imported.isSwept());
 
         assertFalse(config.getCollisions().isEmpty());
         assertEquals(collision, config.getCollision("test"));
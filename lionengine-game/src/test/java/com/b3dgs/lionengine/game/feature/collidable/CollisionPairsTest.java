@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link CollisionPairs}.
+ */
+final class CollisionPairsTest
+{
+    /**
+     * Test key is ordered.
+     */
+    @Test
+    void testKey()
+    {
+        assertNotEquals(CollisionPairs.key(1, 2), CollisionPairs.key(2, 1));
+        assertNotEquals(CollisionPairs.key(-1, 0), CollisionPairs.key(0, -1));
+        assertEquals(CollisionPairs.key(1, 2), CollisionPairs.key(1, 2));
+    }
+
+    /**
+     * Test add and contains.
+     */
+    @Test
+    void testAdd()
+    {
+        final CollisionPairs pairs = new CollisionPairs();
+
+        assertFalse(pairs.contains(CollisionPairs.key(1, 2)));
+        assertTrue(pairs.add(CollisionPairs.key(1, 2)));
+        assertFalse(pairs.add(CollisionPairs.key(1, 2)));
+        assertTrue(pairs.contains(CollisionPairs.key(1, 2)));
+        assertFalse(pairs.contains(CollisionPairs.key(2, 1)));
+        assertEquals(1, pairs.size());
+    }
+
+    /**
+     * Test grow keeps pairs.
+     */
+    @Test
+    void testGrow()
+    {
+        final CollisionPairs pairs = new CollisionPairs();
+        for (int i = 0; i < 1000; i++)
+        {
+            assertTrue(pairs.add(CollisionPairs.key(i, i + 1)));
+        }
+
+        assertEquals(1000, pairs.size());
+
+        for (int i = 0; i < 1000; i++)
+        {
+            assertTrue(pairs.contains(CollisionPairs.key(i, i + 1)));
+            assertFalse(pairs.contains(CollisionPairs.key(i + 1, i)));
+        }
+    }
+
+    /**
+     * Test clear by generation.
+     */
+    @Test
+    void testClear()
+    {
+        final CollisionPairs pairs = new CollisionPairs();
+        for (int i = 0; i < 10; i++)
+        {
+            pairs.add(CollisionPairs.key(i, 0));
+        }
+        pairs.clear();
+
+        assertEquals(0, pairs.size());
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertFalse(pairs.contains(CollisionPairs.key(i, 0)));
+        }
+
+        assertTrue(pairs.add(CollisionPairs.key(3, 0)));
+        assertTrue(pairs.contains(CollisionPairs.key(3, 0)));
+    }
+}
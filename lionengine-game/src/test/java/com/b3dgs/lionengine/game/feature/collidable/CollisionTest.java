@@ -17,6 +17,7 @@
 package com.b3dgs.lionengine.game.feature.collidable;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertHashEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertHashNotEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
@@ -44,6 +45,8 @@ final class CollisionTest
         assertTrue(collision.getWidth() == 3);
         assertTrue(collision.getHeight() == 4);
         assertTrue(collision.hasMirror());
+        assertFalse(collision.isSwept());
+        assertTrue(new Collision("void", 1, 2, 3, 4, true, true).isSwept());
     }
 
     /**
@@ -103,7 +106,7 @@ final class CollisionTest
     {
         final Collision collision = new Collision("void", 0, 2, 3, 4, true);
 
-        assertEquals("Collision [name=void, offsetX=0, offsetY=2, width=3, height=4, mirror=true]",
+        assertEquals("Collision [name=void, offsetX=0, offsetY=2, width=3, height=4, mirror=true, swept=false]",
                      collision.toString());
     }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+import com.b3dgs.lionengine.game.feature.UtilSetup;
+import com.b3dgs.lionengine.geom.Geom;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+
+/**
+ * Test {@link CollisionTree}.
+ */
+final class CollisionTreeTest
+{
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilSetup.createConfig(CollisionTreeTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Graphics.setFactoryGraphic(null);
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Handler handler = new Handler(services);
+    private final Setup setup = new Setup(config);
+    private final AtomicReference<Collidable> collide = new AtomicReference<>();
+    private final CollisionTree tree = new CollisionTree();
+    private final ComponentCollision component = new ComponentCollision(tree);
+
+    private ObjectSelf featurable1;
+    private Transformable transformable1;
+    private Collidable collidable1;
+
+    private Transformable transformable2;
+    private Collidable collidable2;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        services.add(new Camera());
+
+        featurable1 = new ObjectSelf(services, setup);
+        transformable1 = featurable1.addFeatureAndGet(new TransformableModel(services, setup));
+        collidable1 = featurable1.addFeatureAndGet(new CollidableModel(services, setup));
+        collidable1.setGroup(Integer.valueOf(1));
+        collidable1.addAccept(Integer.valueOf(0));
+        collidable1.addCollision(new Collision("test1", 0, 0, 3, 3, false));
+
+        final ObjectSelf featurable2 = new ObjectSelf(services, setup);
+        transformable2 = featurable2.addFeatureAndGet(new TransformableModel(services, setup));
+        collidable2 = featurable2.addFeatureAndGet(new CollidableModel(services, setup));
+        collidable2.setGroup(Integer.valueOf(0));
+        collidable2.addAccept(Integer.valueOf(1));
+        collidable2.addCollision(new Collision("test2", 0, 0, 3, 3, true));
+        collidable2.addListener((collidable, with, by) -> collide.set(collidable));
+
+        handler.addComponent(component);
+        handler.add(featurable1);
+        handler.add(featurable2);
+        handler.update(1.0);
+    }
+
+    /**
+     * Test collision with tree broadphase.
+     */
+    @Test
+    void testCollidable()
+    {
+        transformable1.teleport(1.0, 2.0);
+        transformable2.teleport(1.0, 1.0);
+        handler.update(1.0);
+
+        assertEquals(collidable1, collide.get());
+        assertEquals(collidable2, featurable1.called.get());
+
+        collide.set(null);
+        featurable1.called.set(null);
+        transformable1.teleport(100.0, 100.0);
+        handler.update(1.0);
+
+        assertNull(collide.get());
+        assertNull(featurable1.called.get());
+    }
+
+    /**
+     * Test couple notified once.
+     */
+    @Test
+    void testCollidableOnce()
+    {
+        transformable1.teleport(0.0, 0.0);
+        transformable2.teleport(1.0, 0.0);
+
+        final AtomicInteger count = new AtomicInteger();
+        collidable2.addListener((c, w, b) -> count.incrementAndGet());
+        handler.update(1.0);
+
+        assertEquals(1, count.get());
+    }
+
+    /**
+     * Test leaf reinserted only when leaving its fat box.
+     */
+    @Test
+    void testRefit()
+    {
+        transformable1.teleport(50.0, 50.0);
+        final int reinsertions = tree.getReinsertions();
+
+        transformable1.teleport(50.0 + CollisionTree.DEFAULT_MARGIN / 2.0, 50.0);
+
+        assertEquals(reinsertions, tree.getReinsertions());
+
+        transformable1.teleport(50.0 + CollisionTree.DEFAULT_MARGIN * 2.0, 50.0);
+
+        assertEquals(reinsertions + 1, tree.getReinsertions());
+    }
+
+    /**
+     * Test tree stays balanced.
+     */
+    @Test
+    void testBalance()
+    {
+        final int count = 256;
+        final CollisionTree balanced = new CollisionTree(0.0);
+
+        assertEquals(-1, balanced.getHeight());
+
+        for (int i = 0; i < count; i++)
+        {
+            final Collidable collidable = CollidableModelTest.createFeaturable(config, services)
+                                                             .getFeature(Collidable.class);
+            balanced.move(collidable, i * 10.0, 0.0);
+        }
+
+        assertTrue(balanced.getHeight() >= 8);
+        assertTrue(balanced.getHeight() <= 16, String.valueOf(balanced.getHeight()));
+    }
+
+    /**
+     * Test get inside.
+     */
+    @Test
+    void testGetInside()
+    {
+        transformable1.teleport(20.0, 20.0);
+        transformable2.teleport(30.0, 30.0);
+        handler.update(1.0);
+
+        assertTrue(component.getInside(Geom.createArea(0, 0, 16, 16)).isEmpty());
+        assertEquals(2, component.getInside(Geom.createArea(15, 15, 32, 32)).size());
+
+        handler.removeAll();
+        handler.update(1.0);
+
+        assertTrue(component.getInside(Geom.createArea(15, 15, 32, 32)).isEmpty());
+    }
+
+    /**
+     * Test invalid margin.
+     */
+    @Test
+    void testInvalid()
+    {
+        assertThrows(() -> new CollisionTree(-1.0), "Invalid argument: -1.0 is not superior or equal to 0.0");
+    }
+}
@@ -18,8 +18,17 @@ package com.b3dgs.lionengine.game.feature.collidable;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -31,14 +40,17 @@ import org.junit.jupiter.api.Test;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.ComponentRefreshable;
 import com.b3dgs.lionengine.game.feature.Featurable;
 import com.b3dgs.lionengine.game.feature.FeaturableModel;
 import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.RefreshableModel;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.TransformableModel;
 import com.b3dgs.lionengine.game.feature.UtilSetup;
+import com.b3dgs.lionengine.geom.Area;
 import com.b3dgs.lionengine.geom.Geom;
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
@@ -78,7 +90,8 @@ final class ComponentCollisionTest
     private final Setup setup = new Setup(config);
     private final AtomicReference<Collidable> collide = new AtomicReference<>();
     private final Featurable nonCollidable = new FeaturableModel(services, setup);
-    private final ComponentCollision component = new ComponentCollision();
+    private final CollisionGrid grid = new CollisionGrid();
+    private final ComponentCollision component = new ComponentCollision(grid);
 
     private ObjectSelf featurable1;
     private Transformable transformable1;
@@ -139,7 +152,7 @@ final class ComponentCollisionTest
 
         collide.set(null);
         featurable1.called.set(null);
-        transformable1.teleport(ComponentCollision.REDUCE_FACTOR, ComponentCollision.REDUCE_FACTOR);
+        transformable1.teleport(CollisionGrid.DEFAULT_CELL_SIZE, CollisionGrid.DEFAULT_CELL_SIZE);
 
         handler.update(1.0);
 
@@ -148,13 +161,13 @@ final class ComponentCollisionTest
     }
 
     /**
-     * Test collidable not collide more than one time if on many points with reduce factor.
+     * Test collidable not collide more than one time if on many cells.
      */
     @Test
     void testCollidableTwoPoints()
     {
-        transformable1.teleport(ComponentCollision.REDUCE_FACTOR - 3.0, 0.0);
-        transformable2.teleport(ComponentCollision.REDUCE_FACTOR - 1.0, 0.0);
+        transformable1.teleport(CollisionGrid.DEFAULT_CELL_SIZE - 3.0, 0.0);
+        transformable2.teleport(CollisionGrid.DEFAULT_CELL_SIZE - 1.0, 0.0);
 
         final AtomicInteger count = new AtomicInteger();
         collidable2.addListener((c, w, b) -> count.incrementAndGet());
@@ -194,8 +207,8 @@ final class ComponentCollisionTest
         collide.set(null);
         featurable1.called.set(null);
 
-        transformable1.teleport(ComponentCollision.REDUCE_FACTOR + ox, ComponentCollision.REDUCE_FACTOR + oy);
-        transformable2.teleport(ComponentCollision.REDUCE_FACTOR, ComponentCollision.REDUCE_FACTOR);
+        transformable1.teleport(CollisionGrid.DEFAULT_CELL_SIZE + ox, CollisionGrid.DEFAULT_CELL_SIZE + oy);
+        transformable2.teleport(CollisionGrid.DEFAULT_CELL_SIZE, CollisionGrid.DEFAULT_CELL_SIZE);
 
         handler.update(1.0);
 
@@ -220,14 +233,14 @@ final class ComponentCollisionTest
         collide.set(null);
         featurable1.called.set(null);
 
-        transformable1.teleport(ComponentCollision.REDUCE_FACTOR, ComponentCollision.REDUCE_FACTOR);
+        transformable1.teleport(CollisionGrid.DEFAULT_CELL_SIZE, CollisionGrid.DEFAULT_CELL_SIZE);
 
         handler.update(1.0);
 
         assertNull(collide.get());
         assertNull(featurable1.called.get());
 
-        transformable2.teleport(ComponentCollision.REDUCE_FACTOR, ComponentCollision.REDUCE_FACTOR);
+        transformable2.teleport(CollisionGrid.DEFAULT_CELL_SIZE, CollisionGrid.DEFAULT_CELL_SIZE);
 
         handler.update(1.0);
 
@@ -277,4 +290,193 @@ final class ComponentCollisionTest
         assertTrue(component.getInside(Geom.createArea(0, 0, 16, 16)).isEmpty());
         assertEquals(2, component.getInside(Geom.createArea(15, 15, 32, 32)).size());
     }
+
+    /**
+     * Test only cells entered or left are updated.
+     */
+    @Test
+    void testCells()
+    {
+        handler.update(1.0);
+        transformable1.teleport(100.0, 100.0);
+        transformable2.teleport(100.0, 100.0);
+
+        assertEquals(2, grid.getCellsCount());
+
+        transformable1.teleport(101.0, 100.0);
+
+        assertEquals(2, grid.getCellsCount());
+
+        transformable1.teleport(CollisionGrid.DEFAULT_CELL_SIZE, 100.0);
+
+        assertEquals(3, grid.getCellsCount());
+
+        handler.remove(featurable1);
+        handler.update(1.0);
+
+        assertEquals(1, grid.getCellsCount());
+    }
+
+    /**
+     * Test custom cell size.
+     */
+    @Test
+    void testCellSize()
+    {
+        final CollisionGrid custom = new CollisionGrid(4.0);
+        transformable1.teleport(100.0, 100.0);
+        custom.move(collidable1, 100.0, 100.0);
+
+        assertEquals(4, custom.getCellsCount());
+
+        custom.remove(collidable1);
+
+        assertEquals(0, custom.getCellsCount());
+        assertThrows(() -> new CollisionGrid(0.0), "Invalid argument: 0.0 is not strictly superior to 0.0");
+        assertThrows(() -> new ComponentCollision(null), "Unexpected null argument !");
+    }
+
+    /**
+     * Test swept collision does not pass through collidable between two updates.
+     */
+    @Test
+    void testSwept()
+    {
+        final ObjectSelf featurable = new ObjectSelf(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        final Collidable collidable = featurable.addFeatureAndGet(new CollidableModel(services, setup));
+        collidable.setGroup(Integer.valueOf(1));
+        collidable.addAccept(Integer.valueOf(0));
+        collidable.addCollision(new Collision("swept", 0, 0, 3, 3, false, true));
+        handler.add(featurable);
+        handler.update(1.0);
+
+        transformable.teleport(0.0, 0.0);
+        transformable1.teleport(0.0, 0.0);
+        transformable2.teleport(CollisionGrid.DEFAULT_CELL_SIZE * 2.0, 0.0);
+        handler.update(1.0);
+        featurable.called.set(null);
+        featurable1.called.set(null);
+        handler.update(1.0);
+
+        assertNull(featurable.called.get());
+        assertNull(featurable1.called.get());
+
+        transformable.moveLocation(1.0, CollisionGrid.DEFAULT_CELL_SIZE * 4.0, 0.0);
+        transformable1.moveLocation(1.0, CollisionGrid.DEFAULT_CELL_SIZE * 4.0, 0.0);
+        handler.update(1.0);
+
+        assertEquals(collidable2, featurable.called.get());
+        assertNull(featurable1.called.get());
+
+        featurable.called.set(null);
+        transformable.moveLocation(1.0, CollisionGrid.DEFAULT_CELL_SIZE, 1.0);
+        handler.update(1.0);
+
+        assertNull(featurable.called.get());
+    }
+
+    /**
+     * Test parallel checking notifies as on caller thread.
+     */
+    @Test
+    void testParallel()
+    {
+        final List<Collidable> notified = new ArrayList<>();
+        for (int i = 0; i < ComponentCollision.PARALLEL_SPLIT * 2; i++)
+        {
+            final Featurable featurable = CollidableModelTest.createFeaturable(config, services);
+            final Collidable collidable = featurable.getFeature(Collidable.class);
+            collidable.setGroup(Integer.valueOf(i % 2));
+            collidable.addAccept(Integer.valueOf(1 - i % 2));
+            collidable.addCollision(new Collision("test", 0, 0, 3, 3, false));
+            collidable.addListener((c, w, b) ->
+            {
+                notified.add(collidable);
+                notified.add(c);
+            });
+            handler.add(featurable);
+        }
+        handler.update(1.0);
+
+        int i = 0;
+        for (final Transformable transformable : handler.get(Transformable.class))
+        {
+            transformable.teleport(i * 2.0, 0.0);
+            i++;
+        }
+        handler.update(1.0);
+        notified.clear();
+        handler.update(1.0);
+        final List<Collidable> expected = new ArrayList<>(notified);
+        notified.clear();
+
+        component.setParallel(ForkJoinPool.commonPool());
+        handler.update(1.0);
+
+        assertTrue(expected.size() > ComponentCollision.PARALLEL_SPLIT * 2);
+        assertEquals(expected, notified);
+
+        component.setParallel(null);
+    }
+
+    /**
+     * Test collidables moved by refreshables updated from a pool are indexed from the caller thread, in refreshables
+     * order.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    void testMoveParallel() throws InterruptedException
+    {
+        final ComponentRefreshable refreshable = new ComponentRefreshable();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        handler.addComponent(refreshable);
+
+        final double step = CollisionGrid.DEFAULT_CELL_SIZE * 4.0;
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final List<Transformable> notified = Collections.synchronizedList(new ArrayList<>());
+        final Collection<Collidable> collidables = new ArrayList<>();
+        try
+        {
+            for (int i = 0; i < 1000; i++)
+            {
+                final Featurable featurable = CollidableModelTest.createFeaturable(config, services);
+                final Transformable transformable = featurable.getFeature(Transformable.class);
+                final Collidable collidable = featurable.getFeature(Collidable.class);
+                collidable.addCollision(new Collision("move", 0, 0, 3, 3, false));
+                featurable.addFeature(new RefreshableModel(extrp -> transformable.moveLocation(extrp, step, 0.0)));
+                transformable.addListener(t ->
+                {
+                    threads.add(Thread.currentThread());
+                    notified.add(t);
+                });
+                handler.add(featurable);
+                collidables.add(collidable);
+            }
+            handler.update(1.0);
+            notified.clear();
+            handler.update(1.0);
+            final List<Transformable> expected = new ArrayList<>(notified);
+            notified.clear();
+            threads.clear();
+
+            refreshable.setPool(pool);
+            handler.update(1.0);
+
+            assertEquals(Collections.singleton(Thread.currentThread()), threads);
+            assertEquals(expected, notified);
+
+            final Area old = Geom.createArea(step - 16.0, -16.0, 32.0, 32.0);
+            final Area current = Geom.createArea(step * 3.0 - 16.0, -16.0, 32.0, 32.0);
+
+            assertTrue(Collections.disjoint(component.getInside(old), collidables));
+            assertTrue(component.getInside(current).containsAll(collidables));
+        }
+        finally
+        {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(5L, TimeUnit.SECONDS));
+        }
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+
+/**
+ * Test {@link MapTileSurfaceChunked}.
+ */
+final class MapTileSurfaceChunkedTest
+{
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Graphics.setFactoryGraphic(null);
+    }
+
+    private final MapTileChunkStoreMemory store = new MapTileChunkStoreMemory();
+    private final MapTileSurfaceChunked surface = new MapTileSurfaceChunked(store, 4, 2);
+    private final MapTileGame map = new MapTileGame(surface);
+
+    /**
+     * Test chunks loaded on access and evicted when exceeding maximum.
+     */
+    @Test
+    void testLoadEvict()
+    {
+        map.create(16, 16, 20, 20);
+
+        assertEquals(0, surface.getChunksLoaded());
+        assertNull(map.getTile(0, 0));
+        assertEquals(1, surface.getChunksLoaded());
+
+        map.setTile(1, 1, 1);
+        map.setTile(5, 1, 2);
+
+        assertEquals(2, surface.getChunksLoaded());
+        assertEquals(0, store.size());
+
+        map.setTile(9, 9, 3);
+
+        assertEquals(2, surface.getChunksLoaded());
+        assertEquals(1, store.size());
+        assertEquals(2, map.getTilesNumber());
+
+        final Tile tile = map.getTile(1, 1);
+
+        assertNotNull(tile);
+        assertEquals(1, tile.getNumber());
+        assertEquals(16.0, tile.getX());
+        assertEquals(2, store.size());
+
+        surface.flush();
+
+        assertEquals(3, store.size());
+        assertEquals(4, surface.getChunkSize());
+    }
+
+    /**
+     * Test chunk listener notified on chunk load, tile listener only on tile change.
+     */
+    @Test
+    void testListenerOnLoad()
+    {
+        final int[] numbers = new int[16];
+        Arrays.fill(numbers, -1);
+        numbers[0] = 7;
+        numbers[5] = 8;
+        store.save(1, 0, 4, numbers);
+
+        final List<Tile> set = new ArrayList<>();
+        final List<Integer> loaded = new ArrayList<>();
+        map.addListener(set::add);
+        surface.addChunkListener((cx, cy) -> loaded.add(Integer.valueOf(cx * 10 + cy)));
+        map.create(16, 16, 20, 20);
+
+        assertNull(map.getTile(0, 0));
+        assertEquals(Arrays.asList(Integer.valueOf(0)), loaded);
+
+        assertEquals(8, map.getTile(5, 1).getNumber());
+        assertEquals(Arrays.asList(Integer.valueOf(0), Integer.valueOf(10)), loaded);
+        assertEquals(0, set.size());
+
+        map.setTile(5, 1, 8);
+
+        assertEquals(0, set.size());
+
+        map.setTile(6, 1, 9);
+
+        assertEquals(1, set.size());
+        assertEquals(9, set.get(0).getNumber());
+        assertEquals(6, set.get(0).getInTileX());
+        assertEquals(1, set.get(0).getInTileY());
+    }
+
+    /**
+     * Test tile set kept when chunk listener loads other chunks.
+     */
+    @Test
+    void testListenerLoadOther()
+    {
+        final MapTileSurfaceChunked surface = new MapTileSurfaceChunked(store, 4, 1);
+        final MapTileGame map = new MapTileGame(surface);
+        surface.addChunkListener((cx, cy) ->
+        {
+            if (cx == 0 && cy == 0)
+            {
+                map.getTile(5, 1);
+            }
+        });
+        map.create(16, 16, 20, 20);
+
+        map.setTile(1, 1, 1);
+
+        assertEquals(2, surface.getChunksLoaded());
+
+        map.getTile(9, 9);
+
+        assertEquals(1, surface.getChunksLoaded());
+        assertEquals(1, map.getTile(1, 1).getNumber());
+    }
+
+    /**
+     * Test chunks loaded around camera.
+     */
+    @Test
+    void testLoadAround()
+    {
+        final MapTileSurfaceChunked surface = new MapTileSurfaceChunked(store, 4, 4);
+        final MapTileGame map = new MapTileGame(surface);
+        final Camera camera = new Camera();
+        camera.setView(0, 0, 32, 32, 32);
+        camera.teleport(80.0, 80.0);
+
+        surface.loadAround(camera, 0);
+
+        assertEquals(0, surface.getChunksLoaded());
+
+        map.create(16, 16, 20, 20);
+        surface.loadAround(camera, 0);
+
+        assertEquals(1, surface.getChunksLoaded());
+
+        surface.loadAround(camera, 1);
+
+        assertEquals(4, surface.getChunksLoaded());
+
+        camera.teleport(-1000.0, -1000.0);
+        surface.loadAround(camera, 0);
+
+        assertEquals(4, surface.getChunksLoaded());
+    }
+
+    /**
+     * Test map content kept in store on clear.
+     */
+    @Test
+    void testClear()
+    {
+        map.create(16, 16, 8, 8);
+        map.setTile(1, 1, 1);
+        surface.flush();
+        map.clear();
+
+        assertEquals(0, surface.getChunksLoaded());
+
+        map.create(16, 16, 8, 8);
+
+        assertEquals(1, map.getTile(1, 1).getNumber());
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    @Test
+    void testInvalid()
+    {
+        assertThrows(() -> new MapTileSurfaceChunked(null), "Unexpected null argument !");
+        assertThrows(() -> new MapTileSurfaceChunked(store, 0, 1),
+                     "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new MapTileSurfaceChunked(store, 1, 0),
+                     "Invalid argument: 0 is not strictly superior to 0");
+
+        store.save(0, 0, 2, new int[4]);
+        map.create(16, 16, 8, 8);
+
+        assertThrows(() -> map.getTile(0, 0), MapTileStorageChunked.ERROR_CHUNK + 4);
+    }
+}
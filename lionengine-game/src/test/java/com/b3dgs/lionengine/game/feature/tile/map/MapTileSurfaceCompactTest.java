@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.TileGame;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBufferMock;
+import com.b3dgs.lionengine.graphic.drawable.Drawable;
+
+/**
+ * Test {@link MapTileSurfaceCompact}.
+ */
+final class MapTileSurfaceCompactTest
+{
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Graphics.setFactoryGraphic(null);
+    }
+
+    private final MapTileGame map = new MapTileGame(new MapTileSurfaceCompact());
+
+    /**
+     * Test set and get tiles.
+     */
+    @Test
+    void testSetGet()
+    {
+        assertFalse(map.isCreated());
+        assertEquals(0, map.getTilesNumber());
+
+        map.create(16, 32, 3, 2);
+
+        assertTrue(map.isCreated());
+        assertNull(map.getTile(1, 1));
+        assertNull(map.getTile(3, 0));
+        assertEquals(0, map.getTilesNumber());
+
+        final List<Tile> set = new ArrayList<>();
+        map.addListener(set::add);
+        map.setTile(1, 1, 5);
+        map.setTile(1, 1, 5);
+
+        final Tile tile = map.getTile(1, 1);
+        assertEquals(new TileGame(5, 1, 1, 16, 32), tile);
+        assertEquals(Arrays.asList(tile), set);
+        assertEquals(5, tile.getNumber());
+        assertEquals(Integer.valueOf(5), tile.getKey());
+        assertEquals(16.0, tile.getX());
+        assertEquals(32.0, tile.getY());
+        assertEquals(16, tile.getWidth());
+        assertEquals(32, tile.getHeight());
+        assertEquals(tile, map.getTileAt(20.0, 40.0));
+        assertEquals(1, map.getTilesNumber());
+
+        map.setTile(1, 1, 0);
+
+        assertEquals(0, map.getTile(1, 1).getNumber());
+        assertEquals(2, set.size());
+
+        map.setTile(0, 0, 1);
+
+        assertEquals(Arrays.asList(map.getTile(0, 0)), new ArrayList<>(map.getNeighbors(map.getTile(1, 1))));
+        assertThrows(() -> map.setTile(0, 0, -1), "Invalid argument: -1 is not superior or equal to 0");
+    }
+
+    /**
+     * Test sheet derived from tile number.
+     */
+    @Test
+    void testSheet()
+    {
+        map.create(40, 40, 2, 2);
+        map.loadSheets(Arrays.asList(Drawable.loadSpriteTiled(new ImageBufferMock(80, 80), 40, 40),
+                                     Drawable.loadSpriteTiled(new ImageBufferMock(80, 80), 40, 40)));
+        map.setTile(0, 0, 3);
+        map.setTile(1, 0, 4);
+
+        assertEquals(4, map.getTilesPerSheet());
+        assertEquals(0, map.getTile(0, 0).getSheet());
+        assertEquals(Integer.valueOf(1), map.getTile(1, 0).getSheetKey());
+    }
+
+    /**
+     * Test resize and clear.
+     */
+    @Test
+    void testResizeClear()
+    {
+        map.create(1, 1, 2, 2);
+        map.setTile(0, 0, 1);
+        map.setTile(1, 1, 2);
+        map.getFeature(MapTileSurface.class).resize(3, 1);
+
+        assertEquals(3, map.getInTileWidth());
+        assertEquals(1, map.getInTileHeight());
+        assertEquals(1, map.getTile(0, 0).getNumber());
+        assertNull(map.getTile(1, 0));
+        assertNull(map.getTile(2, 0));
+        assertNull(map.getTile(1, 1));
+        assertEquals(1, map.getTilesNumber());
+
+        map.getFeature(MapTileSurface.class).resize(3, 3);
+        map.setTile(2, 2, 3);
+
+        assertEquals(1, map.getTile(0, 0).getNumber());
+        assertEquals(3, map.getTile(2, 2).getNumber());
+        assertEquals(2, map.getTilesNumber());
+
+        map.clear();
+
+        assertTrue(map.isCreated());
+        assertEquals(0, map.getInTileWidth());
+        assertEquals(0, map.getTilesNumber());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link FlowField}.
+ */
+final class FlowFieldTest
+{
+    /** Map size. */
+    private static final int SIZE = 16;
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilPathfinding.createConfig(FlowFieldTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final MapTileGame map = UtilPathfinding.createMap(services, SIZE);
+    private final MapTilePath mapPath = map.getFeature(MapTilePath.class);
+
+    /**
+     * Test field paths match default search cost.
+     */
+    @Test
+    void testPath()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final FlowField field = mapPath.getFlowField(mover, 10, 12);
+        final Path expected = mapPath.getPathFinder().findPath(mover, 10, 12, false);
+
+        assertEquals(10, field.getDestinationX());
+        assertEquals(12, field.getDestinationY());
+        assertEquals(0.0, field.getCost(10, 12));
+        assertEquals(MovementTile.NONE, field.getMovement(10, 12));
+        assertEquals(expected.getLength() - 1.0, field.getCost(1, 1));
+
+        final Path path = field.getPath(1, 1);
+
+        UtilPathfinding.assertPath(path, 1, 1, 10, 12);
+        assertTrue(field.getMovement(1, 1).is(path.getX(1) - 1, path.getY(1) - 1));
+        assertEquals(expected.getLength(), path.getLength());
+    }
+
+    /**
+     * Test field around a wall, and not reachable locations.
+     */
+    @Test
+    void testBlocked()
+    {
+        for (int ty = 0; ty < SIZE - 1; ty++)
+        {
+            map.setTile(8, ty, UtilMap.TILE_TREE);
+        }
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final FlowField field = mapPath.getFlowField(mover, 14, 1);
+        final Path path = field.getPath(1, 1);
+
+        UtilPathfinding.assertPath(path, 1, 1, 14, 1);
+        for (int i = 0; i < path.getLength(); i++)
+        {
+            assertNotEquals(UtilMap.TILE_TREE, map.getTile(path.getX(i), path.getY(i)).getNumber());
+        }
+
+        assertFalse(field.isReachable(8, 5));
+        assertFalse(field.isReachable(-1, 0));
+        assertEquals(Double.POSITIVE_INFINITY, field.getCost(SIZE, 0));
+
+        map.setTile(8, SIZE - 1, UtilMap.TILE_TREE);
+        final FlowField closed = mapPath.getFlowField(mover, 14, 1);
+
+        assertFalse(closed.isReachable(1, 1));
+        assertNull(closed.getPath(1, 1));
+        assertEquals(MovementTile.NONE, closed.getMovement(1, 1));
+        assertNull(mapPath.getFlowField(mover, 8, 1).getPath(1, 1));
+    }
+
+    /**
+     * Test field shared by movers, and discarded on tile set.
+     */
+    @Test
+    void testCache()
+    {
+        final Pathfindable mover1 = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Pathfindable mover2 = UtilPathfinding.createPathfindable(services, setup, 3, 2);
+        final FlowField field = mapPath.getFlowField(mover1, 10, 10);
+
+        assertEquals(field, mapPath.getFlowField(mover2, 10, 10));
+        assertNotEquals(field, mapPath.getFlowField(mover2, 10, 11));
+
+        map.setTile(5, 5, UtilMap.TILE_TREE);
+
+        assertNotEquals(field, mapPath.getFlowField(mover1, 10, 10));
+    }
+
+    /**
+     * Test group following field.
+     */
+    @Test
+    void testDestination()
+    {
+        final Pathfindable mover1 = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Pathfindable mover2 = UtilPathfinding.createPathfindable(services, setup, 2, 5);
+        final FlowField field = mapPath.getFlowField(mover1, 10, 10);
+
+        assertTrue(mover1.setDestination(field));
+        assertTrue(mover2.setDestination(field));
+        assertFalse(mover1.isDestinationReached());
+        assertFalse(mover2.isDestinationReached());
+        assertFalse(mover1.setDestination(mapPath.getFlowField(mover1, 1, 1)));
+    }
+}
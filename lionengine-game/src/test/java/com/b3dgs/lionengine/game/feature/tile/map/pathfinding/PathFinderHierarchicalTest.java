@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link PathFinderHierarchical}.
+ */
+final class PathFinderHierarchicalTest
+{
+    /** Map size. */
+    private static final int SIZE = 32;
+    /** Cluster size. */
+    private static final int CLUSTER = 8;
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilPathfinding.createConfig(PathFinderHierarchicalTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    /**
+     * Assert path does not cross blocking tiles.
+     * 
+     * @param map The map reference.
+     * @param path The path to check.
+     */
+    private static void assertFree(MapTileGame map, Path path)
+    {
+        for (int i = 0; i < path.getLength(); i++)
+        {
+            assertNotEquals(UtilMap.TILE_TREE, map.getTile(path.getX(i), path.getY(i)).getNumber());
+        }
+    }
+
+    /**
+     * Set a vertical wall.
+     * 
+     * @param map The map reference.
+     * @param tx The wall horizontal location.
+     * @param gap The free vertical location (-1 for none).
+     * @param number The tile number.
+     */
+    private static void setWall(MapTileGame map, int tx, int gap, int number)
+    {
+        for (int ty = 0; ty < map.getInTileHeight(); ty++)
+        {
+            if (ty != gap)
+            {
+                map.setTile(tx, ty, number);
+            }
+        }
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final MapTileGame map = UtilPathfinding.createMap(services, SIZE);
+    private final MapTilePath mapPath = map.getFeature(MapTilePath.class);
+
+    /**
+     * Test hierarchical path finder enabled by map path.
+     */
+    @Test
+    void testEnabled()
+    {
+        mapPath.setHierarchical(CLUSTER);
+
+        assertTrue(mapPath.getPathFinder() instanceof PathFinderHierarchical);
+
+        mapPath.setHierarchical(0);
+
+        assertFalse(mapPath.getPathFinder() instanceof PathFinderHierarchical);
+        assertThrows(() -> mapPath.setHierarchical(-1), "Invalid argument: -1 is not superior or equal to 0");
+    }
+
+    /**
+     * Test far path on free map.
+     */
+    @Test
+    void testFindPath()
+    {
+        mapPath.setHierarchical(CLUSTER);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final PathFinder flat = Astar.createPathFinder(map, SIZE * 2, Astar.createHeuristicClosest());
+
+        final Path path = mapPath.getPathFinder().findPath(mover, SIZE - 2, SIZE - 3, false);
+        final Path expected = flat.findPath(mover, SIZE - 2, SIZE - 3, false);
+
+        UtilPathfinding.assertPath(path, 1, 1, SIZE - 2, SIZE - 3);
+        assertTrue(path.getLength() <= expected.getLength() + CLUSTER);
+    }
+
+    /**
+     * Test far path through wall gap.
+     */
+    @Test
+    void testFindPathGap()
+    {
+        setWall(map, SIZE / 2, SIZE - 5, UtilMap.TILE_TREE);
+        mapPath.setHierarchical(CLUSTER);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        final Path path = mapPath.getPathFinder().findPath(mover, SIZE - 2, 1, false);
+
+        UtilPathfinding.assertPath(path, 1, 1, SIZE - 2, 1);
+        assertFree(map, path);
+    }
+
+    /**
+     * Test only clusters of set tiles are rebuilt.
+     */
+    @Test
+    void testRebuild()
+    {
+        mapPath.setHierarchical(CLUSTER);
+        final PathFinderHierarchical finder = (PathFinderHierarchical) mapPath.getPathFinder();
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final PathHierarchy hierarchy = finder.getHierarchy(mover);
+
+        UtilPathfinding.assertPath(finder.findPath(mover, SIZE - 2, 1, false), 1, 1, SIZE - 2, 1);
+        assertEquals(0, hierarchy.getInvalidated());
+
+        setWall(map, SIZE / 2, -1, UtilMap.TILE_TREE);
+
+        assertEquals(SIZE / CLUSTER, hierarchy.getInvalidated());
+        assertNull(finder.findPath(mover, SIZE - 2, 1, false));
+        assertEquals(0, hierarchy.getInvalidated());
+
+        map.setTile(SIZE / 2, 3, UtilMap.TILE_GROUND);
+
+        assertEquals(1, hierarchy.getInvalidated());
+
+        final Path path = finder.findPath(mover, SIZE - 2, 1, false);
+
+        UtilPathfinding.assertPath(path, 1, 1, SIZE - 2, 1);
+        assertFree(map, path);
+    }
+
+    /**
+     * Test pathfindable created before path finder reset uses the current one.
+     */
+    @Test
+    void testReset()
+    {
+        mapPath.setHierarchical(CLUSTER);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertTrue(mover.isPathAvailable(SIZE - 2, 1));
+
+        mapPath.setHierarchical(CLUSTER);
+        setWall(map, SIZE / 2, -1, UtilMap.TILE_TREE);
+
+        assertFalse(mover.isPathAvailable(SIZE - 2, 1));
+    }
+
+    /**
+     * Test near destination uses default search.
+     */
+    @Test
+    void testNear()
+    {
+        mapPath.setHierarchical(CLUSTER);
+        final PathFinderHierarchical finder = (PathFinderHierarchical) mapPath.getPathFinder();
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        UtilPathfinding.assertPath(finder.findPath(mover, 5, 5, false), 1, 1, 5, 5);
+        assertEquals(0, finder.getHierarchy(mover).getNodes());
+    }
+}
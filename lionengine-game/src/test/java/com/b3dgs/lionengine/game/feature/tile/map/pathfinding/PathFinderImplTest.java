@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link PathFinderImpl}.
+ */
+final class PathFinderImplTest
+{
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilPathfinding.createConfig(PathFinderImplTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final MapTileGame map = UtilPathfinding.createMap(services, 7);
+    private final MapTilePath mapPath = map.getFeature(MapTilePath.class);
+
+    /**
+     * Test find path on free map.
+     */
+    @Test
+    void testFindPath()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path path = mapPath.getPathFinder().findPath(mover, 5, 5, false);
+
+        UtilPathfinding.assertPath(path, 1, 1, 5, 5);
+        assertEquals(5, path.getLength());
+    }
+
+    /**
+     * Test find path around obstacle.
+     */
+    @Test
+    void testFindPathAround()
+    {
+        for (int ty = 0; ty < 6; ty++)
+        {
+            map.setTile(3, ty, UtilMap.TILE_TREE);
+        }
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path path = mapPath.getPathFinder().findPath(mover, 5, 1, false);
+
+        UtilPathfinding.assertPath(path, 1, 1, 5, 1);
+        for (int i = 0; i < path.getLength(); i++)
+        {
+            if (path.getX(i) == 3)
+            {
+                assertEquals(6, path.getY(i));
+            }
+        }
+    }
+
+    /**
+     * Test find path with no way.
+     */
+    @Test
+    void testFindPathNone()
+    {
+        for (int ty = 0; ty < map.getInTileHeight(); ty++)
+        {
+            map.setTile(3, ty, UtilMap.TILE_TREE);
+        }
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertNull(mapPath.getPathFinder().findPath(mover, 5, 1, false));
+    }
+
+    /**
+     * Test path finder is shared and searches does not impact each other.
+     */
+    @Test
+    void testShared()
+    {
+        final Pathfindable mover1 = UtilPathfinding.createPathfindable(services, setup, 0, 0);
+        final Pathfindable mover2 = UtilPathfinding.createPathfindable(services, setup, 6, 6);
+        final PathFinder pathFinder = mapPath.getPathFinder();
+
+        assertEquals(pathFinder, mapPath.getPathFinder());
+
+        final Path path1 = pathFinder.findPath(mover1, 6, 0, true);
+        final Path path2 = pathFinder.findPath(mover2, 0, 6, true);
+        final Path path3 = pathFinder.findPath(mover1, 6, 0, true);
+
+        UtilPathfinding.assertPath(path1, 0, 0, 6, 0);
+        UtilPathfinding.assertPath(path2, 6, 6, 0, 6);
+        UtilPathfinding.assertPath(path3, 0, 0, 6, 0);
+        assertEquals(path1.getLength(), path3.getLength());
+    }
+
+    /**
+     * Test find path on snapshot, not impacted by map changes.
+     */
+    @Test
+    void testSnapshot()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final PathFinderImpl pathFinder = (PathFinderImpl) mapPath.getPathFinder();
+        final MapTilePathSnapshot snapshot = new MapTilePathSnapshot(map);
+        assertTrue(snapshot.copy(System.nanoTime(), Long.MAX_VALUE));
+        final PathGraph graph = snapshot.getGraph(mover);
+
+        for (int ty = 0; ty < map.getInTileHeight(); ty++)
+        {
+            map.setTile(3, ty, UtilMap.TILE_TREE);
+        }
+
+        assertNull(pathFinder.findPath(mover, 5, 1, false));
+        UtilPathfinding.assertPath(pathFinder.findPath(graph, mover, 1, 1, 5, 1, false), 1, 1, 5, 1);
+
+        final MapTilePathSnapshot snapshotBlocked = new MapTilePathSnapshot(map);
+        assertTrue(snapshotBlocked.copy(System.nanoTime(), Long.MAX_VALUE));
+        final PathGraph blocked = snapshotBlocked.getGraph(mover);
+
+        assertNull(pathFinder.findPath(blocked, mover, 1, 1, 5, 1, false));
+    }
+
+    /**
+     * Test path finder used from another thread.
+     * 
+     * @throws InterruptedException If error.
+     */
+    @Test
+    void testThread() throws InterruptedException
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final PathFinder pathFinder = mapPath.getPathFinder();
+        final Path expected = pathFinder.findPath(mover, 5, 5, true);
+
+        final AtomicReference<Path> found = new AtomicReference<>();
+        final Thread thread = new Thread(() -> found.set(pathFinder.findPath(mover, 5, 5, true)));
+        thread.start();
+        thread.join();
+
+        UtilPathfinding.assertPath(found.get(), 1, 1, 5, 5);
+        assertEquals(expected.getLength(), found.get().getLength());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link PathFinderWorkspace}.
+ */
+final class PathFinderWorkspaceTest
+{
+    /**
+     * Test location index conversion.
+     */
+    @Test
+    void testIndex()
+    {
+        final PathFinderWorkspace workspace = new PathFinderWorkspace();
+        workspace.begin(4, 3);
+
+        final int index = workspace.index(3, 2);
+
+        assertEquals(11, index);
+        assertEquals(3, workspace.getX(index));
+        assertEquals(2, workspace.getY(index));
+    }
+
+    /**
+     * Test open list ordering by cost then heuristic.
+     */
+    @Test
+    void testOpenOrder()
+    {
+        final PathFinderWorkspace workspace = new PathFinderWorkspace();
+        workspace.begin(3, 3);
+
+        final double[] costs =
+        {
+            5.0, 2.0, 8.0, 2.0, 1.0, 9.0, 3.0, 7.0, 4.0
+        };
+        for (int i = 0; i < costs.length; i++)
+        {
+            workspace.setCost(i, costs[i]);
+            workspace.setHeuristic(i, i);
+            workspace.open(i);
+        }
+
+        assertTrue(workspace.isOpen(4));
+        assertEquals(4, workspace.poll());
+        assertFalse(workspace.isOpen(4));
+        assertEquals(1, workspace.poll());
+        assertEquals(3, workspace.poll());
+        assertEquals(6, workspace.poll());
+        assertEquals(8, workspace.poll());
+        assertEquals(0, workspace.poll());
+        assertEquals(7, workspace.poll());
+        assertEquals(2, workspace.poll());
+        assertEquals(5, workspace.poll());
+        assertTrue(workspace.isOpenEmpty());
+    }
+
+    /**
+     * Test open list priority update.
+     */
+    @Test
+    void testDecreaseKey()
+    {
+        final PathFinderWorkspace workspace = new PathFinderWorkspace();
+        workspace.begin(2, 2);
+
+        for (int i = 0; i < 4; i++)
+        {
+            workspace.setCost(i, 10.0 + i);
+            workspace.open(i);
+        }
+        workspace.setCost(3, 1.0);
+        workspace.open(3);
+        workspace.setCost(0, 20.0);
+        workspace.open(0);
+
+        assertEquals(3, workspace.poll());
+        assertEquals(1, workspace.poll());
+        assertEquals(2, workspace.poll());
+        assertEquals(0, workspace.poll());
+        assertTrue(workspace.isOpenEmpty());
+    }
+
+    /**
+     * Test data are reset on new search.
+     */
+    @Test
+    void testGeneration()
+    {
+        final PathFinderWorkspace workspace = new PathFinderWorkspace();
+        workspace.begin(2, 2);
+        workspace.setCost(0, 1.0);
+        workspace.setHeuristic(0, 2.0);
+        workspace.setDepth(1, 3);
+        assertEquals(4, workspace.setParent(0, 1));
+        workspace.close(0);
+        workspace.open(2);
+
+        assertTrue(workspace.isClosed(0));
+        assertTrue(workspace.isOpen(2));
+
+        workspace.begin(2, 2);
+
+        assertEquals(0.0, workspace.getCost(0));
+        assertEquals(0.0, workspace.getHeuristic(0));
+        assertEquals(0, workspace.getDepth(0));
+        assertEquals(PathFinderWorkspace.NONE, workspace.getParent(0));
+        assertFalse(workspace.isClosed(0));
+        assertFalse(workspace.isOpen(2));
+        assertTrue(workspace.isOpenEmpty());
+
+        workspace.close(0);
+        workspace.unclose(0);
+
+        assertFalse(workspace.isClosed(0));
+    }
+}
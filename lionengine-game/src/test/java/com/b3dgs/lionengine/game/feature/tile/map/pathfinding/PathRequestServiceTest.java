@@ -0,0 +1,331 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTimeout;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link PathRequestService}.
+ */
+final class PathRequestServiceTest
+{
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilPathfinding.createConfig(PathRequestServiceTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger notFound = new AtomicInteger();
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final MapTileGame map = UtilPathfinding.createMap(services, 7);
+
+    /**
+     * Create pathfindable with listener counting events.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The pathfindable.
+     */
+    private Pathfindable createPathfindable(int tx, int ty)
+    {
+        final Pathfindable pathfindable = UtilPathfinding.createPathfindable(services, setup, tx, ty);
+        pathfindable.addListener(new PathfindableListenerVoid()
+        {
+            @Override
+            public void notifyStartMove(Pathfindable pathfindable)
+            {
+                started.incrementAndGet();
+            }
+
+            @Override
+            public void notifyPathNotFound(Pathfindable pathfindable)
+            {
+                notFound.incrementAndGet();
+            }
+        });
+        return pathfindable;
+    }
+
+    /**
+     * Test request searched on game thread and delivered next tick.
+     */
+    @Test
+    void testRequestGameThread()
+    {
+        final PathRequestService service = new PathRequestService(services, 0);
+        final Pathfindable pathfindable = createPathfindable(1, 1);
+
+        service.request(pathfindable, 5, 5);
+
+        assertEquals(1, service.getRequestsCount());
+
+        service.update(1.0);
+
+        assertEquals(0, started.get());
+        assertEquals(1, service.getRequestsCount());
+
+        service.update(1.0);
+
+        assertEquals(1, started.get());
+        assertEquals(0, notFound.get());
+        assertEquals(0, service.getRequestsCount());
+        assertFalse(pathfindable.isDestinationReached());
+
+        service.dispose();
+    }
+
+    /**
+     * Test request searched by worker.
+     */
+    @Test
+    void testRequestWorker()
+    {
+        final PathRequestService service = services.add(new PathRequestService(services, 2));
+        final Pathfindable pathfindable = createPathfindable(1, 1);
+
+        service.request(pathfindable, 5, 5);
+        assertTimeout(1000L, () ->
+        {
+            while (service.getRequestsCount() > 0)
+            {
+                service.update(1.0);
+                Thread.yield();
+            }
+        });
+
+        assertEquals(1, started.get());
+        assertEquals(0, notFound.get());
+        assertFalse(pathfindable.isDestinationReached());
+
+        service.dispose();
+    }
+
+    /**
+     * Test snapshot copy spread over ticks within budget, requests being dispatched once complete.
+     * 
+     * @throws InterruptedException If error.
+     */
+    @Test
+    void testRequestWorkerBudget() throws InterruptedException
+    {
+        final PathRequestService service = services.add(new PathRequestService(services, 1));
+        final Pathfindable pathfindable = createPathfindable(1, 1);
+        service.setBudget(0.0);
+
+        final MapTilePathSnapshot snapshot = new MapTilePathSnapshot(map);
+        for (int ty = 1; ty < map.getInTileHeight(); ty++)
+        {
+            assertFalse(snapshot.copy(System.nanoTime(), 0L));
+        }
+        assertTrue(snapshot.copy(System.nanoTime(), 0L));
+
+        service.request(pathfindable, 5, 5);
+        for (int ty = 1; ty < map.getInTileHeight(); ty++)
+        {
+            service.update(1.0);
+            Thread.sleep(10L);
+        }
+
+        assertEquals(0, started.get());
+        assertEquals(1, service.getRequestsCount());
+
+        assertTimeout(1000L, () ->
+        {
+            while (service.getRequestsCount() > 0)
+            {
+                service.update(1.0);
+                Thread.yield();
+            }
+        });
+
+        assertEquals(1, started.get());
+
+        service.dispose();
+    }
+
+    /**
+     * Test snapshot copying again only changed rows.
+     */
+    @Test
+    void testSnapshotChangedRows()
+    {
+        final MapTilePathSnapshot snapshot = new MapTilePathSnapshot(map);
+        assertTrue(snapshot.copy(System.nanoTime(), Long.MAX_VALUE));
+        assertTrue(snapshot.copy(System.nanoTime(), 0L));
+        assertTrue(snapshot.isValid());
+
+        map.setTile(3, 2, UtilMap.TILE_TREE);
+
+        assertFalse(snapshot.copy(System.nanoTime(), 0L));
+        assertTrue(snapshot.copy(System.nanoTime(), 0L));
+
+        map.getFeature(MapTilePath.class).addObjectId(1, 4, Integer.valueOf(1));
+        map.getFeature(MapTilePath.class).addObjectId(2, 5, Integer.valueOf(1));
+
+        assertFalse(snapshot.copy(System.nanoTime(), 0L));
+        assertFalse(snapshot.copy(System.nanoTime(), 0L));
+        assertTrue(snapshot.copy(System.nanoTime(), 0L));
+        assertTrue(snapshot.copy(System.nanoTime(), 0L));
+    }
+
+    /**
+     * Test reused snapshot reflecting map changes.
+     */
+    @Test
+    void testRequestWorkerReuse()
+    {
+        final PathRequestService service = new PathRequestService(services, 1);
+        final Pathfindable pathfindable = createPathfindable(1, 1);
+
+        service.request(pathfindable, 5, 1);
+        assertTimeout(1000L, () ->
+        {
+            while (service.getRequestsCount() > 0)
+            {
+                service.update(1.0);
+                Thread.yield();
+            }
+        });
+
+        assertEquals(1, started.get());
+        assertEquals(0, notFound.get());
+
+        for (int ty = 0; ty < map.getInTileHeight(); ty++)
+        {
+            map.setTile(3, ty, UtilMap.TILE_TREE);
+        }
+        service.request(pathfindable, 5, 1);
+        assertTimeout(1000L, () ->
+        {
+            while (service.getRequestsCount() > 0)
+            {
+                service.update(1.0);
+                Thread.yield();
+            }
+        });
+
+        assertEquals(1, started.get());
+        assertEquals(1, notFound.get());
+
+        service.dispose();
+    }
+
+    /**
+     * Test request not found.
+     */
+    @Test
+    void testRequestNotFound()
+    {
+        for (int ty = 0; ty < map.getInTileHeight(); ty++)
+        {
+            map.setTile(3, ty, UtilMap.TILE_TREE);
+        }
+        final PathRequestService service = new PathRequestService(services, 1);
+        final Pathfindable pathfindable = createPathfindable(1, 1);
+
+        service.request(pathfindable, 5, 1);
+        assertTimeout(1000L, () ->
+        {
+            while (service.getRequestsCount() > 0)
+            {
+                service.update(1.0);
+                Thread.yield();
+            }
+        });
+
+        assertEquals(0, started.get());
+        assertEquals(1, notFound.get());
+
+        service.dispose();
+    }
+
+    /**
+     * Test request replaced and cancelled.
+     */
+    @Test
+    void testRequestReplaceCancel()
+    {
+        final PathRequestService service = new PathRequestService(services, 0);
+        final Pathfindable pathfindable1 = createPathfindable(1, 1);
+        final Pathfindable pathfindable2 = createPathfindable(2, 2);
+
+        service.request(pathfindable1, 5, 5);
+        service.request(pathfindable1, 4, 4);
+        service.request(pathfindable2, 5, 5);
+        service.cancel(pathfindable2);
+
+        assertEquals(1, service.getRequestsCount());
+
+        service.update(1.0);
+        service.update(1.0);
+
+        assertEquals(1, started.get());
+        assertEquals(0, service.getRequestsCount());
+
+        service.dispose();
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    @Test
+    void testInvalid()
+    {
+        assertThrows(() -> new PathRequestService(services, -1), "Invalid argument: -1 is not superior or equal to 0");
+
+        final PathRequestService service = new PathRequestService(services, 0);
+        assertThrows(() -> service.setBudget(-1.0), "Invalid argument: -1.0 is not superior or equal to 0.0");
+
+        service.dispose();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Xml;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.FeaturableModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+import com.b3dgs.lionengine.game.feature.tile.TileGroupsConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Utilities dedicated to pathfinding test.
+ */
+final class UtilPathfinding
+{
+    /**
+     * Assert path is continuous from start to destination.
+     * 
+     * @param path The path to check.
+     * @param stx The horizontal start.
+     * @param sty The vertical start.
+     * @param dtx The horizontal destination.
+     * @param dty The vertical destination.
+     */
+    public static void assertPath(Path path, int stx, int sty, int dtx, int dty)
+    {
+        assertNotNull(path);
+        assertEquals(stx, path.getX(0));
+        assertEquals(sty, path.getY(0));
+        assertEquals(dtx, path.getX(path.getLength() - 1));
+        assertEquals(dty, path.getY(path.getLength() - 1));
+
+        for (int i = 1; i < path.getLength(); i++)
+        {
+            assertTrue(Math.abs(path.getX(i) - path.getX(i - 1)) <= 1);
+            assertTrue(Math.abs(path.getY(i) - path.getY(i - 1)) <= 1);
+        }
+    }
+
+    /**
+     * Create a ground map, where {@link UtilMap#TILE_TREE} is blocking.
+     * 
+     * @param services The services reference.
+     * @param size The map size in tile.
+     * @return The created map.
+     */
+    public static MapTileGame createMap(Services services, int size)
+    {
+        services.add(new Camera());
+
+        final MapTileGame map = services.add(new MapTileGame());
+        map.addFeature(new MapTileGroupModel());
+        map.create(1, 1, size, size);
+        UtilMap.setGroups(map);
+        UtilMap.fill(map, UtilMap.TILE_GROUND);
+
+        final MapTilePath mapPath = map.addFeatureAndGet(new MapTilePathModel());
+        mapPath.prepare(map);
+
+        final Media config = createPathfinding();
+        mapPath.loadPathfinding(config);
+        assertTrue(config.getFile().delete());
+
+        return map;
+    }
+
+    /**
+     * Create the pathfinding configuration, with one category per group.
+     * 
+     * @return The pathfinding media.
+     */
+    public static Media createPathfinding()
+    {
+        final Xml root = new Xml(PathfindingConfig.NODE_PATHFINDING);
+        for (final String group : new String[]
+        {
+            UtilMap.GROUND, UtilMap.TREE, UtilMap.WATER
+        })
+        {
+            final Xml node = root.createChild(PathfindingConfig.NODE_TILE_PATH);
+            node.writeString(PathfindingConfig.ATT_CATEGORY, group);
+            node.createChild(TileGroupsConfig.NODE_GROUP).setText(group);
+        }
+        final Media media = Medias.create(PathfindingConfig.FILENAME);
+        root.save(media);
+
+        return media;
+    }
+
+    /**
+     * Create the pathfindable configuration, where ground can be crossed in any direction, and tree is blocking.
+     * 
+     * @param caller The caller reference.
+     * @return The configuration media.
+     */
+    public static Media createConfig(Class<?> caller)
+    {
+        final Map<String, PathData> categories = new HashMap<>();
+        categories.put(UtilMap.GROUND,
+                       new PathData(UtilMap.GROUND, 1.0, false, EnumSet.complementOf(EnumSet.of(MovementTile.NONE))));
+        categories.put(UtilMap.TREE, new PathData(UtilMap.TREE, 1.0, true, EnumSet.noneOf(MovementTile.class)));
+        categories.put(UtilMap.WATER, new PathData(UtilMap.WATER, 1.0, true, EnumSet.noneOf(MovementTile.class)));
+
+        final Xml root = new Xml(Constant.XML_PREFIX + "featurable");
+        root.add(PathfindableConfig.exports(categories));
+
+        final Media media = Medias.create("Object" + caller.getSimpleName() + Factory.FILE_DATA_DOT_EXTENSION);
+        root.save(media);
+
+        return media;
+    }
+
+    /**
+     * Create a pathfindable located at tile.
+     * 
+     * @param services The services reference.
+     * @param setup The setup reference.
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The pathfindable.
+     */
+    public static Pathfindable createPathfindable(Services services, Setup setup, int tx, int ty)
+    {
+        final FeaturableModel object = new FeaturableModel(services, setup);
+        final Transformable transformable = object.addFeatureAndGet(new TransformableModel(services, setup));
+        transformable.setSize(1, 1);
+
+        final Pathfindable pathfindable = object.addFeatureAndGet(new PathfindableModel(services, setup));
+        pathfindable.setLocation(tx, ty);
+
+        return pathfindable;
+    }
+}
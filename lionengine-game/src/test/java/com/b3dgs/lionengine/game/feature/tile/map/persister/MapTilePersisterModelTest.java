@@ -16,13 +16,17 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.persister;
 
+import static com.b3dgs.lionengine.UtilAssert.assertArrayEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertCause;
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
 import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -34,9 +38,12 @@ import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileChunkStore;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.TileSheetsConfig;
+import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
 
 /**
  * Test {@link MapTilePersisterModel}.
@@ -168,6 +175,295 @@ final class MapTilePersisterModelTest
         assertTrue(level.getFile().delete());
     }
 
+    /**
+     * Test the save and load of map chunks.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testSaveLoadChunk() throws IOException
+    {
+        final MapTile map = UtilMapTilePersister.createMap();
+        final MapTilePersister persister = map.getFeature(MapTilePersister.class);
+        final Media chunk = Medias.create("chunk");
+        final Media border = Medias.create("border");
+        try (FileWriting output = new FileWriting(chunk))
+        {
+            persister.saveChunk(output, 1, 1, 2);
+        }
+        try (FileWriting output = new FileWriting(border))
+        {
+            persister.saveChunk(output, 2, 2, 2);
+        }
+
+        final MapTileGame mapLoaded = new MapTileGame();
+        final MapTilePersister persisterLoaded = mapLoaded.addFeatureAndGet(new MapTilePersisterModel());
+        mapLoaded.create(16, 32, 3, 3);
+        try (FileReading input = new FileReading(chunk))
+        {
+            persisterLoaded.loadChunk(input);
+        }
+
+        assertEquals(4, mapLoaded.getTilesNumber());
+        assertNull(mapLoaded.getTile(0, 1));
+        assertEquals(4, mapLoaded.getTile(2, 2).getNumber());
+        assertEquals(2, mapLoaded.getTile(1, 2).getNumber());
+
+        mapLoaded.create(16, 32, 3, 3);
+        try (FileReading input = new FileReading(border))
+        {
+            persisterLoaded.loadChunk(input);
+        }
+
+        assertEquals(1, mapLoaded.getTilesNumber());
+        assertEquals(4, mapLoaded.getTile(2, 2).getNumber());
+
+        assertThrows(() -> persister.saveChunk(null, 0, 0, 1), "Unexpected null argument !");
+        assertThrows(() -> persister.loadChunk(null), "Unexpected null argument !");
+        assertTrue(chunk.getFile().delete());
+        assertTrue(border.getFile().delete());
+    }
+
+    /**
+     * Test the chunks folder store.
+     */
+    @Test
+    void testChunkStoreFolder()
+    {
+        final Media folder = Medias.create("chunks");
+        assertTrue(folder.getFile().mkdirs());
+
+        final MapTileChunkStore store = new MapTileChunkStoreFolder(folder);
+        final int[] numbers = new int[]
+        {
+            -1, 3, 0, -1
+        };
+        store.save(1, -2, 2, numbers);
+
+        assertNull(store.load(0, 0, 2));
+        assertArrayEquals(numbers, store.load(1, -2, 2));
+        assertCause(() -> store.load(1, -2, 3), IOException.class);
+        assertThrows(() -> new MapTileChunkStoreFolder(null), "Unexpected null argument !");
+
+        assertTrue(Medias.create("chunks", "chunk_1_-2.bin").getFile().delete());
+        assertTrue(folder.getFile().delete());
+    }
+
+    /**
+     * Test the save and load map in versioned format.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testSaveLoadVersioned() throws IOException
+    {
+        final Media config = Medias.create("config.xml");
+        TileSheetsConfig.exports(config, 16, 32, new ArrayList<String>());
+
+        final MapTile map = UtilMapTilePersister.createMap();
+        map.loadSheets(config);
+        final Media level = Medias.create("level");
+        try (FileWriting output = new FileWriting(level))
+        {
+            map.getFeature(MapTilePersister.class).save(output, 2);
+        }
+
+        final MapTileGame mapLoaded = new MapTileGame();
+        final MapTilePersister persister = mapLoaded.addFeatureAndGet(new MapTilePersisterModel());
+        final AtomicBoolean load = new AtomicBoolean();
+        persister.addListener(() -> load.set(true));
+        persister.load(level);
+
+        assertTrue(load.get());
+        assertEquals(config, mapLoaded.getMedia());
+        assertEquals(map.getTileWidth(), mapLoaded.getTileWidth());
+        assertEquals(map.getTileHeight(), mapLoaded.getTileHeight());
+        assertEquals(map.getInTileWidth(), mapLoaded.getInTileWidth());
+        assertEquals(map.getInTileHeight(), mapLoaded.getInTileHeight());
+        assertEquals(map.getTilesNumber(), mapLoaded.getTilesNumber());
+        for (int x = 0; x < mapLoaded.getInTileWidth(); x++)
+        {
+            for (int y = 1; y < mapLoaded.getInTileHeight(); y++)
+            {
+                assertEquals(x * y, mapLoaded.getTile(x, y).getNumber());
+            }
+        }
+
+        assertThrows(() -> persister.save(null, 1), "Unexpected null argument !");
+        try (FileWriting output = new FileWriting(level))
+        {
+            assertThrows(() -> persister.save(output, 0), "Invalid argument: 0 is not strictly superior to 0");
+        }
+        assertThrows(() -> persister.load((Media) null), "Unexpected null argument !");
+        assertTrue(config.getFile().delete());
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Test the load of legacy format from media.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testLoadLegacy() throws IOException
+    {
+        final MapTile map = UtilMapTilePersister.createMap();
+        final Media level = Medias.create("level");
+        UtilMapTilePersister.saveMap(map, level);
+
+        assertFalse(MapTileFile.isVersioned(level));
+
+        final MapTileGame mapLoaded = new MapTileGame();
+        mapLoaded.addFeatureAndGet(new MapTilePersisterModel()).load(level);
+
+        assertEquals(map.getInTileWidth(), mapLoaded.getInTileWidth());
+        assertEquals(map.getTilesNumber(), mapLoaded.getTilesNumber());
+        assertEquals(4, mapLoaded.getTile(2, 2).getNumber());
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Test the versioned map file chunks access.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testFile() throws IOException
+    {
+        final MapTileGame map = new MapTileGame();
+        final MapTilePersister persister = map.addFeatureAndGet(new MapTilePersisterModel());
+        map.create(16, 32, 5, 5);
+        map.loadSheets(new ArrayList<SpriteTiled>());
+        map.setTile(4, 4, 300);
+
+        final Media level = Medias.create("level");
+        try (FileWriting output = new FileWriting(level))
+        {
+            persister.save(output, 2);
+        }
+        assertTrue(MapTileFile.isVersioned(level));
+
+        try (MapTileFile file = new MapTileFile(level))
+        {
+            assertNull(file.getConfig());
+            assertEquals(16, file.getTileWidth());
+            assertEquals(32, file.getTileHeight());
+            assertEquals(5, file.getInTileWidth());
+            assertEquals(5, file.getInTileHeight());
+            assertEquals(2, file.getChunkSize());
+
+            assertNull(file.read(0, 0));
+            assertNull(file.read(3, 0));
+            assertNull(file.read(-1, 0));
+            assertArrayEquals(new int[]
+            {
+                300, -1, -1, -1
+            }, file.read(2, 2));
+
+            final int[] numbers = new int[]
+            {
+                1, 2, 3, -1
+            };
+            file.save(0, 0, 2, numbers);
+
+            assertArrayEquals(numbers, file.load(0, 0, 2));
+            assertArrayEquals(file.read(2, 2), file.load(2, 2, 2));
+            assertThrows(() -> file.load(0, 0, 3), MapTileFile.ERROR_CHUNK_SIZE + 3);
+            assertThrows(() -> file.save(3, 0, 2, numbers), MapTileFile.ERROR_CHUNK + "3 0");
+
+            final long length = level.getFile().length();
+            numbers[0] = 4;
+            file.save(0, 0, 2, numbers);
+
+            assertEquals(length, level.getFile().length());
+            assertArrayEquals(numbers, file.load(0, 0, 2));
+
+            file.save(0, 0, 2, new int[]
+            {
+                1, 1, 1, 1
+            });
+            file.save(0, 0, 2, new int[]
+            {
+                -1, -1, -1, -1
+            });
+
+            assertNull(file.load(0, 0, 2));
+
+            file.save(0, 0, 2, numbers);
+
+            assertEquals(length, level.getFile().length());
+            assertArrayEquals(numbers, file.load(0, 0, 2));
+
+            file.save(2, 2, 2, new int[]
+            {
+                -1, -1, -1, -1
+            });
+
+            assertNull(file.load(2, 2, 2));
+        }
+        try (MapTileFile file = new MapTileFile(level))
+        {
+            assertArrayEquals(new int[]
+            {
+                4, 2, 3, -1
+            }, file.read(0, 0));
+            assertNull(file.read(2, 2));
+        }
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Test the chunk encoding.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testEncode() throws IOException
+    {
+        final int[] numbers = new int[]
+        {
+            -1, -1, 300, 300
+        };
+        final byte[] data = MapTileFile.encode(numbers);
+
+        assertEquals(5, data.length);
+        assertArrayEquals(numbers, MapTileFile.decode(ByteBuffer.wrap(data), 2));
+        assertThrows(IOException.class,
+                     () -> MapTileFile.decode(ByteBuffer.wrap(data), 1),
+                     MapTileFile.ERROR_FORMAT + 2);
+        assertThrows(IOException.class,
+                     () -> MapTileFile.decode(ByteBuffer.wrap(data, 0, 3), 2),
+                     MapTileFile.ERROR_FORMAT + 3);
+    }
+
+    /**
+     * Test the invalid versioned map files.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testFileInvalid() throws IOException
+    {
+        final Media level = Medias.create("level");
+        try (FileWriting output = new FileWriting(level))
+        {
+            output.writeInteger(MapTileFile.MAGIC);
+            output.writeShort((short) (MapTileFile.VERSION + 1));
+            output.writeInteger(0);
+        }
+        assertThrows(IOException.class,
+                     () -> new MapTileFile(level).close(),
+                     MapTileFile.ERROR_VERSION + (MapTileFile.VERSION + 1));
+
+        try (FileWriting output = new FileWriting(level))
+        {
+            output.writeBoolean(false);
+        }
+        assertFalse(MapTileFile.isVersioned(level));
+        assertThrows(IOException.class, () -> new MapTileFile(level).close(), MapTileFile.ERROR_FORMAT + "0 10");
+        assertTrue(level.getFile().delete());
+    }
+
     /**
      * Test the constructor with services with map.
      */
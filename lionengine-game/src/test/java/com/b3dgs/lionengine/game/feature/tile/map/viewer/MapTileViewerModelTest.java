@@ -16,10 +16,15 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.viewer;
 
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.AfterAll;
@@ -33,10 +38,14 @@ import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.GraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBufferMock;
+import com.b3dgs.lionengine.graphic.ImageSurface;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
+import com.b3dgs.lionengine.graphic.engine.DirtyRegion;
 
 /**
  * Test {@link MapTileViewerModel}.
@@ -50,6 +59,7 @@ final class MapTileViewerModelTest
     public static void beforeTests()
     {
         Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
     }
 
     /**
@@ -59,6 +69,7 @@ final class MapTileViewerModelTest
     public static void afterTests()
     {
         Medias.setResourcesDirectory(null);
+        Graphics.setFactoryGraphic(null);
     }
 
     private final Services services = new Services();
@@ -129,4 +140,104 @@ final class MapTileViewerModelTest
         map.clear();
         mapViewer.render(g);
     }
+
+    /**
+     * Test the rendering cache.
+     */
+    @Test
+    void testCache()
+    {
+        final Services cacheServices = new Services();
+        cacheServices.add(new ViewerMock()).set(-20, -20);
+        final MapTileViewer cached = new MapTileViewerModel(cacheServices);
+        cached.prepare(map);
+
+        map.loadSheets(Arrays.asList(Drawable.loadSpriteTiled(new ImageBufferMock(80, 80), 40, 40)));
+        map.create(40, 40, 10, 10);
+        for (int tx = 0; tx < map.getInTileWidth(); tx++)
+        {
+            for (int ty = 0; ty < map.getInTileHeight(); ty++)
+            {
+                map.setTile(tx, ty, 0);
+            }
+        }
+
+        final AtomicInteger rendered = new AtomicInteger();
+        final MapTileRenderer renderer = (g, tile, x, y) -> rendered.incrementAndGet();
+        cached.addRenderer(renderer);
+
+        final List<String> drawn = new ArrayList<>();
+        final Graphic graphic = new GraphicMock()
+        {
+            @Override
+            public void drawImage(ImageSurface image, int x, int y)
+            {
+                drawn.add(x + " " + y);
+            }
+        };
+
+        cached.render(graphic);
+
+        assertEquals(48, rendered.get());
+        assertEquals(0, drawn.size());
+
+        rendered.set(0);
+        cached.setCache(4, 4);
+        cached.render(graphic);
+
+        assertEquals(64, rendered.get());
+        assertEquals(Arrays.asList("20 60", "180 60", "20 -100", "180 -100"), drawn);
+
+        rendered.set(0);
+        drawn.clear();
+        cached.render(graphic);
+
+        assertEquals(0, rendered.get());
+        assertEquals(4, drawn.size());
+
+        map.setTile(5, 1, 1);
+        cached.render(graphic);
+
+        assertEquals(16, rendered.get());
+
+        rendered.set(0);
+        cached.invalidateCache();
+        cached.render(graphic);
+
+        assertEquals(64, rendered.get());
+
+        rendered.set(0);
+        drawn.clear();
+        cached.setCache(0, 1);
+        cached.render(graphic);
+
+        assertEquals(48, rendered.get());
+        assertEquals(0, drawn.size());
+
+        assertThrows(() -> cached.setCache(-1, 1), "Invalid argument: -1 is not superior or equal to 0");
+        assertThrows(() -> cached.setCache(1, 0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test set tiles marked in dirty region.
+     */
+    @Test
+    void testDirty()
+    {
+        final Services dirtyServices = new Services();
+        dirtyServices.add(new ViewerMock());
+        final DirtyRegion region = dirtyServices.add(new DirtyRegion());
+        region.setSize(320, 240);
+        region.clear();
+
+        final MapTileViewer dirty = new MapTileViewerModel(dirtyServices);
+        dirty.prepare(map);
+        map.create(40, 40, 4, 4);
+        map.setTile(1, 1, 0);
+
+        assertEquals(40, region.getX());
+        assertEquals(160, region.getY());
+        assertEquals(41, region.getWidth());
+        assertEquals(41, region.getHeight());
+    }
 }
@@ -145,7 +145,7 @@ public class MapTileHelper extends MapTileGame
      */
     public MapTileHelper(Services services)
     {
-        super();
+        super(services);
 
         mapGroup = addFeatureAndGet(new MapTileGroupModel());
         mapCollision = addFeatureAndGet(new MapTileCollisionModel());